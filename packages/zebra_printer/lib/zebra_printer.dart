@@ -2,7 +2,10 @@ library zebra_printer;
 
 export 'package:zebra_printer_platform_interface/zebra_printer_platform_interface.dart'
     show PrinterStatus, ZebraConnectionSettings, ZebraInterfaceType, PrintJob, 
-         DiscoveredPrinter, ConnectedPrinter, LabelData, ReceiptData, ReceiptLineItem, ZebraPrintLanguage;
+         DiscoveredPrinter, ConnectedPrinter, LabelData, ReceiptData, ReceiptLineItem, ZebraPrintLanguage,
+         UsbPrinterEvent, UsbPrinterEventType, ZebraOperationToken, ZebraLogLevel,
+         ZebraJobPriority, ZebraWarmStartPolicy, NetworkChangeEvent, NetworkChangeType,
+         ZebraAlertCondition, PrinterAlert, SgdSetStatus, SgdSetResult;
 
 import 'package:zebra_printer_platform_interface/zebra_printer_platform_interface.dart';
 
@@ -11,13 +14,13 @@ class ZebraPrinter {
   static final ZebraPrinterPlatform _platform = ZebraPrinterPlatform.instance;
 
   /// Discovers available Zebra printers using local broadcast
-  static Future<List<DiscoveredPrinter>> discoverPrinters() {
-    return _platform.discoverPrinters();
+  static Future<List<DiscoveredPrinter>> discoverPrinters({int? timeoutMs, ZebraOperationToken? token}) {
+    return _platform.discoverPrinters(timeoutMs: timeoutMs, token: token);
   }
 
   /// Discovers printers using multicast with specified hops
-  static Future<List<DiscoveredPrinter>> discoverMulticastPrinters({int hops = 3, int? timeoutMs}) {
-    return _platform.discoverMulticastPrinters(hops: hops, timeoutMs: timeoutMs);
+  static Future<List<DiscoveredPrinter>> discoverMulticastPrinters({int hops = 3, int? timeoutMs, ZebraOperationToken? token}) {
+    return _platform.discoverMulticastPrinters(hops: hops, timeoutMs: timeoutMs, token: token);
   }
 
   /// Discovers printers using directed broadcast to a specific subnet
@@ -26,39 +29,68 @@ class ZebraPrinter {
   }
 
   /// Discovers printers in a subnet range (e.g., "192.168.1.*", "192.168.1.10-50")
-  static Future<List<DiscoveredPrinter>> discoverSubnetSearch(String subnetRange, {int? timeoutMs}) {
-    return _platform.discoverSubnetSearch(subnetRange, timeoutMs: timeoutMs);
+  static Future<List<DiscoveredPrinter>> discoverSubnetSearch(String subnetRange, {int? timeoutMs, ZebraOperationToken? token}) {
+    return _platform.discoverSubnetSearch(subnetRange, timeoutMs: timeoutMs, token: token);
   }
 
   /// Automatically discovers printers on local network subnets
   /// This method detects the device's current network and searches common subnet ranges
-  static Future<List<DiscoveredPrinter>> discoverNetworkPrintersAuto({int? timeoutMs}) {
-    return _platform.discoverNetworkPrintersAuto(timeoutMs: timeoutMs);
+  static Future<List<DiscoveredPrinter>> discoverNetworkPrintersAuto({int? timeoutMs, ZebraOperationToken? token}) {
+    return _platform.discoverNetworkPrintersAuto(timeoutMs: timeoutMs, token: token);
   }
 
   /// Discovers available Bluetooth Zebra printers specifically
-  static Future<List<DiscoveredPrinter>> discoverBluetoothPrinters() {
-    return _platform.discoverBluetoothPrinters();
+  static Future<List<DiscoveredPrinter>> discoverBluetoothPrinters({int? timeoutMs, ZebraOperationToken? token}) {
+    return _platform.discoverBluetoothPrinters(timeoutMs: timeoutMs, token: token);
   }
 
   /// Discovers Bluetooth devices using native Android scanner (for debugging)
-  static Future<List<DiscoveredPrinter>> discoverBluetoothNative() {
-    return _platform.discoverBluetoothNative();
+  static Future<List<DiscoveredPrinter>> discoverBluetoothNative({int? timeoutMs, ZebraOperationToken? token}) {
+    return _platform.discoverBluetoothNative(timeoutMs: timeoutMs, token: token);
   }
 
   /// Tests direct BLE connection to a printer using known MAC address
-  static Future<List<DiscoveredPrinter>> testDirectBleConnection({String? macAddress}) {
-    return _platform.testDirectBleConnection(macAddress: macAddress);
+  ///
+  /// The printer's language and status are returned in `additionalInfo`. With [adopt] the
+  /// probe connection becomes the active connection, and a following [connect] to the same
+  /// address reuses it instead of opening the printer again.
+  static Future<List<DiscoveredPrinter>> testDirectBleConnection({String? macAddress, bool adopt = false, ZebraOperationToken? token}) {
+    return _platform.testDirectBleConnection(macAddress: macAddress, adopt: adopt, token: token);
   }
 
   /// Discovers USB printers
-  static Future<List<DiscoveredPrinter>> discoverUsbPrinters() {
-    return _platform.discoverUsbPrinters();
+  static Future<List<DiscoveredPrinter>> discoverUsbPrinters({int? timeoutMs, ZebraOperationToken? token}) {
+    return _platform.discoverUsbPrinters(timeoutMs: timeoutMs, token: token);
+  }
+
+  /// Stream of USB printers being plugged in, becoming ready and unplugged (Android only)
+  static Stream<UsbPrinterEvent> get usbPrinterEvents {
+    return _platform.usbPrinterEvents;
+  }
+
+  /// Stream of Wi-Fi network changes, with the printers that answered on the new network (Android only)
+  static Stream<NetworkChangeEvent> get networkChanges {
+    return _platform.networkChanges;
+  }
+
+  /// Stream of alerts the connected printer pushes for subscribed conditions (Android only)
+  static Stream<PrinterAlert> get alerts {
+    return _platform.alerts;
+  }
+
+  /// Subscribes to printer alerts for [conditions], replacing the previous subscription (Android only)
+  static Future<void> setAlertSubscription(Set<ZebraAlertCondition> conditions) {
+    return _platform.setAlertSubscription(conditions);
   }
 
   /// Connects to a Zebra printer using the provided settings
-  static Future<void> connect(ZebraConnectionSettings settings) {
-    return _platform.connect(settings);
+  static Future<void> connect(ZebraConnectionSettings settings, {ZebraOperationToken? token}) {
+    return _platform.connect(settings, token: token);
+  }
+
+  /// Cancels a discovery or connect call started with the given token (Android only)
+  static Future<bool> cancel(ZebraOperationToken token) {
+    return token.cancel();
   }
 
   /// Disconnects from the current printer
@@ -71,9 +103,9 @@ class ZebraPrinter {
     return _platform.printReceipt(printJob);
   }
 
-  /// Sends raw ZPL or CPCL commands to the printer
-  static Future<void> sendCommands(String commands, {ZebraPrintLanguage? language}) {
-    return _platform.sendCommands(commands, language: language);
+  /// Sends raw ZPL or CPCL commands to the printer; urgent jobs skip ahead of queued bulk jobs
+  static Future<void> sendCommands(String commands, {ZebraPrintLanguage? language, ZebraJobPriority priority = ZebraJobPriority.bulk}) {
+    return _platform.sendCommands(commands, language: language, priority: priority);
   }
 
   /// Gets the printer control language (ZPL or CPCL)
@@ -91,6 +123,11 @@ class ZebraPrinter {
     return _platform.setSgdParameter(parameter, value);
   }
 
+  /// Sets several SGD parameters in one write and, with [verify], reads them all back (Android only)
+  static Future<Map<String, SgdSetResult>> setSgdParameters(Map<String, String> values, {bool verify = true}) {
+    return _platform.setSgdParameters(values, verify: verify);
+  }
+
   /// Sets the label length using ZPL ^LL command for immediate effect
   static Future<void> setLabelLength(int lengthInDots) {
     return _platform.setLabelLength(lengthInDots);
@@ -120,4 +157,65 @@ class ZebraPrinter {
   static Future<Map<String, int>> getPrinterDimensions() {
     return _platform.getPrinterDimensions();
   }
+
+  /// Sets native log verbosity; debug logs print payloads and scan results (Android only)
+  static Future<void> setLogLevel(ZebraLogLevel level) {
+    return _platform.setLogLevel(level);
+  }
+
+  /// Timings and counters for connect, writes, SGD queries and discovery (Android only)
+  static Future<Map<String, dynamic>> getMetrics({bool reset = false}) {
+    return _platform.getMetrics(reset: reset);
+  }
+
+  /// Metrics snapshots emitted every [interval] while listened to (Android only)
+  static Stream<Map<String, dynamic>> metricsStream({Duration interval = const Duration(seconds: 1)}) {
+    return _platform.metricsStream(interval: interval);
+  }
+
+  /// Holds jobs while the connected printer is out of range and sends them when it is back (Android only)
+  static Future<void> setOfflineQueueing(bool enabled) {
+    return _platform.setOfflineQueueing(enabled);
+  }
+
+  /// Connects to a printer reachable over several transports, keeping whichever connects first (Android only)
+  static Future<ZebraConnectionSettings> connectMultipath(String serialNumber, List<ZebraConnectionSettings> paths,
+      {Duration headStart = const Duration(milliseconds: 500), Duration? timeout}) {
+    return _platform.connectMultipath(serialNumber, paths, headStart: headStart, timeout: timeout);
+  }
+
+  /// Whether the last used printer is reconnected in the background when the app starts (Android only)
+  static Future<void> setWarmStartPolicy(ZebraWarmStartPolicy policy, {Duration maxAge = const Duration(days: 7)}) {
+    return _platform.setWarmStartPolicy(policy, maxAge: maxAge);
+  }
+
+  /// Replaces the rules that decide which Bluetooth devices are Zebra printers, or restores the defaults when null (Android only)
+  static Future<void> setDeviceClassifierRules(String? rules) {
+    return _platform.setDeviceClassifierRules(rules);
+  }
+
+  /// Discards spooled jobs left over from an earlier run so they are not printed (Android only)
+  static Future<int> clearPrintSpool() {
+    return _platform.clearPrintSpool();
+  }
+
+  /// Connects to several printers that share print jobs, see [printToGroup] (Android only)
+  static Future<Map<String, bool>> createPrinterGroup(String groupId, List<ZebraConnectionSettings> members) {
+    return _platform.createPrinterGroup(groupId, members);
+  }
+
+  /// Prints on the least busy printer in the group that can print, failing over to the others
+  static Future<void> printToGroup(String groupId, String commands, {ZebraJobPriority priority = ZebraJobPriority.bulk}) {
+    return _platform.printToGroup(groupId, commands, priority: priority);
+  }
+
+  /// Per-printer queue depth, health and throughput of a group
+  static Future<Map<String, dynamic>> getPrinterGroupStats(String groupId) {
+    return _platform.getPrinterGroupStats(groupId);
+  }
+
+  /// Disconnects a group's printers
+  static Future<bool> removePrinterGroup(String groupId) {
+    return _platform.removePrinterGroup(groupId);
+  }
 }
@@ -0,0 +1,100 @@
+package com.zebra.zebra_printer_android.benchmark;
+
+import com.zebra.zebra_printer_android.core.ZebraDeviceClassifier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classifying the devices a BLE scan reports in a busy warehouse: a few Zebra printers among
+ * handhelds, headsets, beacons, phones and unnamed devices. Compares the name checks discovery
+ * used to run for every result (lowercasing plus String.matches, which compiles each regex on
+ * every call) with {@link ZebraDeviceClassifier}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DeviceClassifierBenchmark {
+    private static final String[] NAMES = {
+        "ZD421-203dpi", "ZQ630 Plus", "ZT411", "50N220800901", "XXZEJ204401234", "Zebra ZQ520",
+        "ZR138", "iMZ220", "QLn320", "ZD620", "Galaxy S21", "Pixel 7", "iPhone", "Jabra Evolve2 65",
+        "Plantronics Voyager", "MC3300", "TC52", "TC21", "WT6300", "RS5100", "HC50", "Fitbit Charge 5",
+        "Mi Band 6", "Tile", "Estimote", "Kontakt", "BOSE QC35 II", "JBL Flip 5", "Car Kit", "DESKTOP-7FQ2LM1",
+        "LAPTOP-K3J9", "HP LaserJet M428", "Brother QL-820NWB", "EPSON TM-m30", "Honeywell PC42t", "SATO CL4NX",
+        "Dymo LabelWriter", "Logitech MX Keys", "Apple Watch", "Surface Pen", null, null, null, null,
+        "LE-Bose", "N02L7", "Forklift-12", "Scanner 3", "Gate A4", "ABCD1234", "FS-1920", "SM-R190",
+        "UE BOOM 3", "CH-510", "Nordic_UART", "ESP32", "HMSoft", "BT05", "MLT-BT05", "DSD TECH"
+    };
+
+    private static final String[] OUIS = {
+        "00:07:4D", "40:83:DE", "84:24:8D", "AC:3F:A4", "F0:99:B6", "3C:5A:B4", "DC:A6:32", "00:1B:66",
+        "B8:27:EB", "C8:2B:96", "E4:5F:01", "28:6C:07", "74:DA:38", "00:1A:7D"
+    };
+
+    private final ZebraDeviceClassifier classifier = ZebraDeviceClassifier.defaults();
+    private String[] names;
+    private String[] addresses;
+    private int[] deviceClasses;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        names = NAMES.clone();
+        addresses = new String[names.length];
+        deviceClasses = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            addresses[i] = String.format("%s:%02X:%02X:%02X", OUIS[random.nextInt(OUIS.length)],
+                random.nextInt(256), random.nextInt(256), random.nextInt(256));
+            // Printers report imaging/printer; most other devices phone, audio or uncategorized
+            deviceClasses[i] = i < 10 ? 0x0680 : (i % 3 == 0 ? 0x0404 : (i % 3 == 1 ? 0x020C : 0));
+        }
+    }
+
+    @Benchmark
+    public int legacyNameChecks() {
+        int zebra = 0;
+        for (String name : names) {
+            if (name == null) {
+                continue;
+            }
+            String lower = name.toLowerCase();
+            if (lower.contains("zebra") || lower.contains("zq") || lower.contains("zt") || lower.contains("zd")
+                || name.matches("^[0-9]{2}[A-Z][0-9]{9}$")
+                || name.matches("^[A-Z0-9]{10,15}$")
+                || name.matches("^[0-9A-Z]{8,12}$")) {
+                zebra++;
+            }
+        }
+        return zebra;
+    }
+
+    @Benchmark
+    public int classifyNames() {
+        int zebra = 0;
+        for (String name : names) {
+            if (classifier.classifyName(name) != ZebraDeviceClassifier.Match.NONE) {
+                zebra++;
+            }
+        }
+        return zebra;
+    }
+
+    @Benchmark
+    public int classifyDevices() {
+        int zebra = 0;
+        for (int i = 0; i < names.length; i++) {
+            if (classifier.classify(names[i], addresses[i], deviceClasses[i], null) == ZebraDeviceClassifier.Match.LIKELY) {
+                zebra++;
+            }
+        }
+        return zebra;
+    }
+}
@@ -0,0 +1,69 @@
+package com.zebra.zebra_printer_android.benchmark;
+
+import com.zebra.zebra_printer_android.core.BinaryRecords;
+import com.zebra.zebra_printer_android.core.BinaryWriter;
+import com.zebra.zebra_printer_android.core.DiscoveryResults;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a batch of SDK discovery results to the maps sent over the method channel, and
+ * encoding those maps as the binary records sent over zebra_printer/binary.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DiscoveryResultsBenchmark {
+    @Param({"1", "50", "250"})
+    public int printers;
+
+    private String[] addresses;
+    private List<Map<String, String>> discoveryData;
+    private List<Map<String, Object>> mapped;
+    private final BinaryWriter writer = new BinaryWriter(4096);
+
+    @Setup
+    public void setUp() {
+        addresses = new String[printers];
+        discoveryData = new ArrayList<>(printers);
+        for (int i = 0; i < printers; i++) {
+            addresses[i] = "10.0." + (i / 250) + "." + (i % 250 + 1);
+            Map<String, String> data = new HashMap<>();
+            data.put("FRIENDLY_NAME", "ZD421-" + i);
+            data.put("SERIAL_NUMBER", "50N22080" + String.format("%04d", i));
+            data.put("PRODUCT_NAME", "ZD421-300dpi ZPL");
+            data.put("FIRMWARE_VER", "V93.21.26Z");
+            discoveryData.add(data);
+        }
+        mapped = mapNetworkResults();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> mapNetworkResults() {
+        List<Map<String, Object>> result = new ArrayList<>(printers);
+        for (int i = 0; i < printers; i++) {
+            result.add(DiscoveryResults.network(addresses[i], discoveryData.get(i)));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int encodeBinaryRecords() {
+        writer.clear();
+        BinaryRecords.writePrinters(writer, mapped);
+        return writer.position();
+    }
+}
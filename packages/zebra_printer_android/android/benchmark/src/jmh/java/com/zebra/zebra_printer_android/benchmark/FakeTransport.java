@@ -0,0 +1,41 @@
+package com.zebra.zebra_printer_android.benchmark;
+
+import com.zebra.zebra_printer_android.core.PrinterTransport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/** In-memory printer: counts written bytes and answers each write with a canned reply on the next read. */
+class FakeTransport implements PrinterTransport {
+    private final byte[] reply;
+    long bytesWritten;
+    long writes;
+    private int unanswered;
+
+    FakeTransport(byte[] reply) {
+        this.reply = reply;
+    }
+
+    @Override
+    public void write(byte[] data, int offset, int length) throws IOException {
+        bytesWritten += length;
+        writes++;
+        unanswered++;
+    }
+
+    @Override
+    public void read(OutputStream out) throws IOException {
+        for (; unanswered > 0; unanswered--) {
+            out.write(reply, 0, reply.length);
+        }
+    }
+
+    @Override
+    public boolean awaitData(long timeoutMs) throws InterruptedException {
+        if (unanswered > 0 && reply.length > 0) {
+            return true;
+        }
+        Thread.sleep(timeoutMs);
+        return false;
+    }
+}
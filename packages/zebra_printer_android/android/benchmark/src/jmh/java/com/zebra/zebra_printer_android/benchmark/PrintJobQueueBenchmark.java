@@ -0,0 +1,84 @@
+package com.zebra.zebra_printer_android.benchmark;
+
+import com.zebra.zebra_printer_android.core.PrintJob;
+import com.zebra.zebra_printer_android.core.PrintJobQueue;
+import com.zebra.zebra_printer_android.core.PrintSpool;
+import com.zebra.zebra_printer_android.core.ZplCommands;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queueing and draining a burst of labels, reported per label. maxBatchBytes of 1 disables
+ * batching so every label is its own write. With spooled=true every label is also recorded in a
+ * PrintSpool in a temporary file, which costs one fsync per write.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PrintJobQueueBenchmark {
+    static final int BURST = 100;
+
+    @Param({"1", "16384"})
+    public int maxBatchBytes;
+
+    @Param({"false", "true"})
+    public boolean spooled;
+
+    private PrintJobQueue queue;
+    private PrintSpool spool;
+    private File spoolFile;
+    private FakeTransport transport;
+    private byte[] label;
+
+    @Setup
+    public void setUp() {
+        queue = new PrintJobQueue(BURST, maxBatchBytes);
+        transport = new FakeTransport(new byte[0]);
+        label = ZplCommands.encode(ZplBenchmark.SHIPPING_LABEL);
+        if (spooled) {
+            try {
+                spoolFile = File.createTempFile("print_spool", null);
+                spool = new PrintSpool(spoolFile);
+                spool.open();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            queue.setJournal(spool);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (spool != null) {
+            spool.close();
+            spoolFile.delete();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public int queueAndDrainBurst() {
+        for (int i = 0; i < BURST; i++) {
+            if (spool == null) {
+                queue.offer(new PrintJob(label, null));
+            } else {
+                final long id = spool.append("bench", PrintJob.Priority.BULK, label);
+                queue.offer(new PrintJob(label, (job, error) -> spool.complete(id)));
+            }
+        }
+        return queue.drainTo(transport);
+    }
+}
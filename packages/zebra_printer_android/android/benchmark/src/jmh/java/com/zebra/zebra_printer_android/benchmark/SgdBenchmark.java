@@ -0,0 +1,83 @@
+package com.zebra.zebra_printer_android.benchmark;
+
+import com.zebra.zebra_printer_android.core.ReplyRouter;
+import com.zebra.zebra_printer_android.core.SgdClient;
+import com.zebra.zebra_printer_android.core.SgdResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of getvar and setvar through an SgdClient and its ReplyRouter, as a connection makes
+ * them, and of parsing replies in place. Under the gc profiler getLongRoundTrip, sendSetvar and
+ * parseMultipleAsNumbers should show no allocation; getRoundTrip and parseReply only their
+ * String, and getOverlapped its result array.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SgdBenchmark {
+    private SgdClient client;
+    private SgdClient setClient;
+    private byte[] reply;
+    private byte[] multiReply;
+    private final String[] dimensionParameters = {
+        "ezpl.print_width", "head.resolution.in_dpi", "ezpl.max_print_width", "ezpl.media_width"
+    };
+    private final SgdResponse response = new SgdResponse();
+
+    @Setup
+    public void setUp() {
+        reply = "\"832\"\0\0".getBytes(StandardCharsets.UTF_8);
+        multiReply = "\"832\"\"203\"\"1218\"\"832\"\r\n".getBytes(StandardCharsets.UTF_8);
+        client = new SgdClient(new ReplyRouter(new FakeTransport(reply), 4096, (frame, data) -> { }));
+        // setvar gets no reply
+        setClient = new SgdClient(new ReplyRouter(new FakeTransport(new byte[0]), 4096, (frame, data) -> { }));
+    }
+
+    @Benchmark
+    public String getRoundTrip() throws Exception {
+        return client.get("ezpl.print_width", 1000);
+    }
+
+    @Benchmark
+    public long getLongRoundTrip() throws Exception {
+        return client.getLong("ezpl.print_width", -1, 1000);
+    }
+
+    @Benchmark
+    public String[] getOverlapped() throws Exception {
+        return client.get(dimensionParameters, 1000);
+    }
+
+    @Benchmark
+    public String parseReply() {
+        response.wrap(reply, reply.length);
+        response.parse();
+        return response.value(0);
+    }
+
+    @Benchmark
+    public long parseMultipleAsNumbers() {
+        response.wrap(multiReply, multiReply.length);
+        long sum = 0;
+        int count = response.parse();
+        for (int i = 0; i < count; i++) {
+            sum += response.valueAsLong(i, 0);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void sendSetvar() throws Exception {
+        setClient.sendSet("device.languages", "zpl");
+    }
+}
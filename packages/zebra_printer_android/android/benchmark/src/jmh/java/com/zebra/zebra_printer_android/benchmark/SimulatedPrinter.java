@@ -0,0 +1,402 @@
+package com.zebra.zebra_printer_android.benchmark;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Zebra printer stand-in that listens on TCP like a real printer's raw port.
+ *
+ * It understands ! U1 getvar/setvar, ~HS and ~HQES, and accepts ^XA...^XZ formats into a
+ * receive buffer that a print engine empties at the configured print speed. When the buffer is
+ * full it stops reading, so senders see the same TCP backpressure as with real hardware.
+ *
+ * Point the app at it with a TCP connection to host:port (10.0.2.2 from the Android emulator),
+ * or start it in-process from a benchmark.
+ */
+public class SimulatedPrinter implements Closeable {
+    private static final byte STX = 0x02;
+    private static final byte ETX = 0x03;
+
+    private static final long SGD_PREFIX = word("! U1");
+    private static final long START_FORMAT = word("^XA");
+    private static final long END_FORMAT = word("^XZ");
+    private static final long HOST_STATUS = word("~HS");
+    private static final long HOST_QUERY_ERRORS = word("~HQES");
+
+    /** Simulator settings. */
+    public static class Config {
+        int port = 9100;
+        double printSpeedIps = 6;
+        int dpi = 203;
+        int labelLengthDots = 1218;
+        int bufferBytes = 64 * 1024;
+        long latencyMs;
+        long jitterMs;
+
+        /** TCP port to listen on, 0 for any free port. */
+        public Config port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /** Print speed in inches per second, 0 to print instantly. */
+        public Config printSpeedIps(double printSpeedIps) {
+            this.printSpeedIps = printSpeedIps;
+            return this;
+        }
+
+        public Config label(int dpi, int labelLengthDots) {
+            this.dpi = dpi;
+            this.labelLengthDots = labelLengthDots;
+            return this;
+        }
+
+        /** Size of the receive buffer holding formats that have not been printed yet. */
+        public Config bufferBytes(int bufferBytes) {
+            this.bufferBytes = bufferBytes;
+            return this;
+        }
+
+        /** Delay before answering getvar, ~HS and ~HQES, plus up to jitterMs of random extra delay. */
+        public Config latency(long latencyMs, long jitterMs) {
+            this.latencyMs = latencyMs;
+            this.jitterMs = jitterMs;
+            return this;
+        }
+    }
+
+    private final Config config;
+    private final ServerSocket serverSocket;
+    private final Map<String, String> settings = new ConcurrentHashMap<>();
+    private final List<Socket> clients = new CopyOnWriteArrayList<>();
+    private final Random random = new Random();
+    private final Object bufferLock = new Object();
+    private final Thread acceptThread;
+    private final Thread engineThread;
+
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicLong labelsReceived = new AtomicLong();
+    private final AtomicLong labelsPrinted = new AtomicLong();
+
+    // Guarded by bufferLock
+    private final List<Integer> receiveBuffer = new ArrayList<>();
+    private int bufferedBytes;
+    private boolean paperOut;
+    private boolean paused;
+
+    private volatile boolean closed;
+
+    public SimulatedPrinter(Config config) throws IOException {
+        this.config = config;
+        serverSocket = new ServerSocket(config.port, 50, InetAddress.getByName("0.0.0.0"));
+
+        settings.put("device.languages", "zpl");
+        settings.put("device.friendly_name", "Simulated ZD421");
+        settings.put("device.unique_id", "SIM000000001");
+        settings.put("ezpl.print_width", "832");
+        settings.put("ezpl.max_print_width", "832");
+        settings.put("ezpl.media_width", "832");
+        settings.put("head.resolution.in_dpi", String.valueOf(config.dpi));
+        settings.put("zpl.label_length", String.valueOf(config.labelLengthDots));
+
+        acceptThread = new Thread(this::acceptLoop, "sim-printer-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+
+        engineThread = new Thread(this::printLoop, "sim-printer-engine");
+        engineThread.setDaemon(true);
+        engineThread.start();
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long bytesReceived() {
+        return bytesReceived.get();
+    }
+
+    public long labelsReceived() {
+        return labelsReceived.get();
+    }
+
+    public long labelsPrinted() {
+        return labelsPrinted.get();
+    }
+
+    /** Simulates running out of media; printing stops and ~HS/~HQES report it. */
+    public void setPaperOut(boolean paperOut) {
+        synchronized (bufferLock) {
+            this.paperOut = paperOut;
+            bufferLock.notifyAll();
+        }
+    }
+
+    public void setPaused(boolean paused) {
+        synchronized (bufferLock) {
+            this.paused = paused;
+            bufferLock.notifyAll();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for (Socket client : clients) {
+            client.close();
+        }
+        synchronized (bufferLock) {
+            bufferLock.notifyAll();
+        }
+        engineThread.interrupt();
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket client = serverSocket.accept();
+                client.setTcpNoDelay(true);
+                clients.add(client);
+                Thread reader = new Thread(() -> serve(client), "sim-printer-client");
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Simulated printer accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket client) {
+        try (Socket socket = client) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = socket.getOutputStream();
+
+            long window = 0;
+            int formatBytes = -1;
+            StringBuilder sgdLine = null;
+            int c;
+            while ((c = in.read()) != -1) {
+                bytesReceived.incrementAndGet();
+                window = (window << 8) | c;
+
+                if (sgdLine != null) {
+                    if (c == '\n') {
+                        handleSgd(sgdLine.toString().trim(), out);
+                        sgdLine = null;
+                    } else {
+                        sgdLine.append((char) c);
+                    }
+                    continue;
+                }
+
+                // Tilde commands are handled as soon as they arrive, even inside a format
+                if ((window & 0xFFFFFFL) == HOST_STATUS) {
+                    reply(out, hostStatus());
+                } else if ((window & 0xFFFFFFFFFFL) == HOST_QUERY_ERRORS) {
+                    reply(out, hostQueryErrors());
+                }
+
+                if (formatBytes >= 0) {
+                    formatBytes++;
+                    if ((window & 0xFFFFFFL) == END_FORMAT) {
+                        receiveFormat(formatBytes);
+                        formatBytes = -1;
+                    }
+                } else if ((window & 0xFFFFFFL) == START_FORMAT) {
+                    formatBytes = 3;
+                } else if ((window & 0xFFFFFFFFL) == SGD_PREFIX) {
+                    sgdLine = new StringBuilder();
+                }
+            }
+        } catch (SocketException e) {
+            // Client disconnected or simulator closed
+        } catch (IOException | InterruptedException e) {
+            if (!closed) {
+                System.err.println("Simulated printer connection failed: " + e.getMessage());
+            }
+        } finally {
+            clients.remove(client);
+        }
+    }
+
+    private void handleSgd(String line, OutputStream out) throws IOException, InterruptedException {
+        List<String> quoted = quotedValues(line);
+        if (line.startsWith("getvar") && quoted.size() >= 1) {
+            String value = settings.getOrDefault(quoted.get(0), "?");
+            reply(out, ("\"" + value + "\"").getBytes(StandardCharsets.UTF_8));
+        } else if (line.startsWith("setvar") && quoted.size() >= 2) {
+            settings.put(quoted.get(0), quoted.get(1));
+        }
+    }
+
+    private void reply(OutputStream out, byte[] response) throws IOException, InterruptedException {
+        long delay = config.latencyMs + (config.jitterMs > 0 ? (long) (random.nextDouble() * config.jitterMs) : 0);
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+        out.write(response);
+        out.flush();
+    }
+
+    // Queues a complete format, blocking the reader while the receive buffer is full
+    private void receiveFormat(int size) throws InterruptedException {
+        labelsReceived.incrementAndGet();
+        synchronized (bufferLock) {
+            if (config.printSpeedIps <= 0 && !paperOut && !paused) {
+                labelsPrinted.incrementAndGet();
+                return;
+            }
+            while (bufferedBytes >= config.bufferBytes && !closed) {
+                bufferLock.wait();
+            }
+            receiveBuffer.add(size);
+            bufferedBytes += size;
+            bufferLock.notifyAll();
+        }
+    }
+
+    private void printLoop() {
+        long labelMillis = config.printSpeedIps > 0
+            ? (long) (config.labelLengthDots / (double) config.dpi / config.printSpeedIps * 1000)
+            : 0;
+        try {
+            while (!closed) {
+                synchronized (bufferLock) {
+                    while ((receiveBuffer.isEmpty() || paperOut || paused) && !closed) {
+                        bufferLock.wait();
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+                Thread.sleep(labelMillis);
+                synchronized (bufferLock) {
+                    if (receiveBuffer.isEmpty()) {
+                        continue;
+                    }
+                    bufferedBytes -= receiveBuffer.remove(0);
+                    labelsPrinted.incrementAndGet();
+                    bufferLock.notifyAll();
+                }
+            }
+        } catch (InterruptedException e) {
+            // Simulator closed
+        }
+    }
+
+    private byte[] hostStatus() {
+        int formats;
+        boolean bufferFull;
+        boolean isPaperOut;
+        boolean isPaused;
+        synchronized (bufferLock) {
+            formats = receiveBuffer.size();
+            bufferFull = bufferedBytes >= config.bufferBytes;
+            isPaperOut = paperOut;
+            isPaused = paused;
+        }
+        String line1 = String.format("030,%d,%d,%04d,%03d,%d,0,0,000,0,0,0",
+            isPaperOut ? 1 : 0, isPaused ? 1 : 0, config.labelLengthDots, Math.min(formats, 999), bufferFull ? 1 : 0);
+        String line2 = String.format("001,0,0,0,1,2,6,0,%08d,1,000", formats);
+        String line3 = "1234,0";
+        return (frame(line1) + frame(line2) + frame(line3)).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private byte[] hostQueryErrors() {
+        boolean isPaperOut;
+        boolean isPaused;
+        synchronized (bufferLock) {
+            isPaperOut = paperOut;
+            isPaused = paused;
+        }
+        // Error group 1 bit 0x1 is media out; warnings are not simulated
+        String errors = isPaperOut ? "1 00000000 00000001" : "0 00000000 00000000";
+        String text = "\r\n  PRINTER STATUS" + (isPaused ? " (PAUSED)" : "") + "\r\n"
+            + "   ERRORS:         " + errors + "\r\n"
+            + "   WARNINGS:       0 00000000 00000000\r\n";
+        return frame(text).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String frame(String text) {
+        return (char) STX + text + (char) ETX + "\r\n";
+    }
+
+    private static List<String> quotedValues(String line) {
+        List<String> values = new ArrayList<>();
+        int start = line.indexOf('"');
+        while (start >= 0) {
+            int end = line.indexOf('"', start + 1);
+            if (end < 0) {
+                break;
+            }
+            values.add(line.substring(start + 1, end));
+            start = line.indexOf('"', end + 1);
+        }
+        return values;
+    }
+
+    private static long word(String text) {
+        long value = 0;
+        for (int i = 0; i < text.length(); i++) {
+            value = (value << 8) | text.charAt(i);
+        }
+        return value;
+    }
+
+    /**
+     * Runs a simulator until killed, e.g.
+     * gradle runSimulator --args="--port 9100 --speed 6 --buffer 65536 --latency 20 --jitter 10"
+     */
+    public static void main(String[] args) throws Exception {
+        Config config = new Config();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--port":
+                    config.port(Integer.parseInt(value));
+                    break;
+                case "--speed":
+                    config.printSpeedIps(Double.parseDouble(value));
+                    break;
+                case "--buffer":
+                    config.bufferBytes(Integer.parseInt(value));
+                    break;
+                case "--latency":
+                    config.latency(Long.parseLong(value), config.jitterMs);
+                    break;
+                case "--jitter":
+                    config.latency(config.latencyMs, Long.parseLong(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        try (SimulatedPrinter printer = new SimulatedPrinter(config)) {
+            System.out.println("Simulated Zebra printer listening on port " + printer.port());
+            while (true) {
+                Thread.sleep(10_000);
+                System.out.println("received " + printer.labelsReceived() + " labels ("
+                    + printer.bytesReceived() + " bytes), printed " + printer.labelsPrinted());
+            }
+        }
+    }
+}
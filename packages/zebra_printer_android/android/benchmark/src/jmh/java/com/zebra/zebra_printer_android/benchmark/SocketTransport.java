@@ -0,0 +1,69 @@
+package com.zebra.zebra_printer_android.benchmark;
+
+import com.zebra.zebra_printer_android.core.PrinterTransport;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+
+/** Raw TCP transport, the JVM equivalent of the SDK's TcpConnection. */
+class SocketTransport implements PrinterTransport, Closeable {
+    private final Socket socket;
+    // awaitData() blocks in read() and pushes the byte it got back for the next read(OutputStream)
+    private final PushbackInputStream in;
+    private final OutputStream out;
+    private final byte[] readBuffer = new byte[4096];
+
+    SocketTransport(String host, int port) throws IOException {
+        socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.connect(new InetSocketAddress(host, port), 5000);
+        in = new PushbackInputStream(socket.getInputStream(), 1);
+        out = socket.getOutputStream();
+    }
+
+    @Override
+    public void write(byte[] data, int offset, int length) throws IOException {
+        out.write(data, offset, length);
+    }
+
+    @Override
+    public void read(OutputStream target) throws IOException {
+        int available;
+        while ((available = in.available()) > 0) {
+            int read = in.read(readBuffer, 0, Math.min(available, readBuffer.length));
+            if (read < 0) {
+                return;
+            }
+            target.write(readBuffer, 0, read);
+        }
+    }
+
+    @Override
+    public boolean awaitData(long timeoutMs) throws IOException {
+        if (in.available() > 0) {
+            return true;
+        }
+        socket.setSoTimeout((int) Math.max(1, Math.min(timeoutMs, Integer.MAX_VALUE)));
+        try {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Printer closed the connection");
+            }
+            in.unread(b);
+            return true;
+        } catch (SocketTimeoutException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
@@ -0,0 +1,95 @@
+package com.zebra.zebra_printer_android.benchmark;
+
+import com.zebra.zebra_printer_android.core.PrintJob;
+import com.zebra.zebra_printer_android.core.PrintJobQueue;
+import com.zebra.zebra_printer_android.core.ZplCommands;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end printing over TCP against a {@link SimulatedPrinter}.
+ *
+ * labelsPerSecond reports throughput; submissionLatency samples how long a burst takes to be
+ * accepted by the printer, so its p0.99 line is the p99 submission latency per label.
+ *
+ * connection: "pooled" keeps one socket open for the whole run, "perBurst" connects for every
+ * burst like a client that does not keep connections around.
+ * maxBatchBytes: 1 writes every label separately, larger values coalesce queued labels.
+ */
+@State(Scope.Thread)
+public class ThroughputBenchmark {
+    static final int BURST = 20;
+
+    @Param({"pooled", "perBurst"})
+    public String connection;
+
+    @Param({"1", "16384"})
+    public int maxBatchBytes;
+
+    /** Simulator print speed in inches per second; 0 takes labels as fast as they arrive. */
+    @Param({"0"})
+    public double printSpeedIps;
+
+    private SimulatedPrinter printer;
+    private SocketTransport pooledTransport;
+    private PrintJobQueue queue;
+    private byte[] label;
+
+    @Setup
+    public void setUp() throws IOException {
+        printer = new SimulatedPrinter(new SimulatedPrinter.Config().port(0).printSpeedIps(printSpeedIps));
+        queue = new PrintJobQueue(BURST, maxBatchBytes);
+        label = ZplCommands.encode(ZplBenchmark.SHIPPING_LABEL);
+        if ("pooled".equals(connection)) {
+            pooledTransport = new SocketTransport("127.0.0.1", printer.port());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (pooledTransport != null) {
+            pooledTransport.close();
+        }
+        printer.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BURST)
+    public int labelsPerSecond() throws IOException {
+        return printBurst();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @OperationsPerInvocation(BURST)
+    public int submissionLatency() throws IOException {
+        return printBurst();
+    }
+
+    private int printBurst() throws IOException {
+        for (int i = 0; i < BURST; i++) {
+            queue.offer(new PrintJob(label, null));
+        }
+        if (pooledTransport != null) {
+            return queue.drainTo(pooledTransport);
+        }
+        try (SocketTransport transport = new SocketTransport("127.0.0.1", printer.port())) {
+            return queue.drainTo(transport);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.zebra.zebra_printer_android.benchmark;
+
+import com.zebra.zebra_printer_android.core.ZplCommands;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/** Per-label cost of turning command text into bytes for the wire. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ZplBenchmark {
+    static final String SHIPPING_LABEL = "^XA^CI28^PW812^LL1218"
+        + "^FO50,50^A0N,60,60^FDACME Fulfilment^FS"
+        + "^FO50,140^A0N,30,30^FD1234 Warehouse Road, Springfield^FS"
+        + "^FO50,200^GB712,3,3^FS"
+        + "^FO50,240^A0N,40,40^FDShip to: Jane Doe^FS"
+        + "^FO50,300^A0N,30,30^FD42 Main Street, Apt 7, Shelbyville^FS"
+        + "^FO100,400^BY3^BCN,200,Y,N,N^FD1Z999AA10123456784^FS"
+        + "^FO50,700^BQN,2,6^FDQA,https://example.com/track/1Z999AA10123456784^FS"
+        + "^FO50,1100^A0N,25,25^FDOrder 100234 - 3 items - \u00dcn\u00efc\u00f6d\u00e9 \u2713^FS"
+        + "^XZ";
+
+    @Benchmark
+    public byte[] encodeShippingLabel() {
+        return ZplCommands.encode(SHIPPING_LABEL);
+    }
+
+    @Benchmark
+    public String buildLabelLength() {
+        return ZplCommands.labelLength(1218);
+    }
+}
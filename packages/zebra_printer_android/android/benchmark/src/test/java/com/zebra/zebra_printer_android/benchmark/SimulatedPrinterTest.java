@@ -0,0 +1,82 @@
+package com.zebra.zebra_printer_android.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.zebra.zebra_printer_android.core.HostStatus;
+import com.zebra.zebra_printer_android.core.PrintJob;
+import com.zebra.zebra_printer_android.core.PrintJobQueue;
+import com.zebra.zebra_printer_android.core.ReplyRouter;
+import com.zebra.zebra_printer_android.core.SgdClient;
+import com.zebra.zebra_printer_android.core.StatusFlags;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.LongSupplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SimulatedPrinterTest {
+    private static final byte[] LABEL = "^XA^FO50,50^FDHello^FS^XZ".getBytes(StandardCharsets.US_ASCII);
+
+    private SimulatedPrinter printer;
+    private SocketTransport transport;
+    private ReplyRouter router;
+
+    @Before
+    public void setUp() throws Exception {
+        printer = new SimulatedPrinter(new SimulatedPrinter.Config().port(0).printSpeedIps(0));
+        transport = new SocketTransport("127.0.0.1", printer.port());
+        router = new ReplyRouter(transport, 4096, (frame, data) -> { });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        transport.close();
+        printer.close();
+    }
+
+    @Test
+    public void printsQueuedLabels() throws Exception {
+        PrintJobQueue queue = new PrintJobQueue(16, 4096);
+        for (int i = 0; i < 3; i++) {
+            queue.offer(new PrintJob(LABEL, null));
+        }
+
+        assertEquals(3, queue.drainTo(transport));
+        awaitCount(printer::labelsPrinted, 3);
+    }
+
+    @Test
+    public void answersGetvarWithTheValueSet() throws Exception {
+        SgdClient sgd = new SgdClient(router);
+        assertEquals("832", sgd.get("ezpl.print_width", 2000));
+
+        sgd.sendSet("device.friendly_name", "Dock 4");
+        assertEquals("Dock 4", sgd.get("device.friendly_name", 2000));
+    }
+
+    @Test
+    public void holdsLabelsAndReportsPaperOut() throws Exception {
+        printer.setPaperOut(true);
+        transport.write(LABEL, 0, LABEL.length);
+        awaitCount(printer::labelsReceived, 1);
+
+        HostStatus status = HostStatus.query(router, 2000);
+        assertTrue((status.flags & StatusFlags.PAPER_OUT) != 0);
+        assertEquals(0, status.flags & StatusFlags.READY);
+        assertEquals(0, printer.labelsPrinted());
+
+        printer.setPaperOut(false);
+        awaitCount(printer::labelsPrinted, 1);
+    }
+
+    private static void awaitCount(LongSupplier count, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (count.getAsLong() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, count.getAsLong());
+    }
+}
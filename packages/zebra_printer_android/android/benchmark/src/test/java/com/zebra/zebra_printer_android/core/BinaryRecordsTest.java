@@ -0,0 +1,97 @@
+package com.zebra.zebra_printer_android.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * The records as bytes. binary_records_test.dart in the platform interface package decodes the
+ * same hex, so a change to either side has to change both.
+ */
+public class BinaryRecordsTest {
+    static final String PRINTERS =
+            "01010000" + "02000000" + "10000000" + "3c000000"
+            // 9100, "192.168.1.20", "ZD421", null, "TCP", no extras
+            + "8c230000" + "0c000000" + "3139322e3136382e312e3230" + "05000000" + "5a44343231"
+            + "ffffffff" + "03000000" + "544350" + "00000000"
+            // port "0", "AC:3F:A4:00:00:01", null, null, "BLUETOOTH_LE", rssi=-60
+            + "00000000" + "11000000" + "41433a33463a41343a30303a30303a3031" + "ffffffff" + "ffffffff"
+            + "0c000000" + "424c5545544f4f54485f4c45" + "01000000"
+            + "04000000" + "72737369" + "03000000" + "2d3630";
+    static final String STATUS =
+            "02010000" + "05000000" + "02000000" + "08000000" + "70617065724f7574" + "ffffffff";
+    static final String ERROR =
+            "ff010000" + "0f000000" + "4e4f545f494d504c454d454e544544" + "02000000" + "c3bc";
+
+    @Test
+    public void writesPrintersWithOffsetTable() {
+        Map<String, Object> tcp = new LinkedHashMap<>();
+        tcp.put("address", "192.168.1.20");
+        tcp.put("port", 9100);
+        tcp.put("friendlyName", "ZD421");
+        tcp.put("interfaceType", "TCP");
+        Map<String, Object> ble = new LinkedHashMap<>();
+        ble.put("address", "AC:3F:A4:00:00:01");
+        ble.put("port", "0");
+        ble.put("serialNumber", null);
+        ble.put("interfaceType", "BLUETOOTH_LE");
+        ble.put("rssi", -60);
+
+        BinaryWriter out = new BinaryWriter(8);
+        BinaryRecords.writePrinters(out, Arrays.asList(tcp, ble));
+        assertEquals(PRINTERS, hex(out.toByteArray()));
+    }
+
+    @Test
+    public void writesStatus() {
+        BinaryWriter out = new BinaryWriter(64);
+        BinaryRecords.writeStatus(out, StatusFlags.ONLINE | StatusFlags.PAPER_OUT, 2, null);
+        assertEquals(STATUS, hex(out.toByteArray()));
+    }
+
+    @Test
+    public void writesErrorWithUtf8Message() {
+        BinaryWriter out = new BinaryWriter(64);
+        BinaryRecords.writeError(out, "NOT_IMPLEMENTED", "\u00fc");
+        assertEquals(ERROR, hex(out.toByteArray()));
+    }
+
+    @Test
+    public void writerGrowsAndReusesItsBuffer() {
+        BinaryWriter out = new BinaryWriter(1);
+        out.putInt(0);
+        out.putLong(-2);
+        out.putString(null);
+        out.putIntAt(0, 7);
+        assertEquals("07000000" + "feffffffffffffff" + "ffffffff", hex(out.toByteArray()));
+
+        out.clear().putShort(0x0102);
+        assertEquals(2, out.position());
+        ByteBuffer direct = out.toDirectBuffer();
+        assertTrue(direct.isDirect());
+        assertEquals(0x0102, direct.getShort());
+    }
+
+    @Test
+    public void nonAsciiStringLengthIsInBytes() {
+        BinaryWriter out = new BinaryWriter(4);
+        out.putString("a\u00e9\u20ac");
+        assertArrayEquals(new byte[] {6, 0, 0, 0, 'a', (byte) 0xc3, (byte) 0xa9, (byte) 0xe2, (byte) 0x82, (byte) 0xac},
+                out.toByteArray());
+    }
+
+    static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+}
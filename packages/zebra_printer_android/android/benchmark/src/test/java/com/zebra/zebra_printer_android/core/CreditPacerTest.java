@@ -0,0 +1,117 @@
+package com.zebra.zebra_printer_android.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class CreditPacerTest {
+    @Test
+    public void creditsLimitWritesInFlight() throws IOException {
+        CreditPacer pacer = new CreditPacer(2);
+        pacer.acquire(0);
+        pacer.acquire(0);
+        assertEquals(2, pacer.inFlight());
+
+        assertFails(() -> pacer.acquire(20), "No write credit");
+        pacer.release();
+        pacer.acquire(0);
+        assertEquals(2, pacer.inFlight());
+    }
+
+    @Test
+    public void extraReleasesAreIgnored() throws IOException {
+        CreditPacer pacer = new CreditPacer(1);
+        pacer.release();
+        pacer.release();
+        assertEquals(0, pacer.inFlight());
+        pacer.acquire(0);
+        assertFails(() -> pacer.acquire(10), "No write credit");
+    }
+
+    @Test
+    public void releaseWakesABlockedWriter() throws Exception {
+        CreditPacer pacer = new CreditPacer(1);
+        pacer.acquire(0);
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread writer = new Thread(() -> {
+            try {
+                pacer.acquire(5000);
+                acquired.countDown();
+            } catch (IOException e) {
+                // Leaves the latch closed, failing the test
+            }
+        });
+        writer.start();
+
+        Thread.sleep(20);
+        assertEquals(1, acquired.getCount());
+        pacer.release();
+        assertTrue(acquired.await(2, TimeUnit.SECONDS));
+        writer.join();
+    }
+
+    @Test
+    public void closeFailsBlockedAndLaterWriters() throws Exception {
+        CreditPacer pacer = new CreditPacer(1);
+        pacer.acquire(0);
+        AtomicReference<IOException> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                pacer.acquire(5000);
+            } catch (IOException e) {
+                failure.set(e);
+            }
+        });
+        writer.start();
+
+        Thread.sleep(20);
+        pacer.close("Link lost");
+        writer.join(2000);
+        assertEquals("Link lost", failure.get().getMessage());
+        assertFails(() -> pacer.acquire(0), "Link lost");
+        assertFails(() -> pacer.drain(0), "Link lost");
+    }
+
+    @Test
+    public void drainWaitsForEveryCredit() throws Exception {
+        CreditPacer pacer = new CreditPacer(3);
+        pacer.drain(0);
+        pacer.acquire(0);
+        pacer.acquire(0);
+        assertFails(() -> pacer.drain(10), "2 writes still in flight");
+
+        Thread releaser = new Thread(() -> {
+            pacer.release();
+            pacer.release();
+        });
+        releaser.start();
+        pacer.drain(2000);
+        assertEquals(0, pacer.inFlight());
+        releaser.join();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void needsAtLeastOneCredit() {
+        new CreditPacer(0);
+    }
+
+    private interface Call {
+        void run() throws IOException;
+    }
+
+    private static void assertFails(Call call, String messagePrefix) {
+        try {
+            call.run();
+            fail("Expected an IOException starting with " + messagePrefix);
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith(messagePrefix));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.zebra.zebra_printer_android.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+public class DiscoveryResultsTest {
+    @Test
+    public void networkPrintersUseTheRawPort() {
+        Map<String, Object> printer = DiscoveryResults.network("10.0.0.5",
+            Map.of("FRIENDLY_NAME", "ZD421", "SERIAL_NUMBER", "D2J123"));
+        assertEquals("10.0.0.5", printer.get("address"));
+        assertEquals(9100, printer.get("port"));
+        assertEquals("tcp", printer.get("interfaceType"));
+        assertEquals("ZD421", printer.get("friendlyName"));
+        assertEquals("D2J123", printer.get("serialNumber"));
+    }
+
+    @Test
+    public void missingDiscoveryDataLeavesNamesEmpty() {
+        Map<String, Object> printer = DiscoveryResults.network("10.0.0.5", null);
+        assertNull(printer.get("friendlyName"));
+        assertNull(printer.get("serialNumber"));
+    }
+
+    @Test
+    public void bluetoothAndUsbPortsAreIntegers() {
+        assertEquals(0, DiscoveryResults.bluetooth("ZQ520", "AC:3F:A4:00:00:01", null, "insecure").get("port"));
+        assertEquals(0, DiscoveryResults.usb("/dev/bus/usb/001/002", 1, 2, null).get("port"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.zebra.zebra_printer_android.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class HostStatusTest {
+    private static final String READY =
+        "\u0002030,0,0,1245,000,0,0,0,000,0,0,0\u0003\r\n"
+        + "\u0002000,0,0,0,0,2,4,0,00000000,1,000\u0003\r\n"
+        + "\u00021234,0\u0003\r\n";
+
+    @Test
+    public void readyPrinter() {
+        HostStatus status = HostStatus.parse(bytes(READY));
+        assertEquals(StatusFlags.ONLINE | StatusFlags.READY, status.flags);
+        assertEquals(0, status.labelsRemainingInBatch);
+        assertEquals(1245, status.labelLengthInDots);
+    }
+
+    @Test
+    public void everyFlagIsRead() {
+        HostStatus status = HostStatus.parse(bytes(
+            "\u0002030,1,1,0812,000,1,0,0,000,0,0,1\u0003\r\n"
+            + "\u0002000,0,1,1,0,2,4,0,00000017,1,000\u0003\r\n"
+            + "\u00021234,0\u0003\r\n"));
+        assertEquals(StatusFlags.ONLINE | StatusFlags.PAPER_OUT | StatusFlags.PAUSED
+            | StatusFlags.BUFFER_FULL | StatusFlags.HEAD_TOO_HOT | StatusFlags.HEAD_OPEN
+            | StatusFlags.RIBBON_OUT, status.flags);
+        assertEquals(17, status.labelsRemainingInBatch);
+        assertEquals(812, status.labelLengthInDots);
+    }
+
+    @Test
+    public void parsesAReplyInsideALargerBuffer() {
+        byte[] buffer = bytes("garbage" + READY + "trailing");
+        HostStatus status = HostStatus.parse(buffer, 7, READY.length());
+        assertEquals(1245, status.labelLengthInDots);
+    }
+
+    @Test
+    public void unreadableNumbersAreZero() {
+        HostStatus status = HostStatus.parse(bytes(
+            "\u0002030,0,0,????,000,0,0,0,000,0,0,0\u0003"
+            + "\u0002000,0,0,0,0,2,4,0,--------,1,000\u0003"));
+        assertEquals(0, status.labelLengthInDots);
+        assertEquals(0, status.labelsRemainingInBatch);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsASingleFrame() {
+        HostStatus.parse(bytes("\u0002030,0,0,1245,000,0,0,0,000,0,0,0\u0003"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsShortFrames() {
+        HostStatus.parse(bytes("\u00021,2,3\u0003\u00024,5,6\u0003\u00027\u0003"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAnSgdReply() {
+        HostStatus.parse(bytes("\"ready\""));
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,59 @@
+package com.zebra.zebra_printer_android.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+    private static final long ONE_MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.count());
+        assertEquals(0.0, histogram.percentileMs(99), 0);
+        assertEquals(0.0, (double) histogram.toMap().get("meanMs"), 0);
+    }
+
+    @Test
+    public void percentilesAreBucketUpperBounds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 98; i++) {
+            histogram.recordNanos(ONE_MS);
+        }
+        histogram.recordNanos(100 * ONE_MS);
+        histogram.recordNanos(100 * ONE_MS);
+
+        // 1000 us falls in the [512, 1024) us bucket
+        assertEquals(1.024, histogram.percentileMs(50), 1e-9);
+        assertEquals(1.024, histogram.percentileMs(98), 1e-9);
+        // The top bucket is capped at the largest value seen
+        assertEquals(100.0, histogram.percentileMs(99), 1e-9);
+    }
+
+    @Test
+    public void toMapReportsMeanAndMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(2 * ONE_MS);
+        histogram.recordNanos(4 * ONE_MS);
+        histogram.recordNanos(-5);
+
+        Map<String, Object> map = histogram.toMap();
+        assertEquals(3L, map.get("count"));
+        assertEquals(2.0, (double) map.get("meanMs"), 1e-9);
+        assertEquals(4.0, (double) map.get("maxMs"), 1e-9);
+    }
+
+    @Test
+    public void resetClearsEverything() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(ONE_MS);
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.sumNanos());
+        assertEquals(0.0, histogram.percentileMs(50), 0);
+    }
+}
@@ -0,0 +1,74 @@
+package com.zebra.zebra_printer_android.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class MetricsTest {
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> section(Map<String, Object> snapshot, String name) {
+        return (Map<String, Object>) snapshot.get(name);
+    }
+
+    @Test
+    public void countersMaximaAndGaugesShareOneSection() {
+        Metrics metrics = new Metrics();
+        metrics.increment("jobs");
+        metrics.add("jobs", 4);
+        metrics.recordMax("depth", 3);
+        metrics.recordMax("depth", 7);
+        metrics.recordMax("depth", 5);
+        metrics.registerGauge("queued", () -> 42);
+
+        Map<String, Object> counters = section(metrics.snapshot(), "counters");
+        assertEquals(5L, counters.get("jobs"));
+        assertEquals(7L, counters.get("depth"));
+        assertEquals(42L, counters.get("queued"));
+    }
+
+    @Test
+    public void writesAreTrackedPerTransport() {
+        Metrics metrics = new Metrics();
+        metrics.recordWrite("tcp", 1000, TimeUnit.MILLISECONDS.toNanos(1));
+        metrics.recordWrite("tcp", 1000, TimeUnit.MILLISECONDS.toNanos(1));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> tcp = (Map<String, Object>) section(metrics.snapshot(), "transports").get("tcp");
+        assertEquals(2000L, tcp.get("bytesWritten"));
+        assertEquals(1_000_000L, tcp.get("bytesPerSecond"));
+    }
+
+    @Test
+    public void discoveryTimerRecordsFirstResultOnce() {
+        Metrics metrics = new Metrics();
+        Metrics.DiscoveryTimer timer = metrics.startDiscovery("tcp");
+        timer.found();
+        timer.found();
+        timer.finish();
+
+        Map<String, Object> snapshot = metrics.snapshot();
+        assertEquals(2L, section(snapshot, "counters").get("discovery.tcp.results"));
+        Map<String, Object> latencies = section(snapshot, "latencies");
+        assertEquals(1L, ((Map<?, ?>) latencies.get("discovery.tcp.firstResult")).get("count"));
+        assertEquals(1L, ((Map<?, ?>) latencies.get("discovery.tcp.total")).get("count"));
+    }
+
+    @Test
+    public void resetKeepsGauges() {
+        Metrics metrics = new Metrics();
+        metrics.increment("jobs");
+        metrics.recordNanos("sgd.get", 1000);
+        metrics.registerGauge("queued", () -> 1);
+        metrics.reset();
+
+        Map<String, Object> snapshot = metrics.snapshot();
+        assertEquals(0L, section(snapshot, "counters").get("jobs"));
+        assertEquals(1L, section(snapshot, "counters").get("queued"));
+        assertEquals(0L, ((Map<?, ?>) section(snapshot, "latencies").get("sgd.get")).get("count"));
+        assertTrue((long) snapshot.get("uptimeMs") >= 0);
+    }
+}
@@ -0,0 +1,203 @@
+package com.zebra.zebra_printer_android.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class PrintJobQueueTest {
+    private final List<String> completed = new ArrayList<>();
+    private final Map<String, IOException> errors = new HashMap<>();
+
+    private PrintJob job(String payload) {
+        return job(payload, PrintJob.Priority.BULK);
+    }
+
+    private PrintJob job(String payload, PrintJob.Priority priority) {
+        return new PrintJob(payload.getBytes(StandardCharsets.UTF_8), priority, (job, error) -> {
+            String name = new String(job.payload(), StandardCharsets.UTF_8);
+            completed.add(name);
+            errors.put(name, error);
+        });
+    }
+
+    @Test
+    public void smallJobsAreCoalescedIntoOneWrite() {
+        PrintJobQueue queue = new PrintJobQueue(16, 64);
+        RecordingTransport transport = new RecordingTransport();
+        queue.offer(job("a"));
+        queue.offer(job("b"));
+        queue.offer(job("c"));
+
+        assertEquals(3, queue.drainTo(transport));
+        assertEquals(List.of("abc"), transport.writes);
+        assertEquals(List.of("a", "b", "c"), completed);
+        assertNull(errors.get("a"));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void batchesStopAtTheBufferSize() {
+        PrintJobQueue queue = new PrintJobQueue(16, 4);
+        RecordingTransport transport = new RecordingTransport();
+        queue.offer(job("aa"));
+        queue.offer(job("bb"));
+        queue.offer(job("cc"));
+        queue.offer(job("dddddd"));
+
+        assertEquals(4, queue.drainTo(transport));
+        // A job as large as the buffer is written on its own
+        assertEquals(List.of("aabb", "cc", "dddddd"), transport.writes);
+    }
+
+    @Test
+    public void urgentJobsGoFirstAndBatchesDoNotMixPriorities() {
+        PrintJobQueue queue = new PrintJobQueue(16, 64);
+        RecordingTransport transport = new RecordingTransport();
+        queue.offer(job("a"));
+        queue.offer(job("b"));
+        queue.offer(job("X", PrintJob.Priority.URGENT));
+        queue.offer(job("Y", PrintJob.Priority.URGENT));
+        assertEquals(2, queue.size(PrintJob.Priority.URGENT));
+        assertEquals(2, queue.size(PrintJob.Priority.BULK));
+
+        assertEquals(4, queue.drainTo(transport));
+        assertEquals(List.of("XY", "ab"), transport.writes);
+        assertEquals(List.of("X", "Y", "a", "b"), completed);
+    }
+
+    @Test
+    public void bulkGetsATurnAfterUrgentBatchesInARow() {
+        // A one byte buffer makes every job its own batch
+        PrintJobQueue queue = new PrintJobQueue(32, 1);
+        RecordingTransport transport = new RecordingTransport();
+        queue.offer(job("a"));
+        queue.offer(job("b"));
+        for (int i = 0; i < 2 * PrintJobQueue.URGENT_BATCHES_BEFORE_BULK; i++) {
+            queue.offer(job(String.valueOf(i), PrintJob.Priority.URGENT));
+        }
+
+        queue.drainTo(transport);
+        assertEquals(List.of("0", "1", "2", "3", "a", "4", "5", "6", "7", "b"), transport.writes);
+    }
+
+    @Test
+    public void takeAllReturnsUrgentJobsFirst() {
+        PrintJobQueue queue = new PrintJobQueue(16, 64);
+        queue.offer(job("a"));
+        queue.offer(job("X", PrintJob.Priority.URGENT));
+        queue.offer(job("b"));
+
+        List<String> taken = new ArrayList<>();
+        for (PrintJob job : queue.takeAll()) {
+            taken.add(new String(job.payload(), StandardCharsets.UTF_8));
+        }
+        assertEquals(List.of("X", "a", "b"), taken);
+        assertEquals(0, queue.size());
+        assertTrue(completed.isEmpty());
+    }
+
+    @Test
+    public void offerFailsWhenFull() {
+        PrintJobQueue queue = new PrintJobQueue(2, 64);
+        assertTrue(queue.offer(job("a")));
+        assertTrue(queue.offer(job("b", PrintJob.Priority.URGENT)));
+        assertFalse(queue.offer(job("c")));
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void removedJobsAreNotSent() {
+        PrintJobQueue queue = new PrintJobQueue(16, 64);
+        RecordingTransport transport = new RecordingTransport();
+        PrintJob removed = job("b");
+        queue.offer(job("a"));
+        queue.offer(removed);
+
+        assertTrue(queue.remove(removed));
+        queue.drainTo(transport);
+        assertFalse(queue.remove(removed));
+        assertEquals(List.of("a"), transport.writes);
+    }
+
+    @Test
+    public void failedWriteWithoutFailoverFailsTheBatch() {
+        PrintJobQueue queue = new PrintJobQueue(16, 64);
+        RecordingTransport transport = new RecordingTransport();
+        queue.offer(job("a"));
+        queue.offer(job("b"));
+        transport.failNextWrites(1);
+
+        assertEquals(0, queue.drainTo(transport));
+        assertEquals(List.of("a", "b"), completed);
+        assertNotNull(errors.get("a"));
+        assertNotNull(errors.get("b"));
+    }
+
+    @Test
+    public void failedWriteHandsTheBatchAndQueuedJobsToFailover() {
+        PrintJobQueue queue = new PrintJobQueue(16, 2);
+        RecordingTransport transport = new RecordingTransport();
+        List<String> rerouted = new ArrayList<>();
+        queue.offer(job("a"));
+        queue.offer(job("b"));
+        queue.offer(job("c"));
+        transport.failNextWrites(1);
+
+        int sent = queue.drainTo(transport, job -> {
+            String name = new String(job.payload(), StandardCharsets.UTF_8);
+            rerouted.add(name);
+            return !name.equals("c");
+        });
+
+        assertEquals(0, sent);
+        assertEquals(List.of("a", "b", "c"), rerouted);
+        // Only the job failover refused is completed here
+        assertEquals(List.of("c"), completed);
+        assertNotNull(errors.get("c"));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void failedBatchIsRequeuedInOrder() {
+        PrintJobQueue queue = new PrintJobQueue(16, 1);
+        RecordingTransport transport = new RecordingTransport();
+        for (int i = 0; i < 5; i++) {
+            queue.offer(job(String.valueOf(i)));
+        }
+        transport.failNextWrites(1);
+
+        assertFalse(queue.drainOrRequeue(transport));
+        assertTrue(completed.isEmpty());
+        assertEquals(5, queue.size());
+
+        assertTrue(queue.drainOrRequeue(transport));
+        assertEquals(List.of("0", "1", "2", "3", "4"), transport.writes);
+        assertEquals(List.of("0", "1", "2", "3", "4"), completed);
+    }
+
+    @Test
+    public void requeuedBatchKeepsItsOrderAheadOfLaterJobs() {
+        PrintJobQueue queue = new PrintJobQueue(4, 64);
+        RecordingTransport transport = new RecordingTransport();
+        queue.offer(job("a"));
+        queue.offer(job("b"));
+        transport.failNextWrites(1);
+        assertFalse(queue.drainOrRequeue(transport));
+
+        queue.offer(job("c"));
+        queue.offer(job("X", PrintJob.Priority.URGENT));
+        assertTrue(queue.drainOrRequeue(transport));
+        assertEquals(List.of("X", "abc"), transport.writes);
+    }
+}
@@ -0,0 +1,217 @@
+package com.zebra.zebra_printer_android.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrintSpoolTest {
+    private File directory;
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("spool").toFile();
+        file = new File(directory, "jobs.spool");
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void replaysJobsThatWereNotCompleted() throws IOException {
+        PrintSpool spool = new PrintSpool(file);
+        assertTrue(spool.open().isEmpty());
+        long first = spool.append("tcp:10.0.0.5", PrintJob.Priority.BULK, bytes("^XA1^XZ"));
+        long second = spool.append("tcp:10.0.0.5", PrintJob.Priority.URGENT, bytes("^XA2^XZ"));
+        spool.append("bt:AC:3F", PrintJob.Priority.BULK, bytes("^XA3^XZ"));
+        spool.complete(first);
+        spool.close();
+
+        PrintSpool reopened = new PrintSpool(file);
+        List<PrintSpool.Entry> entries = reopened.open();
+        assertEquals(2, entries.size());
+        assertEquals(second, entries.get(0).id);
+        assertEquals("tcp:10.0.0.5", entries.get(0).printerKey);
+        assertEquals(PrintJob.Priority.URGENT, entries.get(0).priority);
+        assertArrayEquals(bytes("^XA2^XZ"), entries.get(0).payload);
+        assertEquals("bt:AC:3F", entries.get(1).printerKey);
+        assertEquals(1, reopened.pendingFor("bt:AC:3F").size());
+
+        // Ids keep increasing across restarts
+        assertTrue(reopened.append("tcp:10.0.0.5", PrintJob.Priority.BULK, bytes("x")) > entries.get(1).id);
+        reopened.close();
+    }
+
+    @Test
+    public void reconnectingWhileJobsAreQueuedDoesNotTakeThemTwice() throws IOException {
+        PrintSpool spool = new PrintSpool(file);
+        spool.open();
+        long earlier = spool.append("tcp:10.0.0.5", PrintJob.Priority.BULK, bytes("^XA1^XZ"));
+        spool.close();
+
+        PrintSpool reopened = new PrintSpool(file);
+        reopened.open();
+        // Held by offline queueing in this run
+        reopened.append("tcp:10.0.0.5", PrintJob.Priority.BULK, bytes("^XA2^XZ"));
+
+        List<PrintSpool.Entry> taken = reopened.takeRecovered("tcp:10.0.0.5");
+        assertEquals(1, taken.size());
+        assertEquals(earlier, taken.get(0).id);
+        // Connecting to the same printer again while both are still queued
+        assertTrue(reopened.takeRecovered("tcp:10.0.0.5").isEmpty());
+        assertEquals(2, reopened.pendingCount());
+        reopened.close();
+    }
+
+    @Test
+    public void failedRecoveredJobIsTakenAgainUnlessCompleted() throws IOException {
+        PrintSpool spool = new PrintSpool(file);
+        spool.open();
+        spool.append("p", PrintJob.Priority.BULK, bytes("a"));
+        spool.append("q", PrintJob.Priority.BULK, bytes("b"));
+        spool.close();
+
+        PrintSpool reopened = new PrintSpool(file);
+        reopened.open();
+        assertTrue(reopened.takeRecovered("other").isEmpty());
+        long failed = reopened.takeRecovered("p").get(0).id;
+        long printed = reopened.takeRecovered("q").get(0).id;
+        reopened.returnRecovered(failed);
+        reopened.complete(printed);
+        reopened.returnRecovered(printed);
+
+        assertEquals(failed, reopened.takeRecovered("p").get(0).id);
+        assertTrue(reopened.takeRecovered("q").isEmpty());
+        reopened.close();
+    }
+
+    @Test
+    public void recordsAreOnlyWrittenBySync() throws IOException {
+        PrintSpool spool = new PrintSpool(file);
+        spool.open();
+        spool.append("p", PrintJob.Priority.BULK, bytes("^XA^XZ"));
+        assertEquals(0, file.length());
+
+        spool.sync();
+        assertTrue(file.length() > 0);
+        spool.close();
+    }
+
+    @Test
+    public void tornTailIsDroppedOnOpen() throws IOException {
+        PrintSpool spool = new PrintSpool(file);
+        spool.open();
+        spool.append("p", PrintJob.Priority.BULK, bytes("kept"));
+        spool.sync();
+        long validLength = file.length();
+        spool.append("p", PrintJob.Priority.BULK, bytes("torn"));
+        spool.close();
+
+        // Cut the second record short, as a crash mid-write would
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+        List<PrintSpool.Entry> entries = new PrintSpool(file).open();
+        assertEquals(1, entries.size());
+        assertArrayEquals(bytes("kept"), entries.get(0).payload);
+        assertEquals(validLength, file.length());
+    }
+
+    @Test
+    public void recordWithBadChecksumEndsReplay() throws IOException {
+        PrintSpool spool = new PrintSpool(file);
+        spool.open();
+        spool.append("p", PrintJob.Priority.BULK, bytes("first"));
+        spool.sync();
+        long firstLength = file.length();
+        spool.append("p", PrintJob.Priority.BULK, bytes("second"));
+        spool.close();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(firstLength + 20);
+            raf.write('!');
+        }
+        List<PrintSpool.Entry> entries = new PrintSpool(file).open();
+        assertEquals(1, entries.size());
+        assertArrayEquals(bytes("first"), entries.get(0).payload);
+    }
+
+    @Test
+    public void fileIsTruncatedWhenNothingIsPending() throws IOException {
+        PrintSpool spool = new PrintSpool(file);
+        spool.open();
+        byte[] payload = new byte[16 * 1024];
+        for (int i = 0; i < 8; i++) {
+            spool.complete(spool.append("p", PrintJob.Priority.BULK, payload));
+        }
+        spool.sync();
+        assertEquals(0, file.length());
+        assertEquals(0, spool.pendingCount());
+        spool.close();
+
+        assertTrue(new PrintSpool(file).open().isEmpty());
+    }
+
+    @Test
+    public void largeFileIsCompactedToThePendingJobs() throws IOException {
+        PrintSpool spool = new PrintSpool(file);
+        spool.open();
+        long kept = spool.append("p", PrintJob.Priority.BULK, bytes("pending"));
+        byte[] payload = new byte[1024 * 1024];
+        // With record overhead the last sync takes the file just past COMPACT_BYTES
+        for (long written = 0; written < PrintSpool.COMPACT_BYTES; written += payload.length) {
+            spool.complete(spool.append("p", PrintJob.Priority.BULK, payload));
+            spool.sync();
+        }
+        assertTrue(file.length() < 1024);
+        assertEquals(0, spool.syncFailures());
+        spool.close();
+
+        List<PrintSpool.Entry> entries = new PrintSpool(file).open();
+        assertEquals(1, entries.size());
+        assertEquals(kept, entries.get(0).id);
+        assertArrayEquals(bytes("pending"), entries.get(0).payload);
+    }
+
+    @Test
+    public void discardPendingCompletesEverything() throws IOException {
+        PrintSpool spool = new PrintSpool(file);
+        spool.open();
+        spool.append("p", PrintJob.Priority.BULK, bytes("a"));
+        spool.append("q", PrintJob.Priority.BULK, bytes("b"));
+        assertEquals(2, spool.discardPending());
+        spool.close();
+
+        assertTrue(new PrintSpool(file).open().isEmpty());
+    }
+
+    @Test
+    public void appendBeforeOpenIsNotRecorded() {
+        PrintSpool spool = new PrintSpool(file);
+        assertEquals(0, spool.append("p", PrintJob.Priority.BULK, bytes("a")));
+        assertEquals(0, spool.pendingCount());
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
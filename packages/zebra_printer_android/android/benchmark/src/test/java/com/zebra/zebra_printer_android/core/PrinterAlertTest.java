@@ -0,0 +1,91 @@
+package com.zebra.zebra_printer_android.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.zebra.zebra_printer_android.core.PrinterAlert.Condition;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class PrinterAlertTest {
+    private static final int READY = StatusFlags.ONLINE | StatusFlags.READY;
+
+    @Test
+    public void parsesASetCondition() {
+        PrinterAlert alert = parse("ALERT: PAPER OUT\r\n");
+        assertSame(Condition.PAPER_OUT, alert.condition);
+        assertFalse(alert.cleared);
+        assertEquals("ALERT: PAPER OUT", alert.message);
+    }
+
+    @Test
+    public void parsesAClearedCondition() {
+        PrinterAlert alert = parse("ALERT CLEARED: HEAD OPEN");
+        assertSame(Condition.HEAD_OPEN, alert.condition);
+        assertTrue(alert.cleared);
+    }
+
+    @Test
+    public void matchingIgnoresCase() {
+        PrinterAlert alert = parse("Alert: Ribbon Low cleared");
+        assertSame(Condition.RIBBON_LOW, alert.condition);
+        assertTrue(alert.cleared);
+        assertEquals("Alert: Ribbon Low cleared", alert.message);
+    }
+
+    @Test
+    public void otherLinesAreNotAlerts() {
+        assertNull(parse("\"203\""));
+        assertNull(parse("PRINTER READY"));
+        assertNull(parse(""));
+    }
+
+    @Test
+    public void setAlertsSetTheirFlagAndDropReady() {
+        int flags = parse("ALERT: PAPER OUT").apply(READY);
+        assertEquals(StatusFlags.ONLINE | StatusFlags.PAPER_OUT, flags);
+
+        flags = parse("ALERT: PRINTER PAUSED").apply(flags);
+        assertEquals(StatusFlags.ONLINE | StatusFlags.PAPER_OUT | StatusFlags.PAUSED, flags);
+    }
+
+    @Test
+    public void clearingTheLastProblemRestoresReady() {
+        int flags = StatusFlags.ONLINE | StatusFlags.HEAD_OPEN | StatusFlags.RIBBON_OUT;
+        flags = parse("ALERT CLEARED: HEAD OPEN").apply(flags);
+        assertEquals(StatusFlags.ONLINE | StatusFlags.RIBBON_OUT, flags);
+
+        flags = parse("ALERT CLEARED: RIBBON OUT").apply(flags);
+        assertEquals(READY, flags);
+    }
+
+    @Test
+    public void conditionsWithoutAFlagLeaveStatusAlone() {
+        assertEquals(READY, parse("ALERT: BATTERY LOW").apply(READY));
+        assertEquals(READY, parse("ALERT: MEDIA LOW").apply(READY));
+    }
+
+    @Test
+    public void dartNamesRoundTrip() {
+        for (Condition condition : Condition.values()) {
+            assertSame(condition, Condition.fromDartName(condition.dartName));
+        }
+        assertNull(Condition.fromDartName("PAPER OUT"));
+        assertNull(Condition.fromDartName(null));
+    }
+
+    @Test
+    public void subscriptionValues() {
+        assertEquals("HEAD TOO HOT,SDK,Y,Y,,0,N,", Condition.HEAD_TOO_HOT.addValue());
+        assertEquals("HEAD TOO HOT,SDK", Condition.HEAD_TOO_HOT.removeValue());
+    }
+
+    private static PrinterAlert parse(String line) {
+        return PrinterAlert.parse(line.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,78 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transport that records each write, can fail the next one, and replays queued input on read().
+ * Answers queued with answer() are received one per write, like a printer replying. Input can
+ * arrive from another thread, waking awaitData().
+ */
+final class RecordingTransport implements PrinterTransport {
+    final List<String> writes = new ArrayList<>();
+    private final ByteArrayOutputStream input = new ByteArrayOutputStream();
+    private final ArrayDeque<String> answers = new ArrayDeque<>();
+    private int failNextWrites;
+    private int writesBeforeFailing;
+
+    /** Makes the next count writes throw. */
+    synchronized void failNextWrites(int count) {
+        failNextWrites(count, 0);
+    }
+
+    /** Lets the next skip writes through, then makes count writes throw. */
+    synchronized void failNextWrites(int count, int skip) {
+        failNextWrites = count;
+        writesBeforeFailing = skip;
+    }
+
+    /** Bytes the next read() delivers. */
+    synchronized void receive(String data) {
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        input.write(bytes, 0, bytes.length);
+        notifyAll();
+    }
+
+    /** Bytes received right after a later write, in the order queued. */
+    synchronized void answer(String reply) {
+        answers.add(reply);
+    }
+
+    synchronized String written() {
+        return String.join("", writes);
+    }
+
+    @Override
+    public synchronized void write(byte[] data, int offset, int length) throws IOException {
+        if (failNextWrites > 0 && writesBeforeFailing-- <= 0) {
+            failNextWrites--;
+            throw new IOException("Write failed");
+        }
+        writes.add(new String(data, offset, length, StandardCharsets.UTF_8));
+        if (!answers.isEmpty()) {
+            receive(answers.poll());
+        }
+    }
+
+    @Override
+    public synchronized void read(OutputStream out) throws IOException {
+        input.writeTo(out);
+        input.reset();
+    }
+
+    @Override
+    public synchronized boolean awaitData(long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        long remaining = timeoutMs;
+        while (input.size() == 0 && remaining > 0) {
+            wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+        return input.size() > 0;
+    }
+}
@@ -0,0 +1,268 @@
+package com.zebra.zebra_printer_android.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReplyRouterTest {
+    private static final byte[] GETVAR = "! U1 getvar \"x\"\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final List<String> unsolicited = new ArrayList<>();
+    private RecordingTransport transport;
+    private ReplyRouter router;
+
+    @Before
+    public void setUp() {
+        transport = new RecordingTransport();
+        router = new ReplyRouter(transport, 256,
+            (frame, data) -> unsolicited.add(frame + ":" + new String(data, StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void quotedReplyCompletesAGetvar() throws Exception {
+        ReplyRouter.Request request = router.request(GETVAR, ReplyRouter.Reply.SGD);
+        transport.receive("\"832\"\0\0");
+
+        router.await(request, 1000);
+        assertEquals("\"832\"", reply(request));
+        assertEquals(0, router.pendingCount());
+        assertEquals(GETVAR.length, transport.written().length());
+    }
+
+    @Test
+    public void framedReplyArrivingInPiecesWaitsForEveryFrame() throws Exception {
+        ReplyRouter.Request request = router.request(HostStatus.COMMAND, ReplyRouter.Reply.HOST_STATUS);
+        transport.receive("\u0002one\u0003\r\n\u0002tw");
+        router.pump();
+        assertEquals(1, router.pendingCount());
+
+        transport.receive("o\u0003\r\n\u0002three\u0003\r\n");
+        router.await(request, 1000);
+        assertEquals("\u0002one\u0003\u0002two\u0003\u0002three\u0003", reply(request));
+    }
+
+    @Test
+    public void jsonReplyEndsAtItsClosingBrace() throws Exception {
+        ReplyRouter.Request request = router.request("{}".getBytes(StandardCharsets.US_ASCII), ReplyRouter.Reply.JSON);
+        transport.receive("{\"a\":\"}{\\\"\",\"b\":{\"c\"");
+        router.pump();
+        assertEquals(1, router.pendingCount());
+
+        transport.receive(":1}}\r\n");
+        router.await(request, 1000);
+        assertEquals("{\"a\":\"}{\\\"\",\"b\":{\"c\":1}}", reply(request));
+    }
+
+    @Test
+    public void linesNobodyAskedForAreUnsolicited() throws Exception {
+        ReplyRouter.Request request = router.request(GETVAR, ReplyRouter.Reply.SGD);
+        transport.receive("ALERT: PAPER OUT\r\n\"203\"");
+
+        router.await(request, 1000);
+        assertEquals("\"203\"", reply(request));
+        assertEquals(List.of("LINE:ALERT: PAPER OUT"), unsolicited);
+        assertEquals(1, router.unsolicitedFrames());
+    }
+
+    @Test
+    public void lineEndsWhereAFramedReplyStarts() throws Exception {
+        ReplyRouter.Request request = router.request("~HQES".getBytes(StandardCharsets.US_ASCII), ReplyRouter.Reply.HOST_QUERY);
+        transport.receive("PRINTER PAUSED\u0002ES\u0003");
+
+        router.await(request, 1000);
+        assertEquals("\u0002ES\u0003", reply(request));
+        assertEquals(List.of("LINE:PRINTER PAUSED"), unsolicited);
+    }
+
+    @Test
+    public void eachFrameGoesToTheOldestRequestOfItsKind() throws Exception {
+        ReplyRouter.Request first = router.request(GETVAR, ReplyRouter.Reply.SGD);
+        ReplyRouter.Request query = router.request("~HQES".getBytes(StandardCharsets.US_ASCII), ReplyRouter.Reply.HOST_QUERY);
+        ReplyRouter.Request second = router.request(GETVAR, ReplyRouter.Reply.SGD);
+        transport.receive("\"1\"\u0002ES\u0003\"2\"");
+
+        router.await(second, 1000);
+        router.await(query, 0);
+        router.await(first, 0);
+        assertEquals("\"1\"", reply(first));
+        assertEquals("\u0002ES\u0003", reply(query));
+        assertEquals("\"2\"", reply(second));
+    }
+
+    @Test
+    public void bytesBufferedBeforeARequestAreNotItsReply() throws Exception {
+        transport.receive("\"stale\"");
+        ReplyRouter.Request request = router.request(GETVAR, ReplyRouter.Reply.SGD);
+        transport.receive("\"fresh\"");
+
+        router.await(request, 1000);
+        assertEquals("\"fresh\"", reply(request));
+        assertEquals(List.of("QUOTED:\"stale\""), unsolicited);
+    }
+
+    @Test
+    public void lateReplyToAnAbandonedRequestIsDropped() throws Exception {
+        ReplyRouter.Request abandoned = router.request(GETVAR, ReplyRouter.Reply.SGD);
+        try {
+            router.await(abandoned, 10);
+            fail("Expected a timeout");
+        } catch (TimeoutException expected) {
+            // The request keeps its place for its late reply
+        }
+        ReplyRouter.Request request = router.request(GETVAR, ReplyRouter.Reply.SGD);
+        transport.receive("\"late\"\"fresh\"");
+
+        router.await(request, 1000);
+        assertEquals("\"fresh\"", reply(request));
+        assertTrue(unsolicited.isEmpty());
+        assertEquals(0, router.pendingCount());
+    }
+
+    @Test
+    public void releasedRequestsAreReused() throws Exception {
+        ReplyRouter.Request first = router.request(GETVAR, ReplyRouter.Reply.SGD);
+        transport.receive("\"a long value that grows the buffer past its initial size of sixty four bytes\"");
+        router.await(first, 1000);
+        router.release(first);
+
+        ReplyRouter.Request second = router.request(GETVAR, ReplyRouter.Reply.SGD);
+        assertSame(first, second);
+        transport.receive("\"b\"");
+        router.await(second, 1000);
+        assertEquals("\"b\"", reply(second));
+    }
+
+    @Test
+    public void failedWriteLeavesNothingPending() {
+        transport.failNextWrites(1);
+        try {
+            router.request(GETVAR, ReplyRouter.Reply.SGD);
+            fail("Expected the write to fail");
+        } catch (IOException expected) {
+            assertEquals(0, router.pendingCount());
+        }
+    }
+
+    @Test
+    public void releasingAPendingRequestAbandonsIt() throws Exception {
+        ReplyRouter.Request released = router.request(GETVAR, ReplyRouter.Reply.SGD);
+        router.release(released);
+        ReplyRouter.Request request = router.request(GETVAR, ReplyRouter.Reply.SGD);
+        transport.receive("\"late\"\"fresh\"");
+
+        router.await(request, 1000);
+        assertEquals("\"fresh\"", reply(request));
+        assertEquals(0, router.pendingCount());
+    }
+
+    @Test
+    public void getvarsWrittenBeforeAFailedWriteAreAbandoned() throws Exception {
+        SgdClient client = new SgdClient(router);
+        transport.failNextWrites(1, 2);
+        try {
+            client.get(new String[] {"a", "b", "c"}, 1000);
+            fail("Expected the third write to fail");
+        } catch (IOException expected) {
+            // The replies to the first two are still on their way
+        }
+        transport.receive("\"1\"\"2\"");
+        transport.answer("\"3\"");
+        assertEquals("3", client.get("d", 1000));
+        assertEquals(0, router.pendingCount());
+        assertTrue(unsolicited.isEmpty());
+    }
+
+    @Test
+    public void closeFailsPendingAndLaterRequests() throws Exception {
+        ReplyRouter.Request request = router.request(GETVAR, ReplyRouter.Reply.SGD);
+        router.close("Connection was replaced");
+
+        assertFailsWith("Connection was replaced", () -> router.await(request, 1000));
+        assertFailsWith("Connection was replaced", () -> router.request(GETVAR, ReplyRouter.Reply.SGD));
+        assertFailsWith("Connection was replaced", () -> router.pump());
+    }
+
+    @Test
+    public void awaitBlocksUntilAReplyArrivesFromAnotherThread() throws Exception {
+        ReplyRouter.Request first = router.request(GETVAR, ReplyRouter.Reply.SGD);
+        ReplyRouter.Request second = router.request(GETVAR, ReplyRouter.Reply.SGD);
+        AtomicReference<Object> waiter = new AtomicReference<>();
+        Thread other = new Thread(() -> {
+            try {
+                router.await(second, 2000);
+                waiter.set(reply(second));
+            } catch (Exception e) {
+                waiter.set(e);
+            }
+        });
+        other.start();
+        Thread printer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                return;
+            }
+            transport.receive("\"1\"");
+            transport.receive("\"2\"");
+        });
+        printer.start();
+
+        long start = System.nanoTime();
+        router.await(first, 2000);
+        other.join(2000);
+        printer.join();
+        assertEquals("\"1\"", reply(first));
+        assertEquals("\"2\"", waiter.get());
+        assertTrue(System.nanoTime() - start < 1_500_000_000L);
+    }
+
+    @Test
+    public void readDirectlyRoutesWhatAlreadyArrived() throws Exception {
+        ReplyRouter.Request request = router.request(GETVAR, ReplyRouter.Reply.SGD);
+        transport.receive("\"832\"");
+
+        String read = router.readDirectly(() -> {
+            transport.receive("direct");
+            StringBuilder out = new StringBuilder();
+            transport.read(new ByteArrayOutputStream() {
+                @Override
+                public void write(byte[] data, int offset, int length) {
+                    out.append(new String(data, offset, length, StandardCharsets.UTF_8));
+                }
+            });
+            return out.toString();
+        });
+        assertEquals("direct", read);
+        router.await(request, 0);
+        assertEquals("\"832\"", reply(request));
+    }
+
+    private interface Call {
+        void run() throws Exception;
+    }
+
+    private static void assertFailsWith(String message, Call call) throws Exception {
+        try {
+            call.run();
+            fail("Expected an IOException");
+        } catch (IOException e) {
+            assertEquals(message, e.getMessage());
+        }
+    }
+
+    private static String reply(ReplyRouter.Request request) {
+        return new String(request.data(), 0, request.length(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,111 @@
+package com.zebra.zebra_printer_android.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SgdResponseTest {
+    private SgdResponse response;
+
+    @Before
+    public void setUp() {
+        response = new SgdResponse();
+    }
+
+    @Test
+    public void parsesQuotedValueWithPadding() {
+        set("\"832\"\0\0\r\n");
+        assertEquals(1, response.parse());
+        assertEquals("832", response.value(0));
+        assertEquals(832, response.valueAsLong(0, -1));
+        assertTrue(response.valueEquals(0, "832"));
+        assertFalse(response.valueEquals(0, "83"));
+    }
+
+    @Test
+    public void parsesConsecutiveValues() {
+        set("\"832\"\"203\"\"\"\"-12\"");
+        assertEquals(4, response.parse());
+        assertEquals(203, response.valueAsLong(1, -1));
+        assertEquals(0, response.valueLength(2));
+        assertEquals(-12, response.valueAsLong(3, 0));
+    }
+
+    @Test
+    public void unquotedReplyIsOneTrimmedValue() {
+        set("\0 ? \r\n");
+        assertEquals(1, response.parse());
+        assertEquals("?", response.value(0));
+
+        set("\0\r\n");
+        assertEquals(0, response.parse());
+    }
+
+    @Test
+    public void replyCutOffBeforeClosingQuoteIsTrimmed() {
+        set("\"zpl\r\n");
+        assertEquals(1, response.parse());
+        assertEquals("zpl", response.value(0));
+    }
+
+    @Test
+    public void nonNumericValueGivesDefault() {
+        set("\"12a\"\"-\"\"99999999999999999999\"");
+        response.parse();
+        assertEquals(-1, response.valueAsLong(0, -1));
+        assertEquals(-1, response.valueAsLong(1, -1));
+        assertEquals(-1, response.valueAsLong(2, -1));
+    }
+
+    @Test
+    public void wrapParsesInPlaceAndLeavesTheBufferAlone() {
+        byte[] data = "\"203\"\"600\"....".getBytes(StandardCharsets.US_ASCII);
+        byte[] original = data.clone();
+        response.wrap(data, 10);
+        assertEquals(2, response.parse());
+        assertEquals(600, response.valueAsLong(1, 0));
+
+        // Appending copies the wrapped reply first
+        response.write('"');
+        assertArrayEquals(original, data);
+        assertEquals(11, response.length());
+
+        response.clear();
+        set("\"1\"");
+        assertEquals(1, response.valueAsLong(response.parse() - 1, 0));
+        assertArrayEquals(original, data);
+    }
+
+    @Test
+    public void clientBuildsCommandsAndParsesReplies() throws Exception {
+        RecordingTransport transport = new RecordingTransport();
+        SgdClient client = new SgdClient(new ReplyRouter(transport, 256, (frame, data) -> { }));
+        transport.answer("\"832\"\0");
+        transport.answer("\"203\"");
+        transport.answer("\"\"");
+
+        String[] values = client.get(new String[] {"ezpl.print_width", "head.resolution.in_dpi", "media.type"}, 1000);
+        assertArrayEquals(new String[] {"832", "203", null}, values);
+        assertEquals("! U1 getvar \"ezpl.print_width\"\r\n", transport.writes.get(0));
+
+        transport.answer("\"1218\"");
+        assertEquals(1218, client.getLong("ezpl.max_print_width", -1, 1000));
+        assertEquals(-1, client.getLong("ezpl.media_width", -1, 10));
+        assertNull(client.get("device.friendly_name", 10));
+
+        client.sendSet("device.friendly_name", "Dock \u00e4");
+        assertEquals("! U1 setvar \"device.friendly_name\" \"Dock \u00e4\"\r\n", transport.writes.get(transport.writes.size() - 1));
+    }
+
+    private void set(String reply) {
+        byte[] bytes = reply.getBytes(StandardCharsets.UTF_8);
+        response.set(bytes, 0, bytes.length);
+    }
+}
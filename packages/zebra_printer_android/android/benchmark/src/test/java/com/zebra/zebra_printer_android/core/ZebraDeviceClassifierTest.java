@@ -0,0 +1,89 @@
+package com.zebra.zebra_printer_android.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.zebra.zebra_printer_android.core.ZebraDeviceClassifier.Match;
+
+import org.junit.Test;
+
+public class ZebraDeviceClassifierTest {
+    private final ZebraDeviceClassifier defaults = ZebraDeviceClassifier.defaults();
+
+    @Test
+    public void namesFromTheDefaultTable() {
+        assertEquals(Match.LIKELY, defaults.classifyName("Zebra Mobile Printer"));
+        assertEquals(Match.LIKELY, defaults.classifyName("zq630-office"));
+        assertEquals(Match.LIKELY, defaults.classifyName("50N220800901"));
+        assertEquals(Match.POSSIBLE, defaults.classifyName("XXRBJ1234"));
+        assertEquals(Match.NONE, defaults.classifyName("Pixel 7"));
+        assertEquals(Match.NONE, defaults.classifyName(null));
+    }
+
+    @Test
+    public void macPrefixesIgnoreCase() {
+        assertEquals(Match.LIKELY, defaults.classify(null, "00:07:4d:12:34:56", 0, null));
+        assertEquals(Match.POSSIBLE, defaults.classify(null, "AC:3F:A4:00:00:01", 0, null));
+        assertEquals(Match.NONE, defaults.classify(null, "00:07:4E:12:34:56", 0, null));
+        assertEquals(Match.NONE, defaults.classify(null, "not a mac", 0, null));
+    }
+
+    @Test
+    public void strongerEvidenceWins() {
+        // A possible prefix with a Zebra name is likely; with a weak name it stays possible
+        assertEquals(Match.LIKELY, defaults.classify("ZD421", "AC:3F:A4:00:00:01", 0, null));
+        assertEquals(Match.POSSIBLE, defaults.classify("XXRBJ1234", "AC:3F:A4:00:00:01", 0, null));
+    }
+
+    @Test
+    public void deviceClassNeedsMajorClassAndPrinterBit() {
+        assertEquals(Match.LIKELY, defaults.classify(null, null, 0x0680, null));
+        // Printer and camera bits together
+        assertEquals(Match.LIKELY, defaults.classify(null, null, 0x06A0, null));
+        assertEquals(Match.NONE, defaults.classify(null, null, 0x0620, null));
+        assertEquals(Match.NONE, defaults.classify(null, null, 0x0580, null));
+    }
+
+    @Test
+    public void customTableWithManufacturerAndRepeatedPrefix() {
+        ZebraDeviceClassifier classifier = ZebraDeviceClassifier.parse(String.join("\n",
+            "# company ID",
+            "",
+            "possible manufacturer 0x0A2C",
+            "possible oui 11:22:33",
+            "likely oui 11:22:33"));
+        assertEquals(Match.POSSIBLE, classifier.classify(null, null, 0, new int[] {0x004C, 0x0A2C}));
+        assertEquals(Match.NONE, classifier.classify(null, null, 0, new int[] {0x004C}));
+        assertEquals(Match.LIKELY, classifier.classify(null, "11:22:33:44:55:66", 0, null));
+        // Only the rules given apply
+        assertEquals(Match.NONE, classifier.classifyName("Zebra ZD421"));
+    }
+
+    @Test
+    public void badLinesNameTheLine() {
+        assertBadRule("likely zebra", "Line 1");
+        assertBadRule("# ok\nmaybe oui 00:07:4D", "Line 2");
+        assertBadRule("likely oui 00:07", "Line 1");
+        assertBadRule("likely name-regex (", "Line 1");
+        assertBadRule("likely manufacturer zebra", "Line 1");
+        assertBadRule("likely colour red", "Line 1");
+    }
+
+    @Test
+    public void parseOuiReadsTheFirstThreeOctets() {
+        assertEquals(0x00074D, ZebraDeviceClassifier.parseOui("00:07:4D:00:00:00"));
+        assertEquals(0xAC3FA4, ZebraDeviceClassifier.parseOui("ac:3f:a4:"));
+        assertEquals(-1, ZebraDeviceClassifier.parseOui("00-07-4D-00-00-00"));
+        assertEquals(-1, ZebraDeviceClassifier.parseOui("00:07"));
+    }
+
+    private static void assertBadRule(String rules, String expectedPrefix) {
+        try {
+            ZebraDeviceClassifier.parse(rules);
+            fail("Expected " + rules + " to be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith(expectedPrefix));
+        }
+    }
+}
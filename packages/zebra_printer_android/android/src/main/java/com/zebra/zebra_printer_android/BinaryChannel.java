@@ -0,0 +1,162 @@
+package com.zebra.zebra_printer_android;
+
+import io.flutter.plugin.common.BasicMessageChannel;
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel.MethodCallHandler;
+import io.flutter.plugin.common.MethodChannel.Result;
+
+import com.zebra.zebra_printer_android.core.BinaryRecords;
+import com.zebra.zebra_printer_android.core.BinaryWriter;
+import com.zebra.zebra_printer_android.core.Metrics;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Handler for zebra_printer/binary, a BasicMessageChannel with BinaryCodec that answers
+ * discovery, status and metrics calls with the records in core/BinaryRecords instead of maps
+ * encoded by StandardMessageCodec.
+ *
+ * A request is a method name and its arguments: string method, int32 argument count, then per
+ * argument a string key, a uint8 type (0 null, 1 int64, 2 string, 3 bool) and the value, all
+ * little-endian with strings as int32 length plus UTF-8. Requests go to the same handler as the
+ * method channel, so timeouts, cancellation and errors behave the same. Methods without a binary
+ * form are answered with a NOT_IMPLEMENTED error and Dart falls back to the method channel.
+ */
+class BinaryChannel implements BasicMessageChannel.MessageHandler<ByteBuffer> {
+    private static final String TAG = "ZebraBinaryChannel";
+
+    private final MethodCallHandler handler;
+    private final Metrics metrics;
+
+    // Results are delivered on the main thread, so one writer serves every reply
+    private final BinaryWriter writer = new BinaryWriter(4096);
+
+    BinaryChannel(MethodCallHandler handler, Metrics metrics) {
+        this.handler = handler;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void onMessage(ByteBuffer message, BasicMessageChannel.Reply<ByteBuffer> reply) {
+        MethodCall call;
+        try {
+            call = decodeRequest(message);
+        } catch (RuntimeException e) {
+            PluginLog.w(TAG, "Malformed binary request: " + e);
+            reply.reply(error("INVALID_ARGUMENT", "Malformed binary request"));
+            return;
+        }
+
+        switch (call.method) {
+            case "getMetrics":
+                writer.clear();
+                metrics.writeTo(writer);
+                reply.reply(writer.toDirectBuffer());
+                return;
+            case "getStatus":
+            case "discoverPrinters":
+            case "discoverNetworkPrintersAuto":
+            case "discoverMulticastPrinters":
+            case "discoverSubnetSearch":
+            case "discoverBluetoothPrinters":
+            case "discoverBluetoothNative":
+            case "discoverUsbPrinters":
+                handler.onMethodCall(call, new BinaryResult(reply));
+                return;
+            default:
+                reply.reply(error("NOT_IMPLEMENTED", call.method + " has no binary form"));
+        }
+    }
+
+    private ByteBuffer error(String code, String message) {
+        writer.clear();
+        BinaryRecords.writeError(writer, code, message);
+        return writer.toDirectBuffer();
+    }
+
+    private static MethodCall decodeRequest(ByteBuffer message) {
+        message.order(ByteOrder.LITTLE_ENDIAN);
+        String method = readString(message);
+        int count = message.getInt();
+        Map<String, Object> arguments = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            String key = readString(message);
+            int type = message.get();
+            switch (type) {
+                case 0:
+                    arguments.put(key, null);
+                    break;
+                case 1:
+                    long value = message.getLong();
+                    // Same boxing as StandardMessageCodec, so existing argument casts keep working
+                    if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                        arguments.put(key, (int) value);
+                    } else {
+                        arguments.put(key, value);
+                    }
+                    break;
+                case 2:
+                    arguments.put(key, readString(message));
+                    break;
+                case 3:
+                    arguments.put(key, message.get() != 0);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument type " + type);
+            }
+        }
+        return new MethodCall(method, arguments);
+    }
+
+    private static String readString(ByteBuffer message) {
+        int length = message.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        message.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Encodes what the method channel handler reports as a binary reply. */
+    private class BinaryResult implements Result {
+        private final BasicMessageChannel.Reply<ByteBuffer> reply;
+
+        BinaryResult(BasicMessageChannel.Reply<ByteBuffer> reply) {
+            this.reply = reply;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void success(Object value) {
+            writer.clear();
+            if (value instanceof List) {
+                BinaryRecords.writePrinters(writer, (List<Map<String, Object>>) value);
+            } else if (value instanceof Map) {
+                Map<String, Object> status = (Map<String, Object>) value;
+                Number flags = (Number) status.get("flags");
+                Number labelsRemaining = (Number) status.get("labelsRemainingInBatch");
+                BinaryRecords.writeStatus(writer, flags != null ? flags.intValue() : 0,
+                    labelsRemaining != null ? labelsRemaining.intValue() : 0, (String) status.get("errorMessage"));
+            } else {
+                BinaryRecords.writeError(writer, "UNEXPECTED_RESULT", "No binary form for " + value);
+            }
+            reply.reply(writer.toDirectBuffer());
+        }
+
+        @Override
+        public void error(String code, String message, Object details) {
+            reply.reply(BinaryChannel.this.error(code, message));
+        }
+
+        @Override
+        public void notImplemented() {
+            reply.reply(BinaryChannel.this.error("NOT_IMPLEMENTED", null));
+        }
+    }
+}
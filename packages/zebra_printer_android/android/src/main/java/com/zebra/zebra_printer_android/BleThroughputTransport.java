@@ -0,0 +1,354 @@
+package com.zebra.zebra_printer_android;
+
+import android.bluetooth.BluetoothAdapter;
+import android.bluetooth.BluetoothDevice;
+import android.bluetooth.BluetoothGatt;
+import android.bluetooth.BluetoothGattCallback;
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattService;
+import android.bluetooth.BluetoothManager;
+import android.bluetooth.BluetoothProfile;
+import android.bluetooth.BluetoothStatusCodes;
+import android.content.Context;
+import android.os.Build;
+import android.os.Handler;
+
+import com.zebra.sdk.comm.Connection;
+import com.zebra.sdk.comm.ConnectionException;
+import com.zebra.zebra_printer_android.core.CreditPacer;
+import com.zebra.zebra_printer_android.core.Metrics;
+import com.zebra.zebra_printer_android.core.PrinterTransport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes print data to a BLE printer over its own GATT client, tuned for throughput.
+ *
+ * The Zebra SDK's BluetoothLeConnection writes with acknowledged writes at the default 23 byte
+ * MTU and whatever connection interval the phone picked, which caps a graphic-heavy label at a
+ * few KB/s. This transport requests a 517 byte MTU, switches the link to
+ * CONNECTION_PRIORITY_HIGH while data is flowing and back to balanced after
+ * {@link #IDLE_BEFORE_BALANCED_MS} without writes, and sends MTU-sized packets to the Parser
+ * Service with write-without-response, paced by a {@link CreditPacer}. MTU and connection
+ * priority belong to the link, so the SDK connection used for status and SGD benefits too.
+ *
+ * Reads still go through the SDK connection, which subscribes to the printer's responses.
+ * Bytes/sec for each connection is recorded in the metrics as transport "ble/<address>".
+ */
+class BleThroughputTransport implements PrinterTransport {
+    private static final String TAG = "ZebraBleThroughput";
+
+    // Zebra Parser Service and its "to printer" characteristic
+    private static final UUID PARSER_SERVICE = UUID.fromString("38eb4a80-c570-11e3-9507-0002a5d5c51b");
+    private static final UUID TO_PRINTER = UUID.fromString("38eb4a82-c570-11e3-9507-0002a5d5c51b");
+
+    private static final int REQUESTED_MTU = 517;
+    private static final int DEFAULT_MTU = 23;
+    private static final int ATT_HEADER_BYTES = 3;
+    private static final long OPEN_TIMEOUT_MS = 10000;
+    private static final long CREDIT_TIMEOUT_MS = 5000;
+    private static final long BUSY_RETRY_MS = 2;
+    static final long IDLE_BEFORE_BALANCED_MS = 2000;
+    // Android accepts one outstanding write per GATT client and reports even unacknowledged
+    // writes through onCharacteristicWrite once they are queued to the controller, so a single
+    // credit keeps the pipe full without ever hitting the framework's busy check
+    private static final int WRITE_CREDITS = 1;
+
+    private final Context context;
+    private final String address;
+    private final Connection readConnection;
+    private final Metrics metrics;
+    private final Handler handler;
+    private final String transportType;
+
+    private final CreditPacer pacer = new CreditPacer(WRITE_CREDITS);
+    private final CountDownLatch ready = new CountDownLatch(1);
+    private final Runnable revertPriority = this::revertPriority;
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong writeNanos = new AtomicLong();
+
+    private BluetoothGatt gatt;
+    private BluetoothGattCharacteristic characteristic;
+    private volatile int mtu = DEFAULT_MTU;
+    private volatile int writeType = BluetoothGattCharacteristic.WRITE_TYPE_NO_RESPONSE;
+    private volatile boolean connected;
+    private volatile boolean highPriority;
+    private volatile String failure;
+
+    BleThroughputTransport(Context context, String address, Connection readConnection, Metrics metrics, Handler handler) {
+        this.context = context.getApplicationContext();
+        this.address = address;
+        this.readConnection = readConnection;
+        this.metrics = metrics;
+        this.handler = handler;
+        this.transportType = "ble/" + address;
+    }
+
+    private final BluetoothGattCallback callback = new BluetoothGattCallback() {
+        @Override
+        public void onConnectionStateChange(BluetoothGatt gatt, int status, int newState) {
+            if (newState == BluetoothProfile.STATE_CONNECTED && status == BluetoothGatt.GATT_SUCCESS) {
+                connected = true;
+                if (!gatt.discoverServices()) {
+                    fail("Could not start service discovery");
+                }
+            } else if (newState == BluetoothProfile.STATE_DISCONNECTED) {
+                fail("BLE link to " + address + " dropped (status " + status + ")");
+            }
+        }
+
+        @Override
+        public void onServicesDiscovered(BluetoothGatt gatt, int status) {
+            BluetoothGattService service = status == BluetoothGatt.GATT_SUCCESS ? gatt.getService(PARSER_SERVICE) : null;
+            BluetoothGattCharacteristic toPrinter = service != null ? service.getCharacteristic(TO_PRINTER) : null;
+            if (toPrinter == null) {
+                fail("Printer does not expose the Zebra Parser Service");
+                return;
+            }
+            if ((toPrinter.getProperties() & BluetoothGattCharacteristic.PROPERTY_WRITE_NO_RESPONSE) == 0) {
+                writeType = BluetoothGattCharacteristic.WRITE_TYPE_DEFAULT;
+            }
+            characteristic = toPrinter;
+            if (!gatt.requestMtu(REQUESTED_MTU)) {
+                PluginLog.w(TAG, "MTU request was not sent, writing " + (DEFAULT_MTU - ATT_HEADER_BYTES) + " byte packets");
+                ready.countDown();
+            }
+        }
+
+        @Override
+        public void onMtuChanged(BluetoothGatt gatt, int newMtu, int status) {
+            if (status == BluetoothGatt.GATT_SUCCESS) {
+                mtu = newMtu;
+            }
+            PluginLog.d(TAG, () -> "MTU for " + address + " is " + mtu);
+            ready.countDown();
+        }
+
+        @Override
+        public void onCharacteristicWrite(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, int status) {
+            if (status != BluetoothGatt.GATT_SUCCESS) {
+                failure = "Write to " + address + " failed with GATT status " + status;
+            }
+            pacer.release();
+        }
+    };
+
+    /** Connects, discovers the Parser Service and negotiates the MTU. Blocks the calling io() thread. */
+    void open() throws IOException {
+        BluetoothManager manager = (BluetoothManager) context.getSystemService(Context.BLUETOOTH_SERVICE);
+        BluetoothAdapter adapter = manager != null ? manager.getAdapter() : null;
+        if (adapter == null) {
+            throw new IOException("Bluetooth is not available");
+        }
+        long start = System.nanoTime();
+        try {
+            BluetoothDevice device = adapter.getRemoteDevice(address);
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+                gatt = device.connectGatt(context, false, callback, BluetoothDevice.TRANSPORT_LE);
+            } else {
+                gatt = device.connectGatt(context, false, callback);
+            }
+            if (gatt == null) {
+                throw new IOException("Could not create a GATT client for " + address);
+            }
+            if (!ready.await(OPEN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new IOException("BLE setup for " + address + " timed out");
+            }
+        } catch (SecurityException e) {
+            close();
+            throw new IOException("Bluetooth permission missing: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new IOException("Interrupted while opening BLE connection", e);
+        } catch (IOException | IllegalArgumentException e) {
+            close();
+            throw e instanceof IOException ? (IOException) e : new IOException(e.getMessage(), e);
+        }
+        if (failure != null) {
+            String reason = failure;
+            close();
+            throw new IOException(reason);
+        }
+        metrics.recordSince("connect.ble.throughput", start);
+        PluginLog.i(TAG, "High-throughput BLE to " + address + ": MTU " + mtu + ", "
+            + (writeType == BluetoothGattCharacteristic.WRITE_TYPE_NO_RESPONSE ? "write without response" : "acknowledged writes"));
+    }
+
+    boolean isOpen() {
+        return connected && failure == null;
+    }
+
+    @Override
+    public void write(byte[] data, int offset, int length) throws IOException {
+        if (!isOpen()) {
+            throw new IOException(failure != null ? failure : "BLE connection to " + address + " is not open");
+        }
+        boostPriority();
+        long start = System.nanoTime();
+        int packetSize = mtu - ATT_HEADER_BYTES;
+        byte[] packet = null;
+        try {
+            for (int position = offset, end = offset + length; position < end; position += packetSize) {
+                int size = Math.min(packetSize, end - position);
+                if (packet == null || packet.length != size) {
+                    packet = new byte[size];
+                }
+                System.arraycopy(data, position, packet, 0, size);
+                pacer.acquire(CREDIT_TIMEOUT_MS);
+                writePacket(packet);
+                if (failure != null) {
+                    throw new IOException(failure);
+                }
+            }
+            // Counts the batch as written once the stack has taken the last packet
+            pacer.drain(CREDIT_TIMEOUT_MS);
+        } catch (IOException e) {
+            metrics.increment("write.errors");
+            throw e;
+        }
+        long nanos = System.nanoTime() - start;
+        bytesWritten.addAndGet(length);
+        writeNanos.addAndGet(nanos);
+        metrics.recordWrite(transportType, length, nanos);
+        handler.removeCallbacks(revertPriority);
+        handler.postDelayed(revertPriority, IDLE_BEFORE_BALANCED_MS);
+    }
+
+    // Holds one credit. Retries while the framework still reports the previous write as pending
+    @SuppressWarnings("deprecation")
+    private void writePacket(byte[] packet) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CREDIT_TIMEOUT_MS);
+        while (true) {
+            boolean sent;
+            boolean busy;
+            try {
+                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+                    int status = gatt.writeCharacteristic(characteristic, packet, writeType);
+                    sent = status == BluetoothStatusCodes.SUCCESS;
+                    busy = status == BluetoothStatusCodes.ERROR_GATT_WRITE_REQUEST_BUSY;
+                } else {
+                    characteristic.setWriteType(writeType);
+                    characteristic.setValue(packet);
+                    sent = gatt.writeCharacteristic(characteristic);
+                    busy = !sent;
+                }
+            } catch (SecurityException e) {
+                pacer.release();
+                throw new IOException("Bluetooth permission missing: " + e.getMessage(), e);
+            }
+            if (sent) {
+                return;
+            }
+            if (!busy || System.nanoTime() > deadline || !isOpen()) {
+                pacer.release();
+                throw new IOException(failure != null ? failure : "Write to " + address + " was rejected by the Bluetooth stack");
+            }
+            metrics.increment("ble.throughput.busyRetries");
+            try {
+                Thread.sleep(BUSY_RETRY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pacer.release();
+                throw new IOException("Interrupted while writing", e);
+            }
+        }
+    }
+
+    @Override
+    public void read(OutputStream out) throws IOException {
+        try {
+            readConnection.read(out);
+        } catch (ConnectionException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean awaitData(long timeoutMs) throws IOException {
+        try {
+            readConnection.waitForData((int) Math.min(timeoutMs, Integer.MAX_VALUE));
+            return readConnection.bytesAvailable() > 0;
+        } catch (ConnectionException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /** MTU, write mode, connection priority and measured throughput, for getActiveConnection(). */
+    Map<String, Object> stats() {
+        long nanos = writeNanos.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("mtu", mtu);
+        stats.put("writeWithoutResponse", writeType == BluetoothGattCharacteristic.WRITE_TYPE_NO_RESPONSE);
+        stats.put("connectionPriority", highPriority ? "high" : "balanced");
+        stats.put("bytesWritten", bytesWritten.get());
+        stats.put("bytesPerSecond", nanos > 0 ? bytesWritten.get() * 1_000_000_000L / nanos : 0);
+        return stats;
+    }
+
+    void close() {
+        handler.removeCallbacks(revertPriority);
+        connected = false;
+        if (failure == null) {
+            failure = "BLE connection to " + address + " was closed";
+        }
+        pacer.close(failure);
+        ready.countDown();
+        BluetoothGatt current = gatt;
+        gatt = null;
+        if (current != null) {
+            try {
+                current.disconnect();
+                current.close();
+            } catch (SecurityException e) {
+                PluginLog.w(TAG, "Could not close GATT client: " + e.getMessage());
+            }
+        }
+    }
+
+    private void fail(String reason) {
+        PluginLog.w(TAG, reason);
+        connected = false;
+        if (failure == null) {
+            failure = reason;
+        }
+        pacer.close(reason);
+        ready.countDown();
+    }
+
+    // Shorter connection intervals for the burst; the caller's io() thread
+    private void boostPriority() {
+        handler.removeCallbacks(revertPriority);
+        if (highPriority) {
+            return;
+        }
+        if (requestPriority(BluetoothGatt.CONNECTION_PRIORITY_HIGH)) {
+            highPriority = true;
+            metrics.increment("ble.throughput.boosts");
+        }
+    }
+
+    // Main thread, IDLE_BEFORE_BALANCED_MS after the last write. Saves power on both ends
+    private void revertPriority() {
+        if (highPriority && isOpen() && requestPriority(BluetoothGatt.CONNECTION_PRIORITY_BALANCED)) {
+            highPriority = false;
+        }
+    }
+
+    private boolean requestPriority(int priority) {
+        BluetoothGatt current = gatt;
+        try {
+            return current != null && current.requestConnectionPriority(priority);
+        } catch (SecurityException e) {
+            PluginLog.w(TAG, "Could not change connection priority: " + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.zebra.zebra_printer_android;
+
+import android.bluetooth.BluetoothAdapter;
+import android.bluetooth.BluetoothClass;
+import android.bluetooth.BluetoothDevice;
+import android.bluetooth.BluetoothManager;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.content.pm.PackageManager;
+import android.os.Build;
+
+import androidx.core.app.ActivityCompat;
+
+import com.zebra.zebra_printer_android.core.ZebraDeviceClassifier;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Paired Bluetooth devices keyed by MAC address.
+ *
+ * Built once from getBondedDevices() and kept current from ACTION_BOND_STATE_CHANGED,
+ * ACTION_NAME_CHANGED and adapter state broadcasts, so connect() can tell a paired (classic)
+ * printer from a BLE one and discovery can list paired printers without walking the bonded set
+ * or checking permissions on every call.
+ */
+class BondedDeviceIndex {
+    private static final String TAG = "ZebraBondedDevices";
+
+    /** A paired device as it was last reported by the system. */
+    static final class Device {
+        final String address;
+        final String name;
+        final int type;
+        // Class of device, e.g. 0x0680 for imaging/printer, or 0 if unknown
+        final int deviceClass;
+
+        Device(String address, String name, int type, int deviceClass) {
+            this.address = address;
+            this.name = name;
+            this.type = type;
+            this.deviceClass = deviceClass;
+        }
+    }
+
+    private final Context context;
+    private final BluetoothAdapter adapter;
+    private final Map<String, Device> devices = new ConcurrentHashMap<>();
+    // False until the bonded set could be read, e.g. before BLUETOOTH_CONNECT was granted
+    private volatile boolean loaded;
+    private BroadcastReceiver receiver;
+
+    BondedDeviceIndex(Context context) {
+        this.context = context.getApplicationContext();
+        BluetoothManager manager = (BluetoothManager) this.context.getSystemService(Context.BLUETOOTH_SERVICE);
+        this.adapter = manager != null ? manager.getAdapter() : null;
+    }
+
+    void start() {
+        if (adapter == null || receiver != null) {
+            return;
+        }
+
+        receiver = new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                String action = intent.getAction();
+                if (BluetoothAdapter.ACTION_STATE_CHANGED.equals(action)) {
+                    int state = intent.getIntExtra(BluetoothAdapter.EXTRA_STATE, BluetoothAdapter.ERROR);
+                    if (state == BluetoothAdapter.STATE_ON) {
+                        refresh();
+                    } else if (state == BluetoothAdapter.STATE_OFF) {
+                        devices.clear();
+                        loaded = false;
+                    }
+                    return;
+                }
+
+                BluetoothDevice device = intent.getParcelableExtra(BluetoothDevice.EXTRA_DEVICE);
+                if (device == null) {
+                    return;
+                }
+                if (BluetoothDevice.ACTION_BOND_STATE_CHANGED.equals(action)) {
+                    int bondState = intent.getIntExtra(BluetoothDevice.EXTRA_BOND_STATE, BluetoothDevice.BOND_NONE);
+                    if (bondState == BluetoothDevice.BOND_BONDED) {
+                        put(device);
+                    } else if (bondState == BluetoothDevice.BOND_NONE) {
+                        devices.remove(key(device.getAddress()));
+                    }
+                } else if (BluetoothDevice.ACTION_NAME_CHANGED.equals(action)) {
+                    if (devices.containsKey(key(device.getAddress()))) {
+                        put(device);
+                    }
+                }
+            }
+        };
+
+        IntentFilter filter = new IntentFilter();
+        filter.addAction(BluetoothDevice.ACTION_BOND_STATE_CHANGED);
+        filter.addAction(BluetoothDevice.ACTION_NAME_CHANGED);
+        filter.addAction(BluetoothAdapter.ACTION_STATE_CHANGED);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+            context.registerReceiver(receiver, filter, Context.RECEIVER_NOT_EXPORTED);
+        } else {
+            context.registerReceiver(receiver, filter);
+        }
+        refresh();
+    }
+
+    void stop() {
+        if (receiver != null) {
+            try {
+                context.unregisterReceiver(receiver);
+            } catch (Exception e) {
+                PluginLog.e(TAG, "Error unregistering bond state receiver", e);
+            }
+            receiver = null;
+        }
+        devices.clear();
+        loaded = false;
+    }
+
+    /** Whether the device is paired, which connect() takes to mean classic Bluetooth. */
+    boolean isBonded(String address) {
+        ensureLoaded();
+        return address != null && devices.containsKey(key(address));
+    }
+
+    Device find(String address) {
+        ensureLoaded();
+        return address != null ? devices.get(key(address)) : null;
+    }
+
+    /** Every paired device. Empty if Bluetooth is off or BLUETOOTH_CONNECT is not granted. */
+    Collection<Device> devices() {
+        ensureLoaded();
+        return devices.values();
+    }
+
+    /** Paired devices the classifier rates at least minimum. */
+    List<Device> matching(ZebraDeviceClassifier classifier, ZebraDeviceClassifier.Match minimum) {
+        List<Device> matches = new ArrayList<>();
+        for (Device device : devices()) {
+            if (classifier.classify(device.name, device.address, device.deviceClass, null).compareTo(minimum) >= 0) {
+                matches.add(device);
+            }
+        }
+        return matches;
+    }
+
+    /** Re-reads the bonded set, e.g. after Bluetooth permissions were granted. */
+    void refresh() {
+        if (adapter == null || !adapter.isEnabled()) {
+            return;
+        }
+        if (ActivityCompat.checkSelfPermission(context, android.Manifest.permission.BLUETOOTH_CONNECT) != PackageManager.PERMISSION_GRANTED) {
+            PluginLog.d(TAG, "BLUETOOTH_CONNECT not granted, paired devices are not indexed yet");
+            return;
+        }
+        try {
+            // Updated in place so lookups running meanwhile never see an empty index
+            Set<String> current = new HashSet<>();
+            for (BluetoothDevice device : adapter.getBondedDevices()) {
+                current.add(key(device.getAddress()));
+                put(device);
+            }
+            devices.keySet().retainAll(current);
+            loaded = true;
+            PluginLog.d(TAG, () -> "Indexed " + devices.size() + " paired Bluetooth devices");
+        } catch (SecurityException e) {
+            PluginLog.w(TAG, "Could not read paired devices: " + e.getMessage());
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            refresh();
+        }
+    }
+
+    private void put(BluetoothDevice device) {
+        try {
+            BluetoothClass bluetoothClass = device.getBluetoothClass();
+            devices.put(key(device.getAddress()), new Device(device.getAddress(), device.getName(), device.getType(),
+                bluetoothClass != null ? bluetoothClass.getDeviceClass() : 0));
+        } catch (SecurityException e) {
+            PluginLog.w(TAG, "Could not read paired device: " + e.getMessage());
+        }
+    }
+
+    private static String key(String address) {
+        return address.toUpperCase(Locale.ROOT);
+    }
+}
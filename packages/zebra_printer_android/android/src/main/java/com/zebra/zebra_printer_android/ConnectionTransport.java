@@ -0,0 +1,56 @@
+package com.zebra.zebra_printer_android;
+
+import com.zebra.sdk.comm.Connection;
+import com.zebra.sdk.comm.ConnectionException;
+import com.zebra.zebra_printer_android.core.Metrics;
+import com.zebra.zebra_printer_android.core.PrinterTransport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Exposes a Zebra SDK Connection to the core package as a PrinterTransport, recording every
+ * write in the plugin metrics under its transport type.
+ */
+class ConnectionTransport implements PrinterTransport {
+    private final Connection connection;
+    private final Metrics metrics;
+    private final String transportType;
+
+    ConnectionTransport(Connection connection, Metrics metrics, String transportType) {
+        this.connection = connection;
+        this.metrics = metrics;
+        this.transportType = transportType;
+    }
+
+    @Override
+    public void write(byte[] data, int offset, int length) throws IOException {
+        long start = System.nanoTime();
+        try {
+            connection.write(data, offset, length);
+            metrics.recordWrite(transportType, length, System.nanoTime() - start);
+        } catch (ConnectionException e) {
+            metrics.increment("write.errors");
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void read(OutputStream out) throws IOException {
+        try {
+            connection.read(out);
+        } catch (ConnectionException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean awaitData(long timeoutMs) throws IOException {
+        try {
+            connection.waitForData((int) Math.min(timeoutMs, Integer.MAX_VALUE));
+            return connection.bytesAvailable() > 0;
+        } catch (ConnectionException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+}
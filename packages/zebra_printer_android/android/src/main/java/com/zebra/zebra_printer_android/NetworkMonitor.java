@@ -0,0 +1,143 @@
+package com.zebra.zebra_printer_android;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.LinkAddress;
+import android.net.LinkProperties;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.net.NetworkRequest;
+import android.os.Handler;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+
+/**
+ * Follows the Wi-Fi or Ethernet network the phone is on, the one network printers are reached
+ * through, and reports when it is replaced, e.g. after roaming to another access point or SSID,
+ * or lost.
+ *
+ * A network counts as replaced when a different Network gets an IPv4 address or the current one
+ * moves to another subnet. During a roam the new network usually comes up before the old one is
+ * lost, so the change is reported once, for the new network, and the late loss of the old one is
+ * ignored. The first network seen after start() is the starting point and is not reported.
+ * Callbacks run on the main thread.
+ */
+class NetworkMonitor {
+    private static final String TAG = "ZebraNetworkMonitor";
+
+    interface Listener {
+        /** The local network was replaced; subnet is its IPv4 subnet, e.g. 10.0.4.0/22. */
+        void onNetworkChanged(String subnet);
+
+        /** No Wi-Fi or Ethernet network is left. */
+        void onNetworkLost();
+    }
+
+    private final ConnectivityManager connectivityManager;
+    private final Handler mainHandler;
+    private final Listener listener;
+    private ConnectivityManager.NetworkCallback callback;
+
+    // Main thread only
+    private Network current;
+    private String currentSubnet;
+    private boolean seen;
+
+    NetworkMonitor(Context context, Handler mainHandler, Listener listener) {
+        this.connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        this.mainHandler = mainHandler;
+        this.listener = listener;
+    }
+
+    void start() {
+        if (connectivityManager == null || callback != null) {
+            return;
+        }
+        callback = new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onLinkPropertiesChanged(Network network, LinkProperties linkProperties) {
+                final String subnet = subnet(linkProperties);
+                if (subnet != null) {
+                    mainHandler.post(() -> onSubnet(network, subnet));
+                }
+            }
+
+            @Override
+            public void onLost(Network network) {
+                mainHandler.post(() -> onLostNetwork(network));
+            }
+        };
+        NetworkRequest request = new NetworkRequest.Builder()
+            .addTransportType(NetworkCapabilities.TRANSPORT_WIFI)
+            .addTransportType(NetworkCapabilities.TRANSPORT_ETHERNET)
+            .build();
+        try {
+            connectivityManager.registerNetworkCallback(request, callback);
+        } catch (RuntimeException e) {
+            // SecurityException without ACCESS_NETWORK_STATE, or too many callbacks registered
+            PluginLog.w(TAG, "Could not watch network changes: " + e.getMessage());
+            callback = null;
+        }
+    }
+
+    void stop() {
+        if (callback == null) {
+            return;
+        }
+        try {
+            connectivityManager.unregisterNetworkCallback(callback);
+        } catch (RuntimeException e) {
+            PluginLog.w(TAG, "Error unregistering network callback: " + e.getMessage());
+        }
+        callback = null;
+        current = null;
+        currentSubnet = null;
+        seen = false;
+    }
+
+    private void onSubnet(Network network, String subnet) {
+        if (callback == null || (network.equals(current) && subnet.equals(currentSubnet))) {
+            return;
+        }
+        current = network;
+        currentSubnet = subnet;
+        if (!seen) {
+            seen = true;
+            PluginLog.d(TAG, () -> "On local network " + subnet);
+            return;
+        }
+        PluginLog.i(TAG, "Local network changed to " + subnet);
+        listener.onNetworkChanged(subnet);
+    }
+
+    private void onLostNetwork(Network network) {
+        if (callback == null || !network.equals(current)) {
+            return;
+        }
+        current = null;
+        currentSubnet = null;
+        PluginLog.i(TAG, "Local network lost");
+        listener.onNetworkLost();
+    }
+
+    // The first IPv4 address's subnet in CIDR form, or null while the network has none
+    static String subnet(LinkProperties linkProperties) {
+        if (linkProperties == null || linkProperties.getLinkAddresses() == null) {
+            return null;
+        }
+        for (LinkAddress linkAddress : linkProperties.getLinkAddresses()) {
+            InetAddress address = linkAddress.getAddress();
+            if (!(address instanceof Inet4Address)) {
+                continue;
+            }
+            byte[] bytes = address.getAddress();
+            int prefixLength = linkAddress.getPrefixLength();
+            int mask = prefixLength == 0 ? 0 : -1 << (32 - prefixLength);
+            int value = ((bytes[0] & 0xff) << 24 | (bytes[1] & 0xff) << 16 | (bytes[2] & 0xff) << 8 | (bytes[3] & 0xff)) & mask;
+            return (value >>> 24) + "." + ((value >>> 16) & 0xff) + "." + ((value >>> 8) & 0xff) + "." + (value & 0xff)
+                + "/" + prefixLength;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,144 @@
+package com.zebra.zebra_printer_android;
+
+import android.os.Handler;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Long-running calls (discovery, connect) that Dart can cancel or that end on a timeout.
+ *
+ * Dart passes an operationId with the call and may later invoke cancelOperation with it. Calls
+ * without an id still get a timeout, they just cannot be cancelled from Dart.
+ */
+class OperationRegistry {
+    private static final String TAG = "ZebraOperations";
+
+    private final Handler timeoutHandler;
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    OperationRegistry(Handler timeoutHandler) {
+        this.timeoutHandler = timeoutHandler;
+    }
+
+    /**
+     * Registers an operation that expires after timeoutMs. A timeout of zero or less never
+     * expires on its own.
+     */
+    Operation start(String operationId, long timeoutMs) {
+        String id = operationId != null ? operationId : UUID.randomUUID().toString();
+        Operation operation = new Operation(id);
+        Operation previous = operations.put(id, operation);
+        if (previous != null) {
+            PluginLog.w(TAG, "Operation id reused, cancelling previous operation: " + id);
+            previous.cancel(false);
+        }
+        if (timeoutMs > 0) {
+            timeoutHandler.postDelayed(operation.timeoutRunnable, timeoutMs);
+        }
+        return operation;
+    }
+
+    /** Cancels a running operation. Returns false if it already finished or is unknown. */
+    boolean cancel(String operationId) {
+        Operation operation = operationId != null ? operations.get(operationId) : null;
+        if (operation == null) {
+            return false;
+        }
+        PluginLog.d(TAG, () -> "Cancelling operation " + operationId);
+        return operation.cancel(false);
+    }
+
+    void cancelAll() {
+        for (Operation operation : operations.values()) {
+            operation.cancel(false);
+        }
+    }
+
+    class Operation {
+        final String id;
+        private final CountDownLatch signalled = new CountDownLatch(1);
+        private final AtomicBoolean stopped = new AtomicBoolean();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private final List<Runnable> cancelActions = new CopyOnWriteArrayList<>();
+        private volatile boolean timedOut;
+        private final Runnable timeoutRunnable = () -> cancel(true);
+
+        private Operation(String id) {
+            this.id = id;
+        }
+
+        /**
+         * Runs the action when the operation is cancelled or times out, typically to stop the
+         * underlying SDK scan and deliver partial results. Runs immediately if already stopped.
+         */
+        void onCancel(Runnable action) {
+            cancelActions.add(action);
+            if (stopped.get() && cancelActions.remove(action)) {
+                action.run();
+            }
+        }
+
+        /** Wakes up await(), e.g. when the SDK reports discovery finished. */
+        void signal() {
+            signalled.countDown();
+        }
+
+        /** Blocks until signal(), cancellation or timeout. */
+        void await() throws InterruptedException {
+            signalled.await();
+        }
+
+        boolean isCancelled() {
+            return stopped.get();
+        }
+
+        boolean isTimedOut() {
+            return timedOut;
+        }
+
+        /**
+         * Claims the right to deliver this operation's result and unregisters it. Returns false if
+         * the result was already delivered, e.g. by a cancel action.
+         */
+        boolean finish() {
+            if (!finished.compareAndSet(false, true)) {
+                return false;
+            }
+            timeoutHandler.removeCallbacks(timeoutRunnable);
+            operations.remove(id, this);
+            signalled.countDown();
+            return true;
+        }
+
+        /** Error code Dart receives when this operation was stopped before completing. */
+        String stopReason() {
+            return timedOut ? "TIMEOUT" : "CANCELLED";
+        }
+
+        private boolean cancel(boolean timeout) {
+            if (finished.get() || !stopped.compareAndSet(false, true)) {
+                return false;
+            }
+            timedOut = timeout;
+            timeoutHandler.removeCallbacks(timeoutRunnable);
+            operations.remove(id, this);
+            signalled.countDown();
+            for (Runnable action : cancelActions) {
+                if (cancelActions.remove(action)) {
+                    try {
+                        action.run();
+                    } catch (Exception e) {
+                        PluginLog.w(TAG, "Error in cancel action for " + id + ": " + e.getMessage());
+                    }
+                }
+            }
+            return true;
+        }
+    }
+}
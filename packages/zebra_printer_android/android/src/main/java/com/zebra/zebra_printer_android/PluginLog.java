@@ -0,0 +1,136 @@
+package com.zebra.zebra_printer_android;
+
+import android.util.Log;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Level-filtered logging for the plugin.
+ *
+ * The level defaults to INFO and can be changed from Dart with setLogLevel, or lowered to DEBUG
+ * for a device with `adb shell setprop log.tag.ZebraPrinterAndroid DEBUG`. Debug messages that
+ * concatenate values are passed as a Message so the string is only built when the level allows
+ * it; callbacks that fire many times a second (scan results, status polls) also go through a
+ * Sampler.
+ */
+final class PluginLog {
+    /** Level that disables all plugin logging. */
+    static final int NONE = Log.ASSERT + 1;
+
+    /** A log message built only when it is going to be logged. */
+    interface Message {
+        String get();
+    }
+
+    private static volatile int level = Log.isLoggable("ZebraPrinterAndroid", Log.DEBUG) ? Log.DEBUG : Log.INFO;
+
+    private PluginLog() {
+    }
+
+    /** Sets the minimum android.util.Log priority that is logged, or NONE. */
+    static void setLevel(int newLevel) {
+        level = newLevel;
+    }
+
+    static int level() {
+        return level;
+    }
+
+    /** Parses the level names Dart sends: verbose, debug, info, warning, error, none. */
+    static int parseLevel(String name) {
+        switch (name != null ? name.toLowerCase() : "") {
+            case "verbose":
+                return Log.VERBOSE;
+            case "debug":
+                return Log.DEBUG;
+            case "info":
+                return Log.INFO;
+            case "warning":
+                return Log.WARN;
+            case "error":
+                return Log.ERROR;
+            case "none":
+                return NONE;
+            default:
+                throw new IllegalArgumentException("Unknown log level: " + name);
+        }
+    }
+
+    static boolean isLoggable(int priority) {
+        return priority >= level;
+    }
+
+    static void v(String tag, String message) {
+        if (Log.VERBOSE >= level) Log.v(tag, message);
+    }
+
+    static void v(String tag, Message message) {
+        if (Log.VERBOSE >= level) Log.v(tag, message.get());
+    }
+
+    static void d(String tag, String message) {
+        if (Log.DEBUG >= level) Log.d(tag, message);
+    }
+
+    static void d(String tag, Message message) {
+        if (Log.DEBUG >= level) Log.d(tag, message.get());
+    }
+
+    static void i(String tag, String message) {
+        if (Log.INFO >= level) Log.i(tag, message);
+    }
+
+    static void w(String tag, String message) {
+        if (Log.WARN >= level) Log.w(tag, message);
+    }
+
+    static void w(String tag, String message, Throwable error) {
+        if (Log.WARN >= level) Log.w(tag, message, error);
+    }
+
+    static void e(String tag, String message) {
+        if (Log.ERROR >= level) Log.e(tag, message);
+    }
+
+    static void e(String tag, String message, Throwable error) {
+        if (Log.ERROR >= level) Log.e(tag, message, error);
+    }
+
+    /**
+     * Lets through at most one message per interval and counts the rest, so a callback that
+     * fires for every BLE advertisement logs a line every few seconds instead of every time.
+     */
+    static final class Sampler {
+        private final long intervalNanos;
+        private final AtomicLong nextNanos = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicInteger suppressed = new AtomicInteger();
+
+        Sampler(long intervalMs) {
+            this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+        }
+
+        /**
+         * Returns true if a message at this priority should be logged now. Check it before
+         * building the message; suppressed() then tells how many were skipped since the last one.
+         */
+        boolean sample(int priority) {
+            if (priority < level) {
+                return false;
+            }
+            long now = System.nanoTime();
+            long next = nextNanos.get();
+            if (next != Long.MIN_VALUE && now - next < 0) {
+                suppressed.incrementAndGet();
+                return false;
+            }
+            return nextNanos.compareAndSet(next, now + intervalNanos);
+        }
+
+        /** Messages skipped since the last sampled one; resets the count. */
+        int suppressed() {
+            return suppressed.getAndSet(0);
+        }
+    }
+}
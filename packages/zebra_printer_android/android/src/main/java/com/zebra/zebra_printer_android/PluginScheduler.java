@@ -0,0 +1,392 @@
+package com.zebra.zebra_printer_android;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Threads used by the plugin, split by workload class.
+ *
+ * - discovery: a small bounded pool for the blocking SDK discovery calls
+ * - io: one serial queue per printer on top of a shared pool, so writes and queries to the
+ *   same printer never interleave while different printers proceed in parallel. Bluetooth
+ *   printers get their own HandlerThread instead, which owns the connection from open to close
+ * - main: the single main-thread Handler used to deliver results to Flutter
+ * - sdk looper: a long-lived HandlerThread for Zebra SDK calls that need a Looper
+ *
+ * Every task records how long it waited in its queue and how long it ran.
+ */
+class PluginScheduler {
+    private static final String TAG = "ZebraScheduler";
+
+    private static final int DISCOVERY_THREADS = 3;
+    private static final int DISCOVERY_QUEUE_CAPACITY = 8;
+    private static final int IO_THREADS = 4;
+    private static final int IO_QUEUE_CAPACITY_PER_PRINTER = 256;
+    private static final long SLOW_QUEUE_WAIT_MS = 1000;
+
+    enum Workload {
+        DISCOVERY,
+        IO
+    }
+
+    private final ThreadPoolExecutor discoveryPool;
+    private final ThreadPoolExecutor ioPool;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final HandlerThread sdkLooperThread;
+    private final Handler sdkHandler;
+
+    private final Map<String, SerialExecutor> printerQueues = new ConcurrentHashMap<>();
+    private final Map<String, LooperExecutor> printerLooperThreads = new ConcurrentHashMap<>();
+    // Printers that need a Looper thread, remembered after releaseIo() so reusing the key recreates
+    // it, until forgetIo()
+    private final Set<String> looperKeys = ConcurrentHashMap.newKeySet();
+    private final Map<Workload, TaskStats> stats = new HashMap<>();
+
+    PluginScheduler() {
+        for (Workload workload : Workload.values()) {
+            stats.put(workload, new TaskStats());
+        }
+
+        discoveryPool = new ThreadPoolExecutor(DISCOVERY_THREADS, DISCOVERY_THREADS, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(DISCOVERY_QUEUE_CAPACITY), new NamedThreadFactory("zebra-discovery"));
+        discoveryPool.allowCoreThreadTimeOut(true);
+
+        // Per-printer queues are bounded individually, the shared queue only holds their drain tasks
+        ioPool = new ThreadPoolExecutor(IO_THREADS, IO_THREADS, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), new NamedThreadFactory("zebra-io"));
+        ioPool.allowCoreThreadTimeOut(true);
+
+        sdkLooperThread = new HandlerThread("zebra-sdk-looper");
+        sdkLooperThread.start();
+        sdkHandler = new Handler(sdkLooperThread.getLooper());
+    }
+
+    /** Executor for blocking discovery calls. Throws RejectedExecutionException when saturated. */
+    Executor discovery() {
+        return task -> discoveryPool.execute(instrument(Workload.DISCOVERY, task));
+    }
+
+    /** Serial executor for all I/O against one printer. */
+    Executor io(String printerKey) {
+        String key = printerKey != null ? printerKey : "";
+        return task -> {
+            Runnable instrumented = instrument(Workload.IO, task);
+            if (looperKeys.contains(key) || printerLooperThreads.containsKey(key)) {
+                // A forgotten printer's tasks stay on its Looper thread until that has stopped
+                boolean[] queued = new boolean[1];
+                printerLooperThreads.compute(key, (k, thread) -> {
+                    if (thread == null && !looperKeys.contains(k)) {
+                        return null;
+                    }
+                    LooperExecutor looperThread = thread != null ? thread : newLooperThread(k);
+                    looperThread.execute(instrumented);
+                    queued[0] = true;
+                    return looperThread;
+                });
+                if (!queued[0]) {
+                    queueSerial(key, instrumented);
+                }
+            } else {
+                queueSerial(key, instrumented);
+            }
+        };
+    }
+
+    private void queueSerial(String key, Runnable task) {
+        // Queued under the map's lock, so a released queue cannot be dropped in between and
+        // replaced by a second queue for the same printer running alongside it
+        printerQueues.compute(key, (k, queue) -> {
+            SerialExecutor serial = queue != null ? queue : new SerialExecutor(k, ioPool, IO_QUEUE_CAPACITY_PER_PRINTER);
+            serial.execute(task);
+            return serial;
+        });
+    }
+
+    /**
+     * Gives a printer a dedicated Looper thread. The Zebra Bluetooth and BLE connections need a
+     * Looper on the thread that opens them and keep using it afterwards, so the thread lives until
+     * releaseIo() and every io(printerKey) task runs on it. Tasks for the printer after a release
+     * start a new Looper thread, unless it was released with forgetIo().
+     */
+    void startLooperThread(String printerKey) {
+        looperKeys.add(printerKey);
+        printerLooperThreads.computeIfAbsent(printerKey, this::newLooperThread);
+    }
+
+    private LooperExecutor newLooperThread(String printerKey) {
+        return new LooperExecutor(printerKey, "zebra-bt-" + printerKey, IO_QUEUE_CAPACITY_PER_PRINTER);
+    }
+
+    /** The single Handler used to post results back to the main thread. */
+    Handler mainHandler() {
+        return mainHandler;
+    }
+
+    /** Handler on a dedicated Looper thread for Zebra SDK calls that require one. */
+    Handler sdkHandler() {
+        return sdkHandler;
+    }
+
+    /**
+     * Drops the I/O queue of a printer that is no longer used, after its queued tasks have run.
+     * Tasks submitted before then keep the queue, and run in order after the queued ones.
+     */
+    void releaseIo(String printerKey) {
+        if (printerKey == null) {
+            return;
+        }
+        SerialExecutor serial = printerQueues.get(printerKey);
+        if (serial != null) {
+            serial.release();
+            removeIfIdle(serial);
+        }
+        LooperExecutor looperThread = printerLooperThreads.get(printerKey);
+        if (looperThread != null) {
+            looperThread.release();
+            removeIfIdle(looperThread);
+        }
+    }
+
+    /**
+     * Like releaseIo(), for a printer that is gone for good, e.g. a removed group member or a path
+     * that lost its race. Its Looper thread is not recreated unless startLooperThread() is called
+     * again.
+     */
+    void forgetIo(String printerKey) {
+        if (printerKey == null) {
+            return;
+        }
+        looperKeys.remove(printerKey);
+        releaseIo(printerKey);
+    }
+
+    /** Queue wait and run times per workload class, in milliseconds. */
+    Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new HashMap<>();
+        for (Map.Entry<Workload, TaskStats> entry : stats.entrySet()) {
+            snapshot.put(entry.getKey().name().toLowerCase(), entry.getValue().toMap());
+        }
+        snapshot.put("printerQueues", printerQueues.size());
+        snapshot.put("printerLooperThreads", printerLooperThreads.size());
+        return snapshot;
+    }
+
+    void shutdown() {
+        discoveryPool.shutdownNow();
+        ioPool.shutdownNow();
+        sdkHandler.removeCallbacksAndMessages(null);
+        sdkLooperThread.quitSafely();
+        printerQueues.clear();
+        looperKeys.clear();
+        for (LooperExecutor looperThread : printerLooperThreads.values()) {
+            looperThread.quit();
+        }
+        printerLooperThreads.clear();
+    }
+
+    // Removes a released queue once it has nothing left to run
+    private void removeIfIdle(SerialExecutor serial) {
+        printerQueues.computeIfPresent(serial.key, (k, queue) -> queue == serial && serial.isIdleAndReleased() ? null : queue);
+    }
+
+    // Stops a released Looper thread once it has nothing left to run
+    private void removeIfIdle(LooperExecutor looperThread) {
+        printerLooperThreads.computeIfPresent(looperThread.key, (k, thread) -> {
+            if (thread == looperThread && looperThread.isIdleAndReleased()) {
+                looperThread.quit();
+                return null;
+            }
+            return thread;
+        });
+    }
+
+    private Runnable instrument(Workload workload, Runnable task) {
+        final TaskStats taskStats = stats.get(workload);
+        final long enqueuedAt = System.nanoTime();
+        return () -> {
+            long startedAt = System.nanoTime();
+            long waitNanos = startedAt - enqueuedAt;
+            if (TimeUnit.NANOSECONDS.toMillis(waitNanos) > SLOW_QUEUE_WAIT_MS) {
+                PluginLog.w(TAG, workload + " task waited " + TimeUnit.NANOSECONDS.toMillis(waitNanos) + "ms in queue");
+            }
+            try {
+                task.run();
+            } finally {
+                taskStats.record(waitNanos, System.nanoTime() - startedAt);
+            }
+        };
+    }
+
+    /**
+     * Runs tasks one at a time, in submission order, on a shared pool. A released queue stays in
+     * printerQueues until its last task has run; a task submitted meanwhile cancels the release.
+     */
+    private class SerialExecutor implements Executor {
+        private final String key;
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private final Executor pool;
+        private final int capacity;
+        private Runnable active;
+        private boolean released;
+
+        SerialExecutor(String key, Executor pool, int capacity) {
+            this.key = key;
+            this.pool = pool;
+            this.capacity = capacity;
+        }
+
+        @Override
+        public synchronized void execute(Runnable task) {
+            if (tasks.size() >= capacity) {
+                throw new RejectedExecutionException("Printer I/O queue is full");
+            }
+            released = false;
+            tasks.offer(() -> {
+                try {
+                    task.run();
+                } finally {
+                    if (scheduleNext()) {
+                        removeIfIdle(this);
+                    }
+                }
+            });
+            if (active == null) {
+                scheduleNext();
+            }
+        }
+
+        synchronized void release() {
+            released = true;
+        }
+
+        synchronized boolean isIdleAndReleased() {
+            return released && active == null && tasks.isEmpty();
+        }
+
+        // Returns true when the queue ran dry after being released. The caller removes it outside
+        // this lock, since removal takes the map's lock first and then this one
+        private synchronized boolean scheduleNext() {
+            active = tasks.poll();
+            if (active != null) {
+                pool.execute(active);
+                return false;
+            }
+            return released;
+        }
+    }
+
+    /**
+     * Runs tasks in order on its own HandlerThread. Like SerialExecutor, a released thread keeps
+     * running until its last task is done, and a task submitted meanwhile cancels the release.
+     */
+    private class LooperExecutor implements Executor {
+        private final String key;
+        private final HandlerThread thread;
+        private final Handler handler;
+        private final int capacity;
+        // Queued and running tasks
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean released;
+
+        LooperExecutor(String key, String name, int capacity) {
+            this.key = key;
+            this.capacity = capacity;
+            thread = new HandlerThread(name);
+            thread.start();
+            handler = new Handler(thread.getLooper());
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            if (pending.incrementAndGet() > capacity) {
+                pending.decrementAndGet();
+                throw new RejectedExecutionException("Printer I/O queue is full");
+            }
+            released = false;
+            boolean posted = handler.post(() -> {
+                try {
+                    task.run();
+                } finally {
+                    if (pending.decrementAndGet() == 0 && released) {
+                        removeIfIdle(this);
+                    }
+                }
+            });
+            if (!posted) {
+                pending.decrementAndGet();
+                throw new RejectedExecutionException("Printer I/O thread has stopped");
+            }
+        }
+
+        void release() {
+            released = true;
+        }
+
+        boolean isIdleAndReleased() {
+            return released && pending.get() == 0;
+        }
+
+        void quit() {
+            // Only called once idle, but anything posted in a race still runs first
+            thread.quitSafely();
+        }
+    }
+
+    private static class TaskStats {
+        final AtomicLong completed = new AtomicLong();
+        final AtomicLong totalWaitNanos = new AtomicLong();
+        final AtomicLong maxWaitNanos = new AtomicLong();
+        final AtomicLong totalRunNanos = new AtomicLong();
+        final AtomicLong maxRunNanos = new AtomicLong();
+
+        void record(long waitNanos, long runNanos) {
+            completed.incrementAndGet();
+            totalWaitNanos.addAndGet(waitNanos);
+            totalRunNanos.addAndGet(runNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+            maxRunNanos.accumulateAndGet(runNanos, Math::max);
+        }
+
+        Map<String, Object> toMap() {
+            long count = completed.get();
+            Map<String, Object> map = new HashMap<>();
+            map.put("completed", count);
+            map.put("avgWaitMs", count > 0 ? TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get() / count) : 0);
+            map.put("maxWaitMs", TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()));
+            map.put("avgRunMs", count > 0 ? TimeUnit.NANOSECONDS.toMillis(totalRunNanos.get() / count) : 0);
+            map.put("maxRunMs", TimeUnit.NANOSECONDS.toMillis(maxRunNanos.get()));
+            return map;
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package com.zebra.zebra_printer_android;
+
+import android.os.Handler;
+
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel.Result;
+
+import com.zebra.sdk.comm.Connection;
+import com.zebra.sdk.comm.TcpConnection;
+import com.zebra.sdk.printer.PrinterStatus;
+import com.zebra.sdk.printer.ZebraPrinter;
+import com.zebra.sdk.printer.ZebraPrinterFactory;
+import com.zebra.zebra_printer_android.core.Metrics;
+import com.zebra.zebra_printer_android.core.PrintJob;
+import com.zebra.zebra_printer_android.core.PrinterGroup;
+import com.zebra.zebra_printer_android.core.ZplCommands;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Printer groups created from Dart, each spreading print jobs over several printers with
+ * core/PrinterGroup.
+ *
+ * A group member has its own connection and io() queue, separate from the plugin's active
+ * connection, so printing to a group never waits behind the active printer. While any group
+ * exists the members are polled for status: a printer that reports paper out, head open or
+ * paused, or stops answering, hands its queued jobs to the others and gets them back once it
+ * reports ready. A member whose connection dropped is reopened by the next poll.
+ */
+class PrinterGroupManager {
+    private static final String TAG = "ZebraPrinterGroups";
+
+    private static final int QUEUE_CAPACITY_PER_PRINTER = 1024;
+    private static final int PRINT_BATCH_BYTES = 16 * 1024;
+    private static final long STATUS_POLL_INTERVAL_MS = 5000;
+
+    /** Creates unopened connections, the same ones connect() uses. */
+    interface ConnectionFactory {
+        Connection create(String interfaceType, String identifier, String connectionType);
+    }
+
+    private static class Group {
+        final PrinterGroup printers;
+        // Member connections keyed by io() key
+        final Map<String, Connection> connections = new ConcurrentHashMap<>();
+        // SDK printer per member, made on the first poll after the connection was (re)opened
+        final Map<String, ZebraPrinter> sdkPrinters = new ConcurrentHashMap<>();
+
+        Group(PrinterGroup printers) {
+            this.printers = printers;
+        }
+    }
+
+    private final PluginScheduler scheduler;
+    private final Handler mainHandler;
+    private final Metrics metrics;
+    private final ConnectionFactory connectionFactory;
+    private final Map<String, Group> groups = new ConcurrentHashMap<>();
+
+    // Members with a status poll still queued, so a busy printer is not sent a second one
+    private final Set<String> pollsPending = ConcurrentHashMap.newKeySet();
+    private final Runnable statusPoller = this::pollStatus;
+
+    PrinterGroupManager(PluginScheduler scheduler, Metrics metrics, ConnectionFactory connectionFactory) {
+        this.scheduler = scheduler;
+        this.mainHandler = scheduler.mainHandler();
+        this.metrics = metrics;
+        this.connectionFactory = connectionFactory;
+    }
+
+    void create(MethodCall call, Result result) {
+        String groupId = call.argument("groupId");
+        List<Map<String, Object>> members = call.argument("members");
+        if (groupId == null || members == null || members.isEmpty()) {
+            result.error("MISSING_ARGUMENT", "groupId and at least one member are required", null);
+            return;
+        }
+        if (groups.containsKey(groupId)) {
+            result.error("GROUP_EXISTS", "Printer group " + groupId + " already exists", null);
+            return;
+        }
+
+        Group group = new Group(new PrinterGroup(groupId, QUEUE_CAPACITY_PER_PRINTER, PRINT_BATCH_BYTES));
+        List<String> keys = new ArrayList<>();
+        List<String> identifiers = new ArrayList<>();
+        List<String> interfaceTypes = new ArrayList<>();
+        for (Map<String, Object> member : members) {
+            String interfaceType = (String) member.get("interfaceType");
+            String identifier = (String) member.get("identifier");
+            Connection connection = interfaceType != null && identifier != null
+                ? connectionFactory.create(interfaceType, identifier, (String) member.get("connectionType"))
+                : null;
+            if (connection == null) {
+                result.error("INVALID_ARGUMENT", "Printer groups support TCP and Bluetooth printers, got "
+                    + interfaceType + " " + identifier, null);
+                return;
+            }
+            String key = key(groupId, identifier);
+            if (group.connections.containsKey(key)) {
+                continue;
+            }
+            group.connections.put(key, connection);
+            keys.add(key);
+            identifiers.add(identifier);
+            interfaceTypes.add(interfaceType);
+        }
+
+        // Open every member on its own queue and reply once all have finished
+        boolean wasIdle = groups.isEmpty();
+        groups.put(groupId, group);
+        final Map<String, Object> connected = new HashMap<>();
+        final AtomicInteger remaining = new AtomicInteger(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            final String key = keys.get(i);
+            final String identifier = identifiers.get(i);
+            final String interfaceType = interfaceTypes.get(i);
+            final Connection connection = group.connections.get(key);
+            if ("bluetooth".equalsIgnoreCase(interfaceType)) {
+                scheduler.startLooperThread(key);
+            }
+            final PrinterGroup.Member member = group.printers.add(key,
+                new ConnectionTransport(connection, metrics, interfaceType.toLowerCase()), scheduler.io(key));
+            Runnable open = () -> {
+                boolean opened = open(connection);
+                if (!opened) {
+                    member.updateStatus(0);
+                }
+                mainHandler.post(() -> {
+                    connected.put(identifier, opened);
+                    if (remaining.decrementAndGet() == 0) {
+                        finishCreate(groupId, group, connected, result);
+                    }
+                });
+            };
+            try {
+                scheduler.io(key).execute(open);
+            } catch (RejectedExecutionException e) {
+                PluginLog.w(TAG, "Rejected open of group member " + key + ": " + e.getMessage());
+                member.updateStatus(0);
+                connected.put(identifier, false);
+                if (remaining.decrementAndGet() == 0) {
+                    finishCreate(groupId, group, connected, result);
+                }
+            }
+        }
+        if (wasIdle) {
+            mainHandler.postDelayed(statusPoller, STATUS_POLL_INTERVAL_MS);
+        }
+    }
+
+    // Runs on the main thread
+    private void finishCreate(String groupId, Group group, Map<String, Object> connected, Result result) {
+        if (groups.get(groupId) != group) {
+            result.error("GROUP_REMOVED", "Printer group " + groupId + " was removed while connecting", null);
+            return;
+        }
+        if (!group.printers.hasHealthyMember()) {
+            remove(groupId);
+            result.error("CONNECTION_FAILED", "Could not connect to any printer in group " + groupId, null);
+            return;
+        }
+        PluginLog.i(TAG, "Created printer group " + groupId + ": " + connected);
+        result.success(connected);
+    }
+
+    void print(MethodCall call, Result result) {
+        String groupId = call.argument("groupId");
+        String commands = call.argument("commands");
+        if (groupId == null || commands == null) {
+            result.error("MISSING_ARGUMENT", "groupId and commands are required", null);
+            return;
+        }
+        Group group = groups.get(groupId);
+        if (group == null) {
+            result.error("UNKNOWN_GROUP", "No printer group " + groupId, null);
+            return;
+        }
+
+        final PrintJob.Priority priority = PrintJob.Priority.parse(call.argument("priority"));
+        final String latencyMetric = priority == PrintJob.Priority.URGENT ? "group.print.job.urgent" : "group.print.job.bulk";
+        final long enqueuedAt = System.nanoTime();
+        boolean accepted = group.printers.submit(ZplCommands.encode(commands), priority, (job, error) -> {
+            metrics.recordSince(latencyMetric, enqueuedAt);
+            if (error == null) {
+                mainHandler.post(() -> result.success(true));
+            } else {
+                PluginLog.e(TAG, "Group " + groupId + " failed to print", error);
+                mainHandler.post(() -> result.error("SEND_FAILED", error.getMessage(), null));
+            }
+        });
+        if (!accepted) {
+            metrics.increment("group.print.rejected");
+            if (group.printers.hasHealthyMember()) {
+                result.error("BUSY", "Every printer in group " + groupId + " has a full queue, please retry", null);
+            } else {
+                result.error("NO_PRINTER_AVAILABLE", "No printer in group " + groupId + " can print", null);
+            }
+        }
+    }
+
+    void stats(MethodCall call, Result result) {
+        String groupId = call.argument("groupId");
+        Group group = groupId != null ? groups.get(groupId) : null;
+        if (group == null) {
+            result.error("UNKNOWN_GROUP", "No printer group " + groupId, null);
+            return;
+        }
+        result.success(group.printers.snapshot());
+    }
+
+    void remove(MethodCall call, Result result) {
+        String groupId = call.argument("groupId");
+        if (groupId == null) {
+            result.error("MISSING_ARGUMENT", "groupId is required", null);
+            return;
+        }
+        result.success(remove(groupId));
+    }
+
+    /** Removes every group, failing their queued jobs. */
+    void removeAll() {
+        for (String groupId : new ArrayList<>(groups.keySet())) {
+            remove(groupId);
+        }
+    }
+
+    private boolean remove(String groupId) {
+        Group group = groups.remove(groupId);
+        if (group == null) {
+            return false;
+        }
+        group.printers.close(new IOException("Printer group " + groupId + " was removed"));
+        for (Map.Entry<String, Connection> entry : group.connections.entrySet()) {
+            final Connection connection = entry.getValue();
+            try {
+                scheduler.io(entry.getKey()).execute(() -> closeQuietly(connection));
+            } catch (RejectedExecutionException e) {
+                PluginLog.w(TAG, "Could not queue close of group member: " + e.getMessage());
+            }
+            scheduler.forgetIo(entry.getKey());
+        }
+        if (groups.isEmpty()) {
+            mainHandler.removeCallbacks(statusPoller);
+        }
+        return true;
+    }
+
+    /**
+     * Main thread. Closes TCP member connections after the phone changed or lost its network and
+     * polls at once, which reopens them on the current network.
+     */
+    void onNetworkChanged() {
+        if (groups.isEmpty()) {
+            return;
+        }
+        for (Group group : groups.values()) {
+            for (Map.Entry<String, Connection> entry : group.connections.entrySet()) {
+                final Connection connection = entry.getValue();
+                if (!(connection instanceof TcpConnection)) {
+                    continue;
+                }
+                try {
+                    scheduler.io(entry.getKey()).execute(() -> closeQuietly(connection));
+                } catch (RejectedExecutionException e) {
+                    PluginLog.w(TAG, "Could not queue close of group member: " + e.getMessage());
+                }
+            }
+        }
+        mainHandler.removeCallbacks(statusPoller);
+        pollStatus();
+    }
+
+    // Runs on the main thread every STATUS_POLL_INTERVAL_MS while any group exists
+    private void pollStatus() {
+        for (Group group : groups.values()) {
+            for (PrinterGroup.Member member : group.printers.members()) {
+                final String key = member.key();
+                final Connection connection = group.connections.get(key);
+                if (connection == null || !pollsPending.add(key)) {
+                    continue;
+                }
+                try {
+                    scheduler.io(key).execute(() -> {
+                        try {
+                            member.updateStatus(readStatus(group, key, connection));
+                        } finally {
+                            pollsPending.remove(key);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    pollsPending.remove(key);
+                }
+            }
+        }
+        if (!groups.isEmpty()) {
+            mainHandler.postDelayed(statusPoller, STATUS_POLL_INTERVAL_MS);
+        }
+    }
+
+    /**
+     * Runs on the member's io() queue. A printer that cannot be reached reports no flags.
+     * ZebraPrinterFactory.getInstance() queries the printer's language, so its result is kept
+     * until the connection has to be reopened instead of being made again every poll.
+     */
+    private static int readStatus(Group group, String key, Connection connection) {
+        try {
+            if (!connection.isConnected()) {
+                group.sdkPrinters.remove(key);
+                if (!open(connection)) {
+                    return 0;
+                }
+            }
+            ZebraPrinter printer = group.sdkPrinters.get(key);
+            if (printer == null) {
+                printer = ZebraPrinterFactory.getInstance(connection);
+                group.sdkPrinters.put(key, printer);
+            }
+            PrinterStatus status = printer.getCurrentStatus();
+            return ZebraPrinterAndroidPlugin.statusFlags(status);
+        } catch (Exception e) {
+            PluginLog.w(TAG, "Status poll failed: " + e.getMessage());
+            group.sdkPrinters.remove(key);
+            closeQuietly(connection);
+            return 0;
+        }
+    }
+
+    private static boolean open(Connection connection) {
+        try {
+            connection.open();
+            return true;
+        } catch (Exception e) {
+            PluginLog.w(TAG, "Could not open group member: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            if (connection.isConnected()) {
+                connection.close();
+            }
+        } catch (Exception e) {
+            PluginLog.w(TAG, "Error closing group member: " + e.getMessage());
+        }
+    }
+
+    private static String key(String groupId, String identifier) {
+        return "group/" + groupId + "/" + identifier;
+    }
+}
@@ -0,0 +1,225 @@
+package com.zebra.zebra_printer_android;
+
+import android.os.Handler;
+
+import com.zebra.sdk.comm.Connection;
+import com.zebra.sdk.comm.ConnectionException;
+import com.zebra.sdk.printer.ZebraPrinter;
+import com.zebra.sdk.printer.ZebraPrinterFactory;
+import com.zebra.zebra_printer_android.core.Metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Opens one printer over several transports at once and keeps the first that connects.
+ *
+ * Paths are started in order, each headStartMs after the previous one unless every earlier path
+ * has already failed, so a printer reachable over Wi-Fi is normally connected over TCP before
+ * Bluetooth even starts paging it. Each path opens on its own io() queue, the same queue connect() would
+ * use for that identifier, so the winner can be adopted as the active connection as it is.
+ * Paths that connect after the winner are closed, and the io() queues of paths that did not win
+ * are released, except keepKey, which the caller is still using. All callbacks run on the main
+ * thread.
+ */
+class TransportRace {
+    private static final String TAG = "ZebraTransportRace";
+
+    /** One way of reaching the printer, as connect() settings. */
+    static final class Path {
+        final String interfaceType;
+        final String identifier;
+        final String connectionType;
+
+        Path(String interfaceType, String identifier, String connectionType) {
+            this.interfaceType = interfaceType;
+            this.identifier = identifier;
+            this.connectionType = connectionType;
+        }
+
+        boolean isBluetooth() {
+            return "bluetooth".equalsIgnoreCase(interfaceType);
+        }
+
+        @Override
+        public String toString() {
+            return interfaceType + " " + identifier;
+        }
+    }
+
+    interface Listener {
+        /** The first path that opened. The caller owns the connection and the path's io() queue. */
+        void onConnected(Path path, Connection connection, ZebraPrinter printer);
+
+        void onFailed(String message);
+    }
+
+    private final PluginScheduler scheduler;
+    private final Handler mainHandler;
+    private final Metrics metrics;
+    private final PrinterGroupManager.ConnectionFactory connectionFactory;
+    private final List<Path> paths;
+    private final long headStartMs;
+    private final String keepKey;
+    private final Listener listener;
+
+    // Main thread only. Path has identity equality, so each entry is one scheduled start
+    private final Map<Path, Runnable> pendingStarts = new LinkedHashMap<>();
+    private final List<String> errors = new ArrayList<>();
+    private int started;
+    private int failed;
+    private boolean decided;
+    private final Runnable timeout = () -> fail("timed out");
+
+    TransportRace(PluginScheduler scheduler, Metrics metrics, PrinterGroupManager.ConnectionFactory connectionFactory,
+                  List<Path> paths, long headStartMs, String keepKey, Listener listener) {
+        this.scheduler = scheduler;
+        this.mainHandler = scheduler.mainHandler();
+        this.metrics = metrics;
+        this.connectionFactory = connectionFactory;
+        this.paths = paths;
+        this.headStartMs = headStartMs;
+        this.keepKey = keepKey;
+        this.listener = listener;
+    }
+
+    /** Main thread. Starts the first path now and schedules the others. */
+    void start(long timeoutMs) {
+        if (paths.isEmpty()) {
+            fail("no paths");
+            return;
+        }
+        for (int i = 0; i < paths.size(); i++) {
+            final Path path = paths.get(i);
+            pendingStarts.put(path, () -> startPath(path));
+        }
+        for (int i = 0; i < paths.size(); i++) {
+            Runnable start = pendingStarts.get(paths.get(i));
+            if (i == 0) {
+                start.run();
+            } else {
+                mainHandler.postDelayed(start, headStartMs * i);
+            }
+        }
+        if (timeoutMs > 0) {
+            mainHandler.postDelayed(timeout, timeoutMs);
+        }
+    }
+
+    /** Main thread. Stops the race; paths still opening are closed when they finish. */
+    void cancel() {
+        if (!decided) {
+            decided = true;
+            clearTimers();
+        }
+    }
+
+    private void startPath(Path path) {
+        if (decided || pendingStarts.remove(path) == null) {
+            return;
+        }
+        started++;
+        final long start = System.nanoTime();
+        if (path.isBluetooth()) {
+            scheduler.startLooperThread(path.identifier);
+        }
+        PluginLog.d(TAG, () -> "Racing " + path);
+        try {
+            scheduler.io(path.identifier).execute(() -> {
+                Connection connection = null;
+                try {
+                    connection = connectionFactory.create(path.interfaceType, path.identifier, path.connectionType);
+                    if (connection == null) {
+                        throw new ConnectionException("Unsupported interface " + path.interfaceType);
+                    }
+                    connection.open();
+                    ZebraPrinter printer = ZebraPrinterFactory.getInstance(connection);
+                    metrics.recordSince("race." + path.interfaceType.toLowerCase(), start);
+                    final Connection opened = connection;
+                    mainHandler.post(() -> onOpened(path, opened, printer));
+                } catch (Exception e) {
+                    closeQuietly(connection);
+                    mainHandler.post(() -> onPathFailed(path, e.getMessage()));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            onPathFailed(path, "queue full");
+        }
+    }
+
+    private void onOpened(Path path, Connection connection, ZebraPrinter printer) {
+        if (decided) {
+            // Lost the race: close on the path's own thread and let it go
+            PluginLog.d(TAG, () -> path + " connected after the race was decided, closing it");
+            try {
+                scheduler.io(path.identifier).execute(() -> closeQuietly(connection));
+            } catch (RejectedExecutionException e) {
+                closeQuietly(connection);
+            }
+            release(path);
+            return;
+        }
+        decided = true;
+        clearTimers();
+        PluginLog.i(TAG, "Won the race over " + path);
+        listener.onConnected(path, connection, printer);
+    }
+
+    private void onPathFailed(Path path, String message) {
+        PluginLog.d(TAG, () -> path + " failed: " + message);
+        release(path);
+        if (decided) {
+            return;
+        }
+        errors.add(path + ": " + message);
+        failed++;
+        if (failed < started) {
+            return;
+        }
+        // Every path started so far failed, so start the next one without waiting
+        if (!pendingStarts.isEmpty()) {
+            Runnable next = pendingStarts.values().iterator().next();
+            mainHandler.removeCallbacks(next);
+            next.run();
+            return;
+        }
+        fail(String.join("; ", errors));
+    }
+
+    private void fail(String message) {
+        if (decided) {
+            return;
+        }
+        decided = true;
+        clearTimers();
+        listener.onFailed(message);
+    }
+
+    private void clearTimers() {
+        mainHandler.removeCallbacks(timeout);
+        for (Runnable start : pendingStarts.values()) {
+            mainHandler.removeCallbacks(start);
+        }
+        pendingStarts.clear();
+    }
+
+    private void release(Path path) {
+        if (!path.identifier.equals(keepKey)) {
+            scheduler.forgetIo(path.identifier);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (Exception e) {
+            PluginLog.w(TAG, "Error closing raced connection: " + e.getMessage());
+        }
+    }
+}
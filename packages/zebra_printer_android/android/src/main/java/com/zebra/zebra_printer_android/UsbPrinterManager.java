@@ -0,0 +1,308 @@
+package com.zebra.zebra_printer_android;
+
+import android.app.PendingIntent;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.hardware.usb.UsbDevice;
+import android.hardware.usb.UsbManager;
+import android.os.Build;
+
+import com.zebra.sdk.comm.Connection;
+import com.zebra.sdk.comm.ConnectionException;
+import com.zebra.sdk.printer.discovery.DiscoveredPrinterUsb;
+import com.zebra.zebra_printer_android.core.DiscoveryResults;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a live table of attached USB printers.
+ *
+ * Listens for ACTION_USB_DEVICE_ATTACHED/DETACHED so printers are known without running
+ * UsbDiscoverer, requests permission for Zebra devices as soon as they are plugged in and
+ * opens their connection ahead of the first connect() call.
+ */
+class UsbPrinterManager {
+    private static final String TAG = "ZebraUsbManager";
+
+    static final String USB_PERMISSION_ACTION = "com.zebra.zebra_printer_android.USB_PERMISSION";
+
+    // USB vendor ID assigned to Zebra Technologies
+    static final int ZEBRA_VENDOR_ID = 0x0A5F;
+
+    /** Receives attach/detach notifications for Zebra USB printers. */
+    interface Listener {
+        void onPrinterAttached(Map<String, Object> printer);
+
+        void onPrinterReady(Map<String, Object> printer);
+
+        void onPrinterDetached(Map<String, Object> printer, Connection connection);
+    }
+
+    private static class Entry {
+        final DiscoveredPrinterUsb printer;
+        volatile Connection connection;
+
+        Entry(DiscoveredPrinterUsb printer) {
+            this.printer = printer;
+        }
+    }
+
+    private final Context context;
+    private final UsbManager usbManager;
+    private final PluginScheduler scheduler;
+    private final Listener listener;
+
+    // Attached printers keyed by UsbDevice.getDeviceName()
+    private final Map<String, Entry> printers = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Boolean>> permissionRequests = new ConcurrentHashMap<>();
+    private BroadcastReceiver usbReceiver;
+
+    UsbPrinterManager(Context context, PluginScheduler scheduler, Listener listener) {
+        this.context = context.getApplicationContext();
+        this.usbManager = (UsbManager) this.context.getSystemService(Context.USB_SERVICE);
+        this.scheduler = scheduler;
+        this.listener = listener;
+    }
+
+    void start() {
+        if (usbManager == null || usbReceiver != null) {
+            return;
+        }
+
+        usbReceiver = new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                String action = intent.getAction();
+                UsbDevice device = intent.getParcelableExtra(UsbManager.EXTRA_DEVICE);
+                if (device == null) {
+                    return;
+                }
+
+                if (UsbManager.ACTION_USB_DEVICE_ATTACHED.equals(action)) {
+                    onDeviceAttached(device);
+                } else if (UsbManager.ACTION_USB_DEVICE_DETACHED.equals(action)) {
+                    onDeviceDetached(device);
+                } else if (USB_PERMISSION_ACTION.equals(action)) {
+                    boolean granted = intent.getBooleanExtra(UsbManager.EXTRA_PERMISSION_GRANTED, false)
+                        || usbManager.hasPermission(device);
+                    onPermissionResult(device, granted);
+                }
+            }
+        };
+
+        IntentFilter filter = new IntentFilter();
+        filter.addAction(UsbManager.ACTION_USB_DEVICE_ATTACHED);
+        filter.addAction(UsbManager.ACTION_USB_DEVICE_DETACHED);
+        filter.addAction(USB_PERMISSION_ACTION);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+            context.registerReceiver(usbReceiver, filter, Context.RECEIVER_NOT_EXPORTED);
+        } else {
+            context.registerReceiver(usbReceiver, filter);
+        }
+
+        // Pick up printers that were plugged in before the plugin started
+        for (UsbDevice device : usbManager.getDeviceList().values()) {
+            onDeviceAttached(device);
+        }
+    }
+
+    void stop() {
+        if (usbReceiver != null) {
+            try {
+                context.unregisterReceiver(usbReceiver);
+            } catch (Exception e) {
+                PluginLog.e(TAG, "Error unregistering USB receiver", e);
+            }
+            usbReceiver = null;
+        }
+
+        for (CompletableFuture<Boolean> request : permissionRequests.values()) {
+            request.complete(false);
+        }
+        permissionRequests.clear();
+
+        for (Entry entry : printers.values()) {
+            closeQuietly(entry.connection);
+        }
+        printers.clear();
+    }
+
+    /** Adds a printer found by UsbDiscoverer to the table. */
+    void register(DiscoveredPrinterUsb printer) {
+        printers.putIfAbsent(printer.device.getDeviceName(), new Entry(printer));
+    }
+
+    /** Looks up an attached printer by device name, falling back to a product ID match. */
+    DiscoveredPrinterUsb findPrinter(String identifier) {
+        Entry entry = findEntry(identifier);
+        return entry != null ? entry.printer : null;
+    }
+
+    UsbDevice findDevice(String identifier) {
+        DiscoveredPrinterUsb printer = findPrinter(identifier);
+        if (printer != null) {
+            return printer.device;
+        }
+        if (usbManager == null) {
+            return null;
+        }
+        for (UsbDevice device : usbManager.getDeviceList().values()) {
+            if (identifier.equals(device.getDeviceName()) ||
+                identifier.contains(String.valueOf(device.getProductId()))) {
+                return device;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns an open connection to the printer, reusing the one opened when the device was
+     * attached if it is still connected.
+     */
+    Connection openConnection(DiscoveredPrinterUsb printer) throws ConnectionException {
+        String deviceName = printer.device.getDeviceName();
+        Entry entry = printers.get(deviceName);
+        if (entry == null) {
+            entry = new Entry(printer);
+            Entry existing = printers.putIfAbsent(deviceName, entry);
+            if (existing != null) {
+                entry = existing;
+            }
+        }
+
+        synchronized (entry) {
+            Connection connection = entry.connection;
+            if (connection != null && connection.isConnected()) {
+                PluginLog.d(TAG, () -> "Reusing pre-opened USB connection for " + deviceName);
+                return connection;
+            }
+
+            connection = entry.printer.getConnection();
+            if (connection == null) {
+                throw new ConnectionException("Failed to create USB connection");
+            }
+            connection.open();
+            entry.connection = connection;
+            return connection;
+        }
+    }
+
+    /** Requests permission for the device, completing once the user answers the system dialog. */
+    CompletableFuture<Boolean> requestPermission(UsbDevice device) {
+        if (usbManager == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        if (usbManager.hasPermission(device)) {
+            return CompletableFuture.completedFuture(true);
+        }
+
+        CompletableFuture<Boolean> request = new CompletableFuture<>();
+        CompletableFuture<Boolean> pending = permissionRequests.putIfAbsent(device.getDeviceName(), request);
+        if (pending != null) {
+            return pending;
+        }
+
+        try {
+            // The system adds EXTRA_DEVICE and EXTRA_PERMISSION_GRANTED to the intent, so it must be mutable
+            Intent intent = new Intent(USB_PERMISSION_ACTION).setPackage(context.getPackageName());
+            int flags = PendingIntent.FLAG_UPDATE_CURRENT;
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
+                flags |= PendingIntent.FLAG_MUTABLE;
+            }
+            PendingIntent permissionIntent = PendingIntent.getBroadcast(context, 0, intent, flags);
+            usbManager.requestPermission(device, permissionIntent);
+        } catch (Exception e) {
+            permissionRequests.remove(device.getDeviceName());
+            request.completeExceptionally(e);
+        }
+        return request;
+    }
+
+    private void onDeviceAttached(UsbDevice device) {
+        if (device.getVendorId() != ZEBRA_VENDOR_ID || printers.containsKey(device.getDeviceName())) {
+            return;
+        }
+
+        PluginLog.d(TAG, () -> "Zebra USB printer attached: " + device.getDeviceName());
+        Entry entry = new Entry(new DiscoveredPrinterUsb(device.getDeviceName(), usbManager, device));
+        printers.put(device.getDeviceName(), entry);
+        listener.onPrinterAttached(toMap(entry.printer));
+
+        requestPermission(device).thenAccept(granted -> {
+            if (granted) {
+                preOpen(entry);
+            } else {
+                PluginLog.w(TAG, "USB permission denied for " + device.getDeviceName());
+            }
+        });
+    }
+
+    private void onDeviceDetached(UsbDevice device) {
+        Entry entry = printers.remove(device.getDeviceName());
+        CompletableFuture<Boolean> request = permissionRequests.remove(device.getDeviceName());
+        if (request != null) {
+            request.complete(false);
+        }
+        if (entry == null) {
+            return;
+        }
+
+        PluginLog.d(TAG, () -> "USB printer detached: " + device.getDeviceName());
+        Connection connection = entry.connection;
+        closeQuietly(connection);
+        listener.onPrinterDetached(toMap(entry.printer), connection);
+    }
+
+    private void onPermissionResult(UsbDevice device, boolean granted) {
+        CompletableFuture<Boolean> request = permissionRequests.remove(device.getDeviceName());
+        if (request != null) {
+            request.complete(granted);
+        }
+    }
+
+    private void preOpen(Entry entry) {
+        scheduler.io(entry.printer.device.getDeviceName()).execute(() -> {
+            try {
+                openConnection(entry.printer);
+                PluginLog.d(TAG, () -> "Pre-opened USB connection for " + entry.printer.device.getDeviceName());
+                listener.onPrinterReady(toMap(entry.printer));
+            } catch (Exception e) {
+                PluginLog.w(TAG, "Could not pre-open USB connection: " + e.getMessage());
+            }
+        });
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (Exception e) {
+            PluginLog.w(TAG, "Error closing USB connection: " + e.getMessage());
+        }
+    }
+
+    static Map<String, Object> toMap(DiscoveredPrinterUsb usbPrinter) {
+        Map<String, String> discoveryData = usbPrinter.getDiscoveryDataMap();
+        return DiscoveryResults.usb(usbPrinter.device.getDeviceName(), usbPrinter.device.getProductId(),
+            usbPrinter.device.getVendorId(), discoveryData != null ? discoveryData.get("SERIAL_NUMBER") : null);
+    }
+
+    private Entry findEntry(String identifier) {
+        Entry entry = printers.get(identifier);
+        if (entry != null) {
+            return entry;
+        }
+        for (Entry candidate : printers.values()) {
+            if (identifier.contains(String.valueOf(candidate.printer.device.getProductId()))) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,135 @@
+package com.zebra.zebra_printer_android;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+/**
+ * Remembers the last successful connection so the plugin can reopen it when the app starts,
+ * before Dart asks for it.
+ *
+ * The policy and the remembered settings are kept in SharedPreferences, because they are needed
+ * when the engine attaches, before any Dart code has run. USB printers are never pre-connected:
+ * opening them needs a permission prompt.
+ */
+class WarmStart {
+    private static final String TAG = "ZebraWarmStart";
+
+    private static final String PREFERENCES = "zebra_printer_warm_start";
+    private static final String KEY_POLICY = "policy";
+    private static final String KEY_MAX_AGE_MS = "maxAgeMs";
+    private static final String KEY_INTERFACE_TYPE = "interfaceType";
+    private static final String KEY_IDENTIFIER = "identifier";
+    private static final String KEY_CONNECTION_TYPE = "connectionType";
+    private static final String KEY_BLE_HIGH_THROUGHPUT = "bleHighThroughput";
+    private static final String KEY_SAVED_AT = "savedAt";
+
+    private static final long DEFAULT_MAX_AGE_MS = 7L * 24 * 60 * 60 * 1000;
+
+    enum Policy {
+        /** Never pre-connect. The default. */
+        OFF,
+        /** Pre-connect network printers only, which is cheap and leaves Bluetooth printers free for other phones. */
+        TCP_ONLY,
+        /** Pre-connect network and Bluetooth printers. */
+        ALWAYS;
+
+        static Policy parse(String value) {
+            if ("always".equals(value)) {
+                return ALWAYS;
+            }
+            if ("tcpOnly".equals(value)) {
+                return TCP_ONLY;
+            }
+            return OFF;
+        }
+
+        String wireName() {
+            switch (this) {
+                case TCP_ONLY:
+                    return "tcpOnly";
+                case ALWAYS:
+                    return "always";
+                default:
+                    return "off";
+            }
+        }
+    }
+
+    /** Connection settings as connect() received them. */
+    static final class Settings {
+        final String interfaceType;
+        final String identifier;
+        final String connectionType;
+        final boolean bleHighThroughput;
+
+        Settings(String interfaceType, String identifier, String connectionType, boolean bleHighThroughput) {
+            this.interfaceType = interfaceType;
+            this.identifier = identifier;
+            this.connectionType = connectionType;
+            this.bleHighThroughput = bleHighThroughput;
+        }
+    }
+
+    private final SharedPreferences preferences;
+
+    WarmStart(Context context) {
+        this.preferences = context.getSharedPreferences(PREFERENCES, Context.MODE_PRIVATE);
+    }
+
+    Policy policy() {
+        return Policy.parse(preferences.getString(KEY_POLICY, null));
+    }
+
+    long maxAgeMs() {
+        return preferences.getLong(KEY_MAX_AGE_MS, DEFAULT_MAX_AGE_MS);
+    }
+
+    void setPolicy(Policy policy, long maxAgeMs) {
+        preferences.edit()
+            .putString(KEY_POLICY, policy.wireName())
+            .putLong(KEY_MAX_AGE_MS, maxAgeMs > 0 ? maxAgeMs : DEFAULT_MAX_AGE_MS)
+            .apply();
+    }
+
+    /** Called after every successful connect, so the next launch opens the same printer. */
+    void remember(Settings settings) {
+        preferences.edit()
+            .putString(KEY_INTERFACE_TYPE, settings.interfaceType)
+            .putString(KEY_IDENTIFIER, settings.identifier)
+            .putString(KEY_CONNECTION_TYPE, settings.connectionType)
+            .putBoolean(KEY_BLE_HIGH_THROUGHPUT, settings.bleHighThroughput)
+            .putLong(KEY_SAVED_AT, System.currentTimeMillis())
+            .apply();
+    }
+
+    void forget() {
+        preferences.edit()
+            .remove(KEY_INTERFACE_TYPE)
+            .remove(KEY_IDENTIFIER)
+            .remove(KEY_CONNECTION_TYPE)
+            .remove(KEY_BLE_HIGH_THROUGHPUT)
+            .remove(KEY_SAVED_AT)
+            .apply();
+    }
+
+    /** The printer to pre-connect under the current policy, or null. */
+    Settings candidate() {
+        Policy policy = policy();
+        String interfaceType = preferences.getString(KEY_INTERFACE_TYPE, null);
+        String identifier = preferences.getString(KEY_IDENTIFIER, null);
+        if (policy == Policy.OFF || interfaceType == null || identifier == null) {
+            return null;
+        }
+        long age = System.currentTimeMillis() - preferences.getLong(KEY_SAVED_AT, 0);
+        if (age > maxAgeMs()) {
+            PluginLog.d(TAG, () -> "Last connection to " + identifier + " is too old to pre-connect");
+            return null;
+        }
+        boolean tcp = "tcp".equalsIgnoreCase(interfaceType);
+        if (!tcp && !("bluetooth".equalsIgnoreCase(interfaceType) && policy == Policy.ALWAYS)) {
+            return null;
+        }
+        return new Settings(interfaceType, identifier, preferences.getString(KEY_CONNECTION_TYPE, null),
+            preferences.getBoolean(KEY_BLE_HIGH_THROUGHPUT, false));
+    }
+}
@@ -1,27 +1,24 @@
 package com.zebra.zebra_printer_android;
 
 import android.app.Activity;
-import android.app.PendingIntent;
 import android.bluetooth.BluetoothAdapter;
+import android.bluetooth.BluetoothClass;
 import android.bluetooth.BluetoothDevice;
 import android.bluetooth.BluetoothManager;
 import android.bluetooth.le.BluetoothLeScanner;
 import android.bluetooth.le.ScanCallback;
 import android.bluetooth.le.ScanFilter;
+import android.bluetooth.le.ScanRecord;
 import android.bluetooth.le.ScanResult;
 import android.bluetooth.le.ScanSettings;
-import android.content.BroadcastReceiver;
 import android.content.Context;
-import android.content.Intent;
-import android.content.IntentFilter;
 import android.content.pm.PackageManager;
 import android.hardware.usb.UsbDevice;
-import android.hardware.usb.UsbManager;
 import android.net.wifi.WifiManager;
 import android.os.Build;
 import android.os.Handler;
-import android.os.Looper;
 import android.util.Log;
+import android.util.SparseArray;
 import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
 
@@ -30,6 +27,9 @@ import androidx.annotation.NonNull;
 import io.flutter.embedding.engine.plugins.FlutterPlugin;
 import io.flutter.embedding.engine.plugins.activity.ActivityAware;
 import io.flutter.embedding.engine.plugins.activity.ActivityPluginBinding;
+import io.flutter.plugin.common.BasicMessageChannel;
+import io.flutter.plugin.common.BinaryCodec;
+import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.MethodChannel.MethodCallHandler;
@@ -55,40 +55,460 @@ import com.zebra.sdk.printer.ZebraPrinter;
 import com.zebra.sdk.printer.ZebraPrinterFactory;
 import com.zebra.sdk.printer.ZebraPrinterLanguageUnknownException;
 import com.zebra.sdk.printer.PrinterStatus;
+import com.zebra.sdk.printer.PrinterLanguage;
 import com.zebra.sdk.settings.SettingsException;
 
+import com.zebra.zebra_printer_android.core.BinaryWriter;
+import com.zebra.zebra_printer_android.core.DiscoveryResults;
+import com.zebra.zebra_printer_android.core.HostStatus;
+import com.zebra.zebra_printer_android.core.Metrics;
+import com.zebra.zebra_printer_android.core.PrintJob;
+import com.zebra.zebra_printer_android.core.PrintJobQueue;
+import com.zebra.zebra_printer_android.core.PrintSpool;
+import com.zebra.zebra_printer_android.core.PrinterAlert;
+import com.zebra.zebra_printer_android.core.PrinterTransport;
+import com.zebra.zebra_printer_android.core.ReplyRouter;
+import com.zebra.zebra_printer_android.core.SgdClient;
+import com.zebra.zebra_printer_android.core.StatusFlags;
+import com.zebra.zebra_printer_android.core.ZebraDeviceClassifier;
+import com.zebra.zebra_printer_android.core.ZplCommands;
+
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 /** ZebraPrinterAndroidPlugin */
 public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandler, ActivityAware {
     private static final String TAG = "ZebraPrinterAndroid";
+    private static final int PRINT_QUEUE_CAPACITY = 256;
+    private static final int PRINT_BATCH_BYTES = 16 * 1024;
+    private static final String SPOOL_FILE = "zebra_print_spool";
+    private static final long RECONNECT_INITIAL_DELAY_MS = 1000;
+    private static final long RECONNECT_MAX_DELAY_MS = 30000;
+    // How long TCP paths of a multi-path connection get before Bluetooth paths start
+    private static final long MULTIPATH_HEAD_START_MS = 500;
+    // How long the local broadcast after a network change listens for printers
+    private static final int NETWORK_REDISCOVERY_WAIT_MS = 2000;
+    // Replies are read into a ring of this size, and the connection is drained this often when idle
+    private static final int REPLY_BUFFER_BYTES = 16 * 1024;
+    private static final long READER_POLL_MS = 250;
+    private static final long SGD_TIMEOUT_MS = 1000;
+    private static final long STATUS_TIMEOUT_MS = 3000;
+    // Shared by all the verifying getvars of one setSgdParameters call
+    private static final long SGD_BATCH_TIMEOUT_MS = 5000;
     private MethodChannel channel;
     private Context context;
     private Activity activity;
     private Connection activeConnection;
     private ZebraPrinter zebraPrinter;
-    private ExecutorService executor = Executors.newCachedThreadPool();
-    private Handler mainHandler = new Handler(Looper.getMainLooper());
+    private String activePrinterKey;
+    private String activeTransportType;
+    // Interface and connection type of the active printer, so a dropped connection can be reopened
+    private String activeInterfaceType;
+    private String activeConnectionType;
+    // GATT writer for the active BLE printer when connect() asked for high throughput
+    private volatile BleThroughputTransport bleThroughput;
+    private volatile boolean activeBleHighThroughput;
+
+    // Warm start: the last used printer is reopened when the app starts, see WarmStart
+    private WarmStart warmStart;
+    private boolean warmStartAttempted;
+    // Printer being pre-connected; connect() to another printer clears it to abandon the attempt
+    private volatile String warmStartKey;
+    // True while the active connection was opened by warm start and not used yet
+    private volatile boolean warmConnection;
+    // Connection opened by testDirectBleConnection(adopt: true) and made active, so the
+    // following connect() to the same printer reuses it instead of opening it again
+    private volatile Connection adoptedProbe;
+
+    // Multi-path connection: every way of reaching the active printer, raced by connectMultipath()
+    // and raced again when the active path fails. Main thread, except the volatile read in drains
+    private volatile List<TransportRace.Path> multipathPaths;
+    private String multipathSerial;
+    private long multipathHeadStartMs;
+    private long multipathTimeoutMs;
+    private TransportRace race;
+    // Reply router and SGD client of the active connection, so every byte the printer sends is
+    // matched to the request that asked for it or reported as unsolicited. io() queue only
+    private ReplyRouter replyRouter;
+    private SgdClient sgdClient;
+    private Connection routerConnection;
+    private boolean readerPumpScheduled;
+    private final AtomicBoolean readerPumpQueued = new AtomicBoolean();
+    private final Runnable readerPump = this::pumpReplies;
+    private final PrintJobQueue printQueue = new PrintJobQueue(PRINT_QUEUE_CAPACITY, PRINT_BATCH_BYTES);
+    private final Object drainLock = new Object();
+    private final PluginScheduler scheduler = new PluginScheduler();
+    private final Handler mainHandler = scheduler.mainHandler();
+    private final OperationRegistry operations = new OperationRegistry(mainHandler);
+    private final Metrics metrics = new Metrics();
+    private PrintSpool spool;
+
+    // Offline queueing: while the active printer is out of reach, sendCommands keeps accepting
+    // jobs and the plugin reconnects with backoff, draining the queue once it is back
+    private volatile boolean offlineQueueing = false;
+    private boolean reconnectScheduled;
+    private long reconnectDelayMs = RECONNECT_INITIAL_DELAY_MS;
+    private long offlineSince;
+    private final Runnable reconnectTask = this::reconnect;
+    private final PrinterGroupManager printerGroups = new PrinterGroupManager(scheduler, metrics, this::createConnection);
+    
+    // Periodic metrics snapshots for Dart, sent while someone listens
+    private EventChannel metricsEventChannel;
+    private Runnable metricsTicker;
+    private final BinaryWriter metricsWriter = new BinaryWriter(4096);
+    
+    // Compact binary replies for discovery, status and metrics
+    private BasicMessageChannel<ByteBuffer> binaryChannel;
     
-    // USB permission handling
-    private static final String USB_PERMISSION_ACTION = "com.zebra.zebra_printer_android.USB_PERMISSION";
-    private CompletableFuture<Boolean> usbPermissionFuture;
-    private BroadcastReceiver usbPermissionReceiver;
+    // USB hot-plug handling and attach/detach events for Dart
+    private UsbPrinterManager usbPrinterManager;
+    private BondedDeviceIndex bondedDevices;
+    // Decides which Bluetooth devices every discovery path reports as Zebra printers
+    private volatile ZebraDeviceClassifier deviceClassifier = ZebraDeviceClassifier.defaults();
+    private EventChannel usbEventChannel;
+    private EventChannel.EventSink usbEventSink;
+
+    // Wi-Fi roams and drops, which leave TCP connections and discovery results pointing at the old network
+    private NetworkMonitor networkMonitor;
+    private EventChannel networkEventChannel;
+    private EventChannel.EventSink networkEventSink;
+
+    // Link-OS alerts pushed over the active connection; null until Dart subscribes
+    private volatile Set<PrinterAlert.Condition> alertConditions;
+    private EventChannel alertEventChannel;
+    private EventChannel.EventSink alertEventSink;
+    // Status as of the last alert, seeded when the subscription is applied. io() queue only
+    private int alertFlags;
     
     // Discovery state management
     private volatile boolean isUsbDiscoveryInProgress = false;
     private volatile boolean isNetworkDiscoveryInProgress = false;
     private volatile boolean isBleDiscoveryInProgress = false;
 
+    // Registers a cancellable operation using the timeoutMs and operationId call arguments
+    private OperationRegistry.Operation startOperation(MethodCall call, long defaultTimeoutMs) {
+        Number timeoutMs = call.argument("timeoutMs");
+        String operationId = call.argument("operationId");
+        return operations.start(operationId, timeoutMs != null ? timeoutMs.longValue() : defaultTimeoutMs);
+    }
+
+    private void cancelOperation(MethodCall call, Result result) {
+        String operationId = call.argument("operationId");
+        if (operationId == null) {
+            result.error("MISSING_ARGUMENT", "operationId is required", null);
+            return;
+        }
+        result.success(operations.cancel(operationId));
+    }
+
+    // Runs a task on the given executor, reporting BUSY to Flutter when its queue is full
+    private void submit(Executor executor, Result result, Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            PluginLog.w(TAG, "Rejected printer task: " + e.getMessage());
+            result.error("BUSY", "Too many pending printer operations, please retry", null);
+        }
+    }
+
+    // Same as submit(), but a rejected task also finishes its operation so no second reply is sent
+    private void submit(Executor executor, Result result, OperationRegistry.Operation operation, Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            PluginLog.w(TAG, "Rejected printer task: " + e.getMessage());
+            if (operation.finish()) {
+                result.error("BUSY", "Too many pending printer operations, please retry", null);
+            }
+        }
+    }
+
+    // Wraps a connection for the core package, attributing its writes to the active transport
+    private ConnectionTransport transport(Connection connection) {
+        return new ConnectionTransport(connection, metrics, activeTransportType != null ? activeTransportType : "unknown");
+    }
+
+    // Print path: the high-throughput BLE writer while it is up, otherwise the SDK connection
+    private PrinterTransport printTransport(Connection connection) {
+        BleThroughputTransport ble = bleThroughput;
+        if (ble != null && ble.isOpen()) {
+            return ble;
+        }
+        return transport(connection);
+    }
+
+    // Runs on the printer's io() queue. If GATT setup fails, printing falls back to SDK writes
+    private void openBleThroughput(String address, Connection connection) {
+        closeBleThroughput();
+        BleThroughputTransport ble = new BleThroughputTransport(context, address, connection, metrics, mainHandler);
+        try {
+            ble.open();
+            bleThroughput = ble;
+        } catch (IOException e) {
+            metrics.increment("ble.throughput.fallbacks");
+            PluginLog.w(TAG, "High-throughput BLE unavailable for " + address + ", using SDK writes: " + e.getMessage());
+        }
+    }
+
+    private void closeBleThroughput() {
+        BleThroughputTransport ble = bleThroughput;
+        bleThroughput = null;
+        if (ble != null) {
+            ble.close();
+        }
+    }
+
+    // Only called from the active printer's io() queue, so one thread reads the connection at a time
+    private ReplyRouter router() {
+        Connection connection = activeConnection;
+        if (replyRouter == null || routerConnection != connection) {
+            if (replyRouter != null) {
+                replyRouter.close("Connection was replaced");
+            }
+            replyRouter = new ReplyRouter(transport(connection), REPLY_BUFFER_BYTES, this::onUnsolicited);
+            sgdClient = new SgdClient(replyRouter);
+            routerConnection = connection;
+        }
+        return replyRouter;
+    }
+
+    private SgdClient sgd() {
+        router();
+        return sgdClient;
+    }
+
+    // io() queue. ZebraPrinterFactory.getInstance() reads the connection itself, so if the router
+    // reads this connection it is kept off it meanwhile
+    private ZebraPrinter sdkPrinter(Connection connection) throws Exception {
+        if (replyRouter != null && routerConnection == connection) {
+            return replyRouter.readDirectly(() -> ZebraPrinterFactory.getInstance(connection));
+        }
+        return ZebraPrinterFactory.getInstance(connection);
+    }
+
+    // Called by the reply router on the io() queue for output nobody asked for
+    private void onUnsolicited(ReplyRouter.Frame frame, byte[] data) {
+        PrinterAlert alert = frame == ReplyRouter.Frame.LINE && alertConditions != null ? PrinterAlert.parse(data) : null;
+        if (alert != null) {
+            onAlert(alert);
+            return;
+        }
+        metrics.increment("reader.unsolicited");
+        PluginLog.d(TAG, () -> "Unsolicited " + frame + " from printer: " + new String(data, StandardCharsets.UTF_8).trim());
+    }
+
+    // io() queue
+    private void onAlert(PrinterAlert alert) {
+        metrics.increment("alerts.received");
+        PluginLog.i(TAG, "Printer alert: " + alert.message);
+        alertFlags = alert.apply(alertFlags);
+        final Map<String, Object> eventMap = new HashMap<>();
+        eventMap.put("condition", alert.condition.dartName);
+        eventMap.put("cleared", alert.cleared);
+        eventMap.put("message", alert.message);
+        eventMap.put("status", StatusFlags.toMap(alertFlags, 0, null));
+        mainHandler.post(() -> {
+            if (alertEventSink != null) {
+                alertEventSink.success(eventMap);
+            }
+        });
+    }
+
+    private void setAlertSubscription(MethodCall call, Result result) {
+        List<String> names = call.argument("conditions");
+        Set<PrinterAlert.Condition> conditions = EnumSet.noneOf(PrinterAlert.Condition.class);
+        if (names != null) {
+            for (String name : names) {
+                PrinterAlert.Condition condition = PrinterAlert.Condition.fromDartName(name);
+                if (condition == null) {
+                    result.error("INVALID_ARGUMENT", "Unknown alert condition: " + name, null);
+                    return;
+                }
+                conditions.add(condition);
+            }
+        }
+        alertConditions = conditions;
+        if (activeConnection == null || !activeConnection.isConnected()) {
+            // Applied on the next connect
+            result.success(null);
+            return;
+        }
+        final String printerKey = activePrinterKey;
+        submit(scheduler.io(printerKey), result, () -> {
+            try {
+                applyAlertSubscription(printerKey);
+                mainHandler.post(() -> result.success(null));
+            } catch (Exception e) {
+                PluginLog.e(TAG, "Error subscribing to printer alerts", e);
+                mainHandler.post(() -> result.error("SET_FAILED", "Failed to subscribe to alerts: " + e.getMessage(), null));
+            }
+        });
+    }
+
+    // Main thread, after every connect and reconnect: the printer may have been reset meanwhile
+    private void queueAlertSubscription() {
+        final String printerKey = activePrinterKey;
+        if (alertConditions == null || printerKey == null) {
+            return;
+        }
+        try {
+            scheduler.io(printerKey).execute(() -> {
+                try {
+                    applyAlertSubscription(printerKey);
+                } catch (Exception e) {
+                    PluginLog.w(TAG, "Could not subscribe to alerts on " + printerKey + ": " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            PluginLog.w(TAG, "Could not queue alert subscription: " + e.getMessage());
+        }
+    }
+
+    // io() queue. Adds the subscribed conditions and removes the others in one write, then reads the
+    // status once so the alerts that follow can keep it current
+    private void applyAlertSubscription(String printerKey) throws Exception {
+        Set<PrinterAlert.Condition> conditions = alertConditions;
+        Connection connection = activeConnection;
+        if (conditions == null || !printerKey.equals(activePrinterKey) || connection == null || !connection.isConnected()) {
+            return;
+        }
+        ByteArrayOutputStream commands = new ByteArrayOutputStream();
+        for (PrinterAlert.Condition condition : PrinterAlert.Condition.values()) {
+            commands.write(conditions.contains(condition)
+                ? SgdClient.setvarCommand("alerts.add", condition.addValue())
+                : SgdClient.setvarCommand("alerts.remove", condition.removeValue()));
+        }
+        ReplyRouter router = router();
+        router.send(commands.toByteArray(), 0, commands.size());
+        alertFlags = readStatusFlags(connection);
+        PluginLog.d(TAG, () -> "Subscribed to " + conditions.size() + " alerts on " + printerKey);
+    }
+
+    // io() queue. ~HS through the reply router for ZPL printers, the SDK's status query with the
+    // router kept off the connection otherwise
+    private int readStatusFlags(Connection connection) throws Exception {
+        ZebraPrinter printer = zebraPrinter != null ? zebraPrinter : sdkPrinter(connection);
+        if (printer.getPrinterControlLanguage() == PrinterLanguage.ZPL) {
+            return HostStatus.query(router(), STATUS_TIMEOUT_MS).flags;
+        }
+        return statusFlags(router().readDirectly(printer::getCurrentStatus));
+    }
+
+    // Main thread. Keeps the active connection drained while it is idle
+    private void startReaderPump() {
+        if (!readerPumpScheduled) {
+            readerPumpScheduled = true;
+            mainHandler.postDelayed(readerPump, READER_POLL_MS);
+        }
+    }
+
+    // Main thread, every READER_POLL_MS while a printer is active. USB is left alone: a USB read
+    // waits for its timeout when there is nothing to read, and would hold up the printer's queue
+    private void pumpReplies() {
+        final String printerKey = activePrinterKey;
+        if (printerKey == null) {
+            readerPumpScheduled = false;
+            return;
+        }
+        if (!"usb".equalsIgnoreCase(activeInterfaceType) && readerPumpQueued.compareAndSet(false, true)) {
+            try {
+                scheduler.io(printerKey).execute(() -> {
+                    readerPumpQueued.set(false);
+                    Connection connection = activeConnection;
+                    if (!printerKey.equals(activePrinterKey) || connection == null || !connection.isConnected()) {
+                        return;
+                    }
+                    try {
+                        router().pump();
+                    } catch (IOException e) {
+                        PluginLog.d(TAG, () -> "Reading from " + printerKey + " failed: " + e.getMessage());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                readerPumpQueued.set(false);
+            }
+        }
+        mainHandler.postDelayed(readerPump, READER_POLL_MS);
+    }
+
+    // TCP and Bluetooth connections, not yet opened. USB goes through the USB manager instead
+    private Connection createConnection(String interfaceType, String identifier, String connectionType) {
+        if ("tcp".equalsIgnoreCase(interfaceType)) {
+            // Parse IP address and port from identifier
+            String ipAddress;
+            int port = 9100; // Default Zebra port
+            
+            if (identifier.contains(":")) {
+                String[] parts = identifier.split(":");
+                ipAddress = parts[0];
+                try {
+                    port = Integer.parseInt(parts[1]);
+                } catch (NumberFormatException e) {
+                    // Keep default port if parsing fails
+                }
+            } else {
+                ipAddress = identifier;
+            }
+            
+            return new TcpConnection(ipAddress, port);
+        } else if ("bluetooth".equalsIgnoreCase(interfaceType)) {
+            // Paired devices are treated as classic Bluetooth, anything else as BLE
+            boolean isClassicBluetooth = bondedDevices.isBonded(identifier);
+            
+            if (isClassicBluetooth) {
+                if ("secure".equals(connectionType)) {
+                    PluginLog.d(TAG, () -> "Creating Secure Classic Bluetooth connection to: " + identifier);
+                    return new BluetoothConnection(identifier);
+                } else {
+                    PluginLog.d(TAG, () -> "Creating Insecure Classic Bluetooth connection to: " + identifier);
+                    return new BluetoothConnectionInsecure(identifier);
+                }
+            } else {
+                PluginLog.d(TAG, () -> "Creating BLE connection to: " + identifier);
+                // Create Bluetooth LE connection using MAC address
+                BluetoothLeConnection bleConnection = new BluetoothLeConnection(identifier);
+                
+                // Set context for BLE connection (required by Zebra SDK)
+                bleConnection.setContext(activity);
+                return bleConnection;
+            }
+        }
+        return null;
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            if (connection.isConnected()) {
+                connection.close();
+            }
+        } catch (Exception e) {
+            PluginLog.w(TAG, "Error closing connection: " + e.getMessage());
+        }
+    }
+
     // Helper method to get printer address based on type
     private String getPrinterAddress(DiscoveredPrinter printer) {
         if (printer instanceof DiscoveredPrinterNetwork) {
@@ -103,6 +523,312 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
         channel = new MethodChannel(flutterPluginBinding.getBinaryMessenger(), "zebra_printer");
         channel.setMethodCallHandler(this);
         context = flutterPluginBinding.getApplicationContext();
+        
+        usbEventChannel = new EventChannel(flutterPluginBinding.getBinaryMessenger(), "zebra_printer/usb_events");
+        usbEventChannel.setStreamHandler(new EventChannel.StreamHandler() {
+            @Override
+            public void onListen(Object arguments, EventChannel.EventSink events) {
+                usbEventSink = events;
+            }
+
+            @Override
+            public void onCancel(Object arguments) {
+                usbEventSink = null;
+            }
+        });
+        
+        networkEventChannel = new EventChannel(flutterPluginBinding.getBinaryMessenger(), "zebra_printer/network_events");
+        networkEventChannel.setStreamHandler(new EventChannel.StreamHandler() {
+            @Override
+            public void onListen(Object arguments, EventChannel.EventSink events) {
+                networkEventSink = events;
+            }
+
+            @Override
+            public void onCancel(Object arguments) {
+                networkEventSink = null;
+            }
+        });
+
+        alertEventChannel = new EventChannel(flutterPluginBinding.getBinaryMessenger(), "zebra_printer/alerts");
+        alertEventChannel.setStreamHandler(new EventChannel.StreamHandler() {
+            @Override
+            public void onListen(Object arguments, EventChannel.EventSink events) {
+                alertEventSink = events;
+            }
+
+            @Override
+            public void onCancel(Object arguments) {
+                alertEventSink = null;
+            }
+        });
+
+        metricsEventChannel = new EventChannel(flutterPluginBinding.getBinaryMessenger(), "zebra_printer/metrics");
+        metricsEventChannel.setStreamHandler(new EventChannel.StreamHandler() {
+            @Override
+            public void onListen(Object arguments, EventChannel.EventSink events) {
+                startMetricsStream(arguments, events);
+            }
+
+            @Override
+            public void onCancel(Object arguments) {
+                stopMetricsStream();
+            }
+        });
+        metrics.registerGauge("printQueue.depth", printQueue::size);
+        openSpool();
+        metrics.registerGauge("printQueue.urgentDepth", () -> printQueue.size(PrintJob.Priority.URGENT));
+        
+        // Requests are decoded before onMessage returns, so the engine's buffer can be used without a copy
+        binaryChannel = new BasicMessageChannel<>(flutterPluginBinding.getBinaryMessenger(), "zebra_printer/binary", BinaryCodec.INSTANCE_DIRECT);
+        binaryChannel.setMessageHandler(new BinaryChannel(this, metrics));
+        
+        usbPrinterManager = new UsbPrinterManager(context, scheduler, new UsbPrinterManager.Listener() {
+            @Override
+            public void onPrinterAttached(Map<String, Object> printer) {
+                sendUsbEvent("attached", printer);
+            }
+
+            @Override
+            public void onPrinterReady(Map<String, Object> printer) {
+                sendUsbEvent("ready", printer);
+                if (offlineQueueing && "usb".equalsIgnoreCase(activeInterfaceType) && activeConnection == null) {
+                    scheduleReconnect();
+                }
+            }
+
+            @Override
+            public void onPrinterDetached(Map<String, Object> printer, Connection connection) {
+                if (connection != null && connection == activeConnection) {
+                    PluginLog.d(TAG, "Active USB printer was detached");
+                    activeConnection = null;
+                    zebraPrinter = null;
+                }
+                sendUsbEvent("detached", printer);
+            }
+        });
+        usbPrinterManager.start();
+
+        bondedDevices = new BondedDeviceIndex(context);
+        bondedDevices.start();
+
+        networkMonitor = new NetworkMonitor(context, mainHandler, new NetworkMonitor.Listener() {
+            @Override
+            public void onNetworkChanged(String subnet) {
+                ZebraPrinterAndroidPlugin.this.onNetworkChanged(subnet);
+            }
+
+            @Override
+            public void onNetworkLost() {
+                ZebraPrinterAndroidPlugin.this.onNetworkLost();
+            }
+        });
+        networkMonitor.start();
+
+        warmStart = new WarmStart(context);
+        maybeWarmStart();
+    }
+    
+    private Map<String, Object> metricsSnapshot() {
+        Map<String, Object> snapshot = metrics.snapshot();
+        snapshot.put("scheduler", scheduler.snapshot());
+        return snapshot;
+    }
+
+    private void setLogLevel(MethodCall call, Result result) {
+        try {
+            PluginLog.setLevel(PluginLog.parseLevel(call.argument("level")));
+            result.success(null);
+        } catch (IllegalArgumentException e) {
+            result.error("INVALID_ARGUMENT", e.getMessage(), null);
+        }
+    }
+
+    private void getMetrics(MethodCall call, Result result) {
+        Map<String, Object> snapshot = metricsSnapshot();
+        if (Boolean.TRUE.equals(call.argument("reset"))) {
+            metrics.reset();
+        }
+        result.success(snapshot);
+    }
+
+    private void startMetricsStream(Object arguments, EventChannel.EventSink events) {
+        stopMetricsStream();
+        long intervalMs = 1000;
+        if (arguments instanceof Map && ((Map<?, ?>) arguments).get("intervalMs") instanceof Number) {
+            intervalMs = Math.max(100, ((Number) ((Map<?, ?>) arguments).get("intervalMs")).longValue());
+        }
+        final long interval = intervalMs;
+        metricsTicker = new Runnable() {
+            @Override
+            public void run() {
+                // Sent as a binary METRICS record, decoded on the Dart side
+                metricsWriter.clear();
+                metrics.writeTo(metricsWriter);
+                events.success(metricsWriter.toByteArray());
+                mainHandler.postDelayed(this, interval);
+            }
+        };
+        mainHandler.post(metricsTicker);
+    }
+
+    private void stopMetricsStream() {
+        if (metricsTicker != null) {
+            mainHandler.removeCallbacks(metricsTicker);
+            metricsTicker = null;
+        }
+    }
+
+    private void sendUsbEvent(String event, Map<String, Object> printer) {
+        mainHandler.post(() -> {
+            if (usbEventSink != null) {
+                Map<String, Object> eventMap = new HashMap<>();
+                eventMap.put("event", event);
+                eventMap.put("printer", printer);
+                usbEventSink.success(eventMap);
+            }
+        });
+    }
+
+    private void sendNetworkEvent(String event, String subnet, List<Map<String, Object>> printers) {
+        if (networkEventSink != null) {
+            Map<String, Object> eventMap = new HashMap<>();
+            eventMap.put("event", event);
+            eventMap.put("subnet", subnet);
+            eventMap.put("printers", printers);
+            networkEventSink.success(eventMap);
+        }
+    }
+
+    // Main thread. TCP connections opened on the previous network are dead even when their sockets
+    // have not noticed yet, so they are replaced now instead of timing out on the next print
+    private void onNetworkChanged(String subnet) {
+        metrics.increment("network.changes");
+        printerGroups.onNetworkChanged();
+        reopenActiveTcp();
+        rediscover(subnet);
+    }
+
+    // Main thread. Closing the active TCP connection makes the next job fail or queue at once
+    // instead of waiting for a write timeout; it is reopened when a network comes back
+    private void onNetworkLost() {
+        metrics.increment("network.losses");
+        printerGroups.onNetworkChanged();
+        final String printerKey = activePrinterKey;
+        if (printerKey != null && "tcp".equalsIgnoreCase(activeInterfaceType)) {
+            try {
+                scheduler.io(printerKey).execute(() -> {
+                    if (printerKey.equals(activePrinterKey)) {
+                        closeQuietly(activeConnection);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                PluginLog.w(TAG, "Could not queue close of stale connection: " + e.getMessage());
+            }
+        }
+        sendNetworkEvent("lost", null, new ArrayList<>());
+    }
+
+    // Main thread. Reopens the active TCP printer over the new network
+    private void reopenActiveTcp() {
+        final String printerKey = activePrinterKey;
+        final String interfaceType = activeInterfaceType;
+        final String connectionType = activeConnectionType;
+        if (printerKey == null || !"tcp".equalsIgnoreCase(interfaceType)) {
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            scheduler.io(printerKey).execute(() -> {
+                if (!printerKey.equals(activePrinterKey)) {
+                    return;
+                }
+                closeQuietly(activeConnection);
+                try {
+                    Connection connection = createConnection(interfaceType, printerKey, connectionType);
+                    connection.open();
+                    ZebraPrinter printer = sdkPrinter(connection);
+                    if (!printerKey.equals(activePrinterKey)) {
+                        closeQuietly(connection);
+                        return;
+                    }
+                    activeConnection = connection;
+                    zebraPrinter = printer;
+                    metrics.recordSince("network.reconnect", start);
+                    PluginLog.i(TAG, "Reopened " + printerKey + " on the new network");
+                    mainHandler.post(this::onReconnected);
+                } catch (Exception e) {
+                    PluginLog.w(TAG, "Could not reopen " + printerKey + " on the new network: " + e.getMessage());
+                    mainHandler.post(multipathPaths != null ? this::failoverMultipath : this::scheduleReconnect);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            PluginLog.w(TAG, "Could not queue reconnect after network change: " + e.getMessage());
+        }
+    }
+
+    // Main thread. A single local broadcast on the new subnet, far cheaper than findPrinters(), so
+    // Dart can refresh printer lists that still point at the previous network. Skipped while
+    // nobody listens for network events
+    private void rediscover(String subnet) {
+        if (networkEventSink == null) {
+            return;
+        }
+        try {
+            scheduler.discovery().execute(() -> {
+                final Map<String, Map<String, Object>> found = new LinkedHashMap<>();
+                final CountDownLatch finished = new CountDownLatch(1);
+                final Metrics.DiscoveryTimer discoveryTimer = metrics.startDiscovery("networkChange");
+                DiscoveryHandler discoveryHandler = new DiscoveryHandler() {
+                    @Override
+                    public void foundPrinter(DiscoveredPrinter printer) {
+                        discoveryTimer.found();
+                        String address = getPrinterAddress(printer);
+                        synchronized (found) {
+                            found.put(address, DiscoveryResults.network(address, printer.getDiscoveryDataMap()));
+                        }
+                    }
+
+                    @Override
+                    public void discoveryFinished() {
+                        finished.countDown();
+                    }
+
+                    @Override
+                    public void discoveryError(String error) {
+                        PluginLog.w(TAG, "Rediscovery after network change failed: " + error);
+                        finished.countDown();
+                    }
+                };
+
+                WifiManager wifi = (WifiManager) context.getSystemService(Context.WIFI_SERVICE);
+                WifiManager.MulticastLock lock = wifi.createMulticastLock("zebra_network_change_lock");
+                lock.setReferenceCounted(true);
+                lock.acquire();
+                try {
+                    NetworkDiscoverer.localBroadcast(discoveryHandler, NETWORK_REDISCOVERY_WAIT_MS);
+                    finished.await(NETWORK_REDISCOVERY_WAIT_MS * 2L, TimeUnit.MILLISECONDS);
+                } catch (DiscoveryException e) {
+                    PluginLog.w(TAG, "Rediscovery after network change failed: " + e.getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    lock.release();
+                }
+                discoveryTimer.finish();
+
+                final List<Map<String, Object>> printers;
+                synchronized (found) {
+                    printers = new ArrayList<>(found.values());
+                }
+                mainHandler.post(() -> {
+                    PluginLog.d(TAG, () -> "Found " + printers.size() + " printers on " + subnet);
+                    sendNetworkEvent("changed", subnet, printers);
+                });
+            });
+        } catch (RejectedExecutionException e) {
+            sendNetworkEvent("changed", subnet, new ArrayList<>());
+        }
     }
 
     @Override
@@ -159,12 +885,57 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
             case "setSgdParameter":
                 setSgdParameter(call, result);
                 break;
+            case "setSgdParameters":
+                setSgdParameters(call, result);
+                break;
             case "getPrinterDimensions":
                 getPrinterDimensions(result);
                 break;
             case "setLabelLength":
                 setLabelLength(call, result);
                 break;
+            case "getStatus":
+                getStatus(result);
+                break;
+            case "getMetrics":
+                getMetrics(call, result);
+                break;
+            case "setLogLevel":
+                setLogLevel(call, result);
+                break;
+            case "connectMultipath":
+                connectMultipath(call, result);
+                break;
+            case "setWarmStartPolicy":
+                setWarmStartPolicy(call, result);
+                break;
+            case "setOfflineQueueing":
+                setOfflineQueueing(call, result);
+                break;
+            case "setAlertSubscription":
+                setAlertSubscription(call, result);
+                break;
+            case "setDeviceClassifierRules":
+                setDeviceClassifierRules(call, result);
+                break;
+            case "clearPrintSpool":
+                clearPrintSpool(result);
+                break;
+            case "createPrinterGroup":
+                printerGroups.create(call, result);
+                break;
+            case "printToGroup":
+                printerGroups.print(call, result);
+                break;
+            case "getPrinterGroupStats":
+                printerGroups.stats(call, result);
+                break;
+            case "removePrinterGroup":
+                printerGroups.remove(call, result);
+                break;
+            case "cancelOperation":
+                cancelOperation(call, result);
+                break;
             default:
                 result.notImplemented();
                 break;
@@ -178,18 +949,22 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
             return;
         }
         
-        executor.execute(() -> {
+        // NetworkDiscoverer has no cancel API; cancelling wakes the waiting worker so its thread
+        // is freed immediately, and printers reported after that are dropped
+        final OperationRegistry.Operation operation = startOperation(call, 15000);
+
+        submit(scheduler.discovery(), result, operation, () -> {
             try {
                 isNetworkDiscoveryInProgress = true;
-                Log.d(TAG, "Starting auto network discovery using findPrinters");
+                PluginLog.d(TAG, "Starting auto network discovery using findPrinters");
                 
                 final List<DiscoveredPrinter> discoveredPrinters = new ArrayList<>();
-                final Object discoveryLock = new Object();
-                final boolean[] discoveryComplete = {false};
                 
+                final Metrics.DiscoveryTimer discoveryTimer = metrics.startDiscovery("auto");
                 DiscoveryHandler discoveryHandler = new DiscoveryHandler() {
                     @Override
                     public void foundPrinter(DiscoveredPrinter printer) {
+                        discoveryTimer.found();
                         synchronized (discoveredPrinters) {
                             // Check for duplicates based on address
                             boolean duplicate = false;
@@ -201,27 +976,21 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
                             }
                             if (!duplicate) {
                                 discoveredPrinters.add(printer);
-                                Log.d(TAG, "Found printer: " + getPrinterAddress(printer));
+                                PluginLog.d(TAG, () -> "Found printer: " + getPrinterAddress(printer));
                             }
                         }
                     }
 
                     @Override
                     public void discoveryFinished() {
-                        Log.d(TAG, "Auto discovery finished");
-                        synchronized (discoveryLock) {
-                            discoveryComplete[0] = true;
-                            discoveryLock.notify();
-                        }
+                        PluginLog.d(TAG, "Auto discovery finished");
+                        operation.signal();
                     }
 
                     @Override
                     public void discoveryError(String error) {
-                        Log.e(TAG, "Auto discovery error: " + error);
-                        synchronized (discoveryLock) {
-                            discoveryComplete[0] = true;
-                            discoveryLock.notify();
-                        }
+                        PluginLog.e(TAG, "Auto discovery error: " + error);
+                        operation.signal();
                     }
                 };
                 
@@ -234,13 +1003,9 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
                 try {
                     NetworkDiscoverer.findPrinters(discoveryHandler);
                     
-                    // Wait for discovery to complete
-                    synchronized (discoveryLock) {
-                        while (!discoveryComplete[0]) {
-                            discoveryLock.wait(15000); // 15 second timeout for comprehensive search
-                            break; // Exit if timeout
-                        }
-                    }
+                    // Wait until discovery finishes, times out or is cancelled from Dart
+                    operation.await();
+                    discoveryTimer.finish();
                 } finally {
                     lock.release();
                 }
@@ -248,33 +1013,210 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
                 List<Map<String, Object>> printers = new ArrayList<>();
                 synchronized (discoveredPrinters) {
                     for (DiscoveredPrinter printer : discoveredPrinters) {
-                        Map<String, Object> printerMap = new HashMap<>();
-                        printerMap.put("friendlyName", printer.getDiscoveryDataMap().get("FRIENDLY_NAME"));
-                        printerMap.put("address", getPrinterAddress(printer));
-                        printerMap.put("port", 9100);
-                        printerMap.put("interfaceType", "TCP");
-                        printerMap.put("serialNumber", printer.getDiscoveryDataMap().get("SERIAL_NUMBER"));
+                        Map<String, Object> printerMap =
+                            DiscoveryResults.network(getPrinterAddress(printer), printer.getDiscoveryDataMap());
                         printerMap.put("additionalInfo", printer.getDiscoveryDataMap());
                         printers.add(printerMap);
                     }
                 }
 
                 mainHandler.post(() -> {
-                    Log.d(TAG, "Auto network discovery completed. Found " + printers.size() + " printers");
+                    PluginLog.d(TAG, () -> "Auto network discovery completed. Found " + printers.size() + " printers");
                     result.success(printers);
                 });
                 
             } catch (Exception e) {
-                Log.e(TAG, "Auto network discovery failed", e);
+                PluginLog.e(TAG, "Auto network discovery failed", e);
                 mainHandler.post(() -> {
                     result.error("DISCOVERY_FAILED", e.getMessage(), null);
                 });
             } finally {
+                operation.finish();
                 isNetworkDiscoveryInProgress = false;
             }
         });
     }
 
+    // Main thread. Hands the active printer's connection back to its own thread to be closed
+    private void releaseActivePrinter() {
+        final String previousKey = activePrinterKey;
+        if (previousKey == null) {
+            return;
+        }
+        retireWarmConnection();
+        closeBleThroughput();
+        adoptedProbe = null;
+        final Connection previousConnection = activeConnection;
+        activeConnection = null;
+        zebraPrinter = null;
+        activePrinterKey = null;
+        // Jobs still queued offline were meant for the previous printer
+        printQueue.failAll(new IOException("Connected to a different printer"));
+        try {
+            scheduler.io(previousKey).execute(() -> closeQuietly(previousConnection));
+        } catch (RejectedExecutionException e) {
+            PluginLog.w(TAG, "Could not queue close of previous connection: " + e.getMessage());
+        }
+        scheduler.forgetIo(previousKey);
+    }
+
+    /**
+     * Connects to one printer that is reachable over several transports, racing them: TCP paths
+     * start first and Bluetooth paths follow after headStartMs unless every earlier path failed.
+     * The first path to open becomes the active connection; if it fails later, the others are
+     * raced again and queued jobs continue over the winner.
+     */
+    private void connectMultipath(MethodCall call, Result result) {
+        String serialNumber = call.argument("serialNumber");
+        List<Map<String, Object>> pathArgs = call.argument("paths");
+        Number headStartMs = call.argument("headStartMs");
+        Number timeoutMs = call.argument("timeoutMs");
+        if (serialNumber == null || pathArgs == null || pathArgs.isEmpty()) {
+            result.error("MISSING_ARGUMENT", "serialNumber and at least one path are required", null);
+            return;
+        }
+
+        // Network paths first, then Bluetooth, each in the order given
+        List<TransportRace.Path> tcpPaths = new ArrayList<>();
+        List<TransportRace.Path> bluetoothPaths = new ArrayList<>();
+        Set<String> identifiers = new HashSet<>();
+        for (Map<String, Object> pathArg : pathArgs) {
+            String interfaceType = (String) pathArg.get("interfaceType");
+            String identifier = (String) pathArg.get("identifier");
+            if (identifier == null || !identifiers.add(identifier)) {
+                result.error("INVALID_ARGUMENT", "Every path needs its own identifier, got " + identifier, null);
+                return;
+            }
+            TransportRace.Path path = new TransportRace.Path(interfaceType, identifier, (String) pathArg.get("connectionType"));
+            if ("tcp".equalsIgnoreCase(interfaceType)) {
+                tcpPaths.add(path);
+            } else if (path.isBluetooth()) {
+                bluetoothPaths.add(path);
+            } else {
+                result.error("UNSUPPORTED_INTERFACE", "Multi-path connections support TCP and Bluetooth, got " + interfaceType, null);
+                return;
+            }
+        }
+        List<TransportRace.Path> paths = new ArrayList<>(tcpPaths);
+        paths.addAll(bluetoothPaths);
+
+        cancelMultipath();
+        warmStartKey = null;
+        releaseActivePrinter();
+        multipathPaths = paths;
+        multipathSerial = serialNumber;
+        multipathHeadStartMs = headStartMs != null ? headStartMs.longValue() : MULTIPATH_HEAD_START_MS;
+        multipathTimeoutMs = timeoutMs != null ? timeoutMs.longValue() : 0;
+
+        final long start = System.nanoTime();
+        race = new TransportRace(scheduler, metrics, this::createConnection, paths, multipathHeadStartMs, null,
+            new TransportRace.Listener() {
+                @Override
+                public void onConnected(TransportRace.Path path, Connection connection, ZebraPrinter printer) {
+                    race = null;
+                    adoptPath(path, connection, printer);
+                    metrics.recordSince("connect.multipath", start);
+                    Map<String, Object> connected = new HashMap<>();
+                    connected.put("interfaceType", path.interfaceType);
+                    connected.put("identifier", path.identifier);
+                    result.success(connected);
+                    onReconnected();
+                    resumeSpooledJobs(path.identifier);
+                }
+
+                @Override
+                public void onFailed(String message) {
+                    race = null;
+                    multipathPaths = null;
+                    metrics.increment("connect.multipath.errors");
+                    result.error("CONNECTION_FAILED", "Could not reach " + serialNumber + " over any path: " + message, null);
+                }
+            });
+        race.start(multipathTimeoutMs);
+    }
+
+    // Main thread. Makes a raced path the active connection
+    private void adoptPath(TransportRace.Path path, Connection connection, ZebraPrinter printer) {
+        activeConnection = connection;
+        zebraPrinter = printer;
+        activePrinterKey = path.identifier;
+        activeTransportType = path.interfaceType.toLowerCase();
+        activeInterfaceType = path.interfaceType;
+        activeConnectionType = path.connectionType;
+        activeBleHighThroughput = false;
+        metrics.increment("multipath.active." + activeTransportType);
+        warmStart.remember(new WarmStart.Settings(path.interfaceType, path.identifier, path.connectionType, false));
+        PluginLog.i(TAG, "Printer " + multipathSerial + " is connected over " + path);
+    }
+
+    // Main thread. The active path failed: race the others, with the failed one last, and move
+    // queued jobs to the winner
+    private void failoverMultipath() {
+        final List<TransportRace.Path> paths = multipathPaths;
+        if (paths == null || race != null) {
+            return;
+        }
+        final String failedKey = activePrinterKey;
+        List<TransportRace.Path> order = new ArrayList<>();
+        TransportRace.Path failed = null;
+        for (TransportRace.Path path : paths) {
+            if (path.identifier.equals(failedKey)) {
+                failed = path;
+            } else {
+                order.add(path);
+            }
+        }
+        if (failed != null) {
+            order.add(failed);
+        }
+        metrics.increment("multipath.failovers");
+        PluginLog.w(TAG, "Active path to " + multipathSerial + " failed, trying the others");
+
+        final long start = System.nanoTime();
+        race = new TransportRace(scheduler, metrics, this::createConnection, order, multipathHeadStartMs, failedKey,
+            new TransportRace.Listener() {
+                @Override
+                public void onConnected(TransportRace.Path path, Connection connection, ZebraPrinter printer) {
+                    race = null;
+                    final Connection previous = activeConnection;
+                    if (failedKey != null && !failedKey.equals(path.identifier)) {
+                        try {
+                            scheduler.io(failedKey).execute(() -> closeQuietly(previous));
+                        } catch (RejectedExecutionException e) {
+                            PluginLog.w(TAG, "Could not queue close of failed path: " + e.getMessage());
+                        }
+                        // Drains still queued for the failed path return once it is no longer active
+                        scheduler.forgetIo(failedKey);
+                    }
+                    adoptPath(path, connection, printer);
+                    metrics.recordSince("multipath.failover", start);
+                    onReconnected();
+                }
+
+                @Override
+                public void onFailed(String message) {
+                    race = null;
+                    PluginLog.w(TAG, "Printer " + multipathSerial + " is unreachable over every path: " + message);
+                    if (offlineQueueing) {
+                        scheduleReconnect();
+                    } else {
+                        printQueue.failAll(new IOException("Printer unreachable over every path: " + message));
+                    }
+                }
+            });
+        race.start(multipathTimeoutMs);
+    }
+
+    // Main thread
+    private void cancelMultipath() {
+        if (race != null) {
+            race.cancel();
+            race = null;
+        }
+        multipathPaths = null;
+        multipathSerial = null;
+    }
+
     private void connect(MethodCall call, Result result) {
         @SuppressWarnings("unchecked")
         Map<String, Object> settings = (Map<String, Object>) call.arguments;
@@ -300,145 +1242,161 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
             return;
         }
 
-        executor.execute(() -> {
-            // Only prepare Looper if one doesn't already exist
-            if (Looper.myLooper() == null) {
-                Looper.prepare(); // Required for Bluetooth connections per Zebra SDK docs
+        String warmKey = warmStartKey;
+        if (warmKey != null && !warmKey.equals(identifier)) {
+            warmStartKey = null;
+        }
+
+        cancelMultipath();
+        final String previousKey = activePrinterKey;
+        if (previousKey != null && !previousKey.equals(identifier)) {
+            releaseActivePrinter();
+        }
+
+        final String transportType = interfaceType.toLowerCase();
+        final long connectStart = System.nanoTime();
+
+        // Bluetooth and BLE connections need a Looper for their whole lifetime, so they get a
+        // dedicated HandlerThread that opens, writes to, reads from and closes the connection
+        if ("bluetooth".equalsIgnoreCase(interfaceType)) {
+            scheduler.startLooperThread(identifier);
+        }
+
+        // settings.timeout bounds the whole connect in milliseconds, including time spent queued
+        // behind other work for this printer. Closing the connection aborts a blocking open()
+        final OperationRegistry.Operation operation =
+            operations.start((String) settings.get("operationId"), timeout != null ? timeout : 0);
+        final AtomicReference<Connection> pendingConnection = new AtomicReference<>();
+        operation.onCancel(() -> {
+            PluginLog.w(TAG, "Connect to " + identifier + " stopped (" + operation.stopReason() + ")");
+            Connection connection = pendingConnection.get();
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (Exception e) {
+                    PluginLog.w(TAG, "Error aborting connection: " + e.getMessage());
+                }
+            }
+            if (operation.finish()) {
+                String message = operation.isTimedOut() ? "Connection timed out" : "Connection was cancelled";
+                mainHandler.post(() -> result.error(operation.stopReason(), message, null));
             }
+        });
+
+        submit(scheduler.io(identifier), result, operation, () -> {
             try {
-                Log.d(TAG, "Connecting to " + interfaceType + " printer at " + identifier);
-                
-                // Close existing connection if any
-                if (activeConnection != null && activeConnection.isConnected()) {
-                    activeConnection.close();
+                PluginLog.d(TAG, () -> "Connecting to " + interfaceType + " printer at " + identifier);
+                
+                // A printer opened by warm start is handed over as it is
+                Connection warm = activeConnection;
+                if (warmConnection && identifier.equals(activePrinterKey) && interfaceType.equalsIgnoreCase(activeInterfaceType)
+                    && warm != null && warm.isConnected()) {
+                    warmConnection = false;
+                    metrics.increment("warmStart.used");
+                    PluginLog.i(TAG, "Using the connection to " + identifier + " opened at startup");
+                    if (operation.finish()) {
+                        mainHandler.post(() -> result.success(true));
+                    }
+                    return;
                 }
-
-                // Create connection based on interface type
-                if ("tcp".equalsIgnoreCase(interfaceType)) {
-                    // Parse IP address and port from identifier
-                    String ipAddress;
-                    int port = 9100; // Default Zebra port
-                    
-                    if (identifier.contains(":")) {
-                        String[] parts = identifier.split(":");
-                        ipAddress = parts[0];
-                        try {
-                            port = Integer.parseInt(parts[1]);
-                        } catch (NumberFormatException e) {
-                            // Keep default port if parsing fails
-                        }
-                    } else {
-                        ipAddress = identifier;
+                // As is a connection adopted from a BLE probe, so probe-then-connect opens it once
+                Connection probed = adoptedProbe;
+                adoptedProbe = null;
+                if (probed != null && probed == warm && identifier.equals(activePrinterKey)
+                    && "bluetooth".equalsIgnoreCase(interfaceType) && probed.isConnected()) {
+                    boolean bleHighThroughput = Boolean.TRUE.equals(settings.get("bleHighThroughput"))
+                        && probed instanceof BluetoothLeConnection;
+                    if (bleHighThroughput) {
+                        openBleThroughput(identifier, probed);
                     }
-                    
-                    activeConnection = new TcpConnection(ipAddress, port);
-                } else if ("bluetooth".equalsIgnoreCase(interfaceType)) {
-                    // Get connection type from printer data (secure vs insecure)
-                    String connectionType = (String) settings.get("connectionType");
-                    boolean isClassicBluetooth = isClassicBluetoothDevice(identifier);
-                    
-                    if (isClassicBluetooth) {
-                        if ("secure".equals(connectionType)) {
-                            Log.d(TAG, "Creating Secure Classic Bluetooth connection to: " + identifier);
-                            activeConnection = new BluetoothConnection(identifier);
-                        } else {
-                            Log.d(TAG, "Creating Insecure Classic Bluetooth connection to: " + identifier);
-                            activeConnection = new BluetoothConnectionInsecure(identifier);
-                        }
-                    } else {
-                        Log.d(TAG, "Creating BLE connection to: " + identifier);
-                        // Create Bluetooth LE connection using MAC address
-                        activeConnection = new BluetoothLeConnection(identifier);
-                        
-                        // Set context for BLE connection (required by Zebra SDK)
-                        if (activeConnection instanceof BluetoothLeConnection) {
-                            ((BluetoothLeConnection) activeConnection).setContext(activity);
-                        }
+                    if (!operation.finish()) {
+                        return;
                     }
-                } else if ("usb".equalsIgnoreCase(interfaceType)) {
-                    // USB connections require the DiscoveredPrinterUsb object
-                    // For now, we'll need to discover the printer again to get the connection
-                    Log.d(TAG, "Creating USB connection for device: " + identifier);
-                    
-                    // Find the USB printer by discovering again
-                    final DiscoveredPrinterUsb[] foundUsbPrinter = new DiscoveredPrinterUsb[1];
-                    final boolean[] discoveryComplete = new boolean[1];
-                    
-                    DiscoveryHandler usbDiscoveryHandler = new DiscoveryHandler() {
-                        @Override
-                        public void foundPrinter(DiscoveredPrinter discoveredPrinter) {
-                            if (discoveredPrinter instanceof DiscoveredPrinterUsb) {
-                                DiscoveredPrinterUsb usbPrinter = (DiscoveredPrinterUsb) discoveredPrinter;
-                                if (identifier.equals(usbPrinter.device.getDeviceName()) ||
-                                    identifier.contains(String.valueOf(usbPrinter.device.getProductId()))) {
-                                    foundUsbPrinter[0] = usbPrinter;
-                                }
-                            }
-                        }
+                    activeConnectionType = (String) settings.get("connectionType");
+                    activeBleHighThroughput = bleHighThroughput;
+                    metrics.increment("probe.used");
+                    warmStart.remember(new WarmStart.Settings(interfaceType, identifier, activeConnectionType, bleHighThroughput));
+                    PluginLog.i(TAG, "Using the connection to " + identifier + " opened by the BLE probe");
+                    mainHandler.post(() -> result.success(true));
+                    return;
+                }
+                retireWarmConnection();
 
-                        @Override
-                        public void discoveryFinished() {
-                            discoveryComplete[0] = true;
-                        }
+                // Close existing connection if any
+                closeBleThroughput();
+                if (activeConnection != null && activeConnection.isConnected()) {
+                    activeConnection.close();
+                }
 
-                        @Override
-                        public void discoveryError(String message) {
-                            discoveryComplete[0] = true;
-                        }
-                    };
-                    
-                    UsbDiscoverer.findPrinters(activity.getApplicationContext(), usbDiscoveryHandler);
+                // Create connection based on interface type
+                if (!"usb".equalsIgnoreCase(interfaceType)) {
+                    activeConnection = createConnection(interfaceType, identifier, (String) settings.get("connectionType"));
+                } else {
+                    // USB connections require the DiscoveredPrinterUsb object found during discovery
+                    PluginLog.d(TAG, () -> "Creating USB connection for device: " + identifier);
                     
-                    // Wait for discovery to complete (timeout after 5 seconds)
-                    int waitCount = 0;
-                    while (!discoveryComplete[0] && waitCount < 50) {
-                        try {
-                            Thread.sleep(100);
-                            waitCount++;
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            break;
-                        }
+                    DiscoveredPrinterUsb usbPrinter = usbPrinterManager.findPrinter(identifier);
+                    if (usbPrinter == null) {
+                        // Not attached through the USB manager (e.g. non-Zebra vendor ID), look it up once
+                        PluginLog.d(TAG, () -> "USB printer not in device table, running discovery for: " + identifier);
+                        usbPrinter = discoverUsbPrinter(identifier, 5000);
                     }
                     
-                    if (foundUsbPrinter[0] == null) {
+                    if (usbPrinter == null) {
                         throw new Exception("USB printer not found: " + identifier);
                     }
+                    final DiscoveredPrinterUsb foundUsbPrinter = usbPrinter;
                     
-                    // Request USB permission asynchronously
-                    CompletableFuture<Boolean> permissionFuture = requestUsbPermissionAsync(foundUsbPrinter[0].device);
+                    // Request USB permission asynchronously. The answer arrives on the main thread
+                    // when the user was asked, so the rest of the connect runs on the printer's queue
+                    CompletableFuture<Boolean> permissionFuture = usbPrinterManager.requestPermission(foundUsbPrinter.device);
                     
-                    permissionFuture.thenAccept(granted -> {
+                    permissionFuture.thenAcceptAsync(granted -> {
                         if (!granted) {
-                            mainHandler.post(() -> result.error("USB_PERMISSION_DENIED", "USB permission was denied", null));
+                            if (operation.finish()) {
+                                mainHandler.post(() -> result.error("USB_PERMISSION_DENIED", "USB permission was denied", null));
+                            }
+                            return;
+                        }
+                        if (operation.isCancelled()) {
                             return;
                         }
                         
                         try {
-                            // Get USB connection
-                            activeConnection = foundUsbPrinter[0].getConnection();
-                            
-                            if (activeConnection == null) {
-                                mainHandler.post(() -> result.error("CONNECTION_ERROR", "Failed to create USB connection", null));
+                            // Get USB connection, opened ahead of time if the printer was hot-plugged
+                            Connection usbConnection = usbPrinterManager.openConnection(foundUsbPrinter);
+                            ZebraPrinter usbZebraPrinter = ZebraPrinterFactory.getInstance(usbConnection);
+                            if (!operation.finish()) {
+                                // Stopped meanwhile; the USB manager keeps the connection open for next time
                                 return;
                             }
-                            
-                            activeConnection.open();
-                            
-                            // Create ZebraPrinter instance
-                            zebraPrinter = ZebraPrinterFactory.getInstance(activeConnection);
+                            activeConnection = usbConnection;
+                            zebraPrinter = usbZebraPrinter;
+                            activePrinterKey = identifier;
+                            activeTransportType = transportType;
+                            activeInterfaceType = interfaceType;
+                            activeConnectionType = null;
+                            activeBleHighThroughput = false;
+                            metrics.recordSince("connect." + transportType, connectStart);
+                            warmStart.remember(new WarmStart.Settings(interfaceType, identifier, null, false));
 
                             mainHandler.post(() -> {
-                                Log.d(TAG, "Successfully connected to USB printer");
+                                PluginLog.d(TAG, "Successfully connected to USB printer");
                                 result.success(true);
+                                onReconnected();
+                                resumeSpooledJobs(identifier);
                             });
                         } catch (Exception e) {
-                            Log.e(TAG, "USB connection failed after permission granted", e);
-                            mainHandler.post(() -> result.error("CONNECTION_ERROR", "USB connection failed: " + e.getMessage(), null));
+                            PluginLog.e(TAG, "USB connection failed after permission granted", e);
+                            if (operation.finish()) {
+                                mainHandler.post(() -> result.error("CONNECTION_ERROR", "USB connection failed: " + e.getMessage(), null));
+                            }
+                        }
+                    }, scheduler.io(identifier)).exceptionally(throwable -> {
+                        PluginLog.e(TAG, "USB permission request failed", throwable);
+                        if (operation.finish()) {
+                            mainHandler.post(() -> result.error("USB_PERMISSION_ERROR", "USB permission request failed: " + throwable.getMessage(), null));
                         }
-                    }).exceptionally(throwable -> {
-                        Log.e(TAG, "USB permission request failed", throwable);
-                        mainHandler.post(() -> result.error("USB_PERMISSION_ERROR", "USB permission request failed: " + throwable.getMessage(), null));
                         return null;
                     });
                     
@@ -450,46 +1408,88 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
                     throw new Exception("Failed to create connection for interface type: " + interfaceType);
                 }
                 
-                activeConnection.open();
+                Connection connection = activeConnection;
+                pendingConnection.set(connection);
+                if (operation.isCancelled()) {
+                    throw new ConnectionException(operation.stopReason());
+                }
+                connection.open();
                 
                 // Create ZebraPrinter instance
-                zebraPrinter = ZebraPrinterFactory.getInstance(activeConnection);
+                zebraPrinter = ZebraPrinterFactory.getInstance(connection);
+                boolean bleHighThroughput = Boolean.TRUE.equals(settings.get("bleHighThroughput"))
+                    && connection instanceof BluetoothLeConnection;
+                if (bleHighThroughput) {
+                    openBleThroughput(identifier, connection);
+                }
+                if (!operation.finish()) {
+                    // Timed out or cancelled while opening; Dart already has its answer
+                    throw new ConnectionException(operation.stopReason());
+                }
+                activePrinterKey = identifier;
+                activeTransportType = transportType;
+                activeInterfaceType = interfaceType;
+                activeConnectionType = (String) settings.get("connectionType");
+                activeBleHighThroughput = bleHighThroughput;
+                metrics.recordSince("connect." + transportType, connectStart);
+                warmStart.remember(new WarmStart.Settings(interfaceType, identifier, activeConnectionType, bleHighThroughput));
 
                 mainHandler.post(() -> {
-                    Log.d(TAG, "Successfully connected to printer");
+                    PluginLog.d(TAG, "Successfully connected to printer");
                     result.success(true);
+                    onReconnected();
+                    resumeSpooledJobs(identifier);
                 });
                 
             } catch (Exception e) {
-                Log.e(TAG, "Connection failed", e);
-                mainHandler.post(() -> {
-                    result.error("CONNECTION_FAILED", e.getMessage(), null);
-                });
-            } finally {
-                // Only quit Looper if it exists and we're on a background thread
-                if (Looper.myLooper() != null && Looper.myLooper() != Looper.getMainLooper()) {
-                    Looper.myLooper().quit();
+                PluginLog.e(TAG, "Connection failed", e);
+                metrics.increment("connect." + transportType + ".errors");
+                if (operation.isCancelled()) {
+                    closeBleThroughput();
+                    closeQuietly(pendingConnection.get());
+                    activeConnection = null;
+                    zebraPrinter = null;
+                    activePrinterKey = null;
+                }
+                if (!identifier.equals(activePrinterKey)) {
+                    scheduler.releaseIo(identifier);
+                }
+                if (operation.finish()) {
+                    mainHandler.post(() -> {
+                        result.error("CONNECTION_FAILED", e.getMessage(), null);
+                    });
                 }
             }
         });
     }
 
     private void disconnect(Result result) {
-        executor.execute(() -> {
+        cancelMultipath();
+        submit(scheduler.io(activePrinterKey), result, () -> {
             try {
+                retireWarmConnection();
+                adoptedProbe = null;
+                // An explicit disconnect means the printer should not be reopened at the next launch
+                warmStart.forget();
+                closeBleThroughput();
                 if (activeConnection != null && activeConnection.isConnected()) {
                     activeConnection.close();
-                    Log.d(TAG, "Disconnected from printer");
+                    PluginLog.d(TAG, "Disconnected from printer");
                 }
                 activeConnection = null;
+                printQueue.failAll(new IOException("Printer was disconnected"));
+                activeInterfaceType = null;
                 zebraPrinter = null;
+                // Stops the printer's Bluetooth thread once this task returns
+                scheduler.releaseIo(activePrinterKey);
+                activePrinterKey = null;
 
                 mainHandler.post(() -> {
                     result.success(true);
                 });
                 
             } catch (Exception e) {
-                Log.e(TAG, "Disconnect failed", e);
+                PluginLog.e(TAG, "Disconnect failed", e);
                 mainHandler.post(() -> {
                     result.error("DISCONNECT_FAILED", e.getMessage(), null);
                 });
@@ -504,30 +1504,403 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
             return;
         }
 
-        if (activeConnection == null || !activeConnection.isConnected()) {
+        boolean connected = activeConnection != null && activeConnection.isConnected();
+        boolean holdJobs = (offlineQueueing && activePrinterKey != null) || multipathPaths != null;
+        if (!connected && !holdJobs) {
             result.error("NOT_CONNECTED", "No active printer connection", null);
             return;
         }
 
-        executor.execute(() -> {
-            try {
-                Log.d(TAG, "Sending commands to printer: " + commands);
-                
-                // Send raw ZPL commands
-                activeConnection.write(commands.getBytes());
+        if (connected && warmConnection) {
+            warmConnection = false;
+            metrics.increment("warmStart.used");
+        }
 
+        // Logging the payload costs more than sending it for large jobs, so only do it at debug level
+        if (PluginLog.isLoggable(Log.DEBUG)) {
+            PluginLog.d(TAG, () -> "Sending commands to printer: " + commands);
+        }
+        // Urgent jobs, e.g. a reprint at the counter, are written before any queued bulk jobs
+        final PrintJob.Priority priority = PrintJob.Priority.parse(call.argument("priority"));
+        final String latencyMetric = priority == PrintJob.Priority.URGENT ? "print.job.urgent" : "print.job.bulk";
+        final long enqueuedAt = System.nanoTime();
+        final byte[] payload = ZplCommands.encode(commands);
+        final long spoolId = spool.append(activePrinterKey, priority, payload);
+        PrintJob job = new PrintJob(payload, priority, (sentJob, error) -> {
+            spool.complete(spoolId);
+            metrics.recordSince("print.job", enqueuedAt);
+            metrics.recordSince(latencyMetric, enqueuedAt);
+            if (error == null) {
                 mainHandler.post(() -> {
-                    Log.d(TAG, "Commands sent successfully");
+                    PluginLog.d(TAG, "Commands sent successfully");
                     result.success(true);
                 });
-                
-            } catch (Exception e) {
-                Log.e(TAG, "Failed to send commands", e);
+            } else {
+                PluginLog.e(TAG, "Failed to send commands", error);
                 mainHandler.post(() -> {
-                    result.error("SEND_FAILED", e.getMessage(), null);
+                    result.error("SEND_FAILED", error.getMessage(), null);
                 });
             }
         });
+        if (!printQueue.offer(job)) {
+            spool.complete(spoolId);
+            metrics.increment("printQueue.rejected");
+            result.error("BUSY", "Too many pending printer operations, please retry", null);
+            return;
+        }
+        metrics.recordMax("printQueue.maxDepth", printQueue.size());
+        if (!connected) {
+            // Held until the printer is back; the reply comes once the job is written
+            metrics.increment("offline.queued");
+            if (multipathPaths != null) {
+                failoverMultipath();
+            } else {
+                scheduleReconnect();
+            }
+            return;
+        }
+
+        // Jobs queued while an earlier drain is running are picked up by it and batched together
+        final String printerKey = activePrinterKey;
+        try {
+            scheduler.io(printerKey).execute(() -> drainPrintQueue(printerKey));
+        } catch (RejectedExecutionException e) {
+            PluginLog.w(TAG, "Rejected printer task: " + e.getMessage());
+            if (printQueue.remove(job)) {
+                spool.complete(spoolId);
+                result.error("BUSY", "Too many pending printer operations, please retry", null);
+            }
+        }
+    }
+
+    // Replays the spool on a background thread; its jobs wait for a connect to their printer
+    private void openSpool() {
+        spool = new PrintSpool(new File(context.getFilesDir(), SPOOL_FILE));
+        metrics.registerGauge("spool.pending", spool::pendingCount);
+        metrics.registerGauge("spool.syncFailures", spool::syncFailures);
+        try {
+            scheduler.io(SPOOL_FILE).execute(() -> {
+                try {
+                    List<PrintSpool.Entry> recovered = spool.open();
+                    printQueue.setJournal(spool);
+                    if (!recovered.isEmpty()) {
+                        PluginLog.i(TAG, "Recovered " + recovered.size() + " unprinted jobs from the print spool");
+                        metrics.add("spool.recovered", recovered.size());
+                        mainHandler.post(() -> {
+                            if (activePrinterKey != null) {
+                                resumeSpooledJobs(activePrinterKey);
+                            }
+                        });
+                    }
+                } catch (IOException e) {
+                    PluginLog.e(TAG, "Could not open the print spool, jobs will not survive a restart", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            PluginLog.w(TAG, "Could not queue opening the print spool: " + e.getMessage());
+        }
+    }
+
+    // Main thread. Queues spooled jobs left over from an earlier run for the printer just connected
+    private void resumeSpooledJobs(String printerKey) {
+        // Only jobs recovered by spool.open(); jobs of this run are already in printQueue
+        List<PrintSpool.Entry> entries = spool.takeRecovered(printerKey);
+        int resumed = 0;
+        for (PrintSpool.Entry entry : entries) {
+            final long spoolId = entry.id;
+            // Nobody is waiting for these jobs, so one that fails stays spooled for the next connect
+            PrintJob job = new PrintJob(entry.payload, entry.priority, (sentJob, error) -> {
+                if (error == null) {
+                    spool.complete(spoolId);
+                    metrics.increment("spool.replayed");
+                } else {
+                    PluginLog.w(TAG, "Spooled job " + spoolId + " failed, keeping it: " + error.getMessage());
+                    spool.returnRecovered(spoolId);
+                }
+            });
+            if (!printQueue.offer(job)) {
+                for (int i = resumed; i < entries.size(); i++) {
+                    spool.returnRecovered(entries.get(i).id);
+                }
+                break;
+            }
+            resumed++;
+        }
+        if (resumed == 0) {
+            return;
+        }
+        PluginLog.i(TAG, "Resuming " + resumed + " spooled jobs for " + printerKey);
+        final String activeKey = activePrinterKey;
+        try {
+            scheduler.io(activeKey).execute(() -> drainPrintQueue(activeKey));
+        } catch (RejectedExecutionException e) {
+            PluginLog.w(TAG, "Could not queue spooled jobs: " + e.getMessage());
+        }
+    }
+
+    // Drops spooled jobs from an earlier run that the app no longer wants printed
+    private void clearPrintSpool(Result result) {
+        int discarded = spool.discardPending();
+        try {
+            scheduler.io(SPOOL_FILE).execute(spool::sync);
+        } catch (RejectedExecutionException e) {
+            PluginLog.w(TAG, "Could not queue print spool sync: " + e.getMessage());
+        }
+        result.success(discarded);
+    }
+
+    // Runs on printerKey's I/O thread. A drain queued for a printer that is no longer active does
+    // nothing, so jobs for the new printer are only drained from its own thread. PrintJobQueue has
+    // a single consumer and a failover adopts the new path while a drain on the failed one may
+    // still be writing, so drains also hold drainLock
+    private void drainPrintQueue(String printerKey) {
+        synchronized (drainLock) {
+            if (!printerKey.equals(activePrinterKey)) {
+                return;
+            }
+            Connection connection = activeConnection;
+            if (connection == null || !connection.isConnected()) {
+                if (multipathPaths != null) {
+                    mainHandler.post(this::failoverMultipath);
+                } else if (offlineQueueing && activePrinterKey != null) {
+                    mainHandler.post(this::scheduleReconnect);
+                } else {
+                    printQueue.failAll(new IOException("No active printer connection"));
+                }
+                return;
+            }
+            if (!offlineQueueing && multipathPaths == null) {
+                printQueue.drainTo(printTransport(connection));
+                return;
+            }
+
+            // A failed write puts its batch back at the head of the queue instead of failing it. The
+            // batch may have been partly printed, so a label can print twice but none is dropped
+            if (!printQueue.drainOrRequeue(printTransport(connection))) {
+                PluginLog.w(TAG, "Write to " + printerKey + " failed, holding " + printQueue.size() + " jobs until it reconnects");
+                closeBleThroughput();
+                closeQuietly(connection);
+                mainHandler.post(multipathPaths != null ? this::failoverMultipath : this::scheduleReconnect);
+            }
+        }
+    }
+
+    private void setOfflineQueueing(MethodCall call, Result result) {
+        Boolean enabled = call.argument("enabled");
+        offlineQueueing = enabled != null && enabled;
+        if (!offlineQueueing) {
+            mainHandler.removeCallbacks(reconnectTask);
+            reconnectScheduled = false;
+            if (activeConnection == null || !activeConnection.isConnected()) {
+                printQueue.failAll(new IOException("No active printer connection"));
+            }
+        }
+        result.success(null);
+    }
+
+    private void setWarmStartPolicy(MethodCall call, Result result) {
+        Number maxAgeMs = call.argument("maxAgeMs");
+        warmStart.setPolicy(WarmStart.Policy.parse(call.argument("policy")), maxAgeMs != null ? maxAgeMs.longValue() : 0);
+        result.success(null);
+    }
+
+    // Main thread. Opens the last used printer in the background, once per engine, so the first
+    // connect() or sendCommands() finds it ready
+    private void maybeWarmStart() {
+        if (warmStartAttempted || warmStart == null || activePrinterKey != null) {
+            return;
+        }
+        final WarmStart.Settings settings = warmStart.candidate();
+        if (settings == null) {
+            warmStartAttempted = true;
+            return;
+        }
+        final String identifier = settings.identifier;
+        final boolean bluetooth = "bluetooth".equalsIgnoreCase(settings.interfaceType);
+        if (bluetooth && activity == null && !bondedDevices.isBonded(identifier)) {
+            // BLE connections take the activity as their context; retried from onAttachedToActivity
+            return;
+        }
+        warmStartAttempted = true;
+        warmStartKey = identifier;
+        if (bluetooth) {
+            scheduler.startLooperThread(identifier);
+        }
+        metrics.increment("warmStart.attempts");
+        final long start = System.nanoTime();
+        try {
+            scheduler.io(identifier).execute(() -> {
+                Connection connection = null;
+                try {
+                    if (!identifier.equals(warmStartKey) || activePrinterKey != null) {
+                        throw new ConnectionException("another printer was connected first");
+                    }
+                    connection = createConnection(settings.interfaceType, identifier, settings.connectionType);
+                    if (connection == null) {
+                        throw new ConnectionException("cannot open " + settings.interfaceType);
+                    }
+                    connection.open();
+                    ZebraPrinter printer = ZebraPrinterFactory.getInstance(connection);
+                    if (!identifier.equals(warmStartKey) || activePrinterKey != null) {
+                        throw new ConnectionException("another printer was connected first");
+                    }
+                    activeConnection = connection;
+                    zebraPrinter = printer;
+                    activePrinterKey = identifier;
+                    activeTransportType = settings.interfaceType.toLowerCase();
+                    activeInterfaceType = settings.interfaceType;
+                    activeConnectionType = settings.connectionType;
+                    activeBleHighThroughput = settings.bleHighThroughput && connection instanceof BluetoothLeConnection;
+                    if (activeBleHighThroughput) {
+                        openBleThroughput(identifier, connection);
+                    }
+                    warmConnection = true;
+                    metrics.recordSince("warmStart.open", start);
+                    PluginLog.i(TAG, "Pre-connected to last used printer " + identifier);
+                    mainHandler.post(() -> {
+                        onReconnected();
+                        resumeSpooledJobs(identifier);
+                    });
+                } catch (Exception e) {
+                    metrics.increment("warmStart.failures");
+                    PluginLog.w(TAG, "Could not pre-connect to " + identifier + ": " + e.getMessage());
+                    if (connection != activeConnection) {
+                        closeQuietly(connection);
+                    }
+                    if (!identifier.equals(activePrinterKey)) {
+                        scheduler.releaseIo(identifier);
+                    }
+                } finally {
+                    if (identifier.equals(warmStartKey)) {
+                        warmStartKey = null;
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            warmStartKey = null;
+            PluginLog.w(TAG, "Could not queue warm start: " + e.getMessage());
+        }
+    }
+
+    // Counts a warm connection that is being replaced or closed before anything used it
+    private void retireWarmConnection() {
+        if (warmConnection) {
+            warmConnection = false;
+            metrics.increment("warmStart.unused");
+        }
+    }
+
+    private void setDeviceClassifierRules(MethodCall call, Result result) {
+        String rules = call.argument("rules");
+        if (rules == null) {
+            deviceClassifier = ZebraDeviceClassifier.defaults();
+            result.success(null);
+            return;
+        }
+        try {
+            deviceClassifier = ZebraDeviceClassifier.parse(rules);
+            result.success(null);
+        } catch (IllegalArgumentException e) {
+            result.error("INVALID_ARGUMENT", "Invalid device classifier rules: " + e.getMessage(), null);
+        }
+    }
+
+    // Main thread. Tries to reopen the active printer after a backoff delay while jobs are waiting
+    private void scheduleReconnect() {
+        if (reconnectScheduled || !offlineQueueing || activePrinterKey == null) {
+            return;
+        }
+        if (offlineSince == 0) {
+            offlineSince = System.nanoTime();
+        }
+        reconnectScheduled = true;
+        mainHandler.postDelayed(reconnectTask, reconnectDelayMs);
+    }
+
+    // Main thread
+    private void reconnect() {
+        reconnectScheduled = false;
+        final String printerKey = activePrinterKey;
+        final String interfaceType = activeInterfaceType;
+        final String connectionType = activeConnectionType;
+        if (!offlineQueueing || printerKey == null || interfaceType == null) {
+            return;
+        }
+        if (printQueue.size() == 0) {
+            // Nothing to print; the next job sent while offline starts another attempt
+            return;
+        }
+
+        metrics.increment("reconnect.attempts");
+        try {
+            scheduler.io(printerKey).execute(() -> {
+                Connection current = activeConnection;
+                if (!printerKey.equals(activePrinterKey)) {
+                    return;
+                }
+                try {
+                    if (current == null || !current.isConnected()) {
+                        Connection connection;
+                        if ("usb".equalsIgnoreCase(interfaceType)) {
+                            DiscoveredPrinterUsb usbPrinter = usbPrinterManager.findPrinter(printerKey);
+                            if (usbPrinter == null) {
+                                throw new ConnectionException("USB printer is not attached");
+                            }
+                            connection = usbPrinterManager.openConnection(usbPrinter);
+                        } else {
+                            connection = createConnection(interfaceType, printerKey, connectionType);
+                            if (connection == null) {
+                                throw new ConnectionException("Cannot reconnect over " + interfaceType);
+                            }
+                            connection.open();
+                        }
+                        ZebraPrinter printer = sdkPrinter(connection);
+                        if (!printerKey.equals(activePrinterKey)) {
+                            closeQuietly(connection);
+                            return;
+                        }
+                        activeConnection = connection;
+                        zebraPrinter = printer;
+                    }
+                    BleThroughputTransport ble = bleThroughput;
+                    if (activeBleHighThroughput && (ble == null || !ble.isOpen())) {
+                        openBleThroughput(printerKey, activeConnection);
+                    }
+                    PluginLog.i(TAG, "Reconnected to " + printerKey + ", sending " + printQueue.size() + " queued jobs");
+                    mainHandler.post(this::onReconnected);
+                    drainPrintQueue(printerKey);
+                } catch (Exception e) {
+                    PluginLog.d(TAG, () -> "Reconnect to " + printerKey + " failed: " + e.getMessage());
+                    mainHandler.post(() -> {
+                        reconnectDelayMs = Math.min(reconnectDelayMs * 2, RECONNECT_MAX_DELAY_MS);
+                        scheduleReconnect();
+                    });
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            scheduleReconnect();
+        }
+    }
+
+    // Main thread. Resets the backoff once the active printer is reachable again
+    private void onReconnected() {
+        startReaderPump();
+        queueAlertSubscription();
+        mainHandler.removeCallbacks(reconnectTask);
+        reconnectScheduled = false;
+        reconnectDelayMs = RECONNECT_INITIAL_DELAY_MS;
+        if (offlineSince != 0) {
+            metrics.recordSince("reconnect", offlineSince);
+            offlineSince = 0;
+        }
+        final String printerKey = activePrinterKey;
+        if (printQueue.size() > 0 && printerKey != null) {
+            try {
+                scheduler.io(printerKey).execute(() -> drainPrintQueue(printerKey));
+            } catch (RejectedExecutionException e) {
+                PluginLog.w(TAG, "Could not queue offline jobs: " + e.getMessage());
+            }
+        }
     }
 
     private void getActiveConnection(Result result) {
@@ -535,6 +1908,10 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
             Map<String, Object> connectionInfo = new HashMap<>();
             connectionInfo.put("isConnected", true);
             connectionInfo.put("type", "TCP");
+            BleThroughputTransport ble = bleThroughput;
+            if (ble != null) {
+                connectionInfo.put("bleThroughput", ble.stats());
+            }
             result.success(connectionInfo);
         } else {
             result.success(null);
@@ -570,157 +1947,125 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
             return;
         }
 
-        Log.d(TAG, "Starting Bluetooth discovery - Adapter state: " + bluetoothAdapter.getState());
-        Log.d(TAG, "Bluetooth permissions check passed");
+        PluginLog.d(TAG, () -> "Starting Bluetooth discovery - Adapter state: " + bluetoothAdapter.getState());
+        PluginLog.d(TAG, "Bluetooth permissions check passed");
 
-        // Cancel any ongoing discovery before starting new one
-        try {
-            if (bluetoothAdapter.isDiscovering()) {
-                if (ActivityCompat.checkSelfPermission(context, android.Manifest.permission.BLUETOOTH_SCAN) == PackageManager.PERMISSION_GRANTED) {
-                    bluetoothAdapter.cancelDiscovery();
-                    Log.d(TAG, "Cancelled existing discovery before starting new one");
-                    // Wait a moment for cancellation to complete
-                    Thread.sleep(500);
+        // BluetoothDiscoverer needs a Looper, so run on the scheduler's SDK looper thread
+        isBleDiscoveryInProgress = true;
+        final List<Map<String, Object>> discoveredPrinters = new ArrayList<>();
+        final OperationRegistry.Operation operation = startOperation(call, 30000);
+
+        // On timeout or cancel, stop the adapter scan and return whatever was found so far
+        operation.onCancel(() -> {
+            PluginLog.w(TAG, "Bluetooth discovery stopped (" + operation.stopReason() + ")");
+            try {
+                if (bluetoothAdapter.isDiscovering()) {
+                    if (ActivityCompat.checkSelfPermission(context, android.Manifest.permission.BLUETOOTH_SCAN) == PackageManager.PERMISSION_GRANTED) {
+                        bluetoothAdapter.cancelDiscovery();
+                        PluginLog.d(TAG, () -> "Cancelled discovery due to " + operation.stopReason().toLowerCase());
+                    }
                 }
+            } catch (Exception e) {
+                PluginLog.w(TAG, "Error cancelling discovery: " + e.getMessage());
+            }
+
+            if (operation.finish()) {
+                List<Map<String, Object>> partial;
+                synchronized (discoveredPrinters) {
+                    partial = new ArrayList<>(discoveredPrinters);
+                }
+                mainHandler.post(() -> {
+                    result.success(partial); // Return whatever we found so far
+                });
+            }
+            isBleDiscoveryInProgress = false;
+        });
+
+        scheduler.sdkHandler().post(() -> {
+            if (operation.isCancelled()) {
+                return;
             }
-        } catch (Exception e) {
-            Log.w(TAG, "Error cancelling existing discovery: " + e.getMessage());
-        }
 
-        new Thread(() -> {
-            Looper.prepare();
+            // Cancel any ongoing discovery before starting new one
             try {
-                isBleDiscoveryInProgress = true;
-                Log.d(TAG, "Starting Bluetooth discovery using BluetoothDiscoverer...");
-                
-                List<Map<String, Object>> discoveredPrinters = new ArrayList<>();
-                final boolean[] discoveryCompleted = {false};
-                
-                // Create a timeout handler
-                Handler timeoutHandler = new Handler(Looper.getMainLooper());
-                Runnable timeoutRunnable = () -> {
-                    if (!discoveryCompleted[0]) {
-                        Log.w(TAG, "Bluetooth discovery timed out after 30 seconds");
-                        discoveryCompleted[0] = true;
-                        
-                        // Clean up any ongoing discovery
-                        try {
-                            if (bluetoothAdapter != null && bluetoothAdapter.isDiscovering()) {
-                                if (ActivityCompat.checkSelfPermission(context, android.Manifest.permission.BLUETOOTH_SCAN) == PackageManager.PERMISSION_GRANTED) {
-                                    bluetoothAdapter.cancelDiscovery();
-                                    Log.d(TAG, "Cancelled discovery due to timeout");
-                                }
-                            }
-                        } catch (Exception e) {
-                            Log.w(TAG, "Error cancelling discovery on timeout: " + e.getMessage());
-                        }
-                        
-                        mainHandler.post(() -> {
-                            result.success(discoveredPrinters); // Return whatever we found so far
-                        });
-                        isBleDiscoveryInProgress = false;
+                if (bluetoothAdapter.isDiscovering()) {
+                    if (ActivityCompat.checkSelfPermission(context, android.Manifest.permission.BLUETOOTH_SCAN) == PackageManager.PERMISSION_GRANTED) {
+                        bluetoothAdapter.cancelDiscovery();
+                        PluginLog.d(TAG, "Cancelled existing discovery before starting new one");
+                        // Wait a moment for cancellation to complete
+                        Thread.sleep(500);
                     }
-                };
-                
-                // Set 30 second timeout
-                timeoutHandler.postDelayed(timeoutRunnable, 30000);
+                }
+            } catch (Exception e) {
+                PluginLog.w(TAG, "Error cancelling existing discovery: " + e.getMessage());
+            }
+
+            try {
+                PluginLog.d(TAG, "Starting Bluetooth discovery using BluetoothDiscoverer...");
                 
-                Log.d(TAG, "Calling BluetoothDiscoverer.findPrinters() with context: " + context.getClass().getSimpleName());
+                final Metrics.DiscoveryTimer discoveryTimer = metrics.startDiscovery("bluetooth");
+                PluginLog.d(TAG, () -> "Calling BluetoothDiscoverer.findPrinters() with context: " + context.getClass().getSimpleName());
                 
                 // First try to check paired devices (like iOS checks connected accessories)
                 try {
-                    if (ActivityCompat.checkSelfPermission(context, android.Manifest.permission.BLUETOOTH_CONNECT) == PackageManager.PERMISSION_GRANTED) {
-                        Set<BluetoothDevice> pairedDevices = bluetoothAdapter.getBondedDevices();
-                        Log.d(TAG, "Found " + pairedDevices.size() + " paired Bluetooth devices");
+                    // The user paired these, so a serial-number-like name is enough evidence
+                    for (BondedDeviceIndex.Device device : bondedDevices.matching(deviceClassifier, ZebraDeviceClassifier.Match.POSSIBLE)) {
+                        String deviceName = device.name;
+                        String deviceAddress = device.address;
+                        PluginLog.d(TAG, () -> "Found paired Zebra printer: " + deviceName);
                         
-                        for (BluetoothDevice device : pairedDevices) {
-                            String deviceName = device.getName();
-                            String deviceAddress = device.getAddress();
-                            
-                            Log.d(TAG, "Checking paired device: " + deviceName + " (" + deviceAddress + ")");
-                            
-                            // Check if this looks like a Zebra printer
-                            boolean isZebraPrinter = false;
-                            
-                            if (deviceName != null) {
-                                String nameLower = deviceName.toLowerCase();
-                                
-                                // Check for explicit Zebra branding
-                                if (nameLower.contains("zebra") || nameLower.contains("zq") || 
-                                    nameLower.contains("zt") || nameLower.contains("zd")) {
-                                    isZebraPrinter = true;
-                                }
-                                // Check for Zebra printer serial number patterns
-                                // Zebra printers often use serial numbers like: 50N220800901, XXABC123456, etc.
-                                else if (deviceName.matches("^[0-9]{2}[A-Z][0-9]{9}$") ||  // 50N220800901 pattern
-                                         deviceName.matches("^[A-Z0-9]{10,15}$") ||        // General alphanumeric serial
-                                         deviceName.matches("^[0-9A-Z]{8,12}$")) {        // Shorter serial patterns
-                                    Log.d(TAG, "Device name matches Zebra serial number pattern: " + deviceName);
-                                    isZebraPrinter = true;
-                                }
-                            }
-                            
-                            if (isZebraPrinter) {
-                                Log.d(TAG, "Found paired Zebra printer: " + deviceName);
-                                
-                                Map<String, Object> printerMap = new HashMap<>();
-                                printerMap.put("friendlyName", deviceName);
-                                printerMap.put("address", deviceAddress);
-                                printerMap.put("interfaceType", "bluetooth");
-                                printerMap.put("port", 0);  // Integer, not string
-                                printerMap.put("serialNumber", deviceAddress); // Use MAC as serial for paired devices
-                                printerMap.put("manufacturer", "Zebra");
-                                printerMap.put("connectionType", "secure");
-                                
-                                discoveredPrinters.add(printerMap);
-                            }
+                        // Use MAC as serial for paired devices
+                        Map<String, Object> printerMap =
+                            DiscoveryResults.bluetooth(deviceName, deviceAddress, deviceAddress, "secure");
+                        
+                        synchronized (discoveredPrinters) {
+                            discoveredPrinters.add(printerMap);
                         }
+                        discoveryTimer.found();
                     }
                 } catch (Exception e) {
-                    Log.w(TAG, "Error checking paired devices: " + e.getMessage());
+                    PluginLog.w(TAG, "Error checking paired devices: " + e.getMessage());
                 }
                 
                 // If we found paired printers, return them immediately
                 if (!discoveredPrinters.isEmpty()) {
-                    Log.d(TAG, "Found " + discoveredPrinters.size() + " paired Zebra printers, returning immediately");
-                    discoveryCompleted[0] = true;
-                    timeoutHandler.removeCallbacks(timeoutRunnable);
-                    mainHandler.post(() -> {
-                        result.success(discoveredPrinters);
-                    });
+                    PluginLog.d(TAG, () -> "Found " + discoveredPrinters.size() + " paired Zebra printers, returning immediately");
+                    if (operation.finish()) {
+                        mainHandler.post(() -> {
+                            result.success(discoveredPrinters);
+                        });
+                    }
                     isBleDiscoveryInProgress = false;
                     return;
                 }
                 
-                Log.d(TAG, "No paired Zebra printers found, starting active discovery...");
+                PluginLog.d(TAG, "No paired Zebra printers found, starting active discovery...");
                 
                 // Use Zebra SDK BluetoothDiscoverer for active discovery - following official demo pattern
                 BluetoothDiscoverer.findPrinters(context, new DiscoveryHandler() {
                     @Override
                     public void foundPrinter(DiscoveredPrinter discoveredPrinter) {
-                        if (discoveryCompleted[0]) return;
+                        if (operation.isCancelled()) return;
+                        discoveryTimer.found();
                         
-                        Log.d(TAG, "Found Bluetooth printer: " + discoveredPrinter.getDiscoveryDataMap());
+                        PluginLog.d(TAG, () -> "Found Bluetooth printer: " + discoveredPrinter.getDiscoveryDataMap());
                         
-                        Map<String, Object> printerMap = new HashMap<>();
-                        printerMap.put("friendlyName", discoveredPrinter.getDiscoveryDataMap().get("FRIENDLY_NAME"));
-                        printerMap.put("address", getPrinterAddress(discoveredPrinter));
-                        printerMap.put("interfaceType", "bluetooth");
-                        printerMap.put("port", 0);  // Integer, not string
-                        printerMap.put("serialNumber", discoveredPrinter.getDiscoveryDataMap().get("SERIAL_NUMBER"));
-                        printerMap.put("manufacturer", "Zebra");
-                        printerMap.put("connectionType", "secure"); // Mark as secure Bluetooth
+                        Map<String, String> discoveryData = discoveredPrinter.getDiscoveryDataMap();
+                        Map<String, Object> printerMap = DiscoveryResults.bluetooth(
+                            discoveryData.get("FRIENDLY_NAME"), getPrinterAddress(discoveredPrinter),
+                            discoveryData.get("SERIAL_NUMBER"), "secure");
                         
-                        discoveredPrinters.add(printerMap);
+                        synchronized (discoveredPrinters) {
+                            discoveredPrinters.add(printerMap);
+                        }
                     }
                     
                     @Override
                     public void discoveryFinished() {
-                        if (discoveryCompleted[0]) return;
+                        if (!operation.finish()) return;
+                        discoveryTimer.finish();
                         
-                        Log.d(TAG, "Bluetooth discovery finished. Found " + discoveredPrinters.size() + " printers");
-                        discoveryCompleted[0] = true;
-                        timeoutHandler.removeCallbacks(timeoutRunnable);
+                        PluginLog.d(TAG, () -> "Bluetooth discovery finished. Found " + discoveredPrinters.size() + " printers");
                         mainHandler.post(() -> {
                             result.success(discoveredPrinters);
                         });
@@ -729,11 +2074,9 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
                     
                     @Override
                     public void discoveryError(String message) {
-                        if (discoveryCompleted[0]) return;
+                        if (!operation.finish()) return;
                         
-                        Log.e(TAG, "Bluetooth discovery error: " + message);
-                        discoveryCompleted[0] = true;
-                        timeoutHandler.removeCallbacks(timeoutRunnable);
+                        PluginLog.e(TAG, "Bluetooth discovery error: " + message);
                         mainHandler.post(() -> {
                             result.error("DISCOVERY_FAILED", message, null);
                         });
@@ -742,16 +2085,20 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
                 });
                 
             } catch (ConnectionException e) {
-                Log.e(TAG, "Bluetooth discovery ConnectionException: " + e.getMessage());
-                mainHandler.post(() -> {
-                    result.error("CONNECTION_EXCEPTION", e.getMessage(), null);
-                });
+                PluginLog.e(TAG, "Bluetooth discovery ConnectionException: " + e.getMessage());
+                if (operation.finish()) {
+                    mainHandler.post(() -> {
+                        result.error("CONNECTION_EXCEPTION", e.getMessage(), null);
+                    });
+                }
                 isBleDiscoveryInProgress = false;
             } catch (Exception e) {
-                Log.e(TAG, "Bluetooth discovery failed", e);
-                mainHandler.post(() -> {
-                    result.error("DISCOVERY_FAILED", e.getMessage(), null);
-                });
+                PluginLog.e(TAG, "Bluetooth discovery failed", e);
+                if (operation.finish()) {
+                    mainHandler.post(() -> {
+                        result.error("DISCOVERY_FAILED", e.getMessage(), null);
+                    });
+                }
                 isBleDiscoveryInProgress = false;
             } finally {
                 // Clean up Bluetooth state
@@ -759,104 +2106,41 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
                     if (bluetoothAdapter != null && bluetoothAdapter.isDiscovering()) {
                         if (ActivityCompat.checkSelfPermission(context, android.Manifest.permission.BLUETOOTH_SCAN) == PackageManager.PERMISSION_GRANTED) {
                             bluetoothAdapter.cancelDiscovery();
-                            Log.d(TAG, "Cancelled ongoing Bluetooth discovery to clean up");
+                            PluginLog.d(TAG, "Cancelled ongoing Bluetooth discovery to clean up");
                         }
                     }
                 } catch (Exception e) {
-                    Log.w(TAG, "Error cleaning up Bluetooth state: " + e.getMessage());
-                }
-                
-                // Always clean up the Looper if we're on a background thread
-                if (Looper.myLooper() != null && Looper.myLooper() != Looper.getMainLooper()) {
-                    Looper.myLooper().quit();
+                    PluginLog.w(TAG, "Error cleaning up Bluetooth state: " + e.getMessage());
                 }
             }
-        }).start();
+        });
     }
 
-    private List<Map<String, Object>> discoverClassicBluetoothPrinters() {
-        List<Map<String, Object>> classicPrinters = new ArrayList<>();
-        
-        try {
-            BluetoothManager bluetoothManager = (BluetoothManager) context.getSystemService(Context.BLUETOOTH_SERVICE);
-            BluetoothAdapter bluetoothAdapter = bluetoothManager.getAdapter();
-            
-            if (bluetoothAdapter == null || !bluetoothAdapter.isEnabled()) {
-                Log.d(TAG, "Bluetooth adapter not available or not enabled");
-                return classicPrinters;
-            }
-            
-            // Check permissions for getBondedDevices
-            if (ActivityCompat.checkSelfPermission(context, android.Manifest.permission.BLUETOOTH_CONNECT) != PackageManager.PERMISSION_GRANTED) {
-                Log.w(TAG, "Missing BLUETOOTH_CONNECT permission for Classic Bluetooth discovery");
-                return classicPrinters;
-            }
-            
-            // Get paired (bonded) devices
-            Set<BluetoothDevice> pairedDevices = bluetoothAdapter.getBondedDevices();
-            Log.d(TAG, "Found " + pairedDevices.size() + " paired Bluetooth devices");
-            
-            for (BluetoothDevice device : pairedDevices) {
-                String deviceName = device.getName();
-                String deviceAddress = device.getAddress();
-                
-                Log.d(TAG, "Checking paired device: " + deviceName + " (" + deviceAddress + ")");
-                
-                // Filter for Zebra printers (you can adjust this logic)
-                if (deviceName != null && (deviceName.toLowerCase().contains("zebra") || 
-                    deviceName.toLowerCase().contains("zd410") || 
-                    deviceName.toLowerCase().contains("zd421"))) {
-                    
-                    Log.d(TAG, "Found Zebra Classic Bluetooth printer: " + deviceName);
-                    
-                    Map<String, Object> printerMap = new HashMap<>();
-                    printerMap.put("friendlyName", deviceName);
-                    printerMap.put("address", deviceAddress);
-                    printerMap.put("interfaceType", "bluetooth");
-                    printerMap.put("port", "0");
-                    printerMap.put("serialNumber", "Unknown");
-                    printerMap.put("manufacturer", "Zebra");
-                    printerMap.put("connectionType", "secure"); // Mark as secure Bluetooth
-                    
-                    classicPrinters.add(printerMap);
-                }
-            }
-            
-            Log.d(TAG, "Classic Bluetooth discovery found " + classicPrinters.size() + " Zebra printers");
-            
-        } catch (Exception e) {
-            Log.e(TAG, "Error during Classic Bluetooth discovery", e);
+    // Company IDs of the manufacturer-specific data in a BLE advertisement, or null
+    private static int[] manufacturerIds(ScanRecord record) {
+        SparseArray<byte[]> data = record != null ? record.getManufacturerSpecificData() : null;
+        if (data == null || data.size() == 0) {
+            return null;
         }
-        
-        return classicPrinters;
+        int[] ids = new int[data.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = data.keyAt(i);
+        }
+        return ids;
+    }
+
+    private List<Map<String, Object>> discoverClassicBluetoothPrinters() {
+        return pairedZebraPrinters("secure");
     }
 
-    private boolean isClassicBluetoothDevice(String macAddress) {
-        try {
-            BluetoothManager bluetoothManager = (BluetoothManager) context.getSystemService(Context.BLUETOOTH_SERVICE);
-            BluetoothAdapter bluetoothAdapter = bluetoothManager.getAdapter();
-            
-            if (bluetoothAdapter == null || !bluetoothAdapter.isEnabled()) {
-                return false;
-            }
-            
-            // Check permissions for getBondedDevices
-            if (ActivityCompat.checkSelfPermission(context, android.Manifest.permission.BLUETOOTH_CONNECT) != PackageManager.PERMISSION_GRANTED) {
-                return false;
-            }
-            
-            // Check if the MAC address is in paired devices
-            Set<BluetoothDevice> pairedDevices = bluetoothAdapter.getBondedDevices();
-            for (BluetoothDevice device : pairedDevices) {
-                if (macAddress.equalsIgnoreCase(device.getAddress())) {
-                    return true;
-                }
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error checking if device is Classic Bluetooth", e);
+    // Paired printers from the bonded device index, for the classic discovery paths
+    private List<Map<String, Object>> pairedZebraPrinters(String connectionType) {
+        List<Map<String, Object>> classicPrinters = new ArrayList<>();
+        for (BondedDeviceIndex.Device device : bondedDevices.matching(deviceClassifier, ZebraDeviceClassifier.Match.POSSIBLE)) {
+            classicPrinters.add(DiscoveryResults.bluetooth(device.name, device.address, "Unknown", connectionType));
         }
-        
-        return false; // Default to BLE if we can't determine
+        PluginLog.d(TAG, () -> "Classic Bluetooth discovery (" + connectionType + ") found " + classicPrinters.size() + " paired Zebra printers");
+        return classicPrinters;
     }
 
     private void discoverBluetoothPrintersInsecure(MethodCall call, Result result) {
@@ -879,21 +2163,21 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
             return;
         }
 
-        executor.execute(() -> {
+        submit(scheduler.discovery(), result, () -> {
             try {
                 isBleDiscoveryInProgress = true;
-                Log.d(TAG, "Starting Insecure Classic Bluetooth discovery...");
+                PluginLog.d(TAG, "Starting Insecure Classic Bluetooth discovery...");
                 
                 // Discover Classic Bluetooth paired devices using insecure connection
                 List<Map<String, Object>> classicPrinters = discoverClassicBluetoothPrintersInsecure();
                 
                 mainHandler.post(() -> {
-                    Log.d(TAG, "Insecure Classic Bluetooth discovery completed. Found " + classicPrinters.size() + " printers");
+                    PluginLog.d(TAG, () -> "Insecure Classic Bluetooth discovery completed. Found " + classicPrinters.size() + " printers");
                     result.success(classicPrinters);
                 });
                 
             } catch (Exception e) {
-                Log.e(TAG, "Insecure Classic Bluetooth discovery failed", e);
+                PluginLog.e(TAG, "Insecure Classic Bluetooth discovery failed", e);
                 mainHandler.post(() -> {
                     result.error("DISCOVERY_FAILED", e.getMessage(), null);
                 });
@@ -904,60 +2188,7 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
     }
 
     private List<Map<String, Object>> discoverClassicBluetoothPrintersInsecure() {
-        List<Map<String, Object>> classicPrinters = new ArrayList<>();
-        
-        try {
-            BluetoothManager bluetoothManager = (BluetoothManager) context.getSystemService(Context.BLUETOOTH_SERVICE);
-            BluetoothAdapter bluetoothAdapter = bluetoothManager.getAdapter();
-            
-            if (bluetoothAdapter == null || !bluetoothAdapter.isEnabled()) {
-                Log.d(TAG, "Bluetooth adapter not available or not enabled");
-                return classicPrinters;
-            }
-            
-            // Check permissions for getBondedDevices
-            if (ActivityCompat.checkSelfPermission(context, android.Manifest.permission.BLUETOOTH_CONNECT) != PackageManager.PERMISSION_GRANTED) {
-                Log.w(TAG, "Missing BLUETOOTH_CONNECT permission for Classic Bluetooth discovery");
-                return classicPrinters;
-            }
-            
-            // Get paired (bonded) devices
-            Set<BluetoothDevice> pairedDevices = bluetoothAdapter.getBondedDevices();
-            Log.d(TAG, "Found " + pairedDevices.size() + " paired Bluetooth devices");
-            
-            for (BluetoothDevice device : pairedDevices) {
-                String deviceName = device.getName();
-                String deviceAddress = device.getAddress();
-                
-                Log.d(TAG, "Checking paired device: " + deviceName + " (" + deviceAddress + ")");
-                
-                // Filter for Zebra printers (you can adjust this logic)
-                if (deviceName != null && (deviceName.toLowerCase().contains("zebra") || 
-                    deviceName.toLowerCase().contains("zd410") || 
-                    deviceName.toLowerCase().contains("zd421"))) {
-                    
-                    Log.d(TAG, "Found Zebra Insecure Classic Bluetooth printer: " + deviceName);
-                    
-                    Map<String, Object> printerMap = new HashMap<>();
-                    printerMap.put("friendlyName", deviceName);
-                    printerMap.put("address", deviceAddress);
-                    printerMap.put("interfaceType", "bluetooth");
-                    printerMap.put("port", "0");
-                    printerMap.put("serialNumber", "Unknown");
-                    printerMap.put("manufacturer", "Zebra");
-                    printerMap.put("connectionType", "insecure"); // Mark as insecure Bluetooth
-                    
-                    classicPrinters.add(printerMap);
-                }
-            }
-            
-            Log.d(TAG, "Insecure Classic Bluetooth discovery found " + classicPrinters.size() + " Zebra printers");
-            
-        } catch (Exception e) {
-            Log.e(TAG, "Error during Insecure Classic Bluetooth discovery", e);
-        }
-        
-        return classicPrinters;
+        return pairedZebraPrinters("insecure");
     }
 
     private void discoverBluetoothNative(MethodCall call, Result result) {
@@ -992,14 +2223,18 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
             return;
         }
         
-        Log.d(TAG, "Bluetooth adapter state: " + bluetoothAdapter.getState());
-        Log.d(TAG, "Bluetooth adapter name: " + bluetoothAdapter.getName());
-        Log.d(TAG, "BLE scanner available: " + (scanner != null));
+        PluginLog.d(TAG, () -> "Bluetooth adapter state: " + bluetoothAdapter.getState());
+        PluginLog.d(TAG, () -> "Bluetooth adapter name: " + bluetoothAdapter.getName());
+        PluginLog.d(TAG, () -> "BLE scanner available: " + (scanner != null));
 
         final List<Map<String, Object>> foundDevices = new ArrayList<>();
-        final Handler timeoutHandler = new Handler(Looper.getMainLooper());
+
+        // The scan runs for the whole timeout; cancelling just ends it early
+        final OperationRegistry.Operation operation = startOperation(call, 15000);
 
         ScanCallback scanCallback = new ScanCallback() {
+            private final PluginLog.Sampler scanLogSampler = new PluginLog.Sampler(2000);
+
             @Override
             public void onScanResult(int callbackType, ScanResult scanResult) {
                 BluetoothDevice device = scanResult.getDevice();
@@ -1007,27 +2242,26 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
                 String deviceAddress = device.getAddress();
                 int rssi = scanResult.getRssi();
                 
-                // Log ALL devices for debugging
-                Log.d(TAG, "Native BLE scan found device:");
-                Log.d(TAG, "  Name: " + (deviceName != null ? deviceName : "Unknown"));
-                Log.d(TAG, "  Address: " + deviceAddress);
-                Log.d(TAG, "  RSSI: " + rssi);
-                Log.d(TAG, "  Type: " + device.getType());
-                Log.d(TAG, "  Bond State: " + device.getBondState());
-
-                // Look for Zebra devices or devices with "ZD" in the name
-                boolean isZebraDevice = (deviceName != null && 
-                    (deviceName.toLowerCase().contains("zebra") || 
-                     deviceName.toLowerCase().contains("zd") ||
-                     deviceName.toLowerCase().contains("zq") ||
-                     deviceName.toLowerCase().contains("zt")));
+                // Scans report every advertisement, often several per second per device
+                if (scanLogSampler.sample(Log.DEBUG)) {
+                    int suppressed = scanLogSampler.suppressed();
+                    PluginLog.d(TAG, () -> "Native BLE scan found device: " + (deviceName != null ? deviceName : "Unknown")
+                        + " " + deviceAddress + " RSSI " + rssi + " type " + device.getType()
+                        + " bond " + device.getBondState() + " (" + suppressed + " results not logged)");
+                }
+
+                // Unpaired devices in range are only flagged on strong evidence
+                BluetoothClass bluetoothClass = device.getBluetoothClass();
+                boolean isZebraDevice = deviceClassifier.classify(deviceName, deviceAddress,
+                    bluetoothClass != null ? bluetoothClass.getDeviceClass() : 0,
+                    manufacturerIds(scanResult.getScanRecord())) == ZebraDeviceClassifier.Match.LIKELY;
 
                 // ADD ALL DEVICES for debugging - don't filter anything yet
                 Map<String, Object> deviceMap = new HashMap<>();
                 deviceMap.put("friendlyName", deviceName != null ? deviceName : "Unknown Device");
                 deviceMap.put("address", deviceAddress);
                 deviceMap.put("rssi", rssi);
-                deviceMap.put("port", "0");
+                deviceMap.put("port", 0);
                 deviceMap.put("interfaceType", "bluetooth");
                 deviceMap.put("isZebra", isZebraDevice);
                 deviceMap.put("serialNumber", "Unknown");
@@ -1045,21 +2279,23 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
                         }
                         if (!isDuplicate) {
                             foundDevices.add(deviceMap);
-                            Log.d(TAG, "Added device to list: " + deviceName + " (Zebra: " + isZebraDevice + ")");
+                            PluginLog.d(TAG, () -> "Added device to list: " + deviceName + " (Zebra: " + isZebraDevice + ")");
                         }
                     }
             }
 
             @Override
             public void onScanFailed(int errorCode) {
-                Log.e(TAG, "Native BLE scan failed with error code: " + errorCode);
-                mainHandler.post(() -> {
-                    result.error("SCAN_FAILED", "Native BLE scan failed with error code: " + errorCode, null);
-                });
+                PluginLog.e(TAG, "Native BLE scan failed with error code: " + errorCode);
+                if (operation.finish()) {
+                    mainHandler.post(() -> {
+                        result.error("SCAN_FAILED", "Native BLE scan failed with error code: " + errorCode, null);
+                    });
+                }
             }
         };
 
-        Log.d(TAG, "Starting native Android BLE scan for 15 seconds...");
+        PluginLog.d(TAG, "Starting native Android BLE scan...");
         
         try {
             // Use aggressive scan settings
@@ -1072,26 +2308,32 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
             
             scanner.startScan(filters, settingsBuilder.build(), scanCallback);
             
-            // Stop scanning after 15 seconds and return results
-            timeoutHandler.postDelayed(() -> {
+            // Stop scanning on timeout or cancel and return results
+            operation.onCancel(() -> {
                 try {
                     scanner.stopScan(scanCallback);
                 } catch (Exception e) {
-                    Log.w(TAG, "Error stopping native BLE scan", e);
+                    PluginLog.w(TAG, "Error stopping native BLE scan", e);
                 }
                 
-                synchronized (foundDevices) {
-                    Log.d(TAG, "Native BLE scan completed. Found " + foundDevices.size() + " devices");
-                    result.success(new ArrayList<>(foundDevices));
+                if (operation.finish()) {
+                    synchronized (foundDevices) {
+                        PluginLog.d(TAG, () -> "Native BLE scan completed. Found " + foundDevices.size() + " devices");
+                        result.success(new ArrayList<>(foundDevices));
+                    }
                 }
-            }, 15000);
+            });
             
         } catch (SecurityException e) {
-            Log.e(TAG, "SecurityException during native BLE scan", e);
-            result.error("PERMISSION_DENIED", "Permission denied for BLE scan: " + e.getMessage(), null);
+            PluginLog.e(TAG, "SecurityException during native BLE scan", e);
+            if (operation.finish()) {
+                result.error("PERMISSION_DENIED", "Permission denied for BLE scan: " + e.getMessage(), null);
+            }
         } catch (Exception e) {
-            Log.e(TAG, "Exception during native BLE scan", e);
-            result.error("SCAN_ERROR", "Error during BLE scan: " + e.getMessage(), null);
+            PluginLog.e(TAG, "Exception during native BLE scan", e);
+            if (operation.finish()) {
+                result.error("SCAN_ERROR", "Error during BLE scan: " + e.getMessage(), null);
+            }
         }
     }
 
@@ -1113,112 +2355,192 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
         @SuppressWarnings("unchecked")
         Map<String, Object> args = (Map<String, Object>) call.arguments;
         String macAddress = args != null ? (String) args.get("macAddress") : null;
+        // Keep the probed connection as the active one instead of closing it
+        final boolean adopt = args != null && Boolean.TRUE.equals(args.get("adopt"));
         
         if (macAddress == null || macAddress.trim().isEmpty()) {
             result.error("MISSING_MAC_ADDRESS", "MAC address is required for direct BLE connection", null);
             return;
         }
         
-        Log.d(TAG, "Testing direct BLE connection to: " + macAddress);
+        PluginLog.d(TAG, () -> "Testing direct BLE connection to: " + macAddress);
+
+        // The BLE connection needs a Looper thread for as long as it is open
+        scheduler.startLooperThread(macAddress);
+
+        // Closing the connection is the only way to abort a BLE open() that is still in progress
+        final OperationRegistry.Operation operation = startOperation(call, 0);
+        final AtomicReference<BluetoothLeConnection> pendingConnection = new AtomicReference<>();
+        operation.onCancel(() -> {
+            PluginLog.w(TAG, "Direct BLE connection test stopped (" + operation.stopReason() + ")");
+            BluetoothLeConnection connection = pendingConnection.get();
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (Exception e) {
+                    PluginLog.w(TAG, "Error aborting BLE connection: " + e.getMessage());
+                }
+            }
+            if (operation.finish()) {
+                mainHandler.post(() -> result.error(operation.stopReason(), "BLE connection test was stopped", null));
+            }
+        });
 
-        executor.execute(() -> {
+        submit(scheduler.io(macAddress), result, operation, () -> {
             BluetoothLeConnection bleConnection = null;
             ZebraPrinter printer = null;
+            boolean adopted = false;
             
             try {
-                Log.d(TAG, "Creating BluetoothLeConnection for MAC: " + macAddress);
+                if (operation.isCancelled()) {
+                    return;
+                }
+                PluginLog.d(TAG, () -> "Creating BluetoothLeConnection for MAC: " + macAddress);
                 bleConnection = new BluetoothLeConnection(macAddress);
+                pendingConnection.set(bleConnection);
                 
-                Log.d(TAG, "Setting context for BLE connection...");
+                PluginLog.d(TAG, "Setting context for BLE connection...");
                 bleConnection.setContext(activity);
                 
-                Log.d(TAG, "Attempting to open BLE connection...");
+                PluginLog.d(TAG, "Attempting to open BLE connection...");
                 bleConnection.open();
                 
                 if (bleConnection.isConnected()) {
-                    Log.d(TAG, "BLE connection successful! Testing printer communication...");
+                    PluginLog.d(TAG, "BLE connection successful! Testing printer communication...");
                     
                     // Try to create a printer instance
                     printer = ZebraPrinterFactory.getInstance(bleConnection);
                     
                     if (printer != null) {
-                        Log.d(TAG, "Successfully created ZebraPrinter instance via BLE!");
+                        PluginLog.d(TAG, "Successfully created ZebraPrinter instance via BLE!");
+                        
+                        // What the probe learned, so the caller does not have to ask the printer again
+                        Map<String, Object> capabilities = new HashMap<>();
+                        PrinterLanguage language = printer.getPrinterControlLanguage();
+                        capabilities.put("language", language != null ? language.name() : null);
+                        capabilities.put("adopted", adopt);
+                        
+                        Map<String, Object> printerInfo = new HashMap<>();
+                        printerInfo.put("address", macAddress);
+                        printerInfo.put("port", 0); // Use integer 0, not string "0"
+                        printerInfo.put("interfaceType", "bluetooth"); // Use "bluetooth" to match connect() method
+                        printerInfo.put("serialNumber", "Unknown");
+                        printerInfo.put("additionalInfo", capabilities);
                         
                         // Try to get printer status
                         try {
-                            String status = printer.getCurrentStatus().toString();
-                            Log.d(TAG, "Printer status via BLE: " + status);
-                            
-                            // Create success result with printer info
-                            Map<String, Object> printerInfo = new HashMap<>();
+                            PrinterStatus printerStatus = printer.getCurrentStatus();
+                            String status = printerStatus.toString();
+                            PluginLog.d(TAG, () -> "Printer status via BLE: " + status);
                             printerInfo.put("friendlyName", "ZD421 (Direct BLE)");
-                            printerInfo.put("address", macAddress);
-                            printerInfo.put("port", 0); // Use integer 0, not string "0"
-                            printerInfo.put("interfaceType", "bluetooth"); // Use "bluetooth" to match connect() method
                             printerInfo.put("status", status);
-                            printerInfo.put("serialNumber", "Unknown");
-                            
-                            List<Map<String, Object>> printers = new ArrayList<>();
-                            printers.add(printerInfo);
-                            
-                            mainHandler.post(() -> {
-                                result.success(printers);
-                            });
-                            
+                            capabilities.put("printerStatus",
+                                StatusFlags.toMap(statusFlags(printerStatus), printerStatus.labelsRemainingInBatch, null));
                         } catch (Exception statusEx) {
-                            Log.w(TAG, "Could not get printer status via BLE", statusEx);
+                            PluginLog.w(TAG, "Could not get printer status via BLE", statusEx);
                             
                             // Still report success since connection worked
-                            Map<String, Object> printerInfo = new HashMap<>();
                             printerInfo.put("friendlyName", "ZD421 (Direct BLE - Limited)");
-                            printerInfo.put("address", macAddress);
-                            printerInfo.put("port", 0); // Use integer 0, not string "0"
-                            printerInfo.put("interfaceType", "bluetooth"); // Use "bluetooth" to match connect() method
                             printerInfo.put("status", "Connected but status unavailable");
-                            printerInfo.put("serialNumber", "Unknown");
-                            
-                            List<Map<String, Object>> printers = new ArrayList<>();
-                            printers.add(printerInfo);
-                            
+                        }
+                        
+                        List<Map<String, Object>> printers = new ArrayList<>();
+                        printers.add(printerInfo);
+                        
+                        if (operation.finish()) {
+                            if (adopt) {
+                                adopted = true;
+                                final Connection probed = bleConnection;
+                                final ZebraPrinter probedPrinter = printer;
+                                mainHandler.post(() -> {
+                                    adoptProbe(macAddress, probed, probedPrinter);
+                                    result.success(printers);
+                                });
+                            } else {
+                                mainHandler.post(() -> {
+                                    result.success(printers);
+                                });
+                            }
+                        }
+                    } else {
+                        PluginLog.w(TAG, "BLE connection successful but could not create printer instance");
+                        if (operation.finish()) {
                             mainHandler.post(() -> {
-                                result.success(printers);
+                                result.error("PRINTER_CREATION_FAILED", 
+                                    "Connected via BLE but could not create printer instance", null);
                             });
                         }
-                    } else {
-                        Log.w(TAG, "BLE connection successful but could not create printer instance");
+                    }
+                } else {
+                    PluginLog.w(TAG, "BLE connection failed - not connected after open()");
+                    if (operation.finish()) {
                         mainHandler.post(() -> {
-                            result.error("PRINTER_CREATION_FAILED", 
-                                "Connected via BLE but could not create printer instance", null);
+                            result.error("CONNECTION_FAILED", 
+                                "Could not establish BLE connection to " + macAddress, null);
                         });
                     }
-                } else {
-                    Log.w(TAG, "BLE connection failed - not connected after open()");
-                    mainHandler.post(() -> {
-                        result.error("CONNECTION_FAILED", 
-                            "Could not establish BLE connection to " + macAddress, null);
-                    });
                 }
                 
             } catch (Exception e) {
-                Log.e(TAG, "Exception during direct BLE connection test", e);
-                mainHandler.post(() -> {
-                    result.error("BLE_CONNECTION_ERROR", 
-                        "BLE connection failed: " + e.getMessage(), null);
-                });
+                PluginLog.e(TAG, "Exception during direct BLE connection test", e);
+                if (operation.finish()) {
+                    mainHandler.post(() -> {
+                        result.error("BLE_CONNECTION_ERROR", 
+                            "BLE connection failed: " + e.getMessage(), null);
+                    });
+                }
             } finally {
-                // Clean up connections
-                try {
-                    if (bleConnection != null && bleConnection.isConnected()) {
-                        bleConnection.close();
-                        Log.d(TAG, "Closed BLE connection");
+                // Clean up connections, unless the probe is being handed over to the active printer
+                if (!adopted) {
+                    try {
+                        if (bleConnection != null && bleConnection.isConnected()) {
+                            bleConnection.close();
+                            PluginLog.d(TAG, "Closed BLE connection");
+                        }
+                    } catch (Exception closeEx) {
+                        PluginLog.w(TAG, "Error closing BLE connection", closeEx);
+                    }
+                    if (!macAddress.equals(activePrinterKey)) {
+                        scheduler.releaseIo(macAddress);
                     }
-                } catch (Exception closeEx) {
-                    Log.w(TAG, "Error closing BLE connection", closeEx);
                 }
             }
         });
     }
 
+    // Main thread. Makes the connection opened by testDirectBleConnection the active one, replacing
+    // whatever was connected before, as connect() would
+    private void adoptProbe(String macAddress, Connection connection, ZebraPrinter printer) {
+        cancelMultipath();
+        warmStartKey = null;
+        if (macAddress.equals(activePrinterKey)) {
+            // Same printer: only the old connection goes, the io() queue stays for the new one
+            retireWarmConnection();
+            closeBleThroughput();
+            final Connection previousConnection = activeConnection;
+            try {
+                scheduler.io(macAddress).execute(() -> closeQuietly(previousConnection));
+            } catch (RejectedExecutionException e) {
+                PluginLog.w(TAG, "Could not queue close of previous connection: " + e.getMessage());
+            }
+        } else {
+            releaseActivePrinter();
+        }
+        activeConnection = connection;
+        zebraPrinter = printer;
+        activePrinterKey = macAddress;
+        activeTransportType = "bluetooth";
+        activeInterfaceType = "bluetooth";
+        activeConnectionType = null;
+        activeBleHighThroughput = false;
+        adoptedProbe = connection;
+        metrics.increment("probe.adopted");
+        warmStart.remember(new WarmStart.Settings("bluetooth", macAddress, null, false));
+        PluginLog.i(TAG, "Adopted the BLE probe connection to " + macAddress);
+        onReconnected();
+        resumeSpooledJobs(macAddress);
+    }
+
     private void discoverUsbPrinters(MethodCall call, Result result) {
         if (activity == null) {
             result.error("NO_ACTIVITY", "Activity context is required for USB discovery", null);
@@ -1231,106 +2553,98 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
             return;
         }
 
-        Log.d(TAG, "Starting USB printer discovery...");
+        PluginLog.d(TAG, "Starting USB printer discovery...");
 
-        executor.execute(() -> {
+        // UsbDiscoverer has no cancel API; cancelling wakes the waiting worker so its thread
+        // is freed immediately
+        final OperationRegistry.Operation operation = startOperation(call, 10000);
+
+        submit(scheduler.discovery(), result, operation, () -> {
             try {
                 isUsbDiscoveryInProgress = true;
                 
                 final List<DiscoveredPrinter> discoveredPrinters = new ArrayList<>();
-                final Object discoveryLock = new Object();
-                final boolean[] discoveryComplete = {false};
 
+                final Metrics.DiscoveryTimer discoveryTimer = metrics.startDiscovery("usb");
                 DiscoveryHandler discoveryHandler = new DiscoveryHandler() {
                     @Override
                     public void foundPrinter(DiscoveredPrinter discoveredPrinter) {
-                        Log.d(TAG, "Found USB printer!");
-                        
-                        // Check if this is specifically a USB printer
-                        if (discoveredPrinter instanceof DiscoveredPrinterUsb) {
-                            DiscoveredPrinterUsb usbPrinter = (DiscoveredPrinterUsb) discoveredPrinter;
-                            Log.d(TAG, "  USB Device: " + usbPrinter.device.getDeviceName());
-                            Log.d(TAG, "  USB Product ID: " + usbPrinter.device.getProductId());
-                            Log.d(TAG, "  USB Vendor ID: " + usbPrinter.device.getVendorId());
-                        }
+                        discoveryTimer.found();
+                        PluginLog.d(TAG, "Found USB printer!");
                         
-                        Map<String, String> discoveryData = discoveredPrinter.getDiscoveryDataMap();
-                        Log.d(TAG, "  FRIENDLY_NAME: " + discoveryData.get("FRIENDLY_NAME"));
-                        Log.d(TAG, "  All discovery data: " + discoveryData.toString());
-
                         synchronized (discoveredPrinters) {
+                            // Check if this is specifically a USB printer
+                            if (discoveredPrinter instanceof DiscoveredPrinterUsb) {
+                                DiscoveredPrinterUsb usbPrinter = (DiscoveredPrinterUsb) discoveredPrinter;
+                                PluginLog.d(TAG, () -> "  USB Device: " + usbPrinter.device.getDeviceName());
+                                PluginLog.d(TAG, () -> "  USB Product ID: " + usbPrinter.device.getProductId());
+                                PluginLog.d(TAG, () -> "  USB Vendor ID: " + usbPrinter.device.getVendorId());
+                                usbPrinterManager.register(usbPrinter);
+                            }
+                            
+                            Map<String, String> discoveryData = discoveredPrinter.getDiscoveryDataMap();
+                            PluginLog.d(TAG, () -> "  FRIENDLY_NAME: " + discoveryData.get("FRIENDLY_NAME"));
+                            PluginLog.d(TAG, () -> "  All discovery data: " + discoveryData.toString());
+
                             discoveredPrinters.add(discoveredPrinter);
                         }
                     }
 
                     @Override
                     public void discoveryFinished() {
-                        Log.d(TAG, "USB discovery finished callback received");
-                        synchronized (discoveryLock) {
-                            discoveryComplete[0] = true;
-                            discoveryLock.notify();
-                        }
+                        PluginLog.d(TAG, "USB discovery finished callback received");
+                        operation.signal();
                     }
 
                     @Override
                     public void discoveryError(String message) {
-                        Log.e(TAG, "USB discovery error callback: " + message);
-                        synchronized (discoveryLock) {
-                            discoveryComplete[0] = true;
-                            discoveryLock.notify();
-                        }
+                        PluginLog.e(TAG, "USB discovery error callback: " + message);
+                        operation.signal();
                     }
                 };
 
-                Log.d(TAG, "Starting UsbDiscoverer.findPrinters...");
+                PluginLog.d(TAG, "Starting UsbDiscoverer.findPrinters...");
                 // Use the application context for USB discovery
                 UsbDiscoverer.findPrinters(activity.getApplicationContext(), discoveryHandler);
                 
-                // Wait for discovery to complete with timeout
-                synchronized (discoveryLock) {
-                    while (!discoveryComplete[0]) {
-                        discoveryLock.wait(10000); // 10 second timeout for USB discovery
-                        break; // Exit if timeout
-                    }
+                // Wait until discovery finishes, times out or is cancelled from Dart
+                operation.await();
+                discoveryTimer.finish();
+                if (operation.isCancelled()) {
+                    PluginLog.w(TAG, "USB discovery stopped (" + operation.stopReason() + "), returning printers found so far");
                 }
                 
                 List<Map<String, Object>> printers = new ArrayList<>();
                 synchronized (discoveredPrinters) {
                     for (DiscoveredPrinter printer : discoveredPrinters) {
-                        Map<String, Object> printerMap = new HashMap<>();
-                        
                         // Handle USB printers specifically
                         if (printer instanceof DiscoveredPrinterUsb) {
-                            DiscoveredPrinterUsb usbPrinter = (DiscoveredPrinterUsb) printer;
-                            printerMap.put("friendlyName", "USB Printer (" + usbPrinter.device.getProductId() + ")");
-                            printerMap.put("address", usbPrinter.device.getDeviceName());
-                            printerMap.put("interfaceType", "usb");
-                            printerMap.put("productId", usbPrinter.device.getProductId());
-                            printerMap.put("vendorId", usbPrinter.device.getVendorId());
+                            printers.add(UsbPrinterManager.toMap((DiscoveredPrinterUsb) printer));
                         } else {
                             // Fallback to discovery data
+                            Map<String, Object> printerMap = new HashMap<>();
                             printerMap.put("friendlyName", printer.getDiscoveryDataMap().get("FRIENDLY_NAME"));
                             printerMap.put("address", "Unknown USB Device");
                             printerMap.put("interfaceType", "usb");
+                            printerMap.put("port", 0);
+                            printerMap.put("serialNumber", printer.getDiscoveryDataMap().get("SERIAL_NUMBER"));
+                            printers.add(printerMap);
                         }
-                        
-                        printerMap.put("port", 0);
-                        printerMap.put("serialNumber", printer.getDiscoveryDataMap().get("SERIAL_NUMBER"));
-                        printers.add(printerMap);
                     }
                 }
 
                 mainHandler.post(() -> {
-                    Log.d(TAG, "USB discovery completed. Found " + printers.size() + " printers");
+                    PluginLog.d(TAG, () -> "USB discovery completed. Found " + printers.size() + " printers");
                     result.success(printers);
                 });
                 
             } catch (Exception e) {
-                Log.e(TAG, "USB discovery failed", e);
+                PluginLog.e(TAG, "USB discovery failed", e);
                 mainHandler.post(() -> {
                     result.error("DISCOVERY_FAILED", e.getMessage(), null);
                 });
             } finally {
+                operation.finish();
                 isUsbDiscoveryInProgress = false;
             }
         });
@@ -1398,151 +2712,89 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
             return;
         }
 
-        Log.d(TAG, "Requesting USB permission for device: " + deviceName);
-
-        executor.execute(() -> {
-            try {
-                UsbManager usbManager = (UsbManager) activity.getSystemService(Context.USB_SERVICE);
-                if (usbManager == null) {
-                    mainHandler.post(() -> {
-                        result.error("NO_USB_SERVICE", "USB service not available", null);
-                    });
-                    return;
-                }
-
-                // Find the USB device
-                UsbDevice targetDevice = null;
-                for (UsbDevice device : usbManager.getDeviceList().values()) {
-                    if (deviceName.equals(device.getDeviceName()) || 
-                        deviceName.contains(String.valueOf(device.getProductId()))) {
-                        targetDevice = device;
-                        break;
-                    }
-                }
+        PluginLog.d(TAG, () -> "Requesting USB permission for device: " + deviceName);
 
-                final UsbDevice finalTargetDevice = targetDevice; // Make it final for lambda usage
-
-                if (finalTargetDevice == null) {
-                    mainHandler.post(() -> {
-                        result.error("DEVICE_NOT_FOUND", "USB device not found: " + deviceName, null);
-                    });
-                    return;
-                }
+        UsbDevice targetDevice = usbPrinterManager.findDevice(deviceName);
+        if (targetDevice == null) {
+            result.error("DEVICE_NOT_FOUND", "USB device not found: " + deviceName, null);
+            return;
+        }
 
-                // Check if permission is already granted
-                if (usbManager.hasPermission(finalTargetDevice)) {
-                    mainHandler.post(() -> {
-                        result.success(true);
-                    });
-                    return;
+        // Completes when the user answers the system permission dialog
+        usbPrinterManager.requestPermission(targetDevice).whenComplete((granted, throwable) -> {
+            mainHandler.post(() -> {
+                if (throwable != null) {
+                    PluginLog.e(TAG, "Error requesting USB permission", throwable);
+                    result.error("PERMISSION_REQUEST_FAILED", 
+                        "Failed to request USB permission: " + throwable.getMessage(), null);
+                } else {
+                    result.success(granted);
                 }
-
-                // For now, inform user that USB permission needs to be granted manually
-                // A full implementation would use PendingIntent and BroadcastReceiver
-                mainHandler.post(() -> {
-                    // Try to request permission using the system dialog
-                    try {
-                        String usbPermissionAction = "com.zebra.zebra_printer_android.USB_PERMISSION";
-                        Intent intent = new Intent(usbPermissionAction);
-                        PendingIntent permissionIntent = PendingIntent.getBroadcast(
-                            activity, 
-                            0, 
-                            intent, 
-                            PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
-                        );
-                        
-                        usbManager.requestPermission(finalTargetDevice, permissionIntent);
-                        
-                        // Since we can't wait for the broadcast receiver in this simple implementation,
-                        // we'll inform the user that permission was requested
-                        result.success(false); // Permission requested, but not yet granted
-                        
-                    } catch (Exception e) {
-                        result.error("PERMISSION_REQUEST_FAILED", 
-                            "Failed to request USB permission: " + e.getMessage(), null);
-                    }
-                });
-
-            } catch (Exception e) {
-                Log.e(TAG, "Error requesting USB permission", e);
-                mainHandler.post(() -> {
-                    result.error("PERMISSION_ERROR", "Error requesting USB permission: " + e.getMessage(), null);
-                });
-            }
+            });
         });
     }
 
     private void discoverPrinters(MethodCall call, Result result) {
-        executor.execute(() -> {
+        // NetworkDiscoverer has no cancel API; cancelling wakes the waiting worker so its thread
+        // is freed immediately, and printers reported after that are dropped
+        final OperationRegistry.Operation operation = startOperation(call, 10000);
+
+        submit(scheduler.discovery(), result, operation, () -> {
             try {
-                Log.d(TAG, "Starting local broadcast discovery");
+                PluginLog.d(TAG, "Starting local broadcast discovery");
                 
                 final List<DiscoveredPrinter> discoveredPrinters = new ArrayList<>();
-                final Object discoveryLock = new Object();
-                final boolean[] discoveryComplete = {false};
                 
+                final Metrics.DiscoveryTimer discoveryTimer = metrics.startDiscovery("broadcast");
                 DiscoveryHandler discoveryHandler = new DiscoveryHandler() {
                     @Override
                     public void foundPrinter(DiscoveredPrinter printer) {
+                        discoveryTimer.found();
                         synchronized (discoveredPrinters) {
                             discoveredPrinters.add(printer);
-                            Log.d(TAG, "Found printer: " + getPrinterAddress(printer));
+                            PluginLog.d(TAG, () -> "Found printer: " + getPrinterAddress(printer));
                         }
                     }
 
                     @Override
                     public void discoveryFinished() {
-                        Log.d(TAG, "Discovery finished");
-                        synchronized (discoveryLock) {
-                            discoveryComplete[0] = true;
-                            discoveryLock.notify();
-                        }
+                        PluginLog.d(TAG, "Discovery finished");
+                        operation.signal();
                     }
 
                     @Override
                     public void discoveryError(String error) {
-                        Log.e(TAG, "Discovery error: " + error);
-                        synchronized (discoveryLock) {
-                            discoveryComplete[0] = true;
-                            discoveryLock.notify();
-                        }
+                        PluginLog.e(TAG, "Discovery error: " + error);
+                        operation.signal();
                     }
                 };
 
                 // Perform local broadcast discovery
                 NetworkDiscoverer.localBroadcast(discoveryHandler);
                 
-                // Wait for discovery to complete
-                synchronized (discoveryLock) {
-                    while (!discoveryComplete[0]) {
-                        discoveryLock.wait(10000); // 10 second timeout
-                        break; // Exit if timeout
-                    }
-                }
+                // Wait until discovery finishes, times out or is cancelled from Dart
+                operation.await();
+                discoveryTimer.finish();
 
                 List<Map<String, Object>> printers = new ArrayList<>();
                 synchronized (discoveredPrinters) {
                     for (DiscoveredPrinter printer : discoveredPrinters) {
-                        Map<String, Object> printerMap = new HashMap<>();
-                        printerMap.put("friendlyName", printer.getDiscoveryDataMap().get("FRIENDLY_NAME"));
-                        printerMap.put("address", getPrinterAddress(printer));
-                        printerMap.put("port", "9100");
-                        printerMap.put("interfaceType", "tcp");
-                        printerMap.put("serialNumber", printer.getDiscoveryDataMap().get("SERIAL_NUMBER"));
-                        printers.add(printerMap);
+                        printers.add(DiscoveryResults.network(getPrinterAddress(printer), printer.getDiscoveryDataMap()));
                     }
                 }
 
                 mainHandler.post(() -> {
-                    Log.d(TAG, "Local broadcast discovery completed. Found " + printers.size() + " printers");
+                    PluginLog.d(TAG, () -> "Local broadcast discovery completed. Found " + printers.size() + " printers");
                     result.success(printers);
                 });
                 
             } catch (Exception e) {
-                Log.e(TAG, "Local broadcast discovery failed", e);
+                PluginLog.e(TAG, "Local broadcast discovery failed", e);
                 mainHandler.post(() -> {
                     result.error("DISCOVERY_FAILED", e.getMessage(), null);
                 });
+            } finally {
+                operation.finish();
             }
         });
     }
@@ -1554,75 +2806,65 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
             return;
         }
 
-        executor.execute(() -> {
+        // NetworkDiscoverer has no cancel API; cancelling wakes the waiting worker so its thread
+        // is freed immediately, and printers reported after that are dropped
+        final OperationRegistry.Operation operation = startOperation(call, 20000);
+
+        submit(scheduler.discovery(), result, operation, () -> {
             try {
-                Log.d(TAG, "Starting subnet search for range: " + subnetRange);
+                PluginLog.d(TAG, () -> "Starting subnet search for range: " + subnetRange);
                 
                 final List<DiscoveredPrinter> discoveredPrinters = new ArrayList<>();
-                final Object discoveryLock = new Object();
-                final boolean[] discoveryComplete = {false};
                 
+                final Metrics.DiscoveryTimer discoveryTimer = metrics.startDiscovery("subnet");
                 DiscoveryHandler discoveryHandler = new DiscoveryHandler() {
                     @Override
                     public void foundPrinter(DiscoveredPrinter printer) {
+                        discoveryTimer.found();
                         synchronized (discoveredPrinters) {
                             discoveredPrinters.add(printer);
-                            Log.d(TAG, "Found printer: " + getPrinterAddress(printer));
+                            PluginLog.d(TAG, () -> "Found printer: " + getPrinterAddress(printer));
                         }
                     }
 
                     @Override
                     public void discoveryFinished() {
-                        Log.d(TAG, "Subnet discovery finished");
-                        synchronized (discoveryLock) {
-                            discoveryComplete[0] = true;
-                            discoveryLock.notify();
-                        }
+                        PluginLog.d(TAG, "Subnet discovery finished");
+                        operation.signal();
                     }
 
                     @Override
                     public void discoveryError(String error) {
-                        Log.e(TAG, "Subnet discovery error: " + error);
-                        synchronized (discoveryLock) {
-                            discoveryComplete[0] = true;
-                            discoveryLock.notify();
-                        }
+                        PluginLog.e(TAG, "Subnet discovery error: " + error);
+                        operation.signal();
                     }
                 };
 
                 NetworkDiscoverer.subnetSearch(discoveryHandler, subnetRange);
                 
-                // Wait for discovery to complete
-                synchronized (discoveryLock) {
-                    while (!discoveryComplete[0]) {
-                        discoveryLock.wait(20000); // 20 second timeout for subnet search
-                        break; // Exit if timeout
-                    }
-                }
+                // Wait until discovery finishes, times out or is cancelled from Dart
+                operation.await();
+                discoveryTimer.finish();
 
                 List<Map<String, Object>> printers = new ArrayList<>();
                 synchronized (discoveredPrinters) {
                     for (DiscoveredPrinter printer : discoveredPrinters) {
-                        Map<String, Object> printerMap = new HashMap<>();
-                        printerMap.put("friendlyName", printer.getDiscoveryDataMap().get("FRIENDLY_NAME"));
-                        printerMap.put("address", getPrinterAddress(printer));
-                        printerMap.put("port", "9100");
-                        printerMap.put("interfaceType", "tcp");
-                        printerMap.put("serialNumber", printer.getDiscoveryDataMap().get("SERIAL_NUMBER"));
-                        printers.add(printerMap);
+                        printers.add(DiscoveryResults.network(getPrinterAddress(printer), printer.getDiscoveryDataMap()));
                     }
                 }
 
                 mainHandler.post(() -> {
-                    Log.d(TAG, "Subnet search completed. Found " + printers.size() + " printers");
+                    PluginLog.d(TAG, () -> "Subnet search completed. Found " + printers.size() + " printers");
                     result.success(printers);
                 });
                 
             } catch (Exception e) {
-                Log.e(TAG, "Subnet search failed", e);
+                PluginLog.e(TAG, "Subnet search failed", e);
                 mainHandler.post(() -> {
                     result.error("DISCOVERY_FAILED", e.getMessage(), null);
                 });
+            } finally {
+                operation.finish();
             }
         });
     }
@@ -1640,39 +2882,37 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
 
         final int finalHops = hops;
         
-        executor.execute(() -> {
+        // NetworkDiscoverer has no cancel API; cancelling wakes the waiting worker so its thread
+        // is freed immediately, and printers reported after that are dropped
+        final OperationRegistry.Operation operation = startOperation(call, 10000);
+
+        submit(scheduler.discovery(), result, operation, () -> {
             try {
-                Log.d(TAG, "Starting multicast discovery with " + finalHops + " hops");
+                PluginLog.d(TAG, () -> "Starting multicast discovery with " + finalHops + " hops");
                 
                 final List<DiscoveredPrinter> discoveredPrinters = new ArrayList<>();
-                final Object discoveryLock = new Object();
-                final boolean[] discoveryComplete = {false};
                 
+                final Metrics.DiscoveryTimer discoveryTimer = metrics.startDiscovery("multicast");
                 DiscoveryHandler discoveryHandler = new DiscoveryHandler() {
                     @Override
                     public void foundPrinter(DiscoveredPrinter printer) {
+                        discoveryTimer.found();
                         synchronized (discoveredPrinters) {
                             discoveredPrinters.add(printer);
-                            Log.d(TAG, "Found printer: " + getPrinterAddress(printer));
+                            PluginLog.d(TAG, () -> "Found printer: " + getPrinterAddress(printer));
                         }
                     }
 
                     @Override
                     public void discoveryFinished() {
-                        Log.d(TAG, "Multicast discovery finished");
-                        synchronized (discoveryLock) {
-                            discoveryComplete[0] = true;
-                            discoveryLock.notify();
-                        }
+                        PluginLog.d(TAG, "Multicast discovery finished");
+                        operation.signal();
                     }
 
                     @Override
                     public void discoveryError(String error) {
-                        Log.e(TAG, "Multicast discovery error: " + error);
-                        synchronized (discoveryLock) {
-                            discoveryComplete[0] = true;
-                            discoveryLock.notify();
-                        }
+                        PluginLog.e(TAG, "Multicast discovery error: " + error);
+                        operation.signal();
                     }
                 };
 
@@ -1685,13 +2925,9 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
                 try {
                     NetworkDiscoverer.multicast(discoveryHandler, finalHops);
                     
-                    // Wait for discovery to complete
-                    synchronized (discoveryLock) {
-                        while (!discoveryComplete[0]) {
-                            discoveryLock.wait(10000); // 10 second timeout for multicast
-                            break; // Exit if timeout
-                        }
-                    }
+                    // Wait until discovery finishes, times out or is cancelled from Dart
+                    operation.await();
+                    discoveryTimer.finish();
                 } finally {
                     lock.release();
                 }
@@ -1699,88 +2935,63 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
                 List<Map<String, Object>> printers = new ArrayList<>();
                 synchronized (discoveredPrinters) {
                     for (DiscoveredPrinter printer : discoveredPrinters) {
-                        Map<String, Object> printerMap = new HashMap<>();
-                        printerMap.put("friendlyName", printer.getDiscoveryDataMap().get("FRIENDLY_NAME"));
-                        printerMap.put("address", getPrinterAddress(printer));
-                        printerMap.put("port", "9100");
-                        printerMap.put("interfaceType", "tcp");
-                        printerMap.put("serialNumber", printer.getDiscoveryDataMap().get("SERIAL_NUMBER"));
-                        printers.add(printerMap);
+                        printers.add(DiscoveryResults.network(getPrinterAddress(printer), printer.getDiscoveryDataMap()));
                     }
                 }
 
                 mainHandler.post(() -> {
-                    Log.d(TAG, "Multicast discovery completed. Found " + printers.size() + " printers");
+                    PluginLog.d(TAG, () -> "Multicast discovery completed. Found " + printers.size() + " printers");
                     result.success(printers);
                 });
                 
             } catch (Exception e) {
-                Log.e(TAG, "Multicast discovery failed", e);
+                PluginLog.e(TAG, "Multicast discovery failed", e);
                 mainHandler.post(() -> {
                     result.error("DISCOVERY_FAILED", e.getMessage(), null);
                 });
+            } finally {
+                operation.finish();
             }
         });
     }
 
-    private void setupUsbPermissionReceiver() {
-        if (usbPermissionReceiver == null && activity != null) {
-            usbPermissionReceiver = new BroadcastReceiver() {
-                @Override
-                public void onReceive(Context context, Intent intent) {
-                    String action = intent.getAction();
-                    if (USB_PERMISSION_ACTION.equals(action)) {
-                        boolean granted = intent.getBooleanExtra(UsbManager.EXTRA_PERMISSION_GRANTED, false);
-                        if (usbPermissionFuture != null) {
-                            usbPermissionFuture.complete(granted);
-                        }
+    // Runs USB discovery until the requested printer is found, it finishes, or the timeout expires
+    private DiscoveredPrinterUsb discoverUsbPrinter(String identifier, long timeoutMs) throws InterruptedException {
+        final CompletableFuture<DiscoveredPrinterUsb> printerFuture = new CompletableFuture<>();
+        
+        UsbDiscoverer.findPrinters(context, new DiscoveryHandler() {
+            @Override
+            public void foundPrinter(DiscoveredPrinter discoveredPrinter) {
+                if (discoveredPrinter instanceof DiscoveredPrinterUsb) {
+                    DiscoveredPrinterUsb usbPrinter = (DiscoveredPrinterUsb) discoveredPrinter;
+                    usbPrinterManager.register(usbPrinter);
+                    if (identifier.equals(usbPrinter.device.getDeviceName()) ||
+                        identifier.contains(String.valueOf(usbPrinter.device.getProductId()))) {
+                        printerFuture.complete(usbPrinter);
                     }
                 }
-            };
-            
-            IntentFilter filter = new IntentFilter(USB_PERMISSION_ACTION);
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
-                activity.registerReceiver(usbPermissionReceiver, filter, Context.RECEIVER_NOT_EXPORTED);
-            } else {
-                activity.registerReceiver(usbPermissionReceiver, filter);
             }
-        }
-    }
-    
-    private void cleanupUsbPermissionReceiver() {
-        if (usbPermissionReceiver != null && activity != null) {
-            try {
-                activity.unregisterReceiver(usbPermissionReceiver);
-            } catch (Exception e) {
-                Log.e(TAG, "Error unregistering USB permission receiver", e);
+
+            @Override
+            public void discoveryFinished() {
+                printerFuture.complete(null);
             }
-            usbPermissionReceiver = null;
-        }
-        
-        if (usbPermissionFuture != null && !usbPermissionFuture.isDone()) {
-            usbPermissionFuture.complete(false);
-        }
-    }
-    
-    private CompletableFuture<Boolean> requestUsbPermissionAsync(UsbDevice device) {
-        UsbManager usbManager = (UsbManager) activity.getSystemService(Context.USB_SERVICE);
+
+            @Override
+            public void discoveryError(String message) {
+                PluginLog.e(TAG, "USB discovery error while connecting: " + message);
+                printerFuture.complete(null);
+            }
+        });
         
-        if (usbManager.hasPermission(device)) {
-            return CompletableFuture.completedFuture(true);
+        try {
+            return printerFuture.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            PluginLog.w(TAG, "USB discovery timed out looking for: " + identifier);
+            return null;
+        } catch (ExecutionException e) {
+            return null;
         }
-        
-        usbPermissionFuture = new CompletableFuture<>();
-        
-        Intent intent = new Intent(USB_PERMISSION_ACTION);
-        PendingIntent permissionIntent = PendingIntent.getBroadcast(
-            activity, 
-            0, 
-            intent, 
-            PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
-        );
-        
-        usbManager.requestPermission(device, permissionIntent);
-        return usbPermissionFuture;
     }
 
     @Override
@@ -1788,38 +2999,54 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
         channel.setMethodCallHandler(null);
         
         // Clean up connections
+        closeBleThroughput();
         if (activeConnection != null && activeConnection.isConnected()) {
             try {
                 activeConnection.close();
             } catch (Exception e) {
-                Log.e(TAG, "Error closing connection during cleanup", e);
+                PluginLog.e(TAG, "Error closing connection during cleanup", e);
             }
         }
         
-        executor.shutdown();
+        operations.cancelAll();
+        cancelMultipath();
+        mainHandler.removeCallbacks(reconnectTask);
+        mainHandler.removeCallbacks(readerPump);
+        readerPumpScheduled = false;
+        printerGroups.removeAll();
+        // Jobs still queued stay in the spool and are printed after the next connect
+        printQueue.setJournal(null);
+        spool.close();
+        usbPrinterManager.stop();
+        bondedDevices.stop();
+        networkMonitor.stop();
+        usbEventChannel.setStreamHandler(null);
+        networkEventChannel.setStreamHandler(null);
+        alertEventChannel.setStreamHandler(null);
+        stopMetricsStream();
+        metricsEventChannel.setStreamHandler(null);
+        binaryChannel.setMessageHandler(null);
+        scheduler.shutdown();
     }
 
     @Override
     public void onAttachedToActivity(@NonNull ActivityPluginBinding binding) {
         activity = binding.getActivity();
-        setupUsbPermissionReceiver();
+        maybeWarmStart();
     }
 
     @Override
     public void onDetachedFromActivityForConfigChanges() {
-        cleanupUsbPermissionReceiver();
         activity = null;
     }
 
     @Override
     public void onReattachedToActivityForConfigChanges(@NonNull ActivityPluginBinding binding) {
         activity = binding.getActivity();
-        setupUsbPermissionReceiver();
     }
 
     @Override
     public void onDetachedFromActivity() {
-        cleanupUsbPermissionReceiver();
         activity = null;
     }
 
@@ -1835,46 +3062,25 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
             return;
         }
 
-        executor.execute(() -> {
+        submit(scheduler.io(activePrinterKey), result, () -> {
             try {
-                Log.d(TAG, "Getting SGD parameter: " + parameter);
-                
-                // Use ZPL getvar command for consistency with iOS
-                String zplCommand = String.format("! U1 getvar \"%s\"\r\n", parameter);
-                Log.d(TAG, "Sending ZPL getvar command: " + zplCommand.replace("\r\n", "\\r\\n"));
+                PluginLog.d(TAG, () -> "Getting SGD parameter: " + parameter);
                 
-                // Send the command
-                activeConnection.write(zplCommand.getBytes());
-                
-                // Wait for response
-                Thread.sleep(1000);
-                
-                // Try to read response
-                String response = "";
-                try {
-                    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                    activeConnection.read(outputStream);
-                    byte[] responseBytes = outputStream.toByteArray();
-                    if (responseBytes.length > 0) {
-                        response = new String(responseBytes).trim();
-                        response = response.replaceAll("\"", ""); // Remove quotes
-                        response = response.replace("\0", ""); // Remove null characters
-                        Log.d(TAG, "Got SGD parameter response: " + response);
-                    }
-                    outputStream.close();
-                } catch (Exception e) {
-                    Log.d(TAG, "Error reading response: " + e.getMessage());
-                    response = "";
-                }
+                // Use ZPL getvar command for consistency with iOS. Returns as soon as the quoted
+                // reply is complete, or null if the printer did not answer in time
+                long sgdStart = System.nanoTime();
+                String value = sgd().get(parameter, SGD_TIMEOUT_MS);
+                metrics.recordSince("sgd.get", sgdStart);
+                PluginLog.d(TAG, () -> "Got SGD parameter response: " + value);
 
-                final String finalResponse = response;
-                new Handler(Looper.getMainLooper()).post(() -> {
+                final String finalResponse = value != null ? value : "";
+                mainHandler.post(() -> {
                     result.success(finalResponse);
                 });
 
             } catch (Exception e) {
-                Log.e(TAG, "Error getting SGD parameter", e);
-                new Handler(Looper.getMainLooper()).post(() -> {
+                PluginLog.e(TAG, "Error getting SGD parameter", e);
+                mainHandler.post(() -> {
                     result.error("GET_FAILED", "Failed to get SGD parameter: " + e.getMessage(), null);
                 });
             }
@@ -1900,43 +3106,156 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
             return;
         }
 
-        executor.execute(() -> {
+        submit(scheduler.io(activePrinterKey), result, () -> {
             try {
-                Log.d(TAG, "Setting SGD parameter " + parameter + " to " + value);
+                PluginLog.d(TAG, () -> "Setting SGD parameter " + parameter + " to " + value);
                 
                 // Use ZPL setvar command for consistency with iOS
-                String zplCommand = String.format("! U1 setvar \"%s\" \"%s\"\r\n", parameter, value);
-                Log.d(TAG, "Sending ZPL setvar command: " + zplCommand.replace("\r\n", "\\r\\n"));
-                
-                activeConnection.write(zplCommand.getBytes());
+                long sgdStart = System.nanoTime();
+                sgd().sendSet(parameter, value);
+                metrics.recordSince("sgd.set", sgdStart);
                 
                 // Wait for command to be processed
                 Thread.sleep(1000);
                 
-                Log.d(TAG, "Successfully sent SGD setvar command");
+                PluginLog.d(TAG, "Successfully sent SGD setvar command");
                 
-                new Handler(Looper.getMainLooper()).post(() -> {
+                mainHandler.post(() -> {
                     result.success(null);
                 });
 
             } catch (Exception e) {
-                Log.e(TAG, "Error setting SGD parameter", e);
-                new Handler(Looper.getMainLooper()).post(() -> {
+                PluginLog.e(TAG, "Error setting SGD parameter", e);
+                mainHandler.post(() -> {
                     result.error("SET_FAILED", "Failed to set SGD parameter: " + e.getMessage(), null);
                 });
             }
         });
     }
 
+    // Sets many parameters with one write instead of one call and one second each, then optionally
+    // reads them all back with overlapped getvars. Parameters and values come as two lists, so
+    // settings that depend on each other are applied in the order given
+    private void setSgdParameters(MethodCall call, Result result) {
+        if (activeConnection == null || !activeConnection.isConnected()) {
+            result.error("NOT_CONNECTED", "No active printer connection", null);
+            return;
+        }
+
+        List<String> parameters = call.argument("parameters");
+        List<String> values = call.argument("values");
+        Boolean verifyArgument = call.argument("verify");
+        final boolean verify = verifyArgument == null || verifyArgument;
+
+        if (parameters == null || values == null || parameters.size() != values.size()) {
+            result.error("INVALID_ARGUMENT", "A value is required for every parameter", null);
+            return;
+        }
+        final Map<String, String> settings = new LinkedHashMap<>();
+        for (int i = 0; i < parameters.size(); i++) {
+            String parameter = parameters.get(i);
+            if (parameter == null || parameter.trim().isEmpty() || values.get(i) == null) {
+                result.error("INVALID_ARGUMENT", "Parameter and value are required", null);
+                return;
+            }
+            settings.put(parameter, values.get(i));
+        }
+        if (settings.isEmpty()) {
+            result.success(new HashMap<String, Object>());
+            return;
+        }
+
+        submit(scheduler.io(activePrinterKey), result, () -> {
+            try {
+                PluginLog.d(TAG, () -> "Setting " + settings.size() + " SGD parameters");
+                long sgdStart = System.nanoTime();
+                SgdClient client = sgd();
+                client.sendSets(settings);
+
+                // The printer handles commands in order, so getvars written after the setvars read the new values
+                String[] names = settings.keySet().toArray(new String[0]);
+                String[] actual = verify ? client.get(names, SGD_BATCH_TIMEOUT_MS) : null;
+                metrics.recordSince("sgd.setBatch", sgdStart);
+
+                Map<String, Object> outcomes = new LinkedHashMap<>();
+                for (int i = 0; i < names.length; i++) {
+                    Map<String, Object> outcome = new HashMap<>();
+                    if (actual == null) {
+                        outcome.put("status", "sent");
+                    } else if (actual[i] == null) {
+                        outcome.put("status", "noReply");
+                    } else {
+                        // Printers echo some values back normalized, e.g. "ON" for "on"
+                        boolean matches = actual[i].trim().equalsIgnoreCase(settings.get(names[i]).trim());
+                        outcome.put("status", matches ? "verified" : "mismatch");
+                        outcome.put("value", actual[i]);
+                        if (!matches) {
+                            metrics.increment("sgd.setBatch.mismatches");
+                        }
+                    }
+                    outcomes.put(names[i], outcome);
+                }
+                mainHandler.post(() -> result.success(outcomes));
+            } catch (Exception e) {
+                PluginLog.e(TAG, "Error setting SGD parameters", e);
+                mainHandler.post(() -> {
+                    result.error("SET_FAILED", "Failed to set SGD parameters: " + e.getMessage(), null);
+                });
+            }
+        });
+    }
+
+    private void getStatus(Result result) {
+        final Connection connection = activeConnection;
+        if (connection == null || !connection.isConnected()) {
+            result.success(StatusFlags.toMap(0, 0, "No active printer connection"));
+            return;
+        }
+
+        submit(scheduler.io(activePrinterKey), result, () -> {
+            try {
+                ZebraPrinter printer = zebraPrinter != null ? zebraPrinter : sdkPrinter(connection);
+                Map<String, Object> statusMap;
+                if (printer.getPrinterControlLanguage() == PrinterLanguage.ZPL) {
+                    // ~HS through the reply router, so stray bytes cannot end up in the status
+                    HostStatus status = HostStatus.query(router(), STATUS_TIMEOUT_MS);
+                    statusMap = StatusFlags.toMap(status.flags, status.labelsRemainingInBatch, null);
+                } else {
+                    PrinterStatus status = router().readDirectly(printer::getCurrentStatus);
+                    statusMap = StatusFlags.toMap(statusFlags(status), status.labelsRemainingInBatch, null);
+                }
+                mainHandler.post(() -> result.success(statusMap));
+            } catch (Exception e) {
+                PluginLog.e(TAG, "Error getting printer status", e);
+                mainHandler.post(() -> {
+                    result.success(StatusFlags.toMap(0, 0, e.getMessage()));
+                });
+            }
+        });
+    }
+
+    // Status of a printer that answered, so ONLINE is always set
+    static int statusFlags(PrinterStatus status) {
+        int flags = StatusFlags.ONLINE;
+        if (status.isReadyToPrint) flags |= StatusFlags.READY;
+        if (status.isPaperOut) flags |= StatusFlags.PAPER_OUT;
+        if (status.isHeadOpen) flags |= StatusFlags.HEAD_OPEN;
+        if (status.isPaused) flags |= StatusFlags.PAUSED;
+        if (status.isRibbonOut) flags |= StatusFlags.RIBBON_OUT;
+        if (status.isHeadTooHot) flags |= StatusFlags.HEAD_TOO_HOT;
+        if (status.isReceiveBufferFull) flags |= StatusFlags.BUFFER_FULL;
+        return flags;
+    }
+
     private void getPrinterDimensions(Result result) {
         if (activeConnection == null || !activeConnection.isConnected()) {
             result.error("NOT_CONNECTED", "No active printer connection", null);
             return;
         }
 
-        executor.execute(() -> {
+        submit(scheduler.io(activePrinterKey), result, () -> {
             try {
-                Log.d(TAG, "Getting printer dimensions");
+                PluginLog.d(TAG, "Getting printer dimensions");
                 java.util.Map<String, Integer> dimensions = new java.util.HashMap<>();
                 
                 // Initialize default values
@@ -1946,107 +3265,95 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
                 dimensions.put("maxPrintWidthInDots", 0);
                 dimensions.put("mediaWidthInDots", 0);
                 
-                // Get ZebraPrinter instance for status queries
-                ZebraPrinter zebraPrinter = ZebraPrinterFactory.getInstance(activeConnection);
-                if (zebraPrinter != null) {
-                    // Get printer status which includes label length in dots
-                    PrinterStatus status = zebraPrinter.getCurrentStatus();
-                    if (status != null) {
-                        dimensions.put("labelLengthInDots", status.labelLengthInDots);
-                        Log.d(TAG, "Label length in dots: " + status.labelLengthInDots);
-                    }
+                // Label length from ~HS through the reply router, like the SGD values below
+                try {
+                    HostStatus status = HostStatus.query(router(), STATUS_TIMEOUT_MS);
+                    dimensions.put("labelLengthInDots", status.labelLengthInDots);
+                    PluginLog.d(TAG, () -> "Label length in dots: " + status.labelLengthInDots);
+                } catch (TimeoutException | IllegalArgumentException e) {
+                    PluginLog.d(TAG, () -> "No label length from ~HS: " + e.getMessage());
                 }
                 
-                // Use helper method to get SGD values
-                String printWidth = getSgdValue("ezpl.print_width");
+                // Ask for every SGD value at once, so the round trips overlap
+                String[] values = getSgdValues("ezpl.print_width", "head.resolution.in_dpi", "device.resolution",
+                    "ezpl.max_print_width", "ezpl.media_width");
+                String printWidth = values[0];
                 if (printWidth != null && !printWidth.isEmpty()) {
                     try {
                         dimensions.put("printWidthInDots", Integer.parseInt(printWidth));
-                        Log.d(TAG, "Print width in dots: " + printWidth);
+                        PluginLog.d(TAG, () -> "Print width in dots: " + printWidth);
                     } catch (NumberFormatException e) {
-                        Log.d(TAG, "Invalid print width value: " + printWidth);
+                        PluginLog.d(TAG, () -> "Invalid print width value: " + printWidth);
                     }
                 }
                 
                 // Get printer DPI using head resolution
-                String dpi = getSgdValue("head.resolution.in_dpi");
+                String dpi = values[1];
                 if (dpi != null && !dpi.isEmpty()) {
                     try {
                         dimensions.put("dpi", Integer.parseInt(dpi));
-                        Log.d(TAG, "Printer DPI: " + dpi);
+                        PluginLog.d(TAG, () -> "Printer DPI: " + dpi);
                     } catch (NumberFormatException e) {
-                        Log.d(TAG, "Invalid DPI value: " + dpi);
+                        PluginLog.d(TAG, () -> "Invalid DPI value: " + dpi);
                     }
                 } else {
                     // Fallback to device.resolution
-                    String fallbackDpi = getSgdValue("device.resolution");
+                    String fallbackDpi = values[2];
                     if (fallbackDpi != null && !fallbackDpi.isEmpty()) {
                         try {
                             dimensions.put("dpi", Integer.parseInt(fallbackDpi));
-                            Log.d(TAG, "Fallback DPI: " + fallbackDpi);
+                            PluginLog.d(TAG, () -> "Fallback DPI: " + fallbackDpi);
                         } catch (NumberFormatException e) {
-                            Log.d(TAG, "Invalid fallback DPI value: " + fallbackDpi);
+                            PluginLog.d(TAG, () -> "Invalid fallback DPI value: " + fallbackDpi);
                         }
                     }
                 }
                 
-                String maxPrintWidth = getSgdValue("ezpl.max_print_width");
+                String maxPrintWidth = values[3];
                 if (maxPrintWidth != null && !maxPrintWidth.isEmpty()) {
                     try {
                         dimensions.put("maxPrintWidthInDots", Integer.parseInt(maxPrintWidth));
-                        Log.d(TAG, "Max print width in dots: " + maxPrintWidth);
+                        PluginLog.d(TAG, () -> "Max print width in dots: " + maxPrintWidth);
                     } catch (NumberFormatException e) {
-                        Log.d(TAG, "Invalid max print width value: " + maxPrintWidth);
+                        PluginLog.d(TAG, () -> "Invalid max print width value: " + maxPrintWidth);
                     }
                 }
                 
-                String mediaWidth = getSgdValue("ezpl.media_width");
+                String mediaWidth = values[4];
                 if (mediaWidth != null && !mediaWidth.isEmpty()) {
                     try {
                         dimensions.put("mediaWidthInDots", Integer.parseInt(mediaWidth));
-                        Log.d(TAG, "Media width in dots: " + mediaWidth);
+                        PluginLog.d(TAG, () -> "Media width in dots: " + mediaWidth);
                     } catch (NumberFormatException e) {
-                        Log.d(TAG, "Invalid media width value: " + mediaWidth);
+                        PluginLog.d(TAG, () -> "Invalid media width value: " + mediaWidth);
                     }
                 }
                 
-                Log.d(TAG, "Returning printer dimensions: " + dimensions);
+                PluginLog.d(TAG, () -> "Returning printer dimensions: " + dimensions);
                 
-                new Handler(Looper.getMainLooper()).post(() -> {
+                mainHandler.post(() -> {
                     result.success(dimensions);
                 });
 
             } catch (Exception e) {
-                Log.e(TAG, "Error getting printer dimensions", e);
-                new Handler(Looper.getMainLooper()).post(() -> {
+                PluginLog.e(TAG, "Error getting printer dimensions", e);
+                mainHandler.post(() -> {
                     result.error("QUERY_FAILED", "Failed to query printer dimensions: " + e.getMessage(), null);
                 });
             }
         });
     }
 
-    // Helper method to get SGD values using ZPL commands
-    private String getSgdValue(String parameter) {
+    // Helper method to get SGD values using ZPL commands. A value is null if the printer did not answer
+    private String[] getSgdValues(String... parameters) {
         try {
-            String zplCommand = String.format("! U1 getvar \"%s\"\r\n", parameter);
-            activeConnection.write(zplCommand.getBytes());
-            Thread.sleep(500);
-            
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            activeConnection.read(outputStream);
-            byte[] responseBytes = outputStream.toByteArray();
-            String response = "";
-            if (responseBytes.length > 0) {
-                response = new String(responseBytes).trim();
-                response = response.replaceAll("\"", "");
-                response = response.replace("\0", "");
-            }
-            outputStream.close();
-            
-            return response.isEmpty() ? null : response;
+            long sgdStart = System.nanoTime();
+            String[] values = sgd().get(parameters, SGD_TIMEOUT_MS);
+            metrics.recordSince("sgd.get", sgdStart);
+            return values;
         } catch (Exception e) {
-            Log.d(TAG, "Failed to get SGD value for " + parameter + ": " + e.getMessage());
-            return null;
+            PluginLog.d(TAG, () -> "Failed to get SGD values " + String.join(", ", parameters) + ": " + e.getMessage());
+            return new String[parameters.length];
         }
     }
 
@@ -2062,28 +3369,28 @@ public class ZebraPrinterAndroidPlugin implements FlutterPlugin, MethodCallHandl
             return;
         }
 
-        executor.execute(() -> {
+        submit(scheduler.io(activePrinterKey), result, () -> {
             try {
-                Log.d(TAG, "Setting label length to " + lengthInDots + " dots");
+                PluginLog.d(TAG, () -> "Setting label length to " + lengthInDots + " dots");
                 
                 // Use ZPL ^LL command to set label length for immediate effect
-                String zplCommand = String.format("^XA^LL%d^XZ\r\n", lengthInDots);
-                Log.d(TAG, "Sending ZPL label length command: " + zplCommand.replace("\r\n", "\\r\\n"));
+                String zplCommand = ZplCommands.labelLength(lengthInDots);
+                PluginLog.d(TAG, () -> "Sending ZPL label length command: " + zplCommand.replace("\r\n", "\\r\\n"));
                 
-                activeConnection.write(zplCommand.getBytes());
+                activeConnection.write(ZplCommands.encode(zplCommand));
                 
                 // Wait for command to be processed
                 Thread.sleep(500);
                 
-                Log.d(TAG, "Successfully set label length to " + lengthInDots + " dots");
+                PluginLog.d(TAG, () -> "Successfully set label length to " + lengthInDots + " dots");
                 
-                new Handler(Looper.getMainLooper()).post(() -> {
+                mainHandler.post(() -> {
                     result.success(null);
                 });
 
             } catch (Exception e) {
-                Log.e(TAG, "Error setting label length", e);
-                new Handler(Looper.getMainLooper()).post(() -> {
+                PluginLog.e(TAG, "Error setting label length", e);
+                mainHandler.post(() -> {
                     result.error("SET_FAILED", "Failed to set label length: " + e.getMessage(), null);
                 });
             }
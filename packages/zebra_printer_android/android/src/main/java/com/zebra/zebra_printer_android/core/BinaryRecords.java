@@ -0,0 +1,127 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed-layout binary records for the zebra_printer/binary channel, decoded by
+ * binary_records.dart in the platform interface package.
+ *
+ * Every message starts with a header: uint8 kind, uint8 version, uint16 reserved. Then:
+ *
+ * - PRINTERS: int32 count, int32 offset of each record from the start of the message, then the
+ *   records: int32 port, strings address, friendlyName, serialNumber, interfaceType, int32 extra
+ *   count and that many key/value string pairs. The offsets let Dart decode a printer only when
+ *   it is read.
+ * - STATUS: int32 {@link StatusFlags}, int32 labels remaining in batch, strings status, errorMessage.
+ * - METRICS: see {@link Metrics#writeTo(BinaryWriter)}.
+ * - ERROR: strings code, message.
+ *
+ * Strings are written by {@link BinaryWriter#putString(String)}.
+ */
+public final class BinaryRecords {
+    public static final int VERSION = 1;
+
+    public static final int KIND_PRINTERS = 1;
+    public static final int KIND_STATUS = 2;
+    public static final int KIND_METRICS = 3;
+    public static final int KIND_ERROR = 0xFF;
+
+    // Map keys written as fixed fields, everything else goes into the extras
+    private static final String[] PRINTER_FIELDS = {"address", "port", "friendlyName", "serialNumber", "interfaceType"};
+
+    private BinaryRecords() {
+    }
+
+    public static void writeHeader(BinaryWriter out, int kind) {
+        out.putByte(kind);
+        out.putByte(VERSION);
+        out.putShort(0);
+    }
+
+    /** Writes discovery results in the map form produced by {@link DiscoveryResults}. */
+    public static void writePrinters(BinaryWriter out, List<? extends Map<String, ?>> printers) {
+        writeHeader(out, KIND_PRINTERS);
+        int count = printers.size();
+        out.putInt(count);
+        int offsetTable = out.position();
+        for (int i = 0; i < count; i++) {
+            out.putInt(0);
+        }
+        for (int i = 0; i < count; i++) {
+            out.putIntAt(offsetTable + 4 * i, out.position());
+            writePrinter(out, printers.get(i));
+        }
+    }
+
+    public static void writeStatus(BinaryWriter out, int flags, int labelsRemainingInBatch, String errorMessage) {
+        writeHeader(out, KIND_STATUS);
+        out.putInt(flags);
+        out.putInt(labelsRemainingInBatch);
+        out.putString(StatusFlags.describe(flags));
+        out.putString(errorMessage);
+    }
+
+    public static void writeError(BinaryWriter out, String code, String message) {
+        writeHeader(out, KIND_ERROR);
+        out.putString(code);
+        out.putString(message);
+    }
+
+    private static void writePrinter(BinaryWriter out, Map<String, ?> printer) {
+        out.putInt(toPort(printer.get("port")));
+        out.putString(stringOrNull(printer.get("address")));
+        out.putString(stringOrNull(printer.get("friendlyName")));
+        out.putString(stringOrNull(printer.get("serialNumber")));
+        out.putString(stringOrNull(printer.get("interfaceType")));
+
+        int countPosition = out.position();
+        out.putInt(0);
+        int extras = 0;
+        for (Map.Entry<String, ?> entry : printer.entrySet()) {
+            if (isPrinterField(entry.getKey()) || entry.getValue() == null) {
+                continue;
+            }
+            if (entry.getValue() instanceof Map) {
+                // Nested additionalInfo from auto discovery is flattened into the extras
+                for (Map.Entry<?, ?> info : ((Map<?, ?>) entry.getValue()).entrySet()) {
+                    out.putString(String.valueOf(info.getKey()));
+                    out.putString(String.valueOf(info.getValue()));
+                    extras++;
+                }
+            } else {
+                out.putString(entry.getKey());
+                out.putString(String.valueOf(entry.getValue()));
+                extras++;
+            }
+        }
+        out.putIntAt(countPosition, extras);
+    }
+
+    private static boolean isPrinterField(String key) {
+        for (String field : PRINTER_FIELDS) {
+            if (field.equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int toPort(Object port) {
+        if (port instanceof Number) {
+            return ((Number) port).intValue();
+        }
+        if (port instanceof String) {
+            try {
+                return Integer.parseInt((String) port);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    private static String stringOrNull(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,107 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Growable little-endian buffer for the binary records in {@link BinaryRecords}.
+ *
+ * Strings are written as an int32 byte length (-1 for null) followed by UTF-8 bytes. The buffer
+ * is kept between messages, so a writer owned by one thread only allocates the final copy.
+ */
+public final class BinaryWriter {
+    private ByteBuffer buffer;
+
+    public BinaryWriter(int initialCapacity) {
+        buffer = ByteBuffer.allocate(initialCapacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /** Starts a new message, keeping the storage. */
+    public BinaryWriter clear() {
+        buffer.clear();
+        return this;
+    }
+
+    public int position() {
+        return buffer.position();
+    }
+
+    public void putByte(int value) {
+        ensureRemaining(1);
+        buffer.put((byte) value);
+    }
+
+    public void putShort(int value) {
+        ensureRemaining(2);
+        buffer.putShort((short) value);
+    }
+
+    public void putInt(int value) {
+        ensureRemaining(4);
+        buffer.putInt(value);
+    }
+
+    /** Overwrites an int32 written earlier, e.g. a count or offset not known up front. */
+    public void putIntAt(int position, int value) {
+        buffer.putInt(position, value);
+    }
+
+    public void putLong(long value) {
+        ensureRemaining(8);
+        buffer.putLong(value);
+    }
+
+    public void putDouble(double value) {
+        ensureRemaining(8);
+        buffer.putDouble(value);
+    }
+
+    public void putString(String value) {
+        if (value == null) {
+            putInt(-1);
+            return;
+        }
+        int length = value.length();
+        ensureRemaining(4 + length);
+        int lengthPosition = buffer.position();
+        buffer.putInt(length);
+        // Addresses, names and metric keys are ASCII, which is copied without an encoder
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                buffer.position(lengthPosition);
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                ensureRemaining(4 + utf8.length);
+                buffer.putInt(utf8.length);
+                buffer.put(utf8);
+                return;
+            }
+            buffer.put((byte) c);
+        }
+    }
+
+    /** Copies the message into a direct buffer, as the Flutter engine requires for replies. */
+    public ByteBuffer toDirectBuffer() {
+        ByteBuffer direct = ByteBuffer.allocateDirect(buffer.position()).order(ByteOrder.LITTLE_ENDIAN);
+        direct.put(buffer.array(), 0, buffer.position());
+        direct.flip();
+        return direct;
+    }
+
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[buffer.position()];
+        System.arraycopy(buffer.array(), 0, bytes, 0, bytes.length);
+        return bytes;
+    }
+
+    private void ensureRemaining(int count) {
+        if (buffer.remaining() >= count) {
+            return;
+        }
+        int capacity = Math.max(buffer.capacity() * 2, buffer.position() + count);
+        ByteBuffer grown = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        grown.put(buffer.array(), 0, buffer.position());
+        buffer = grown;
+    }
+}
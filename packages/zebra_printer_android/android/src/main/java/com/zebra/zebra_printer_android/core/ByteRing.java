@@ -0,0 +1,119 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.io.OutputStream;
+
+/**
+ * Fixed-size circular byte buffer between a connection and the code that frames its replies.
+ *
+ * Positions are absolute stream offsets, so a parser can remember where it stopped while more
+ * bytes are appended. When a write would overflow the buffer the oldest bytes are dropped and
+ * counted, so a printer that keeps talking without being asked cannot grow memory without
+ * bound. Not thread safe.
+ */
+public final class ByteRing extends OutputStream {
+    private final byte[] buffer;
+    private final int mask;
+    private long head;
+    private long tail;
+    private long dropped;
+
+    /** capacity is rounded up to a power of two. */
+    public ByteRing(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.buffer = new byte[size];
+        this.mask = size - 1;
+    }
+
+    @Override
+    public void write(int b) {
+        buffer[(int) (tail++ & mask)] = (byte) b;
+        trim();
+    }
+
+    @Override
+    public void write(byte[] data, int offset, int count) {
+        if (count > buffer.length) {
+            // Only the newest bytes can be kept
+            int skip = count - buffer.length;
+            dropped += size() + skip;
+            tail += skip;
+            head = tail;
+            offset += skip;
+            count = buffer.length;
+        }
+        int start = (int) (tail & mask);
+        int first = Math.min(count, buffer.length - start);
+        System.arraycopy(data, offset, buffer, start, first);
+        System.arraycopy(data, offset + first, buffer, 0, count - first);
+        tail += count;
+        trim();
+    }
+
+    /** Position of the oldest byte still held. */
+    public long head() {
+        return head;
+    }
+
+    /** Position after the newest byte. */
+    public long tail() {
+        return tail;
+    }
+
+    public int size() {
+        return (int) (tail - head);
+    }
+
+    /** Bytes lost to overflow since the ring was created. */
+    public long dropped() {
+        return dropped;
+    }
+
+    /** The byte at position, which must be between head() and tail(). */
+    public byte get(long position) {
+        return buffer[(int) (position & mask)];
+    }
+
+    /** Position of the first value at or after from, or -1 if it has not arrived. */
+    public long indexOf(byte value, long from) {
+        for (long position = Math.max(from, head); position < tail; position++) {
+            if (buffer[(int) (position & mask)] == value) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /** Copies the bytes from position from up to, not including, position to. */
+    public byte[] copy(long from, long to) {
+        byte[] copy = new byte[(int) (to - from)];
+        copyTo(from, to, copy, 0);
+        return copy;
+    }
+
+    /** Copies the bytes from position from up to position to into dest at offset, without allocating. */
+    public void copyTo(long from, long to, byte[] dest, int offset) {
+        int count = (int) (to - from);
+        int start = (int) (from & mask);
+        int first = Math.min(count, buffer.length - start);
+        System.arraycopy(buffer, start, dest, offset, first);
+        System.arraycopy(buffer, 0, dest, offset + first, count - first);
+    }
+
+    /** Releases everything before position. */
+    public void consume(long position) {
+        head = Math.max(head, Math.min(position, tail));
+    }
+
+    private void trim() {
+        if (tail - head > buffer.length) {
+            dropped += tail - head - buffer.length;
+            head = tail - buffer.length;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Credit-based flow control for writes the peer does not acknowledge, such as BLE
+ * write-without-response.
+ *
+ * A writer takes one credit per packet and the transport returns it when the stack reports the
+ * packet as sent, so at most maxCredits packets are in flight and the writer blocks instead of
+ * having packets dropped by a full controller buffer. close() wakes blocked writers with an
+ * IOException, e.g. when the link drops.
+ */
+public final class CreditPacer {
+    private final int maxCredits;
+    private int credits;
+    private boolean closed;
+    private String closeReason;
+
+    public CreditPacer(int maxCredits) {
+        if (maxCredits < 1) {
+            throw new IllegalArgumentException("maxCredits must be at least 1");
+        }
+        this.maxCredits = maxCredits;
+        this.credits = maxCredits;
+    }
+
+    /** Takes a credit, waiting up to timeoutMs for one to be returned. */
+    public synchronized void acquire(long timeoutMs) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (credits == 0 && !closed) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new IOException("No write credit returned within " + timeoutMs + " ms");
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for a write credit");
+            }
+        }
+        if (closed) {
+            throw new IOException(closeReason);
+        }
+        credits--;
+    }
+
+    /** Returns a credit, e.g. from the stack's write callback. Extra returns are ignored. */
+    public synchronized void release() {
+        if (credits < maxCredits) {
+            credits++;
+            notifyAll();
+        }
+    }
+
+    /** Waits until every credit was returned, i.e. nothing is in flight. */
+    public void drain(long timeoutMs) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        synchronized (this) {
+            while (credits < maxCredits && !closed) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IOException((maxCredits - credits) + " writes still in flight after " + timeoutMs + " ms");
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for writes to complete");
+                }
+            }
+            if (closed) {
+                throw new IOException(closeReason);
+            }
+        }
+    }
+
+    public synchronized int inFlight() {
+        return maxCredits - credits;
+    }
+
+    /** Fails current and future acquire() calls with reason. */
+    public synchronized void close(String reason) {
+        closed = true;
+        closeReason = reason;
+        notifyAll();
+    }
+}
@@ -0,0 +1,53 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds the printer maps returned to Dart by the discovery calls, matching
+ * DiscoveredPrinter.fromMap on the Dart side. Ports are always integers.
+ */
+public final class DiscoveryResults {
+    public static final int RAW_PORT = 9100;
+
+    private DiscoveryResults() {
+    }
+
+    /** A network printer, from the Zebra SDK's discovery data map. */
+    public static Map<String, Object> network(String address, Map<String, String> discoveryData) {
+        Map<String, Object> printerMap = new HashMap<>();
+        printerMap.put("friendlyName", discoveryData != null ? discoveryData.get("FRIENDLY_NAME") : null);
+        printerMap.put("address", address);
+        printerMap.put("port", RAW_PORT);
+        printerMap.put("interfaceType", "tcp");
+        printerMap.put("serialNumber", discoveryData != null ? discoveryData.get("SERIAL_NUMBER") : null);
+        return printerMap;
+    }
+
+    /** A Bluetooth printer. connectionType is "secure" or "insecure" and picks the socket used by connect. */
+    public static Map<String, Object> bluetooth(String friendlyName, String address, String serialNumber,
+                                                String connectionType) {
+        Map<String, Object> printerMap = new HashMap<>();
+        printerMap.put("friendlyName", friendlyName);
+        printerMap.put("address", address);
+        printerMap.put("interfaceType", "bluetooth");
+        printerMap.put("port", 0);
+        printerMap.put("serialNumber", serialNumber);
+        printerMap.put("manufacturer", "Zebra");
+        printerMap.put("connectionType", connectionType);
+        return printerMap;
+    }
+
+    /** A USB printer, addressed by its device name (e.g. /dev/bus/usb/001/002). */
+    public static Map<String, Object> usb(String deviceName, int productId, int vendorId, String serialNumber) {
+        Map<String, Object> printerMap = new HashMap<>();
+        printerMap.put("friendlyName", "USB Printer (" + productId + ")");
+        printerMap.put("address", deviceName);
+        printerMap.put("interfaceType", "usb");
+        printerMap.put("productId", productId);
+        printerMap.put("vendorId", vendorId);
+        printerMap.put("port", 0);
+        printerMap.put("serialNumber", serialNumber);
+        return printerMap;
+    }
+}
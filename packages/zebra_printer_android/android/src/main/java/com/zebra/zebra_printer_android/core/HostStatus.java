@@ -0,0 +1,89 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The reply to ~HS as {@link StatusFlags}, so status can be read through a {@link ReplyRouter}
+ * instead of the Zebra SDK.
+ *
+ * ~HS answers with three STX...ETX framed lines of comma separated fields. The first holds the
+ * paper out, pause, buffer full and temperature flags and the label length, the second the head
+ * open and ribbon out flags and the number of labels remaining in the batch.
+ */
+public final class HostStatus {
+    public static final byte[] COMMAND = "~HS".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte STX = 0x02;
+    private static final byte ETX = 0x03;
+
+    public final int flags;
+    public final int labelsRemainingInBatch;
+    public final int labelLengthInDots;
+
+    private HostStatus(int flags, int labelsRemainingInBatch, int labelLengthInDots) {
+        this.flags = flags;
+        this.labelsRemainingInBatch = labelsRemainingInBatch;
+        this.labelLengthInDots = labelLengthInDots;
+    }
+
+    /** Sends ~HS through router and parses the reply. */
+    public static HostStatus query(ReplyRouter router, long timeoutMs)
+            throws IOException, InterruptedException, TimeoutException {
+        ReplyRouter.Request request = router.request(COMMAND, ReplyRouter.Reply.HOST_STATUS);
+        router.await(request, timeoutMs);
+        try {
+            return parse(request.data(), 0, request.length());
+        } finally {
+            router.release(request);
+        }
+    }
+
+    /** Parses a complete ~HS reply. Throws IllegalArgumentException if it is not one. */
+    public static HostStatus parse(byte[] reply) {
+        return parse(reply, 0, reply.length);
+    }
+
+    /** Parses a complete ~HS reply in reply[offset, offset + length). */
+    public static HostStatus parse(byte[] reply, int offset, int length) {
+        List<String[]> lines = new ArrayList<>(3);
+        int start = -1;
+        for (int i = offset; i < offset + length; i++) {
+            if (reply[i] == STX) {
+                start = i + 1;
+            } else if (reply[i] == ETX && start >= 0) {
+                lines.add(new String(reply, start, i - start, StandardCharsets.US_ASCII).split(","));
+                start = -1;
+            }
+        }
+        if (lines.size() < 2 || lines.get(0).length < 12 || lines.get(1).length < 9) {
+            throw new IllegalArgumentException("Not a ~HS reply");
+        }
+        String[] first = lines.get(0);
+        String[] second = lines.get(1);
+
+        int flags = StatusFlags.ONLINE;
+        if (flag(first[1])) flags |= StatusFlags.PAPER_OUT;
+        if (flag(first[2])) flags |= StatusFlags.PAUSED;
+        if (flag(first[5])) flags |= StatusFlags.BUFFER_FULL;
+        if (flag(first[11])) flags |= StatusFlags.HEAD_TOO_HOT;
+        if (flag(second[2])) flags |= StatusFlags.HEAD_OPEN;
+        if (flag(second[3])) flags |= StatusFlags.RIBBON_OUT;
+        return new HostStatus(StatusFlags.withReady(flags), number(second[8]), number(first[3]));
+    }
+
+    private static boolean flag(String field) {
+        return "1".equals(field.trim());
+    }
+
+    private static int number(String field) {
+        try {
+            return Integer.parseInt(field.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with power-of-two microsecond buckets.
+ *
+ * Percentiles are reported as the upper bound of the bucket they fall in, so they are accurate
+ * to within a factor of two, which is enough to spot regressions at constant memory.
+ */
+public final class LatencyHistogram {
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sumNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void recordNanos(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        long micros = nanos / 1000;
+        // Bucket i holds [2^(i-1), 2^i) microseconds, bucket 0 holds sub-microsecond values
+        int bucket = micros == 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        sumNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long count() {
+        return count.get();
+    }
+
+    public long sumNanos() {
+        return sumNanos.get();
+    }
+
+    /** Upper bound of the bucket holding the given percentile (0-100), in milliseconds. */
+    public double percentileMs(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min((1L << i) / 1000.0, maxNanos.get() / 1_000_000.0);
+            }
+        }
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    public Map<String, Object> toMap() {
+        long total = count.get();
+        Map<String, Object> map = new HashMap<>();
+        map.put("count", total);
+        map.put("meanMs", total > 0 ? sumNanos.get() / (double) total / 1_000_000.0 : 0.0);
+        map.put("p50Ms", percentileMs(50));
+        map.put("p90Ms", percentileMs(90));
+        map.put("p99Ms", percentileMs(99));
+        map.put("maxMs", maxNanos.get() / 1_000_000.0);
+        return map;
+    }
+
+    /** Binary form of toMap(): int64 count, then float64 meanMs, p50Ms, p90Ms, p99Ms, maxMs. */
+    public void writeTo(BinaryWriter out) {
+        long total = count.get();
+        out.putLong(total);
+        out.putDouble(total > 0 ? sumNanos.get() / (double) total / 1_000_000.0 : 0.0);
+        out.putDouble(percentileMs(50));
+        out.putDouble(percentileMs(90));
+        out.putDouble(percentileMs(99));
+        out.putDouble(maxNanos.get() / 1_000_000.0);
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        sumNanos.set(0);
+        maxNanos.set(0);
+    }
+}
@@ -0,0 +1,220 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters, high-water marks and latency histograms for the plugin's hot paths.
+ *
+ * Recording is lock-free and allocation-free once a name has been seen, so it is cheap enough
+ * to leave on in production. snapshot() builds the map returned to Dart by getMetrics, writeTo()
+ * the same data as a binary record for the metrics stream.
+ */
+public final class Metrics {
+    /** Value sampled when a snapshot is taken, e.g. a queue size. */
+    public interface Gauge {
+        long value();
+    }
+
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> maxima = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private final Map<String, TransportStats> transports = new ConcurrentHashMap<>();
+    private volatile long startedAtNanos = System.nanoTime();
+
+    public void recordNanos(String name, long nanos) {
+        latencies.computeIfAbsent(name, k -> new LatencyHistogram()).recordNanos(nanos);
+    }
+
+    /** Records the time elapsed since startNanos, a System.nanoTime() value. */
+    public void recordSince(String name, long startNanos) {
+        recordNanos(name, System.nanoTime() - startNanos);
+    }
+
+    public void increment(String name) {
+        add(name, 1);
+    }
+
+    public void add(String name, long delta) {
+        counters.computeIfAbsent(name, k -> new AtomicLong()).addAndGet(delta);
+    }
+
+    /** Keeps the largest value seen, e.g. the deepest a queue has been. */
+    public void recordMax(String name, long value) {
+        maxima.computeIfAbsent(name, k -> new AtomicLong()).accumulateAndGet(value, Math::max);
+    }
+
+    public void registerGauge(String name, Gauge gauge) {
+        gauges.put(name, gauge);
+    }
+
+    /** Records one write of bytes to a transport ("tcp", "bluetooth", "usb") and how long it took. */
+    public void recordWrite(String transport, int bytes, long nanos) {
+        transports.computeIfAbsent(transport, k -> new TransportStats()).record(bytes, nanos);
+    }
+
+    /** Starts timing a discovery run; the first found() records time-to-first-result. */
+    public DiscoveryTimer startDiscovery(String kind) {
+        return new DiscoveryTimer("discovery." + kind);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new HashMap<>();
+
+        Map<String, Object> latencyMaps = new HashMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+            latencyMaps.put(entry.getKey(), entry.getValue().toMap());
+        }
+        snapshot.put("latencies", latencyMaps);
+
+        Map<String, Object> counterValues = new HashMap<>();
+        for (Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+            counterValues.put(entry.getKey(), entry.getValue().get());
+        }
+        for (Map.Entry<String, AtomicLong> entry : maxima.entrySet()) {
+            counterValues.put(entry.getKey(), entry.getValue().get());
+        }
+        for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+            counterValues.put(entry.getKey(), entry.getValue().value());
+        }
+        snapshot.put("counters", counterValues);
+
+        Map<String, Object> transportMaps = new HashMap<>();
+        for (Map.Entry<String, TransportStats> entry : transports.entrySet()) {
+            transportMaps.put(entry.getKey(), entry.getValue().toMap());
+        }
+        snapshot.put("transports", transportMaps);
+
+        snapshot.put("uptimeMs", (System.nanoTime() - startedAtNanos) / 1_000_000);
+        return snapshot;
+    }
+
+    /**
+     * Writes a METRICS record (see {@link BinaryRecords}): int64 uptimeMs; int32 count of
+     * latencies, each a name and a {@link LatencyHistogram#writeTo(BinaryWriter)} block; int32
+     * count of counters, maxima and gauges, each a name and an int64; int32 count of transports,
+     * each a name, int64 bytesWritten, int64 bytesPerSecond and a latency block for writes.
+     */
+    public void writeTo(BinaryWriter out) {
+        BinaryRecords.writeHeader(out, BinaryRecords.KIND_METRICS);
+        out.putLong((System.nanoTime() - startedAtNanos) / 1_000_000);
+
+        // Names can be added concurrently, so each count is written after its entries
+        int countPosition = out.position();
+        out.putInt(0);
+        int written = 0;
+        for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+            out.putString(entry.getKey());
+            entry.getValue().writeTo(out);
+            written++;
+        }
+        out.putIntAt(countPosition, written);
+
+        countPosition = out.position();
+        out.putInt(0);
+        written = 0;
+        for (Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+            out.putString(entry.getKey());
+            out.putLong(entry.getValue().get());
+            written++;
+        }
+        for (Map.Entry<String, AtomicLong> entry : maxima.entrySet()) {
+            out.putString(entry.getKey());
+            out.putLong(entry.getValue().get());
+            written++;
+        }
+        for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+            out.putString(entry.getKey());
+            out.putLong(entry.getValue().value());
+            written++;
+        }
+        out.putIntAt(countPosition, written);
+
+        countPosition = out.position();
+        out.putInt(0);
+        written = 0;
+        for (Map.Entry<String, TransportStats> entry : transports.entrySet()) {
+            out.putString(entry.getKey());
+            entry.getValue().writeTo(out);
+            written++;
+        }
+        out.putIntAt(countPosition, written);
+    }
+
+    /** Clears everything but the registered gauges. */
+    public void reset() {
+        for (LatencyHistogram histogram : latencies.values()) {
+            histogram.reset();
+        }
+        for (AtomicLong counter : counters.values()) {
+            counter.set(0);
+        }
+        for (AtomicLong max : maxima.values()) {
+            max.set(0);
+        }
+        for (TransportStats stats : transports.values()) {
+            stats.reset();
+        }
+        startedAtNanos = System.nanoTime();
+    }
+
+    public final class DiscoveryTimer {
+        private final String name;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean found = new AtomicBoolean();
+
+        private DiscoveryTimer(String name) {
+            this.name = name;
+        }
+
+        public void found() {
+            increment(name + ".results");
+            if (found.compareAndSet(false, true)) {
+                recordSince(name + ".firstResult", startNanos);
+            }
+        }
+
+        public void finish() {
+            recordSince(name + ".total", startNanos);
+        }
+    }
+
+    private static final class TransportStats {
+        final AtomicLong bytes = new AtomicLong();
+        final LatencyHistogram writes = new LatencyHistogram();
+
+        void record(int byteCount, long nanos) {
+            bytes.addAndGet(byteCount);
+            writes.recordNanos(nanos);
+        }
+
+        // Throughput while writing, independent of how idle the printer was
+        long bytesPerSecond() {
+            long writeNanos = writes.sumNanos();
+            return writeNanos > 0 ? bytes.get() * 1_000_000_000L / writeNanos : 0;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new HashMap<>();
+            map.put("bytesWritten", bytes.get());
+            map.put("bytesPerSecond", bytesPerSecond());
+            map.put("write", writes.toMap());
+            return map;
+        }
+
+        void writeTo(BinaryWriter out) {
+            out.putLong(bytes.get());
+            out.putLong(bytesPerSecond());
+            writes.writeTo(out);
+        }
+
+        void reset() {
+            bytes.set(0);
+            writes.reset();
+        }
+    }
+}
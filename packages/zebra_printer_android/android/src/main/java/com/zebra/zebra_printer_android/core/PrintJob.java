@@ -0,0 +1,58 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.io.IOException;
+
+/** Encoded commands waiting in a {@link PrintJobQueue}. */
+public final class PrintJob {
+    /**
+     * Scheduling class. Urgent jobs, such as an interactive reprint, are written before queued
+     * bulk jobs; see {@link PrintJobQueue} for how bulk work still makes progress.
+     */
+    public enum Priority {
+        URGENT,
+        BULK;
+
+        /** Parses "urgent" or "bulk" as sent from Dart, anything else is BULK. */
+        public static Priority parse(String name) {
+            return "urgent".equalsIgnoreCase(name) ? URGENT : BULK;
+        }
+    }
+
+    /** Called once the job was written (error is null) or failed. */
+    public interface Callback {
+        void onComplete(PrintJob job, IOException error);
+    }
+
+    private final byte[] payload;
+    private final Priority priority;
+    private final Callback callback;
+
+    // Printers this job was handed to, so failover gives up instead of bouncing it around
+    int attempts;
+    // Group member the job was last queued on, if it was submitted to a PrinterGroup
+    PrinterGroup.Member member;
+
+    public PrintJob(byte[] payload, Callback callback) {
+        this(payload, Priority.BULK, callback);
+    }
+
+    public PrintJob(byte[] payload, Priority priority, Callback callback) {
+        this.payload = payload;
+        this.priority = priority;
+        this.callback = callback;
+    }
+
+    public byte[] payload() {
+        return payload;
+    }
+
+    public Priority priority() {
+        return priority;
+    }
+
+    void complete(IOException error) {
+        if (callback != null) {
+            callback.onComplete(this, error);
+        }
+    }
+}
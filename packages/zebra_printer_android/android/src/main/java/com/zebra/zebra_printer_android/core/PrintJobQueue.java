@@ -0,0 +1,234 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bounded queue of print jobs for one printer, FIFO within each {@link PrintJob.Priority}.
+ *
+ * Producers offer() from any thread; a single consumer drains the queue onto the printer's
+ * transport. Consecutive small jobs are copied into one reusable buffer and sent with a single
+ * write, which saves a round trip per label on Bluetooth and avoids per-batch allocations.
+ *
+ * Urgent jobs preempt bulk jobs at job boundaries: every batch is taken from the urgent queue
+ * while it has jobs, and a batch never mixes the two, so an urgent job waits for at most the
+ * write in progress. So that a steady stream of urgent jobs cannot stall a bulk run, after
+ * {@link #URGENT_BATCHES_BEFORE_BULK} urgent batches in a row with bulk work waiting the next
+ * batch is a bulk one.
+ */
+public final class PrintJobQueue {
+    /** Takes over jobs that could not be sent to this queue's printer. */
+    public interface Failover {
+        /** Returns true if another printer accepted the job, false to fail it. */
+        boolean reroute(PrintJob job);
+    }
+
+    /** Urgent batches written in a row before a waiting bulk batch gets its turn. */
+    public static final int URGENT_BATCHES_BEFORE_BULK = 4;
+
+    /** Makes queued jobs durable, see {@link PrintSpool}. */
+    public interface Journal {
+        /** Called before each batch is written and after each drain, on the draining thread. */
+        void sync();
+    }
+
+    private final ArrayDeque<PrintJob> urgent = new ArrayDeque<>();
+    private final ArrayDeque<PrintJob> bulk = new ArrayDeque<>();
+    private final ArrayDeque<PrintJob> batch = new ArrayDeque<>();
+    private final int capacity;
+    private final byte[] batchBuffer;
+    private int urgentBatchesInARow;
+    private volatile Journal journal;
+
+    /**
+     * @param capacity      maximum number of queued jobs
+     * @param maxBatchBytes largest write built from several jobs; larger jobs are written alone
+     */
+    public PrintJobQueue(int capacity, int maxBatchBytes) {
+        this.capacity = capacity;
+        this.batchBuffer = new byte[maxBatchBytes];
+    }
+
+    /** Journal synced before each write, or null. */
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    /** Queues a job. Returns false when the queue is full; both priorities share the capacity. */
+    public synchronized boolean offer(PrintJob job) {
+        if (urgent.size() + bulk.size() >= capacity) {
+            return false;
+        }
+        queue(job.priority()).offer(job);
+        return true;
+    }
+
+    /** Removes a job that has not been sent yet. Returns false if it was already taken. */
+    public synchronized boolean remove(PrintJob job) {
+        return queue(job.priority()).remove(job);
+    }
+
+    public synchronized int size() {
+        return urgent.size() + bulk.size();
+    }
+
+    public synchronized int size(PrintJob.Priority priority) {
+        return queue(priority).size();
+    }
+
+    /**
+     * Writes all queued jobs to the transport and completes them. Must only be called from one
+     * thread at a time. Returns the number of jobs written successfully.
+     */
+    public int drainTo(PrinterTransport transport) {
+        return drainTo(transport, null);
+    }
+
+    /**
+     * Like drainTo(transport), but when a write fails the failed batch and everything still
+     * queued is offered to failover before being failed, and draining stops.
+     */
+    public int drainTo(PrinterTransport transport, Failover failover) {
+        return drain(transport, failover, false);
+    }
+
+    /**
+     * Like drainTo(transport), but when a write fails the failed batch is put back at the head of
+     * the queue in its original order, with everything else left queued behind it, and draining
+     * stops. Returns false if that happened.
+     */
+    public boolean drainOrRequeue(PrinterTransport transport) {
+        return drain(transport, null, true) >= 0;
+    }
+
+    /**
+     * Puts jobs back at the head of their priority's queue, in the order given, e.g. jobs taken
+     * for a write that failed. They were accepted once, so capacity is not checked.
+     */
+    public synchronized void requeueFirst(Collection<PrintJob> jobs) {
+        PrintJob[] ordered = jobs.toArray(new PrintJob[0]);
+        for (int i = ordered.length - 1; i >= 0; i--) {
+            queue(ordered[i].priority()).offerFirst(ordered[i]);
+        }
+    }
+
+    // Returns the number of jobs written, or -1 if requeue put a failed batch back
+    private int drain(PrinterTransport transport, Failover failover, boolean requeue) {
+        Journal journal = this.journal;
+        int sent = 0;
+        while (true) {
+            int length = takeBatch();
+            if (journal != null) {
+                // Persists the jobs about to be written and the completions of the last batch
+                journal.sync();
+            }
+            if (batch.isEmpty()) {
+                return sent;
+            }
+
+            IOException error = null;
+            try {
+                if (batch.size() == 1) {
+                    byte[] payload = batch.peek().payload();
+                    transport.write(payload, 0, payload.length);
+                } else {
+                    transport.write(batchBuffer, 0, length);
+                }
+            } catch (IOException e) {
+                error = e;
+            }
+
+            PrintJob job;
+            if (error != null && requeue) {
+                requeueFirst(batch);
+                batch.clear();
+                return -1;
+            }
+            if (error != null && failover != null) {
+                while ((job = batch.poll()) != null) {
+                    if (!failover.reroute(job)) {
+                        job.complete(error);
+                    }
+                }
+                for (PrintJob queued : takeAll()) {
+                    if (!failover.reroute(queued)) {
+                        queued.complete(error);
+                    }
+                }
+                return sent;
+            }
+            while ((job = batch.poll()) != null) {
+                job.complete(error);
+                if (error == null) {
+                    sent++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes and returns every queued job without completing them, e.g. to move them elsewhere.
+     * Urgent jobs come first.
+     */
+    public synchronized List<PrintJob> takeAll() {
+        List<PrintJob> taken = new ArrayList<>(urgent.size() + bulk.size());
+        taken.addAll(urgent);
+        taken.addAll(bulk);
+        urgent.clear();
+        bulk.clear();
+        return taken;
+    }
+
+    /** Fails every queued job, e.g. when the printer was disconnected. */
+    public void failAll(IOException error) {
+        for (PrintJob job : takeAll()) {
+            job.complete(error);
+        }
+    }
+
+    private ArrayDeque<PrintJob> queue(PrintJob.Priority priority) {
+        return priority == PrintJob.Priority.URGENT ? urgent : bulk;
+    }
+
+    // Urgent first, unless bulk jobs have waited through URGENT_BATCHES_BEFORE_BULK urgent batches
+    private ArrayDeque<PrintJob> nextQueue() {
+        if (urgent.isEmpty()) {
+            urgentBatchesInARow = 0;
+            return bulk;
+        }
+        if (!bulk.isEmpty() && urgentBatchesInARow >= URGENT_BATCHES_BEFORE_BULK) {
+            urgentBatchesInARow = 0;
+            return bulk;
+        }
+        urgentBatchesInARow++;
+        return urgent;
+    }
+
+    // Moves the next jobs of one priority into batch, copying them into batchBuffer when there is
+    // more than one
+    private synchronized int takeBatch() {
+        ArrayDeque<PrintJob> jobs = nextQueue();
+        PrintJob first = jobs.poll();
+        if (first == null) {
+            return 0;
+        }
+        batch.offer(first);
+        int length = first.payload().length;
+        if (length >= batchBuffer.length) {
+            return length;
+        }
+
+        System.arraycopy(first.payload(), 0, batchBuffer, 0, length);
+        PrintJob next;
+        while ((next = jobs.peek()) != null && length + next.payload().length <= batchBuffer.length) {
+            jobs.poll();
+            System.arraycopy(next.payload(), 0, batchBuffer, length, next.payload().length);
+            length += next.payload().length;
+            batch.offer(next);
+        }
+        return length;
+    }
+}
@@ -0,0 +1,391 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of print jobs that were accepted but not yet reported to the caller, so a
+ * batch interrupted by the app being killed can be resumed.
+ *
+ * append() and complete() only encode a record into memory and may be called from any thread,
+ * including the main thread. {@link #sync()} writes the buffered records and fsyncs once, and is
+ * called by {@link PrintJobQueue} before every batch it writes and after each drain, so a job is
+ * on disk before it reaches the printer and its completion is on disk shortly after. Because
+ * records are only flushed at batch boundaries, thousands of jobs an hour cost one fsync per
+ * batch rather than two per job.
+ *
+ * Every record is: int32 body length, uint8 type, body, int32 CRC32 of type and body. ADD bodies
+ * are int64 id, uint8 priority, uint16 length and UTF-8 printer key, int32 payload length and the payload;
+ * DONE bodies are the int64 id. {@link #open()} replays the file, drops a torn record at the end
+ * and returns the jobs without a DONE record. The file is truncated whenever it holds no pending
+ * job, and rewritten with only the pending jobs if it grows past {@link #COMPACT_BYTES}.
+ *
+ * Jobs returned by open() are handed out once by {@link #takeRecovered(String)}, so connecting
+ * to a printer again while its jobs are queued does not queue them twice, and jobs appended in
+ * this run are never replayed by it.
+ *
+ * A crash after a batch was written to the printer but before the following sync can replay
+ * that batch once; the window is a single fsync long.
+ */
+public final class PrintSpool implements PrintJobQueue.Journal {
+    /** File size above which pending jobs are copied to a fresh file. */
+    public static final long COMPACT_BYTES = 4 * 1024 * 1024;
+
+    private static final long TRUNCATE_BYTES = 64 * 1024;
+    private static final int TYPE_ADD = 1;
+    private static final int TYPE_DONE = 2;
+    // Record overhead around the body: length, type and CRC
+    private static final int RECORD_OVERHEAD = 9;
+
+    /** A job recorded by append() and not yet completed. */
+    public static final class Entry {
+        public final long id;
+        public final String printerKey;
+        public final PrintJob.Priority priority;
+        public final byte[] payload;
+
+        Entry(long id, String printerKey, PrintJob.Priority priority, byte[] payload) {
+            this.id = id;
+            this.printerKey = printerKey;
+            this.priority = priority;
+            this.payload = payload;
+        }
+
+        int recordSize() {
+            return RECORD_OVERHEAD + 8 + 1 + 2 + printerKey.getBytes(StandardCharsets.UTF_8).length + 4 + payload.length;
+        }
+    }
+
+    private final File file;
+
+    // Guarded by this: records not yet written, and the jobs that are pending
+    private final ByteArrayOutputStream buffered = new ByteArrayOutputStream(16 * 1024);
+    private final DataOutputStream out = new DataOutputStream(buffered);
+    private final CRC32 crc = new CRC32();
+    private final Map<Long, Entry> pending = new LinkedHashMap<>();
+    // Pending jobs from an earlier run that are not queued for printing
+    private final Set<Long> recoveredIds = new HashSet<>();
+    private long nextId = 1;
+    private boolean opened;
+
+    // Guarded by fileLock, so the main thread never waits for the disk
+    private final Object fileLock = new Object();
+    private RandomAccessFile raf;
+    private FileChannel channel;
+    private long fileSize;
+    private volatile long syncFailures;
+
+    public PrintSpool(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the spool file, creating it if needed, and returns the jobs that were appended but
+     * never completed, oldest first. Jobs are only recorded once this has returned.
+     */
+    public List<Entry> open() throws IOException {
+        synchronized (fileLock) {
+            Map<Long, Entry> recovered = new LinkedHashMap<>();
+            long maxId = 0;
+            long validLength = 0;
+            if (file.exists()) {
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                    CRC32 check = new CRC32();
+                    while (true) {
+                        int length;
+                        try {
+                            length = in.readInt();
+                        } catch (EOFException e) {
+                            break;
+                        }
+                        if (length < 8 || validLength + RECORD_OVERHEAD + length > file.length()) {
+                            break;
+                        }
+                        byte[] record = new byte[1 + length];
+                        in.readFully(record);
+                        int expected = in.readInt();
+                        check.reset();
+                        check.update(record, 0, record.length);
+                        if ((int) check.getValue() != expected) {
+                            break;
+                        }
+                        ByteBuffer body = ByteBuffer.wrap(record, 1, length);
+                        long id = body.getLong();
+                        maxId = Math.max(maxId, id);
+                        if (record[0] == TYPE_ADD) {
+                            recovered.put(id, readAdd(id, body));
+                        } else if (record[0] == TYPE_DONE) {
+                            recovered.remove(id);
+                        }
+                        validLength += RECORD_OVERHEAD + length;
+                    }
+                }
+            }
+
+            raf = new RandomAccessFile(file, "rw");
+            channel = raf.getChannel();
+            fileSize = validLength;
+            if (recovered.isEmpty()) {
+                fileSize = 0;
+            }
+            // Drops a record torn by a crash, or everything if nothing is pending
+            if (channel.size() != fileSize) {
+                channel.truncate(fileSize);
+                channel.force(false);
+            }
+
+            synchronized (this) {
+                nextId = maxId + 1;
+                pending.putAll(recovered);
+                recoveredIds.addAll(recovered.keySet());
+                opened = true;
+            }
+            return new ArrayList<>(recovered.values());
+        }
+    }
+
+    /**
+     * Records a job for printerKey and returns its id for {@link #complete(long)}, or 0 if the
+     * spool is not open and the job was not recorded.
+     */
+    public synchronized long append(String printerKey, PrintJob.Priority priority, byte[] payload) {
+        if (!opened) {
+            return 0;
+        }
+        Entry entry = new Entry(nextId++, printerKey != null ? printerKey : "", priority, payload);
+        pending.put(entry.id, entry);
+        try {
+            writeAdd(entry);
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw
+            throw new IllegalStateException(e);
+        }
+        return entry.id;
+    }
+
+    /** Records that the caller was told the outcome of a job, so it is not replayed. */
+    public synchronized void complete(long id) {
+        if (pending.remove(id) == null) {
+            return;
+        }
+        recoveredIds.remove(id);
+        crc.reset();
+        crc.update(TYPE_DONE);
+        try {
+            out.writeInt(8);
+            out.writeByte(TYPE_DONE);
+            out.writeLong(id);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                crc.update((int) (id >>> shift));
+            }
+            out.writeInt((int) crc.getValue());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    /** Completes every pending job so none is replayed. Returns how many there were. */
+    public synchronized int discardPending() {
+        List<Long> ids = new ArrayList<>(pending.keySet());
+        for (long id : ids) {
+            complete(id);
+        }
+        return ids.size();
+    }
+
+    /** Pending jobs that were recorded for printerKey, oldest first. */
+    public synchronized List<Entry> pendingFor(String printerKey) {
+        List<Entry> entries = new ArrayList<>();
+        for (Entry entry : pending.values()) {
+            if (entry.printerKey.equals(printerKey)) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Pending jobs from an earlier run that were recorded for printerKey, oldest first, and not
+     * taken since. Each is returned once; pass a job that could not be printed to
+     * {@link #returnRecovered(long)} to take it again later.
+     */
+    public synchronized List<Entry> takeRecovered(String printerKey) {
+        List<Entry> entries = new ArrayList<>();
+        for (Entry entry : pending.values()) {
+            if (entry.printerKey.equals(printerKey) && recoveredIds.remove(entry.id)) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /** Makes a job taken by takeRecovered() available to it again, unless it was completed. */
+    public synchronized void returnRecovered(long id) {
+        if (pending.containsKey(id)) {
+            recoveredIds.add(id);
+        }
+    }
+
+    /** Syncs that failed to write or fsync, see {@link #sync()}. */
+    public long syncFailures() {
+        return syncFailures;
+    }
+
+    /**
+     * Writes buffered records and fsyncs. Does nothing before open() or after close(). A failing
+     * disk is counted in {@link #syncFailures()} but never stops printing.
+     */
+    @Override
+    public void sync() {
+        synchronized (fileLock) {
+            if (channel == null) {
+                return;
+            }
+            byte[] records;
+            boolean idle;
+            synchronized (this) {
+                records = buffered.toByteArray();
+                buffered.reset();
+                idle = pending.isEmpty();
+            }
+            try {
+                if (idle && fileSize + records.length > TRUNCATE_BYTES) {
+                    // Every job in the file has completed, so none of it is needed any more
+                    channel.truncate(0);
+                    fileSize = 0;
+                    channel.force(false);
+                    return;
+                }
+                if (records.length > 0) {
+                    ByteBuffer buffer = ByteBuffer.wrap(records);
+                    while (buffer.hasRemaining()) {
+                        fileSize += channel.write(buffer, fileSize);
+                    }
+                    channel.force(false);
+                }
+                if (fileSize > COMPACT_BYTES) {
+                    compact();
+                }
+            } catch (IOException e) {
+                syncFailures++;
+            }
+        }
+    }
+
+    /** Syncs and closes the file. Jobs still pending are replayed by the next open(). */
+    public void close() {
+        synchronized (fileLock) {
+            sync();
+            if (raf != null) {
+                try {
+                    raf.close();
+                } catch (IOException e) {
+                    // Nothing left to flush
+                }
+            }
+            raf = null;
+            channel = null;
+            synchronized (this) {
+                opened = false;
+                pending.clear();
+                recoveredIds.clear();
+                buffered.reset();
+            }
+        }
+    }
+
+    // Rewrites only the pending jobs into a new file and swaps it in. Holds fileLock
+    private void compact() throws IOException {
+        // Jobs appended since records were taken are copied too; their buffered ADD is written
+        // again by the next sync, which replays as the same job
+        List<Entry> live;
+        long liveBytes = 0;
+        synchronized (this) {
+            live = new ArrayList<>(pending.values());
+        }
+        for (Entry entry : live) {
+            liveBytes += entry.recordSize();
+        }
+        if (liveBytes * 2 > fileSize) {
+            return;
+        }
+
+        File compacted = new File(file.getPath() + ".compact");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) Math.min(liveBytes, Integer.MAX_VALUE));
+        DataOutputStream data = new DataOutputStream(bytes);
+        for (Entry entry : live) {
+            writeAdd(data, entry);
+        }
+        try (RandomAccessFile target = new RandomAccessFile(compacted, "rw")) {
+            target.setLength(0);
+            target.write(bytes.toByteArray());
+            target.getFD().sync();
+        }
+        raf.close();
+        if (!compacted.renameTo(file)) {
+            raf = new RandomAccessFile(file, "rw");
+            channel = raf.getChannel();
+            throw new IOException("Could not replace " + file);
+        }
+        raf = new RandomAccessFile(file, "rw");
+        channel = raf.getChannel();
+        fileSize = channel.size();
+    }
+
+    private void writeAdd(Entry entry) throws IOException {
+        writeAdd(out, entry);
+    }
+
+    private void writeAdd(DataOutputStream target, Entry entry) throws IOException {
+        byte[] key = entry.printerKey.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(1 + 8 + 1 + 2 + key.length + 4);
+        header.put((byte) TYPE_ADD);
+        header.putLong(entry.id);
+        header.put((byte) entry.priority.ordinal());
+        header.putShort((short) key.length);
+        header.put(key);
+        header.putInt(entry.payload.length);
+
+        CRC32 check = target == out ? crc : new CRC32();
+        check.reset();
+        check.update(header.array(), 0, header.capacity());
+        check.update(entry.payload, 0, entry.payload.length);
+
+        target.writeInt(header.capacity() - 1 + entry.payload.length);
+        target.write(header.array(), 0, header.capacity());
+        target.write(entry.payload, 0, entry.payload.length);
+        target.writeInt((int) check.getValue());
+    }
+
+    private static Entry readAdd(long id, ByteBuffer body) {
+        int priority = body.get();
+        byte[] key = new byte[body.getShort() & 0xFFFF];
+        body.get(key);
+        byte[] payload = new byte[body.getInt()];
+        body.get(payload);
+        PrintJob.Priority[] priorities = PrintJob.Priority.values();
+        return new Entry(id, new String(key, StandardCharsets.UTF_8),
+            priority >= 0 && priority < priorities.length ? priorities[priority] : PrintJob.Priority.BULK, payload);
+    }
+}
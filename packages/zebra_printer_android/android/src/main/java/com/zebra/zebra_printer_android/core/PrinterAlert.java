@@ -0,0 +1,87 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * An alert a Link-OS printer pushed over the connection, e.g. "ALERT: PAPER OUT".
+ *
+ * The printer sends one when an alerts.add condition with the SDK destination is set or cleared.
+ * Messages are plain text lines naming the condition, and mention "CLEARED" when the condition
+ * went away, so parse() matches on the condition names instead of a fixed layout.
+ */
+public final class PrinterAlert {
+    /** Alert conditions the plugin subscribes to, with the status flag each one sets. */
+    public enum Condition {
+        PAPER_OUT("paperOut", "PAPER OUT", StatusFlags.PAPER_OUT),
+        RIBBON_OUT("ribbonOut", "RIBBON OUT", StatusFlags.RIBBON_OUT),
+        HEAD_OPEN("headOpen", "HEAD OPEN", StatusFlags.HEAD_OPEN),
+        HEAD_TOO_HOT("headTooHot", "HEAD TOO HOT", StatusFlags.HEAD_TOO_HOT),
+        HEAD_COLD("headCold", "HEAD COLD", 0),
+        PAUSED("paused", "PRINTER PAUSED", StatusFlags.PAUSED),
+        MEDIA_LOW("mediaLow", "MEDIA LOW", 0),
+        RIBBON_LOW("ribbonLow", "RIBBON LOW", 0),
+        BATTERY_LOW("batteryLow", "BATTERY LOW", 0),
+        CUTTER_JAMMED("cutterJammed", "CUTTER JAMMED", 0);
+
+        /** Name on the method channel, matching ZebraAlertCondition in Dart. */
+        public final String dartName;
+        /** Name in alerts.add and in the alert messages. */
+        public final String linkOsName;
+        public final int flag;
+
+        Condition(String dartName, String linkOsName, int flag) {
+            this.dartName = dartName;
+            this.linkOsName = linkOsName;
+            this.flag = flag;
+        }
+
+        /** The condition with the given Dart name, or null. */
+        public static Condition fromDartName(String name) {
+            for (Condition condition : values()) {
+                if (condition.dartName.equals(name)) {
+                    return condition;
+                }
+            }
+            return null;
+        }
+
+        /** alerts.add value sending this condition, set and cleared, to the connection. */
+        public String addValue() {
+            return linkOsName + ",SDK,Y,Y,,0,N,";
+        }
+
+        /** alerts.remove value for the subscription made by addValue(). */
+        public String removeValue() {
+            return linkOsName + ",SDK";
+        }
+    }
+
+    public final Condition condition;
+    public final boolean cleared;
+    public final String message;
+
+    private PrinterAlert(Condition condition, boolean cleared, String message) {
+        this.condition = condition;
+        this.cleared = cleared;
+        this.message = message;
+    }
+
+    /** The alert in a line of printer output, or null if the line is not one. */
+    public static PrinterAlert parse(byte[] line) {
+        String message = new String(line, StandardCharsets.UTF_8).trim();
+        String upper = message.toUpperCase(Locale.ROOT);
+        for (Condition condition : Condition.values()) {
+            if (upper.contains(condition.linkOsName)) {
+                return new PrinterAlert(condition, upper.contains("CLEAR"), message);
+            }
+        }
+        return null;
+    }
+
+    /** flags with this alert's condition set or cleared. */
+    public int apply(int flags) {
+        flags = cleared ? flags & ~condition.flag : flags | condition.flag;
+        return StatusFlags.withReady(flags);
+    }
+}
@@ -0,0 +1,277 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Several printers fed from one submission point.
+ *
+ * Every member has its own {@link PrintJobQueue}, drained on the member's own executor. A
+ * submitted job goes to the healthy member with the fewest queued jobs, so a slow or busy
+ * printer receives less work. When a write fails, or a member is reported unhealthy (offline,
+ * paper out, head open, paused), the jobs queued for it move to the other members. A job from a
+ * failed batch may have been partly printed, so failover can print a label twice but never drops
+ * one silently.
+ */
+public final class PrinterGroup {
+    private final String id;
+    private final int capacityPerMember;
+    private final int maxBatchBytes;
+    private final List<Member> members = new CopyOnWriteArrayList<>();
+    private final AtomicInteger nextMember = new AtomicInteger();
+
+    /**
+     * @param capacityPerMember maximum jobs queued for one printer
+     * @param maxBatchBytes     largest write built from several jobs, see {@link PrintJobQueue}
+     */
+    public PrinterGroup(String id, int capacityPerMember, int maxBatchBytes) {
+        this.id = id;
+        this.capacityPerMember = capacityPerMember;
+        this.maxBatchBytes = maxBatchBytes;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    /** Adds a printer. executor must run one task at a time, like the plugin's per-printer queues. */
+    public Member add(String key, PrinterTransport transport, Executor executor) {
+        Member member = new Member(key, transport, executor);
+        members.add(member);
+        return member;
+    }
+
+    public Member member(String key) {
+        for (Member member : members) {
+            if (member.key.equals(key)) {
+                return member;
+            }
+        }
+        return null;
+    }
+
+    public List<Member> members() {
+        return members;
+    }
+
+    /**
+     * Queues a job on the least loaded healthy member. Returns false if no member is healthy or
+     * every healthy member's queue is full.
+     */
+    public boolean submit(byte[] payload, PrintJob.Callback callback) {
+        return submit(payload, PrintJob.Priority.BULK, callback);
+    }
+
+    /** Like submit(payload, callback), with urgent jobs written ahead of each member's bulk jobs. */
+    public boolean submit(byte[] payload, PrintJob.Priority priority, PrintJob.Callback callback) {
+        final long submittedAt = System.nanoTime();
+        PrintJob job = new PrintJob(payload, priority, (completed, error) -> {
+            Member member = completed.member;
+            if (member != null && error == null) {
+                member.recordPrinted(completed.payload().length, submittedAt);
+            }
+            if (callback != null) {
+                callback.onComplete(completed, error);
+            }
+        });
+        return dispatch(job, null);
+    }
+
+    /** Whether any member can currently take jobs. */
+    public boolean hasHealthyMember() {
+        for (Member member : members) {
+            if (member.healthy) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Fails every queued job, e.g. when the group is removed. */
+    public void close(IOException error) {
+        for (Member member : members) {
+            member.healthy = false;
+            member.queue.failAll(error);
+        }
+    }
+
+    /** Per-member queue depth, health and throughput for Dart. */
+    public Map<String, Object> snapshot() {
+        List<Map<String, Object>> memberStats = new ArrayList<>();
+        long printed = 0;
+        for (Member member : members) {
+            memberStats.add(member.toMap());
+            printed += member.jobsPrinted.get();
+        }
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("groupId", id);
+        snapshot.put("jobsPrinted", printed);
+        snapshot.put("members", memberStats);
+        return snapshot;
+    }
+
+    private boolean dispatch(PrintJob job, Member exclude) {
+        int count = members.size();
+        if (job.attempts >= count) {
+            return false;
+        }
+        // Try members from least to most loaded until one accepts, starting the scan at a
+        // rotating index so equally loaded printers share the work
+        int start = Math.floorMod(nextMember.getAndIncrement(), Math.max(1, count));
+        while (true) {
+            Member best = null;
+            int bestDepth = Integer.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                Member member = members.get((start + i) % count);
+                if (member == exclude || !member.healthy) {
+                    continue;
+                }
+                int depth = member.queue.size();
+                if (depth < bestDepth && depth < capacityPerMember) {
+                    best = member;
+                    bestDepth = depth;
+                }
+            }
+            if (best == null) {
+                return false;
+            }
+            job.attempts++;
+            job.member = best;
+            if (best.queue.offer(job)) {
+                best.scheduleDrain();
+                return true;
+            }
+            job.attempts--;
+        }
+    }
+
+    /** One printer in the group. */
+    public final class Member {
+        private final String key;
+        private final PrinterTransport transport;
+        private final Executor executor;
+        private final PrintJobQueue queue;
+        private final AtomicBoolean drainScheduled = new AtomicBoolean();
+        private volatile boolean healthy = true;
+        private volatile int statusFlags = StatusFlags.ONLINE | StatusFlags.READY;
+
+        private final AtomicLong jobsPrinted = new AtomicLong();
+        private final AtomicLong bytesPrinted = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong jobsMovedAway = new AtomicLong();
+        private final LatencyHistogram jobLatency = new LatencyHistogram();
+        private volatile long firstPrintedNanos;
+        private volatile long lastPrintedNanos;
+
+        // Called by the queue when a write fails: the printer stops taking jobs until a status
+        // poll reports it ready again, and its jobs go to the others
+        private final PrintJobQueue.Failover failover = job -> {
+            if (healthy) {
+                healthy = false;
+                failures.incrementAndGet();
+            }
+            jobsMovedAway.incrementAndGet();
+            return dispatch(job, this);
+        };
+
+        private Member(String key, PrinterTransport transport, Executor executor) {
+            this.key = key;
+            this.transport = transport;
+            this.executor = executor;
+            this.queue = new PrintJobQueue(capacityPerMember, maxBatchBytes);
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public int queueDepth() {
+            return queue.size();
+        }
+
+        /**
+         * Updates the member from a status poll. A printer that cannot print hands its queued
+         * jobs to the others; one that is ready again starts receiving new jobs.
+         */
+        public void updateStatus(int flags) {
+            statusFlags = flags;
+            boolean canPrint = (flags & StatusFlags.ONLINE) != 0
+                && (flags & (StatusFlags.PAPER_OUT | StatusFlags.HEAD_OPEN | StatusFlags.PAUSED
+                    | StatusFlags.RIBBON_OUT | StatusFlags.HEAD_TOO_HOT)) == 0;
+            if (canPrint) {
+                healthy = true;
+            } else if (healthy) {
+                markUnhealthy();
+            }
+        }
+
+        private void markUnhealthy() {
+            healthy = false;
+            for (PrintJob job : queue.takeAll()) {
+                jobsMovedAway.incrementAndGet();
+                if (!dispatch(job, this)) {
+                    job.complete(new IOException("No printer in group " + id + " can take the job"));
+                }
+            }
+        }
+
+        private void scheduleDrain() {
+            if (!drainScheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                drainScheduled.set(false);
+                failures.incrementAndGet();
+                markUnhealthy();
+            }
+        }
+
+        private void drain() {
+            // Cleared first, so a job offered while draining schedules another pass
+            drainScheduled.set(false);
+            queue.drainTo(transport, failover);
+        }
+
+        private void recordPrinted(int bytes, long submittedAt) {
+            long now = System.nanoTime();
+            if (jobsPrinted.getAndIncrement() == 0) {
+                firstPrintedNanos = now;
+            }
+            lastPrintedNanos = now;
+            bytesPrinted.addAndGet(bytes);
+            jobLatency.recordNanos(now - submittedAt);
+        }
+
+        Map<String, Object> toMap() {
+            long printed = jobsPrinted.get();
+            long elapsed = lastPrintedNanos - firstPrintedNanos;
+            Map<String, Object> map = new HashMap<>();
+            map.put("key", key);
+            map.put("healthy", healthy);
+            map.put("status", StatusFlags.describe(statusFlags));
+            map.put("queueDepth", queue.size());
+            map.put("jobsPrinted", printed);
+            map.put("bytesPrinted", bytesPrinted.get());
+            map.put("failures", failures.get());
+            map.put("jobsMovedAway", jobsMovedAway.get());
+            map.put("jobsPerSecond", printed > 1 && elapsed > 0 ? (printed - 1) * 1_000_000_000.0 / elapsed : 0.0);
+            map.put("jobLatency", jobLatency.toMap());
+            return map;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Byte pipe to a printer.
+ *
+ * The core package only talks to printers through this interface so it runs on a plain JVM,
+ * without Android or the Zebra SDK. The plugin adapts its Zebra Connection to it.
+ */
+public interface PrinterTransport {
+    void write(byte[] data, int offset, int length) throws IOException;
+
+    /** Copies whatever the printer has sent so far into out, without waiting for more. */
+    void read(OutputStream out) throws IOException;
+
+    /**
+     * Blocks until the printer has sent something that read() has not taken yet, or timeoutMs
+     * passes. Returns whether there is something to read.
+     */
+    boolean awaitData(long timeoutMs) throws IOException, InterruptedException;
+}
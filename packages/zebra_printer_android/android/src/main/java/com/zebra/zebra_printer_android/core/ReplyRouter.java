@@ -0,0 +1,414 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Matches what a printer sends back to the requests that asked for it.
+ *
+ * Everything read from the transport goes into a {@link ByteRing} and is cut into frames: a
+ * quoted SGD value, an STX...ETX framed status line (~HS, ~HQES), a JSON object (SGD JSON
+ * replies) or a plain text line. A printer answers requests in the order it received them, so
+ * each complete frame goes to the oldest pending request that expects that kind of frame, and
+ * frames nobody asked for, such as alerts, go to the unsolicited listener instead of into the
+ * next reply.
+ *
+ * Several requests can be written before any reply is read, and any thread may call pump() or
+ * await(); reads and writes are serialized on the router. A thread in await() blocks in the
+ * transport's awaitData() until bytes arrive, without holding the router, and routes them; other
+ * waiting threads sleep until a routed reply wakes them. A request that times out keeps its place
+ * for ABANDON_GRACE_MS so its late reply is still recognised as stale and dropped.
+ *
+ * Code that has to read the connection some other way, such as a Zebra SDK status query, runs
+ * inside readDirectly() so the router does not read at the same time.
+ *
+ * Requests are pooled: a reply is copied into its request's reusable buffer, read from there
+ * and the request handed back with release(), so a steady stream of queries allocates nothing.
+ */
+public final class ReplyRouter {
+    private static final byte STX = 0x02;
+    private static final byte ETX = 0x03;
+    private static final long ABANDON_GRACE_MS = 2000;
+    private static final int INITIAL_REPLY_CAPACITY = 64;
+
+    /** Kinds of frame in the printer's output. */
+    public enum Frame {
+        QUOTED, FRAMED, JSON, LINE
+    }
+
+    /** What a request expects back. */
+    public enum Reply {
+        /** SGD getvar: one quoted value. */
+        SGD(Frame.QUOTED, 1),
+        /** ~HS: three framed status lines. */
+        HOST_STATUS(Frame.FRAMED, 3),
+        /** ~HQES and the other ~HQ queries: one framed block. */
+        HOST_QUERY(Frame.FRAMED, 1),
+        /** SGD in JSON form: one object. */
+        JSON(Frame.JSON, 1);
+
+        final Frame frame;
+        final int frames;
+
+        Reply(Frame frame, int frames) {
+            this.frame = frame;
+            this.frames = frames;
+        }
+    }
+
+    /** Reads the connection without the router, see readDirectly(). */
+    public interface DirectRead<T> {
+        T read() throws Exception;
+    }
+
+    /** Receives frames no request was waiting for. Called with the router locked, so keep it short. */
+    public interface UnsolicitedListener {
+        void onUnsolicited(Frame frame, byte[] data);
+    }
+
+    /**
+     * A request written to the printer. Once await() returns, data() holds the reply until the
+     * request is given back with release(). A request that timed out is recycled by the router.
+     */
+    public static final class Request {
+        private static final int FREE = 0;
+        private static final int PENDING = 1;
+        private static final int DONE = 2;
+        private static final int FAILED = 3;
+        private static final int ABANDONED = 4;
+
+        private Reply reply;
+        private int state = FREE;
+        private int frames;
+        private long abandonedUntil;
+        private String failure;
+        private byte[] data = new byte[INITIAL_REPLY_CAPACITY];
+        private int length;
+
+        /** The reply's bytes, from 0 to length(). */
+        public byte[] data() {
+            return data;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        private void append(ByteRing ring, long from, long to) {
+            int count = (int) (to - from);
+            if (length + count > data.length) {
+                data = Arrays.copyOf(data, Math.max(length + count, data.length * 2));
+            }
+            ring.copyTo(from, to, data, length);
+            length += count;
+        }
+    }
+
+    private final PrinterTransport transport;
+    private final ByteRing ring;
+    private final UnsolicitedListener listener;
+    // Oldest first. A list rather than a deque so routing can scan it without an iterator
+    private final ArrayList<Request> pending = new ArrayList<>();
+    private final ArrayDeque<Request> free = new ArrayDeque<>();
+    private long unsolicitedFrames;
+    private String closeReason;
+    // A thread in await() is blocked in transport.awaitData(), so nothing else reads the transport
+    private boolean reading;
+
+    public ReplyRouter(PrinterTransport transport, int capacity, UnsolicitedListener listener) {
+        this.transport = transport;
+        this.ring = new ByteRing(capacity);
+        this.listener = listener;
+    }
+
+    /** Writes command and returns the request its reply will complete, by pump() or await(). */
+    public Request request(byte[] command, Reply reply) throws IOException {
+        return request(command, 0, command.length, reply);
+    }
+
+    /** Like request(command, reply) for part of a buffer, which can be reused once this returns. */
+    public synchronized Request request(byte[] command, int offset, int length, Reply reply) throws IOException {
+        checkOpen();
+        // Whatever is already buffered was sent before this request, so it cannot be its reply
+        pump();
+        Request request = free.poll();
+        if (request == null) {
+            request = new Request();
+        }
+        request.reply = reply;
+        request.state = Request.PENDING;
+        request.frames = 0;
+        request.length = 0;
+        request.failure = null;
+        pending.add(request);
+        try {
+            transport.write(command, offset, length);
+        } catch (IOException e) {
+            pending.remove(request);
+            recycle(request);
+            throw e;
+        }
+        return request;
+    }
+
+    /** Writes data that gets no reply, e.g. setvar, in order with the requests. */
+    public synchronized void send(byte[] data, int offset, int length) throws IOException {
+        checkOpen();
+        transport.write(data, offset, length);
+    }
+
+    /**
+     * Reads whatever has arrived and routes the complete frames. Returns the number of bytes read,
+     * which is 0 while a thread in await() is reading instead.
+     */
+    public synchronized int pump() throws IOException {
+        checkOpen();
+        if (reading) {
+            return 0;
+        }
+        long before = ring.tail();
+        transport.read(ring);
+        route();
+        return (int) (ring.tail() - before);
+    }
+
+    /**
+     * Waits up to timeoutMs for the reply to request, reading the transport meanwhile, so it works
+     * on the connection's own thread. A request that times out is abandoned and must not be used
+     * again; one that failed because the router closed is released.
+     */
+    public void await(Request request, long timeoutMs)
+            throws IOException, InterruptedException, TimeoutException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (true) {
+            long remaining;
+            synchronized (this) {
+                while (true) {
+                    if (request.state == Request.PENDING) {
+                        pump();
+                    }
+                    if (request.state == Request.DONE) {
+                        return;
+                    }
+                    if (request.state == Request.FAILED) {
+                        String failure = request.failure;
+                        recycle(request);
+                        throw new IOException(failure);
+                    }
+                    remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        abandon(request);
+                        throw new TimeoutException("No reply within " + timeoutMs + " ms");
+                    }
+                    if (!reading) {
+                        reading = true;
+                        break;
+                    }
+                    // Another thread is reading and wakes everyone once it has routed what arrived
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+            }
+            try {
+                transport.awaitData(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining)));
+            } finally {
+                synchronized (this) {
+                    reading = false;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs read, which reads the connection itself, e.g. a Zebra SDK query, with the router kept
+     * off the transport. Whatever already arrived is routed first, so the read only sees its own
+     * reply. Requests should not be pending, or the read may take their replies.
+     */
+    public synchronized <T> T readDirectly(DirectRead<T> read) throws Exception {
+        // Holding the router keeps another reader from starting once this one is done
+        while (reading) {
+            wait();
+        }
+        pump();
+        return read.read();
+    }
+
+    /**
+     * Hands a request back once its reply has been read. A request still waiting for its reply is
+     * abandoned, as if it had timed out, so its late reply is dropped.
+     */
+    public synchronized void release(Request request) {
+        if (request.state == Request.DONE || request.state == Request.FAILED) {
+            recycle(request);
+        } else if (request.state == Request.PENDING) {
+            abandon(request);
+        }
+    }
+
+    /** Fails pending and later requests with reason, e.g. when the connection closes. */
+    public synchronized void close(String reason) {
+        if (closeReason != null) {
+            return;
+        }
+        closeReason = reason;
+        for (int i = 0; i < pending.size(); i++) {
+            Request request = pending.get(i);
+            if (request.state == Request.ABANDONED) {
+                recycle(request);
+            } else {
+                request.state = Request.FAILED;
+                request.failure = reason;
+            }
+        }
+        pending.clear();
+        notifyAll();
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    public synchronized long unsolicitedFrames() {
+        return unsolicitedFrames;
+    }
+
+    /** Bytes the ring dropped because nothing consumed them in time. */
+    public synchronized long droppedBytes() {
+        return ring.dropped();
+    }
+
+    private void recycle(Request request) {
+        request.state = Request.FREE;
+        request.reply = null;
+        free.push(request);
+    }
+
+    private void checkOpen() throws IOException {
+        if (closeReason != null) {
+            throw new IOException(closeReason);
+        }
+    }
+
+    // Cuts complete frames off the front of the ring; an incomplete one waits for more bytes
+    private void route() {
+        dropExpired();
+        long position = ring.head();
+        long tail = ring.tail();
+        while (position < tail) {
+            byte b = ring.get(position);
+            if (b == 0 || b == ' ' || b == '\r' || b == '\n' || b == '\t') {
+                position++;
+                continue;
+            }
+            Frame frame;
+            long end;
+            if (b == STX) {
+                frame = Frame.FRAMED;
+                end = ring.indexOf(ETX, position + 1);
+                end = end < 0 ? -1 : end + 1;
+            } else if (b == '"') {
+                frame = Frame.QUOTED;
+                end = ring.indexOf((byte) '"', position + 1);
+                end = end < 0 ? -1 : end + 1;
+            } else if (b == '{') {
+                frame = Frame.JSON;
+                end = jsonEnd(position, tail);
+            } else {
+                frame = Frame.LINE;
+                end = lineEnd(position, tail);
+            }
+            if (end < 0) {
+                break;
+            }
+            deliver(frame, position, end);
+            position = end;
+        }
+        ring.consume(position);
+    }
+
+    private void deliver(Frame frame, long from, long to) {
+        Request request = null;
+        int index = 0;
+        for (; index < pending.size(); index++) {
+            if (pending.get(index).reply.frame == frame) {
+                request = pending.get(index);
+                break;
+            }
+        }
+        if (request == null) {
+            unsolicitedFrames++;
+            listener.onUnsolicited(frame, ring.copy(from, to));
+            return;
+        }
+        if (request.state == Request.ABANDONED) {
+            // The late reply to a request that timed out; only its remaining frames are stale
+            if (++request.frames == request.reply.frames) {
+                pending.remove(index);
+                recycle(request);
+            }
+            return;
+        }
+        request.append(ring, from, to);
+        if (++request.frames == request.reply.frames) {
+            pending.remove(index);
+            request.state = Request.DONE;
+            notifyAll();
+        }
+    }
+
+    // Keeps the request in pending for a grace period so it takes its late reply, if any
+    private void abandon(Request request) {
+        request.state = Request.ABANDONED;
+        request.abandonedUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ABANDON_GRACE_MS);
+    }
+
+    // Abandoned requests whose reply never came stop claiming frames
+    private void dropExpired() {
+        long now = System.nanoTime();
+        for (int i = pending.size() - 1; i >= 0; i--) {
+            Request request = pending.get(i);
+            if (request.state == Request.ABANDONED && now - request.abandonedUntil > 0) {
+                pending.remove(i);
+                recycle(request);
+            }
+        }
+    }
+
+    // End of the object starting at from, skipping braces inside strings, or -1 if incomplete
+    private long jsonEnd(long from, long tail) {
+        int depth = 0;
+        boolean inString = false;
+        for (long position = from; position < tail; position++) {
+            byte b = ring.get(position);
+            if (inString) {
+                if (b == '\\') {
+                    position++;
+                } else if (b == '"') {
+                    inString = false;
+                }
+            } else if (b == '"') {
+                inString = true;
+            } else if (b == '{') {
+                depth++;
+            } else if (b == '}' && --depth == 0) {
+                return position + 1;
+            }
+        }
+        return -1;
+    }
+
+    // A line ends at a line break, or where a framed reply starts
+    private long lineEnd(long from, long tail) {
+        for (long position = from; position < tail; position++) {
+            byte b = ring.get(position);
+            if (b == '\r' || b == '\n' || b == STX) {
+                return position;
+            }
+        }
+        return -1;
+    }
+}
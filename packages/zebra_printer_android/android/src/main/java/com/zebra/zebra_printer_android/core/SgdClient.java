@@ -0,0 +1,174 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * SGD (Set-Get-Do) requests over a {@link ReplyRouter}, using the same ! U1 getvar/setvar
+ * syntax as the iOS plugin.
+ *
+ * Printers answer getvar without a terminator, but the value is quoted, so the router knows when
+ * it is complete and a get returns as soon as the reply is in instead of after a fixed delay.
+ * Several getvars can be written before the first reply is read. Commands are built in one
+ * reused buffer and replies parsed where the router left them by one reused {@link SgdResponse},
+ * so getLong() allocates nothing; keep a client per connection and use it from one thread at a time.
+ */
+public final class SgdClient {
+    private static final byte[] GETVAR = "! U1 getvar \"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SETVAR = "! U1 setvar \"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SEPARATOR = "\" \"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] END = "\"\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final ReplyRouter router;
+    private final SgdResponse response = new SgdResponse();
+    private byte[] command = new byte[128];
+    private int commandLength;
+    private ReplyRouter.Request[] requests = new ReplyRouter.Request[8];
+
+    public SgdClient(ReplyRouter router) {
+        this.router = router;
+    }
+
+    public static byte[] getvarCommand(String parameter) {
+        return ("! U1 getvar \"" + parameter + "\"\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static byte[] setvarCommand(String parameter, String value) {
+        return ("! U1 setvar \"" + parameter + "\" \"" + value + "\"\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    public void sendSet(String parameter, String value) throws IOException {
+        commandLength = 0;
+        appendSetvar(parameter, value);
+        router.send(command, 0, commandLength);
+    }
+
+    /** Writes a setvar for every entry in one write, in the map's order. */
+    public void sendSets(Map<String, String> values) throws IOException {
+        commandLength = 0;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            appendSetvar(entry.getKey(), entry.getValue());
+        }
+        router.send(command, 0, commandLength);
+    }
+
+    /** getvar round trip. Returns null when the printer sent no value within timeoutMs. */
+    public String get(String parameter, long timeoutMs) throws IOException, InterruptedException {
+        String[] values = get(new String[] {parameter}, timeoutMs);
+        return values[0];
+    }
+
+    /**
+     * getvar round trip for a numeric parameter, without allocating. Returns defaultValue when the
+     * printer sent no value within timeoutMs or the value is not a decimal integer.
+     */
+    public long getLong(String parameter, long defaultValue, long timeoutMs)
+            throws IOException, InterruptedException {
+        commandLength = 0;
+        appendGetvar(parameter);
+        ReplyRouter.Request request = router.request(command, 0, commandLength, ReplyRouter.Reply.SGD);
+        try {
+            router.await(request, timeoutMs);
+        } catch (TimeoutException e) {
+            return defaultValue;
+        }
+        try {
+            response.wrap(request.data(), request.length());
+            return response.parse() > 0 ? response.valueAsLong(0, defaultValue) : defaultValue;
+        } finally {
+            response.clear();
+            router.release(request);
+        }
+    }
+
+    /**
+     * Writes a getvar for every parameter, then collects the replies, so the round trips overlap.
+     * A value is null if the printer sent none before timeoutMs ran out.
+     */
+    public String[] get(String[] parameters, long timeoutMs) throws IOException, InterruptedException {
+        if (parameters.length > requests.length) {
+            requests = Arrays.copyOf(requests, Math.max(parameters.length, requests.length * 2));
+        }
+        String[] values = new String[parameters.length];
+        try {
+            for (int i = 0; i < parameters.length; i++) {
+                commandLength = 0;
+                appendGetvar(parameters[i]);
+                requests[i] = router.request(command, 0, commandLength, ReplyRouter.Reply.SGD);
+            }
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            for (int i = 0; i < parameters.length; i++) {
+                long remainingMs = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+                ReplyRouter.Request request = requests[i];
+                try {
+                    router.await(request, remainingMs);
+                } catch (TimeoutException e) {
+                    // The router recycles a request that timed out, or failed
+                    requests[i] = null;
+                    continue;
+                } catch (IOException e) {
+                    requests[i] = null;
+                    throw e;
+                }
+                response.wrap(request.data(), request.length());
+                if (response.parse() > 0 && response.valueLength(0) > 0) {
+                    values[i] = response.value(0);
+                }
+            }
+        } finally {
+            // Requests still pending, e.g. after a failed write, are abandoned by release()
+            response.clear();
+            for (int i = 0; i < parameters.length; i++) {
+                if (requests[i] != null) {
+                    router.release(requests[i]);
+                    requests[i] = null;
+                }
+            }
+        }
+        return values;
+    }
+
+    private void appendGetvar(String parameter) {
+        append(GETVAR);
+        append(parameter);
+        append(END);
+    }
+
+    private void appendSetvar(String parameter, String value) {
+        append(SETVAR);
+        append(parameter);
+        append(SEPARATOR);
+        append(value);
+        append(END);
+    }
+
+    private void append(byte[] bytes) {
+        ensureCapacity(commandLength + bytes.length);
+        System.arraycopy(bytes, 0, command, commandLength, bytes.length);
+        commandLength += bytes.length;
+    }
+
+    // Parameter names are ASCII, so encode in place and only fall back to getBytes for anything else
+    private void append(String text) {
+        int count = text.length();
+        ensureCapacity(commandLength + count);
+        for (int i = 0; i < count; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                append(text.substring(i).getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            command[commandLength++] = (byte) c;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > command.length) {
+            command = Arrays.copyOf(command, Math.max(capacity, command.length * 2));
+        }
+    }
+}
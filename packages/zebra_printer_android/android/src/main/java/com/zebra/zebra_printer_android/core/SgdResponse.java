@@ -0,0 +1,187 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reusable receive buffer for SGD replies, parsed in place.
+ *
+ * A getvar reply is the value in double quotes, followed by NULs or a line break on some firmware;
+ * several getvars sent together come back as consecutive quoted values. parse() records where
+ * each value starts and ends without copying, so polling the same parameters allocates nothing
+ * until a value is turned into a String. A reply without quotes counts as one value, with
+ * surrounding whitespace and NULs removed.
+ *
+ * A reply can be written in, or wrapped where it already is with wrap(), e.g. in the buffer of a
+ * {@link ReplyRouter.Request}; a wrapped reply is only valid while that buffer is.
+ *
+ * One instance belongs to one connection and is not thread safe.
+ */
+public final class SgdResponse extends OutputStream {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private byte[] own = new byte[INITIAL_CAPACITY];
+    // own, or the buffer passed to wrap()
+    private byte[] bytes = own;
+    private int length;
+
+    // Start and end offsets of value i at [2 * i] and [2 * i + 1]
+    private int[] ranges = new int[8];
+    private int valueCount;
+
+    /** Empties the buffer for the next reply, keeping its storage. */
+    public void clear() {
+        bytes = own;
+        length = 0;
+        valueCount = 0;
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(length + 1);
+        bytes[length++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] data, int offset, int count) {
+        ensureCapacity(length + count);
+        System.arraycopy(data, offset, bytes, length, count);
+        length += count;
+    }
+
+    /** Parses the first length bytes of data in place, without copying them. */
+    public void wrap(byte[] data, int length) {
+        this.bytes = data;
+        this.length = length;
+        this.valueCount = 0;
+    }
+
+    /** Replaces the contents with a copy of data, for replies read some other way. */
+    public void set(byte[] data, int offset, int count) {
+        clear();
+        write(data, offset, count);
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /** Finds the values in the buffer. Returns how many there are. */
+    public int parse() {
+        valueCount = 0;
+        int i = 0;
+        boolean quoted = false;
+        while (i < length) {
+            if (bytes[i] != '"') {
+                i++;
+                continue;
+            }
+            quoted = true;
+            int start = i + 1;
+            int end = start;
+            while (end < length && bytes[end] != '"') {
+                end++;
+            }
+            // A reply cut off before the closing quote still gets its padding removed
+            addRange(start, end < length ? end : trimEnd(start, end));
+            i = end + 1;
+        }
+        if (!quoted) {
+            int start = 0;
+            while (start < length && isPadding(bytes[start])) {
+                start++;
+            }
+            int end = trimEnd(start, length);
+            if (end > start) {
+                addRange(start, end);
+            }
+        }
+        return valueCount;
+    }
+
+    public int valueCount() {
+        return valueCount;
+    }
+
+    public int valueLength(int index) {
+        return ranges[2 * index + 1] - ranges[2 * index];
+    }
+
+    /** Decodes value index as UTF-8. This is the only call that allocates. */
+    public String value(int index) {
+        int start = ranges[2 * index];
+        return new String(bytes, start, ranges[2 * index + 1] - start, StandardCharsets.UTF_8);
+    }
+
+    /** Compares value index with an ASCII string without decoding it. */
+    public boolean valueEquals(int index, String expected) {
+        int start = ranges[2 * index];
+        int count = ranges[2 * index + 1] - start;
+        if (count != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            if (bytes[start + i] != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Parses value index as a decimal integer, or returns defaultValue if it is not one. */
+    public long valueAsLong(int index, long defaultValue) {
+        int start = ranges[2 * index];
+        int end = ranges[2 * index + 1];
+        if (start == end) {
+            return defaultValue;
+        }
+        boolean negative = bytes[start] == '-';
+        if (negative && ++start == end) {
+            return defaultValue;
+        }
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9 || result > (Long.MAX_VALUE - digit) / 10) {
+                return defaultValue;
+            }
+            result = result * 10 + digit;
+        }
+        return negative ? -result : result;
+    }
+
+    private int trimEnd(int start, int end) {
+        while (end > start && isPadding(bytes[end - 1])) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isPadding(byte b) {
+        return b == 0 || b == ' ' || b == '\r' || b == '\n' || b == '\t';
+    }
+
+    private void addRange(int start, int end) {
+        if (2 * valueCount + 2 > ranges.length) {
+            ranges = Arrays.copyOf(ranges, ranges.length * 2);
+        }
+        ranges[2 * valueCount] = start;
+        ranges[2 * valueCount + 1] = end;
+        valueCount++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (bytes != own) {
+            // Appending to a wrapped reply: take a copy first so the caller's buffer is left alone
+            if (capacity > own.length) {
+                own = new byte[Math.max(capacity, own.length * 2)];
+            }
+            System.arraycopy(bytes, 0, own, 0, length);
+            bytes = own;
+        } else if (capacity > own.length) {
+            own = Arrays.copyOf(own, Math.max(capacity, own.length * 2));
+            bytes = own;
+        }
+    }
+}
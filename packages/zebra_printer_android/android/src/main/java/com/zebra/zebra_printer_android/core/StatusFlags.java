@@ -0,0 +1,68 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Printer status packed into an int, so it can be compared, stored and sent without objects.
+ * The plugin fills it from the Zebra SDK's PrinterStatus.
+ */
+public final class StatusFlags {
+    public static final int ONLINE = 1;
+    public static final int READY = 1 << 1;
+    public static final int PAPER_OUT = 1 << 2;
+    public static final int HEAD_OPEN = 1 << 3;
+    public static final int PAUSED = 1 << 4;
+    public static final int RIBBON_OUT = 1 << 5;
+    public static final int HEAD_TOO_HOT = 1 << 6;
+    public static final int BUFFER_FULL = 1 << 7;
+
+    // Conditions that stop printing until someone acts
+    private static final int NOT_READY = PAPER_OUT | HEAD_OPEN | PAUSED | RIBBON_OUT | HEAD_TOO_HOT;
+
+    private StatusFlags() {
+    }
+
+    /** Short status name in the order a user would need to act on it. */
+    public static String describe(int flags) {
+        if ((flags & ONLINE) == 0) {
+            return "offline";
+        }
+        if ((flags & HEAD_OPEN) != 0) {
+            return "headOpen";
+        }
+        if ((flags & PAPER_OUT) != 0) {
+            return "paperOut";
+        }
+        if ((flags & RIBBON_OUT) != 0) {
+            return "ribbonOut";
+        }
+        if ((flags & HEAD_TOO_HOT) != 0) {
+            return "headTooHot";
+        }
+        if ((flags & PAUSED) != 0) {
+            return "paused";
+        }
+        if ((flags & BUFFER_FULL) != 0) {
+            return "bufferFull";
+        }
+        return (flags & READY) != 0 ? "ready" : "busy";
+    }
+
+    /** flags with READY set if none of the conditions that stop printing are. */
+    public static int withReady(int flags) {
+        return (flags & NOT_READY) == 0 ? flags | READY : flags & ~READY;
+    }
+
+    /** Map form for the method channel, matching PrinterStatus.fromMap in Dart. */
+    public static Map<String, Object> toMap(int flags, int labelsRemainingInBatch, String errorMessage) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("isOnline", (flags & ONLINE) != 0);
+        map.put("status", describe(flags));
+        map.put("errorMessage", errorMessage);
+        map.put("paperPresent", (flags & ONLINE) != 0 ? (flags & PAPER_OUT) == 0 : null);
+        map.put("flags", flags);
+        map.put("labelsRemainingInBatch", labelsRemainingInBatch);
+        return map;
+    }
+}
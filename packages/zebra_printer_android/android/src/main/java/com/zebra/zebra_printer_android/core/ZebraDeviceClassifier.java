@@ -0,0 +1,272 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Decides whether a Bluetooth device is a Zebra printer, for every discovery path.
+ *
+ * Rules come from a table, one per line: a level ({@code likely} or {@code possible}), a kind and
+ * a value. Blank lines and lines starting with # are ignored. Kinds:
+ *
+ * - {@code name-contains <text>}: the name contains text, ignoring ASCII case
+ * - {@code name-regex <pattern>}: the pattern is found in the name
+ * - {@code oui <XX:XX:XX>}: the MAC address starts with this prefix
+ * - {@code manufacturer <id>}: BLE advertising carries manufacturer data for this company ID
+ * - {@code device-class <cod>}: the classic class of device has the major class and every
+ *   minor bit of cod, e.g. 0x0680 for imaging/printer
+ *
+ * A device gets the highest level of any rule it matches. Patterns are compiled and prefixes
+ * sorted once, when the table is parsed, so classifying allocates nothing but regex matchers.
+ */
+public final class ZebraDeviceClassifier {
+    public enum Match {
+        NONE,
+        /** Weak evidence, such as a serial-number-like name; enough for a device the user paired. */
+        POSSIBLE,
+        /** Zebra branding, a Zebra model name, a Zebra MAC prefix or printer class. */
+        LIKELY
+    }
+
+    /** The table used unless the app loads its own. */
+    public static final String DEFAULT_RULES = String.join("\n",
+        "# Zebra branding and model families (ZD421, ZQ630, ZT411, ZR138, QLn320, iMZ220, ...)",
+        "likely name-contains zebra",
+        "likely name-regex (?i)^(zd|zq|zt|zr|zc|ze|zm|zs|qln|imz)[0-9]{3}",
+        "# Zebra serial numbers, which printers advertise as their name by default (50N220800901)",
+        "likely name-regex ^[0-9]{2}[A-Z][0-9]{9}$",
+        "possible name-regex ^[A-Z0-9]{10,15}$",
+        "possible name-regex ^[0-9A-Z]{8,12}$",
+        "# MAC prefixes registered to Zebra Technologies",
+        "likely oui 00:07:4D",
+        "likely oui 40:83:DE",
+        "likely oui 84:24:8D",
+        "likely oui 94:FB:29",
+        "# Bluetooth module vendor used in many Zebra mobile printers",
+        "possible oui AC:3F:A4",
+        "# Class of device imaging/printer",
+        "likely device-class 0x0680");
+
+    private static final ZebraDeviceClassifier DEFAULTS = parse(DEFAULT_RULES);
+
+    private final String[] likelyFragments;
+    private final String[] possibleFragments;
+    private final Pattern[] likelyPatterns;
+    private final Pattern[] possiblePatterns;
+    // Sorted 24-bit MAC prefixes, with the level of each in the same position
+    private final int[] ouis;
+    private final Match[] ouiLevels;
+    private final int[] manufacturers;
+    private final Match[] manufacturerLevels;
+    private final int[] deviceClasses;
+    private final Match[] deviceClassLevels;
+
+    private ZebraDeviceClassifier(Builder builder) {
+        likelyFragments = builder.likelyFragments.toArray(new String[0]);
+        possibleFragments = builder.possibleFragments.toArray(new String[0]);
+        likelyPatterns = builder.likelyPatterns.toArray(new Pattern[0]);
+        possiblePatterns = builder.possiblePatterns.toArray(new Pattern[0]);
+
+        int count = builder.ouis.size();
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(builder.ouis.get(a), builder.ouis.get(b)));
+        ouis = new int[count];
+        ouiLevels = new Match[count];
+        for (int i = 0; i < count; i++) {
+            ouis[i] = builder.ouis.get(order[i]);
+            ouiLevels[i] = builder.ouiLevels.get(order[i]);
+        }
+        manufacturers = toArray(builder.manufacturers);
+        manufacturerLevels = builder.manufacturerLevels.toArray(new Match[0]);
+        deviceClasses = toArray(builder.deviceClasses);
+        deviceClassLevels = builder.deviceClassLevels.toArray(new Match[0]);
+    }
+
+    public static ZebraDeviceClassifier defaults() {
+        return DEFAULTS;
+    }
+
+    /** Parses a rule table, see the class comment. Throws IllegalArgumentException on a bad line. */
+    public static ZebraDeviceClassifier parse(String rules) {
+        Builder builder = new Builder();
+        String[] lines = rules.split("\r?\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": expected <level> <kind> <value>: " + line);
+            }
+            Match level;
+            if ("likely".equals(parts[0])) {
+                level = Match.LIKELY;
+            } else if ("possible".equals(parts[0])) {
+                level = Match.POSSIBLE;
+            } else {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": unknown level " + parts[0]);
+            }
+            try {
+                builder.add(level, parts[1], parts[2]);
+            } catch (IllegalArgumentException e) {
+                // Includes PatternSyntaxException and NumberFormatException
+                throw new IllegalArgumentException("Line " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        return new ZebraDeviceClassifier(builder);
+    }
+
+    /**
+     * Classifies a device. Any argument may be unknown: null name or address, deviceClass 0,
+     * null manufacturerIds.
+     */
+    public Match classify(String name, String address, int deviceClass, int[] manufacturerIds) {
+        Match match = Match.NONE;
+        if (address != null) {
+            int oui = parseOui(address);
+            if (oui >= 0) {
+                int index = Arrays.binarySearch(ouis, oui);
+                if (index >= 0) {
+                    match = max(match, ouiLevels[index]);
+                }
+            }
+        }
+        if (deviceClass != 0) {
+            for (int i = 0; i < deviceClasses.length && match != Match.LIKELY; i++) {
+                int rule = deviceClasses[i];
+                if ((deviceClass & 0x1F00) == (rule & 0x1F00) && (deviceClass & rule & 0xFC) == (rule & 0xFC)) {
+                    match = max(match, deviceClassLevels[i]);
+                }
+            }
+        }
+        if (manufacturerIds != null) {
+            for (int i = 0; i < manufacturers.length && match != Match.LIKELY; i++) {
+                for (int id : manufacturerIds) {
+                    if (id == manufacturers[i]) {
+                        match = max(match, manufacturerLevels[i]);
+                    }
+                }
+            }
+        }
+        if (name != null && match != Match.LIKELY) {
+            if (containsAny(name, likelyFragments) || findsAny(name, likelyPatterns)) {
+                return Match.LIKELY;
+            }
+            if (match == Match.NONE && (containsAny(name, possibleFragments) || findsAny(name, possiblePatterns))) {
+                return Match.POSSIBLE;
+            }
+        }
+        return match;
+    }
+
+    public Match classifyName(String name) {
+        return classify(name, null, 0, null);
+    }
+
+    private static boolean containsAny(String name, String[] fragments) {
+        for (String fragment : fragments) {
+            int last = name.length() - fragment.length();
+            for (int i = 0; i <= last; i++) {
+                if (name.regionMatches(true, i, fragment, 0, fragment.length())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean findsAny(String name, Pattern[] patterns) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(name).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // First three octets of "AA:BB:CC:..." as an int, or -1
+    static int parseOui(String address) {
+        if (address.length() < 8 || address.charAt(2) != ':' || address.charAt(5) != ':') {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < 8; i++) {
+            if (i == 2 || i == 5) {
+                continue;
+            }
+            int digit = Character.digit(address.charAt(i), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    private static Match max(Match a, Match b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    private static final class Builder {
+        final List<String> likelyFragments = new ArrayList<>();
+        final List<String> possibleFragments = new ArrayList<>();
+        final List<Pattern> likelyPatterns = new ArrayList<>();
+        final List<Pattern> possiblePatterns = new ArrayList<>();
+        final List<Integer> ouis = new ArrayList<>();
+        final List<Match> ouiLevels = new ArrayList<>();
+        final List<Integer> manufacturers = new ArrayList<>();
+        final List<Match> manufacturerLevels = new ArrayList<>();
+        final List<Integer> deviceClasses = new ArrayList<>();
+        final List<Match> deviceClassLevels = new ArrayList<>();
+
+        void add(Match level, String kind, String value) {
+            boolean likely = level == Match.LIKELY;
+            switch (kind) {
+                case "name-contains":
+                    (likely ? likelyFragments : possibleFragments).add(value.toLowerCase(Locale.ROOT));
+                    break;
+                case "name-regex":
+                    (likely ? likelyPatterns : possiblePatterns).add(Pattern.compile(value));
+                    break;
+                case "oui":
+                    int oui = parseOui(value.length() == 8 ? value + ":" : value);
+                    if (oui < 0) {
+                        throw new IllegalArgumentException("Bad MAC prefix " + value);
+                    }
+                    int existing = ouis.indexOf(oui);
+                    if (existing >= 0) {
+                        ouiLevels.set(existing, max(ouiLevels.get(existing), level));
+                    } else {
+                        ouis.add(oui);
+                        ouiLevels.add(level);
+                    }
+                    break;
+                case "manufacturer":
+                    manufacturers.add(Integer.decode(value));
+                    manufacturerLevels.add(level);
+                    break;
+                case "device-class":
+                    deviceClasses.add(Integer.decode(value));
+                    deviceClassLevels.add(level);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown rule kind " + kind);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.zebra.zebra_printer_android.core;
+
+import java.nio.charset.StandardCharsets;
+
+/** Builds the ZPL the plugin sends on its own and encodes command strings for the wire. */
+public final class ZplCommands {
+    private ZplCommands() {
+    }
+
+    /** Encodes ZPL/CPCL text as UTF-8, the platform default on Android. */
+    public static byte[] encode(String commands) {
+        return commands.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Sets the label length with ^LL so it takes effect immediately. */
+    public static String labelLength(int lengthInDots) {
+        return "^XA^LL" + lengthInDots + "^XZ\r\n";
+    }
+}
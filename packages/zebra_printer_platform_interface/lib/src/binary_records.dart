@@ -0,0 +1,245 @@
+import 'dart:collection';
+import 'dart:convert';
+import 'dart:typed_data';
+
+import 'package:flutter/services.dart';
+
+import 'models.dart';
+
+// Requests and replies on the `zebra_printer/binary` message channel.
+//
+// Mirrors core/BinaryRecords.java in the Android plugin: little-endian, every reply starts with
+// a uint8 kind, uint8 version and uint16 reserved, strings are an int32 byte length (-1 for
+// null) followed by UTF-8.
+
+const int _kindPrinters = 1;
+const int _kindStatus = 2;
+const int _kindMetrics = 3;
+const int _kindError = 0xFF;
+
+const int _argNull = 0;
+const int _argInt = 1;
+const int _argString = 2;
+const int _argBool = 3;
+
+const int _statusOnline = 1;
+const int _statusPaperOut = 1 << 2;
+
+/// Encodes a method call for the binary channel. Arguments may be null, int, String or bool.
+ByteData encodeBinaryRequest(String method, Map<String, Object?> arguments) {
+  final writer = _RequestWriter()
+    ..string(method)
+    ..int32(arguments.length);
+  arguments.forEach((key, value) {
+    writer.string(key);
+    if (value == null) {
+      writer.uint8(_argNull);
+    } else if (value is int) {
+      writer
+        ..uint8(_argInt)
+        ..int64(value);
+    } else if (value is String) {
+      writer
+        ..uint8(_argString)
+        ..string(value);
+    } else if (value is bool) {
+      writer
+        ..uint8(_argBool)
+        ..uint8(value ? 1 : 0);
+    } else {
+      throw ArgumentError.value(value, key, 'Unsupported binary argument type');
+    }
+  });
+  return writer.done();
+}
+
+/// Whether the platform answered that the method has no binary form.
+bool isBinaryNotImplemented(ByteData reply) {
+  return reply.getUint8(0) == _kindError && _Reader(reply, 4).string() == 'NOT_IMPLEMENTED';
+}
+
+/// Discovery results, decoded one printer at a time as they are read.
+List<DiscoveredPrinter> decodePrinterRecords(ByteData reply) {
+  _checkKind(reply, _kindPrinters);
+  return _PrinterRecordList(reply);
+}
+
+PrinterStatus decodeStatusRecord(ByteData reply) {
+  _checkKind(reply, _kindStatus);
+  final reader = _Reader(reply, 4);
+  final flags = reader.int32();
+  reader.int32(); // labels remaining in batch
+  final online = (flags & _statusOnline) != 0;
+  return PrinterStatus(
+    isOnline: online,
+    status: reader.string() ?? 'unknown',
+    errorMessage: reader.string(),
+    paperPresent: online ? (flags & _statusPaperOut) == 0 : null,
+  );
+}
+
+/// Decodes a metrics record into the map shape returned by getMetrics, without scheduler stats.
+Map<String, dynamic> decodeMetricsRecord(ByteData reply) {
+  _checkKind(reply, _kindMetrics);
+  final reader = _Reader(reply, 4);
+  final uptimeMs = reader.int64();
+
+  final latencies = <String, dynamic>{};
+  for (var i = reader.int32(); i > 0; i--) {
+    latencies[reader.string()!] = reader.latency();
+  }
+  final counters = <String, dynamic>{};
+  for (var i = reader.int32(); i > 0; i--) {
+    counters[reader.string()!] = reader.int64();
+  }
+  final transports = <String, dynamic>{};
+  for (var i = reader.int32(); i > 0; i--) {
+    final name = reader.string()!;
+    transports[name] = {
+      'bytesWritten': reader.int64(),
+      'bytesPerSecond': reader.int64(),
+      'write': reader.latency(),
+    };
+  }
+  return {
+    'latencies': latencies,
+    'counters': counters,
+    'transports': transports,
+    'uptimeMs': uptimeMs,
+  };
+}
+
+void _checkKind(ByteData reply, int expected) {
+  final kind = reply.getUint8(0);
+  if (kind == _kindError) {
+    final reader = _Reader(reply, 4);
+    throw PlatformException(code: reader.string() ?? 'ERROR', message: reader.string());
+  }
+  if (kind != expected) {
+    throw PlatformException(code: 'UNEXPECTED_RESULT', message: 'Expected record kind $expected, got $kind');
+  }
+}
+
+class _PrinterRecordList extends ListBase<DiscoveredPrinter> {
+  final ByteData _data;
+
+  // Record index while not yet decoded, then the decoded (or assigned) printer
+  final List<Object?> _slots;
+
+  _PrinterRecordList(this._data) : _slots = List<Object?>.generate(_data.getInt32(4, Endian.little), (i) => i);
+
+  @override
+  int get length => _slots.length;
+
+  @override
+  set length(int newLength) => _slots.length = newLength;
+
+  @override
+  DiscoveredPrinter operator [](int index) {
+    final slot = _slots[index];
+    if (slot is DiscoveredPrinter) return slot;
+    final printer = _decode(slot! as int);
+    _slots[index] = printer;
+    return printer;
+  }
+
+  @override
+  void operator []=(int index, DiscoveredPrinter value) => _slots[index] = value;
+
+  @override
+  void add(DiscoveredPrinter element) => _slots.add(element);
+
+  DiscoveredPrinter _decode(int record) {
+    final reader = _Reader(_data, _data.getInt32(8 + 4 * record, Endian.little));
+    final port = reader.int32();
+    final address = reader.string();
+    final friendlyName = reader.string();
+    final serialNumber = reader.string();
+    final interfaceType = reader.string();
+    final extras = reader.int32();
+    Map<String, dynamic>? additionalInfo;
+    if (extras > 0) {
+      additionalInfo = {};
+      for (var i = 0; i < extras; i++) {
+        additionalInfo[reader.string()!] = reader.string();
+      }
+    }
+    return DiscoveredPrinter(
+      address: address ?? '',
+      port: port,
+      friendlyName: friendlyName,
+      serialNumber: serialNumber,
+      interfaceType: interfaceType ?? 'TCP',
+      additionalInfo: additionalInfo,
+    );
+  }
+}
+
+class _Reader {
+  final ByteData data;
+  int offset;
+
+  _Reader(this.data, this.offset);
+
+  int int32() {
+    final value = data.getInt32(offset, Endian.little);
+    offset += 4;
+    return value;
+  }
+
+  int int64() {
+    final value = data.getInt64(offset, Endian.little);
+    offset += 8;
+    return value;
+  }
+
+  double float64() {
+    final value = data.getFloat64(offset, Endian.little);
+    offset += 8;
+    return value;
+  }
+
+  String? string() {
+    final length = int32();
+    if (length < 0) return null;
+    final value = utf8.decode(Uint8List.view(data.buffer, data.offsetInBytes + offset, length));
+    offset += length;
+    return value;
+  }
+
+  Map<String, dynamic> latency() {
+    return {
+      'count': int64(),
+      'meanMs': float64(),
+      'p50Ms': float64(),
+      'p90Ms': float64(),
+      'p99Ms': float64(),
+      'maxMs': float64(),
+    };
+  }
+}
+
+class _RequestWriter {
+  final BytesBuilder _bytes = BytesBuilder();
+  final ByteData _scratch = ByteData(8);
+
+  void uint8(int value) => _bytes.addByte(value);
+
+  void int32(int value) {
+    _scratch.setInt32(0, value, Endian.little);
+    _bytes.add(Uint8List.view(_scratch.buffer, 0, 4));
+  }
+
+  void int64(int value) {
+    _scratch.setInt64(0, value, Endian.little);
+    _bytes.add(Uint8List.view(_scratch.buffer, 0, 8));
+  }
+
+  void string(String value) {
+    final encoded = utf8.encode(value);
+    int32(encoded.length);
+    _bytes.add(encoded);
+  }
+
+  ByteData done() => ByteData.sublistView(_bytes.takeBytes());
+}
@@ -1,7 +1,11 @@
+import 'dart:typed_data';
+
 import 'package:flutter/foundation.dart';
 import 'package:flutter/services.dart';
+import 'binary_records.dart';
 import 'zebra_printer_platform.dart';
 import 'models.dart';
+import 'operation_token.dart';
 
 /// An implementation of [ZebraPrinterPlatform] that uses method channels.
 class MethodChannelZebraPrinter extends ZebraPrinterPlatform {
@@ -9,19 +13,65 @@ class MethodChannelZebraPrinter extends ZebraPrinterPlatform {
   @visibleForTesting
   final methodChannel = const MethodChannel('zebra_printer');
 
+  /// The event channel used to receive USB hot-plug events.
+  @visibleForTesting
+  final usbEventChannel = const EventChannel('zebra_printer/usb_events');
+
+  /// The event channel used to receive network change events.
+  @visibleForTesting
+  final networkEventChannel = const EventChannel('zebra_printer/network_events');
+
+  /// The event channel used to receive printer alerts.
+  @visibleForTesting
+  final alertEventChannel = const EventChannel('zebra_printer/alerts');
+
+  /// The event channel used to receive periodic metrics snapshots.
+  @visibleForTesting
+  final metricsEventChannel = const EventChannel('zebra_printer/metrics');
+
+  /// The message channel used for compact binary discovery and status replies (Android).
+  @visibleForTesting
+  final binaryChannel = const BasicMessageChannel<ByteData>('zebra_printer/binary', BinaryCodec());
+
+  // Set once a platform without the binary channel (iOS) has answered, to skip the extra round trip
+  bool _binaryUnavailable = false;
+
+  /// Sends [method] over the binary channel. Returns null if the platform has no binary form for
+  /// it, in which case the caller uses the method channel.
+  Future<ByteData?> _invokeBinary(String method, Map<String, Object?> arguments) async {
+    if (_binaryUnavailable) return null;
+    final reply = await binaryChannel.send(encodeBinaryRequest(method, arguments));
+    if (reply == null) {
+      _binaryUnavailable = true;
+      return null;
+    }
+    return isBinaryNotImplemented(reply) ? null : reply;
+  }
+
+  Future<List<DiscoveredPrinter>> _discover(String method, Map<String, Object?> arguments) async {
+    final reply = await _invokeBinary(method, arguments);
+    if (reply != null) {
+      return decodePrinterRecords(reply);
+    }
+    final result = await methodChannel.invokeMethod<List<dynamic>>(method, arguments);
+    return result?.map((item) => DiscoveredPrinter.fromMap(Map<String, dynamic>.from(item))).toList() ?? [];
+  }
+
   @override
-  Future<List<DiscoveredPrinter>> discoverPrinters() async {
-    final result = await methodChannel.invokeMethod<List<dynamic>>('discoverPrinters');
-    return result?.map((item) => DiscoveredPrinter.fromMap(item.cast<String, dynamic>())).toList() ?? [];
+  Future<List<DiscoveredPrinter>> discoverPrinters({int? timeoutMs, ZebraOperationToken? token}) async {
+    return _discover('discoverPrinters', {
+      'timeoutMs': timeoutMs,
+      'operationId': token?.id,
+    });
   }
 
   @override
-  Future<List<DiscoveredPrinter>> discoverMulticastPrinters({int hops = 3, int? timeoutMs}) async {
-    final result = await methodChannel.invokeMethod<List<dynamic>>('discoverMulticastPrinters', {
+  Future<List<DiscoveredPrinter>> discoverMulticastPrinters({int hops = 3, int? timeoutMs, ZebraOperationToken? token}) async {
+    return _discover('discoverMulticastPrinters', {
       'hops': hops,
       'timeoutMs': timeoutMs,
+      'operationId': token?.id,
     });
-    return result?.map((item) => DiscoveredPrinter.fromMap(item.cast<String, dynamic>())).toList() ?? [];
   }
 
   @override
@@ -34,51 +84,105 @@ class MethodChannelZebraPrinter extends ZebraPrinterPlatform {
   }
 
   @override
-  Future<List<DiscoveredPrinter>> discoverSubnetSearch(String subnetRange, {int? timeoutMs}) async {
-    final result = await methodChannel.invokeMethod<List<dynamic>>('discoverSubnetSearch', {
+  Future<List<DiscoveredPrinter>> discoverSubnetSearch(String subnetRange, {int? timeoutMs, ZebraOperationToken? token}) async {
+    return _discover('discoverSubnetSearch', {
       'subnetRange': subnetRange,
       'timeoutMs': timeoutMs,
+      'operationId': token?.id,
     });
-    return (result ?? []).map((e) => DiscoveredPrinter.fromMap(Map<String, dynamic>.from(e))).toList();
   }
 
   @override
-  Future<List<DiscoveredPrinter>> discoverNetworkPrintersAuto({int? timeoutMs}) async {
-    final result = await methodChannel.invokeMethod<List<dynamic>>('discoverNetworkPrintersAuto', {
+  Future<List<DiscoveredPrinter>> discoverNetworkPrintersAuto({int? timeoutMs, ZebraOperationToken? token}) async {
+    return _discover('discoverNetworkPrintersAuto', {
       'timeoutMs': timeoutMs,
+      'operationId': token?.id,
     });
-    return (result ?? []).map((e) => DiscoveredPrinter.fromMap(Map<String, dynamic>.from(e))).toList();
   }
 
   @override
-  Future<List<DiscoveredPrinter>> discoverBluetoothPrinters() async {
-    final result = await methodChannel.invokeMethod<List<dynamic>>('discoverBluetoothPrinters');
-    return result?.map((item) => DiscoveredPrinter.fromMap(Map<String, dynamic>.from(item))).toList() ?? [];
+  Future<List<DiscoveredPrinter>> discoverBluetoothPrinters({int? timeoutMs, ZebraOperationToken? token}) async {
+    return _discover('discoverBluetoothPrinters', {
+      'timeoutMs': timeoutMs,
+      'operationId': token?.id,
+    });
   }
 
   @override
-  Future<List<DiscoveredPrinter>> discoverBluetoothNative() async {
-    final result = await methodChannel.invokeMethod<List<dynamic>>('discoverBluetoothNative');
-    return result?.map((item) => DiscoveredPrinter.fromMap(Map<String, dynamic>.from(item))).toList() ?? [];
+  Future<List<DiscoveredPrinter>> discoverBluetoothNative({int? timeoutMs, ZebraOperationToken? token}) async {
+    return _discover('discoverBluetoothNative', {
+      'timeoutMs': timeoutMs,
+      'operationId': token?.id,
+    });
   }
 
   @override
-  Future<List<DiscoveredPrinter>> testDirectBleConnection({String? macAddress}) async {
+  Future<List<DiscoveredPrinter>> testDirectBleConnection({String? macAddress, bool adopt = false, ZebraOperationToken? token}) async {
+    // Always the method channel: the probe's additionalInfo holds a bool and a status map, which
+    // the binary printer records would flatten to strings
     final result = await methodChannel.invokeMethod<List<dynamic>>('testDirectBleConnection', {
       if (macAddress != null) 'macAddress': macAddress,
+      'adopt': adopt,
+      'operationId': token?.id,
     });
     return result?.map((item) => DiscoveredPrinter.fromMap(Map<String, dynamic>.from(item))).toList() ?? [];
   }
 
   @override
-  Future<List<DiscoveredPrinter>> discoverUsbPrinters() async {
-    final result = await methodChannel.invokeMethod<List<dynamic>>('discoverUsbPrinters');
-    return result?.map((item) => DiscoveredPrinter.fromMap(item.cast<String, dynamic>())).toList() ?? [];
+  Future<List<DiscoveredPrinter>> discoverUsbPrinters({int? timeoutMs, ZebraOperationToken? token}) async {
+    return _discover('discoverUsbPrinters', {
+      'timeoutMs': timeoutMs,
+      'operationId': token?.id,
+    });
+  }
+
+  @override
+  Stream<UsbPrinterEvent> get usbPrinterEvents {
+    return usbEventChannel
+        .receiveBroadcastStream()
+        .map((event) => UsbPrinterEvent.fromMap(Map<String, dynamic>.from(event)));
+  }
+
+  @override
+  Stream<NetworkChangeEvent> get networkChanges {
+    return networkEventChannel
+        .receiveBroadcastStream()
+        .map((event) => NetworkChangeEvent.fromMap(Map<String, dynamic>.from(event)));
+  }
+
+  @override
+  Stream<PrinterAlert> get alerts {
+    return alertEventChannel
+        .receiveBroadcastStream()
+        .map((event) => PrinterAlert.fromMap(Map<String, dynamic>.from(event)));
   }
 
   @override
-  Future<void> connect(ZebraConnectionSettings settings) async {
-    await methodChannel.invokeMethod<void>('connect', settings.toMap());
+  Future<void> setAlertSubscription(Set<ZebraAlertCondition> conditions) async {
+    await methodChannel.invokeMethod<void>('setAlertSubscription', {
+      'conditions': conditions.map((condition) => condition.name).toList(),
+    });
+  }
+
+  @override
+  Future<void> connect(ZebraConnectionSettings settings, {ZebraOperationToken? token}) async {
+    await methodChannel.invokeMethod<void>('connect', {
+      ...settings.toMap(),
+      'operationId': token?.id,
+    });
+  }
+
+  @override
+  Future<bool> cancelOperation(String operationId) async {
+    try {
+      final result = await methodChannel.invokeMethod<bool>('cancelOperation', {
+        'operationId': operationId,
+      });
+      return result ?? false;
+    } on MissingPluginException {
+      // Platforms without cancellation support
+      return false;
+    }
   }
 
   @override
@@ -92,10 +196,11 @@ class MethodChannelZebraPrinter extends ZebraPrinterPlatform {
   }
 
   @override
-  Future<void> sendCommands(String commands, {ZebraPrintLanguage? language}) async {
+  Future<void> sendCommands(String commands, {ZebraPrintLanguage? language, ZebraJobPriority priority = ZebraJobPriority.bulk}) async {
     await methodChannel.invokeMethod<void>('sendCommands', {
       'commands': commands,
       'language': language?.name,
+      'priority': priority.name,
     });
   }
 
@@ -139,8 +244,24 @@ class MethodChannelZebraPrinter extends ZebraPrinterPlatform {
     });
   }
 
+  @override
+  Future<Map<String, SgdSetResult>> setSgdParameters(Map<String, String> values, {bool verify = true}) async {
+    // Two lists rather than a map, so the order survives the platform channel
+    final result = await methodChannel.invokeMethod<Map<dynamic, dynamic>>('setSgdParameters', {
+      'parameters': values.keys.toList(),
+      'values': values.values.toList(),
+      'verify': verify,
+    });
+    return (result ?? const {}).map((parameter, outcome) =>
+        MapEntry(parameter as String, SgdSetResult.fromMap(Map<String, dynamic>.from(outcome))));
+  }
+
   @override
   Future<PrinterStatus> getStatus() async {
+    final reply = await _invokeBinary('getStatus', const {});
+    if (reply != null) {
+      return decodeStatusRecord(reply);
+    }
     final result = await methodChannel.invokeMethod<Map<String, dynamic>>('getStatus');
     return PrinterStatus.fromMap(result ?? {});
   }
@@ -174,4 +295,107 @@ class MethodChannelZebraPrinter extends ZebraPrinterPlatform {
       'lengthInDots': lengthInDots,
     });
   }
+
+  @override
+  Future<void> setLogLevel(ZebraLogLevel level) async {
+    try {
+      await methodChannel.invokeMethod<void>('setLogLevel', {
+        'level': level.name,
+      });
+    } on MissingPluginException {
+      // Platforms without configurable logging
+    }
+  }
+
+  @override
+  Future<Map<String, dynamic>> getMetrics({bool reset = false}) async {
+    final result = await methodChannel.invokeMethod<Map<dynamic, dynamic>>('getMetrics', {
+      'reset': reset,
+    });
+    return result?.cast<String, dynamic>() ?? {};
+  }
+
+  @override
+  Stream<Map<String, dynamic>> metricsStream({Duration interval = const Duration(seconds: 1)}) {
+    return metricsEventChannel
+        .receiveBroadcastStream({'intervalMs': interval.inMilliseconds})
+        .map((event) => decodeMetricsRecord(ByteData.sublistView(event as Uint8List)));
+  }
+
+  @override
+  Future<void> setOfflineQueueing(bool enabled) async {
+    await methodChannel.invokeMethod<void>('setOfflineQueueing', {
+      'enabled': enabled,
+    });
+  }
+
+  @override
+  Future<ZebraConnectionSettings> connectMultipath(String serialNumber, List<ZebraConnectionSettings> paths,
+      {Duration headStart = const Duration(milliseconds: 500), Duration? timeout}) async {
+    final result = await methodChannel.invokeMethod<Map<dynamic, dynamic>>('connectMultipath', {
+      'serialNumber': serialNumber,
+      'paths': paths.map((path) => path.toMap()).toList(),
+      'headStartMs': headStart.inMilliseconds,
+      'timeoutMs': timeout?.inMilliseconds,
+    });
+    return ZebraConnectionSettings(
+      interfaceType: ZebraInterfaceType.values.byName(result!['interfaceType'] as String),
+      identifier: result['identifier'] as String,
+    );
+  }
+
+  @override
+  Future<void> setWarmStartPolicy(ZebraWarmStartPolicy policy, {Duration maxAge = const Duration(days: 7)}) async {
+    await methodChannel.invokeMethod<void>('setWarmStartPolicy', {
+      'policy': policy.name,
+      'maxAgeMs': maxAge.inMilliseconds,
+    });
+  }
+
+  @override
+  Future<void> setDeviceClassifierRules(String? rules) async {
+    await methodChannel.invokeMethod<void>('setDeviceClassifierRules', {
+      'rules': rules,
+    });
+  }
+
+  @override
+  Future<int> clearPrintSpool() async {
+    final result = await methodChannel.invokeMethod<int>('clearPrintSpool');
+    return result ?? 0;
+  }
+
+  @override
+  Future<Map<String, bool>> createPrinterGroup(String groupId, List<ZebraConnectionSettings> members) async {
+    final result = await methodChannel.invokeMethod<Map<dynamic, dynamic>>('createPrinterGroup', {
+      'groupId': groupId,
+      'members': members.map((member) => member.toMap()).toList(),
+    });
+    return result?.cast<String, bool>() ?? {};
+  }
+
+  @override
+  Future<void> printToGroup(String groupId, String commands, {ZebraJobPriority priority = ZebraJobPriority.bulk}) async {
+    await methodChannel.invokeMethod<void>('printToGroup', {
+      'groupId': groupId,
+      'commands': commands,
+      'priority': priority.name,
+    });
+  }
+
+  @override
+  Future<Map<String, dynamic>> getPrinterGroupStats(String groupId) async {
+    final result = await methodChannel.invokeMethod<Map<dynamic, dynamic>>('getPrinterGroupStats', {
+      'groupId': groupId,
+    });
+    return result?.cast<String, dynamic>() ?? {};
+  }
+
+  @override
+  Future<bool> removePrinterGroup(String groupId) async {
+    final result = await methodChannel.invokeMethod<bool>('removePrinterGroup', {
+      'groupId': groupId,
+    });
+    return result ?? false;
+  }
 }
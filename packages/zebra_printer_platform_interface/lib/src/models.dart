@@ -223,6 +223,156 @@ class DiscoveredPrinter {
   int get hashCode => address.hashCode ^ interfaceType.hashCode;
 }
 
+/// Kind of USB hot-plug event reported by the Android plugin
+enum UsbPrinterEventType {
+  attached, // Printer plugged in
+  ready,    // Permission granted and connection opened ahead of connect()
+  detached, // Printer unplugged
+}
+
+/// USB printer attach/detach notification (Android only)
+class UsbPrinterEvent {
+  final UsbPrinterEventType type;
+  final DiscoveredPrinter printer;
+
+  const UsbPrinterEvent({
+    required this.type,
+    required this.printer,
+  });
+
+  factory UsbPrinterEvent.fromMap(Map<String, dynamic> map) {
+    return UsbPrinterEvent(
+      type: UsbPrinterEventType.values.firstWhere(
+        (type) => type.name == map['event'],
+        orElse: () => UsbPrinterEventType.attached,
+      ),
+      printer: DiscoveredPrinter.fromMap(Map<String, dynamic>.from(map['printer'] ?? {})),
+    );
+  }
+
+  @override
+  String toString() {
+    return 'UsbPrinterEvent(${type.name}, ${printer.address})';
+  }
+}
+
+/// Kind of network change reported by the Android plugin
+enum NetworkChangeType {
+  changed, // Moved to another Wi-Fi or Ethernet network or subnet
+  lost,    // No Wi-Fi or Ethernet network left
+}
+
+/// Wi-Fi or Ethernet network change, with the printers that answered on the new network (Android only)
+class NetworkChangeEvent {
+  final NetworkChangeType type;
+  final String? subnet; // IPv4 subnet in CIDR form, e.g. 10.0.4.0/22
+  final List<DiscoveredPrinter> printers;
+
+  const NetworkChangeEvent({
+    required this.type,
+    this.subnet,
+    this.printers = const [],
+  });
+
+  factory NetworkChangeEvent.fromMap(Map<String, dynamic> map) {
+    return NetworkChangeEvent(
+      type: NetworkChangeType.values.firstWhere(
+        (type) => type.name == map['event'],
+        orElse: () => NetworkChangeType.changed,
+      ),
+      subnet: map['subnet'],
+      printers: ((map['printers'] as List?) ?? const [])
+          .map((printer) => DiscoveredPrinter.fromMap(Map<String, dynamic>.from(printer)))
+          .toList(),
+    );
+  }
+
+  @override
+  String toString() {
+    return 'NetworkChangeEvent(${type.name}, $subnet, ${printers.length} printers)';
+  }
+}
+
+/// Printer conditions that can be pushed as alerts instead of polled (Android only)
+enum ZebraAlertCondition {
+  paperOut,
+  ribbonOut,
+  headOpen,
+  headTooHot,
+  headCold,
+  paused,
+  mediaLow,
+  ribbonLow,
+  batteryLow,
+  cutterJammed,
+}
+
+/// An alert the connected printer pushed when a subscribed condition was set or cleared (Android only)
+class PrinterAlert {
+  final ZebraAlertCondition condition;
+  final bool cleared;
+  final String message; // Alert text as sent by the printer
+  final PrinterStatus status; // Printer status with this alert applied
+
+  const PrinterAlert({
+    required this.condition,
+    required this.cleared,
+    required this.message,
+    required this.status,
+  });
+
+  factory PrinterAlert.fromMap(Map<String, dynamic> map) {
+    return PrinterAlert(
+      condition: ZebraAlertCondition.values.firstWhere(
+        (condition) => condition.name == map['condition'],
+        orElse: () => ZebraAlertCondition.paperOut,
+      ),
+      cleared: map['cleared'] ?? false,
+      message: map['message'] ?? '',
+      status: PrinterStatus.fromMap(Map<String, dynamic>.from(map['status'] ?? {})),
+    );
+  }
+
+  @override
+  String toString() {
+    return 'PrinterAlert(${condition.name}${cleared ? ' cleared' : ''}, $message)';
+  }
+}
+
+/// Outcome of one parameter in a setSgdParameters call
+enum SgdSetStatus {
+  sent,     // Written without verification
+  verified, // Read back with the requested value
+  mismatch, // Read back with a different value, e.g. one the printer does not accept
+  noReply,  // Printer did not answer the verifying getvar in time
+}
+
+/// Result of setting one SGD parameter in a batch
+class SgdSetResult {
+  final SgdSetStatus status;
+  final String? value; // Value read back, when verified
+
+  const SgdSetResult({
+    required this.status,
+    this.value,
+  });
+
+  factory SgdSetResult.fromMap(Map<String, dynamic> map) {
+    return SgdSetResult(
+      status: SgdSetStatus.values.firstWhere(
+        (status) => status.name == map['status'],
+        orElse: () => SgdSetStatus.sent,
+      ),
+      value: map['value'],
+    );
+  }
+
+  @override
+  String toString() {
+    return 'SgdSetResult(${status.name}${value != null ? ', $value' : ''})';
+  }
+}
+
 /// Represents a connected printer with its discovered info plus dimensions
 class ConnectedPrinter {
   final DiscoveredPrinter discoveredPrinter;
@@ -304,12 +454,20 @@ class PrinterStatus {
 class ZebraConnectionSettings {
   final ZebraInterfaceType interfaceType;
   final String identifier;
+
+  /// Maximum time for the connect call in milliseconds, or null for no limit
   final int? timeout;
 
+  /// For BLE printers, send print jobs with a large MTU, high connection priority during
+  /// bursts and write-without-response (Android only). Falls back to normal writes if the
+  /// printer does not support it.
+  final bool bleHighThroughput;
+
   const ZebraConnectionSettings({
     required this.interfaceType,
     required this.identifier,
     this.timeout,
+    this.bleHighThroughput = false,
   });
 
   Map<String, dynamic> toMap() {
@@ -317,6 +475,7 @@ class ZebraConnectionSettings {
       'interfaceType': interfaceType.name,
       'identifier': identifier,
       'timeout': timeout,
+      'bleHighThroughput': bleHighThroughput,
     };
   }
 }
@@ -329,6 +488,29 @@ enum ZebraInterfaceType {
   usb,
 }
 
+/// Native log verbosity (Android only)
+enum ZebraLogLevel {
+  verbose,
+  debug,
+  info,    // Default: connection lifecycle, warnings and errors
+  warning,
+  error,
+  none,
+}
+
+/// Scheduling class of a print job (Android only)
+enum ZebraJobPriority {
+  urgent,  // Written before any queued bulk jobs, e.g. an interactive reprint
+  bulk,    // Default: batch runs, written in submission order
+}
+
+/// When the last used printer is reconnected at app start (Android only)
+enum ZebraWarmStartPolicy {
+  off,      // Default: connect only when asked
+  tcpOnly,  // Network printers only, leaving Bluetooth printers free for other devices
+  always,   // Network and Bluetooth printers
+}
+
 /// Print language enum for Zebra printers
 enum ZebraPrintLanguage {
   zpl,  // Zebra Programming Language
@@ -0,0 +1,29 @@
+import 'zebra_printer_platform.dart';
+
+/// Handle used to cancel a long-running discovery or connect call.
+///
+/// Pass the token to the call, then call [cancel] to stop it early. Cancelled
+/// discovery calls complete with the printers found so far; a cancelled
+/// connect fails with a `CANCELLED` error. A token should be used for one call.
+class ZebraOperationToken {
+  static int _counter = 0;
+
+  /// Identifier sent to the platform along with the call.
+  final String id;
+
+  bool _cancelled = false;
+
+  ZebraOperationToken() : id = 'op-${DateTime.now().microsecondsSinceEpoch}-${_counter++}';
+
+  /// Whether [cancel] has been called.
+  bool get isCancelled => _cancelled;
+
+  /// Cancels the call this token was passed to.
+  ///
+  /// Returns false if the call had already completed or the platform does not
+  /// support cancellation.
+  Future<bool> cancel() {
+    _cancelled = true;
+    return ZebraPrinterPlatform.instance.cancelOperation(id);
+  }
+}
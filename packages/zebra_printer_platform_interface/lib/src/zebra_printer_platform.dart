@@ -1,5 +1,6 @@
 import 'package:plugin_platform_interface/plugin_platform_interface.dart';
 import 'models.dart';
+import 'operation_token.dart';
 import 'method_channel_zebra_printer.dart';
 
 /// The interface that implementations of zebra_printer must implement.
@@ -22,12 +23,12 @@ abstract class ZebraPrinterPlatform extends PlatformInterface {
   }
 
   /// Discovers available Zebra printers using local broadcast
-  Future<List<DiscoveredPrinter>> discoverPrinters() {
+  Future<List<DiscoveredPrinter>> discoverPrinters({int? timeoutMs, ZebraOperationToken? token}) {
     throw UnimplementedError('discoverPrinters() has not been implemented.');
   }
 
   /// Discovers printers using multicast with specified hops
-  Future<List<DiscoveredPrinter>> discoverMulticastPrinters({int hops = 3, int? timeoutMs}) {
+  Future<List<DiscoveredPrinter>> discoverMulticastPrinters({int hops = 3, int? timeoutMs, ZebraOperationToken? token}) {
     throw UnimplementedError('discoverMulticastPrinters() has not been implemented.');
   }
 
@@ -37,41 +38,70 @@ abstract class ZebraPrinterPlatform extends PlatformInterface {
   }
 
   /// Discovers printers in a subnet range (e.g., "192.168.1.*", "192.168.1.10-50")
-  Future<List<DiscoveredPrinter>> discoverSubnetSearch(String subnetRange, {int? timeoutMs}) {
+  Future<List<DiscoveredPrinter>> discoverSubnetSearch(String subnetRange, {int? timeoutMs, ZebraOperationToken? token}) {
     throw UnimplementedError('discoverSubnetSearch() has not been implemented.');
   }
 
   /// Automatically discovers printers on local network subnets
   /// This method detects the device's current network and searches common subnet ranges
-  Future<List<DiscoveredPrinter>> discoverNetworkPrintersAuto({int? timeoutMs}) {
+  Future<List<DiscoveredPrinter>> discoverNetworkPrintersAuto({int? timeoutMs, ZebraOperationToken? token}) {
     throw UnimplementedError('discoverNetworkPrintersAuto() has not been implemented.');
   }
 
   /// Discovers available Bluetooth Zebra printers specifically
-  Future<List<DiscoveredPrinter>> discoverBluetoothPrinters() {
+  Future<List<DiscoveredPrinter>> discoverBluetoothPrinters({int? timeoutMs, ZebraOperationToken? token}) {
     throw UnimplementedError('discoverBluetoothPrinters() has not been implemented.');
   }
 
   /// Discovers Bluetooth devices using native Android scanner (debugging)
-  Future<List<DiscoveredPrinter>> discoverBluetoothNative() {
+  Future<List<DiscoveredPrinter>> discoverBluetoothNative({int? timeoutMs, ZebraOperationToken? token}) {
     throw UnimplementedError('discoverBluetoothNative() has not been implemented.');
   }
 
   /// Tests direct BLE connection to a printer using known MAC address
-  Future<List<DiscoveredPrinter>> testDirectBleConnection({String? macAddress}) {
+  Future<List<DiscoveredPrinter>> testDirectBleConnection({String? macAddress, bool adopt = false, ZebraOperationToken? token}) {
     throw UnimplementedError('testDirectBleConnection() has not been implemented.');
   }
 
   /// Discovers USB printers
-  Future<List<DiscoveredPrinter>> discoverUsbPrinters() {
+  Future<List<DiscoveredPrinter>> discoverUsbPrinters({int? timeoutMs, ZebraOperationToken? token}) {
     throw UnimplementedError('discoverUsbPrinters() has not been implemented.');
   }
 
+  /// Stream of USB printer attach, ready and detach events (Android only)
+  Stream<UsbPrinterEvent> get usbPrinterEvents {
+    throw UnimplementedError('usbPrinterEvents has not been implemented.');
+  }
+
+  /// Stream of Wi-Fi network changes, with the printers found on the new network (Android only)
+  Stream<NetworkChangeEvent> get networkChanges {
+    throw UnimplementedError('networkChanges has not been implemented.');
+  }
+
+  /// Stream of alerts pushed by the connected printer for the conditions passed to
+  /// [setAlertSubscription] (Android only)
+  Stream<PrinterAlert> get alerts {
+    throw UnimplementedError('alerts has not been implemented.');
+  }
+
+  /// Asks the printer to push an alert whenever one of [conditions] is set or cleared (Android only).
+  ///
+  /// The subscription is written to the printer with `alerts.add` now, if connected, and again
+  /// after every connect. Conditions left out are removed. Alerts arrive on [alerts].
+  Future<void> setAlertSubscription(Set<ZebraAlertCondition> conditions) {
+    throw UnimplementedError('setAlertSubscription() has not been implemented.');
+  }
+
   /// Connects to a Zebra printer
-  Future<void> connect(ZebraConnectionSettings settings) {
+  Future<void> connect(ZebraConnectionSettings settings, {ZebraOperationToken? token}) {
     throw UnimplementedError('connect() has not been implemented.');
   }
 
+  /// Cancels a discovery or connect call started with a [ZebraOperationToken]
+  Future<bool> cancelOperation(String operationId) {
+    throw UnimplementedError('cancelOperation() has not been implemented.');
+  }
+
   /// Disconnects from the current printer
   Future<void> disconnect() {
     throw UnimplementedError('disconnect() has not been implemented.');
@@ -83,7 +113,10 @@ abstract class ZebraPrinterPlatform extends PlatformInterface {
   }
 
   /// Sends raw ZPL or CPCL commands to the printer
-  Future<void> sendCommands(String commands, {ZebraPrintLanguage? language}) {
+  ///
+  /// Jobs with [ZebraJobPriority.urgent] are written before queued bulk jobs, at the next job
+  /// boundary. Bulk jobs still get a turn after a few urgent batches.
+  Future<void> sendCommands(String commands, {ZebraPrintLanguage? language, ZebraJobPriority priority = ZebraJobPriority.bulk}) {
     throw UnimplementedError('sendCommands() has not been implemented.');
   }
 
@@ -112,6 +145,14 @@ abstract class ZebraPrinterPlatform extends PlatformInterface {
     throw UnimplementedError('setSgdParameter() has not been implemented.');
   }
 
+  /// Sets several SGD parameters with one write, in the map's order (Android only).
+  ///
+  /// With [verify] every parameter is read back afterwards, all getvars at once, and the result
+  /// reports per parameter whether the printer holds the requested value.
+  Future<Map<String, SgdSetResult>> setSgdParameters(Map<String, String> values, {bool verify = true}) {
+    throw UnimplementedError('setSgdParameters() has not been implemented.');
+  }
+
   /// Gets the current printer status
   Future<PrinterStatus> getStatus() {
     throw UnimplementedError('getStatus() has not been implemented.');
@@ -131,4 +172,101 @@ abstract class ZebraPrinterPlatform extends PlatformInterface {
   Future<void> setLabelLength(int lengthInDots) {
     throw UnimplementedError('setLabelLength() has not been implemented.');
   }
+
+  /// Sets how much the native plugin logs (Android only)
+  Future<void> setLogLevel(ZebraLogLevel level) {
+    throw UnimplementedError('setLogLevel() has not been implemented.');
+  }
+
+  /// Snapshot of connect, write, SGD and discovery timings plus counters (Android only).
+  ///
+  /// Latencies are reported in milliseconds. Pass [reset] to clear the counters
+  /// after taking the snapshot.
+  Future<Map<String, dynamic>> getMetrics({bool reset = false}) {
+    throw UnimplementedError('getMetrics() has not been implemented.');
+  }
+
+  /// Periodic metrics snapshots in the shape of [getMetrics], minus the scheduler stats (Android only)
+  Stream<Map<String, dynamic>> metricsStream({Duration interval = const Duration(seconds: 1)}) {
+    throw UnimplementedError('metricsStream() has not been implemented.');
+  }
+
+  /// Keeps accepting [sendCommands] jobs while the connected printer is out of reach (Android only).
+  ///
+  /// Jobs are held in a bounded queue and the plugin reconnects to the printer with backoff,
+  /// sending everything held in large writes once it is back. Each [sendCommands] future
+  /// completes when its job is written. A connect to a different printer, [disconnect], or
+  /// turning this off fails the held jobs.
+  Future<void> setOfflineQueueing(bool enabled) {
+    throw UnimplementedError('setOfflineQueueing() has not been implemented.');
+  }
+
+  /// Connects to the printer [serialNumber], which is reachable over each of [paths], by racing
+  /// them (Android only).
+  ///
+  /// TCP paths start at once and Bluetooth paths [headStart] later, or as soon as every TCP path
+  /// has failed. The first path to connect becomes the active connection and is returned; the
+  /// others are closed. If the active path later fails a write or drops, the paths are raced
+  /// again and queued [sendCommands] jobs continue over the new one, so a label from a failed
+  /// batch may print twice. [connect] or [disconnect] end the multi-path connection.
+  Future<ZebraConnectionSettings> connectMultipath(String serialNumber, List<ZebraConnectionSettings> paths,
+      {Duration headStart = const Duration(milliseconds: 500), Duration? timeout}) {
+    throw UnimplementedError('connectMultipath() has not been implemented.');
+  }
+
+  /// Sets whether the plugin reopens the last successfully connected printer when the app
+  /// starts, so the first [connect] or [sendCommands] finds it ready (Android only).
+  ///
+  /// The policy is stored on the device and applies from the next launch. Printers last
+  /// connected longer than [maxAge] ago, USB printers, and printers dropped with [disconnect]
+  /// are not reopened. `getMetrics()` counts `warmStart.used` and `warmStart.unused`.
+  Future<void> setWarmStartPolicy(ZebraWarmStartPolicy policy, {Duration maxAge = const Duration(days: 7)}) {
+    throw UnimplementedError('setWarmStartPolicy() has not been implemented.');
+  }
+
+  /// Replaces the rules Bluetooth discovery uses to recognise Zebra printers (Android only).
+  ///
+  /// One rule per line, `<likely|possible> <kind> <value>`, with kinds `name-contains`,
+  /// `name-regex`, `oui` (MAC prefix such as `00:07:4D`), `manufacturer` (BLE company ID) and
+  /// `device-class` (such as `0x0680`). Lines starting with `#` are comments. Paired devices are
+  /// listed on a `possible` match, devices found by scanning are flagged `isZebra` on a `likely`
+  /// one. Pass null to restore the built-in rules. Throws a `PlatformException` with code
+  /// `INVALID_ARGUMENT` if a line cannot be parsed.
+  Future<void> setDeviceClassifierRules(String? rules) {
+    throw UnimplementedError('setDeviceClassifierRules() has not been implemented.');
+  }
+
+  /// Discards jobs kept in the on-device print spool so they are not printed after the next
+  /// connect (Android only). Returns how many were discarded.
+  ///
+  /// Jobs passed to [sendCommands] are spooled until written, and jobs left over when the app
+  /// was killed are printed once it connects to the same printer again.
+  Future<int> clearPrintSpool() {
+    throw UnimplementedError('clearPrintSpool() has not been implemented.');
+  }
+
+  /// Opens a connection to every printer in [members] and groups them under [groupId] (Android only).
+  ///
+  /// Jobs sent with [printToGroup] go to the least busy printer that can print. Returns whether
+  /// each member connected, keyed by identifier. Fails if none did. TCP and Bluetooth only.
+  Future<Map<String, bool>> createPrinterGroup(String groupId, List<ZebraConnectionSettings> members) {
+    throw UnimplementedError('createPrinterGroup() has not been implemented.');
+  }
+
+  /// Prints on one printer of the group, moving the job to another if that printer fails first.
+  ///
+  /// A job moved after a failed write may print twice, it is never dropped silently.
+  Future<void> printToGroup(String groupId, String commands, {ZebraJobPriority priority = ZebraJobPriority.bulk}) {
+    throw UnimplementedError('printToGroup() has not been implemented.');
+  }
+
+  /// Queue depth, health and throughput of each printer in the group
+  Future<Map<String, dynamic>> getPrinterGroupStats(String groupId) {
+    throw UnimplementedError('getPrinterGroupStats() has not been implemented.');
+  }
+
+  /// Disconnects the group's printers and fails its queued jobs. Returns false for an unknown group.
+  Future<bool> removePrinterGroup(String groupId) {
+    throw UnimplementedError('removePrinterGroup() has not been implemented.');
+  }
 }
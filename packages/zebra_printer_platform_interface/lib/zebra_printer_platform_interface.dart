@@ -1,3 +1,4 @@
 export 'src/zebra_printer_platform.dart';
 export 'src/method_channel_zebra_printer.dart';
-export 'src/models.dart';
\ No newline at end of file
+export 'src/models.dart';
+export 'src/operation_token.dart';
\ No newline at end of file
@@ -0,0 +1,164 @@
+import 'dart:typed_data';
+
+import 'package:flutter/services.dart';
+import 'package:flutter_test/flutter_test.dart';
+import 'package:zebra_printer_platform_interface/src/binary_records.dart';
+
+// The hex below is what core/BinaryRecords.java writes; BinaryRecordsTest.java checks the same
+// strings on the Java side, so a layout change has to update both.
+const _printers = '01010000' '02000000' '10000000' '3c000000'
+    '8c230000' '0c000000' '3139322e3136382e312e3230' '05000000' '5a44343231'
+    'ffffffff' '03000000' '544350' '00000000'
+    '00000000' '11000000' '41433a33463a41343a30303a30303a3031' 'ffffffff' 'ffffffff'
+    '0c000000' '424c5545544f4f54485f4c45' '01000000'
+    '04000000' '72737369' '03000000' '2d3630';
+const _status = '02010000' '05000000' '02000000' '08000000' '70617065724f7574' 'ffffffff';
+const _error = 'ff010000' '0f000000' '4e4f545f494d504c454d454e544544' '02000000' 'c3bc';
+
+ByteData _bytes(String hex) {
+  final bytes = Uint8List(hex.length ~/ 2);
+  for (var i = 0; i < bytes.length; i++) {
+    bytes[i] = int.parse(hex.substring(2 * i, 2 * i + 2), radix: 16);
+  }
+  return ByteData.sublistView(bytes);
+}
+
+String _hex(ByteData data) {
+  final bytes = Uint8List.sublistView(data);
+  return bytes.map((b) => b.toRadixString(16).padLeft(2, '0')).join();
+}
+
+void main() {
+  group('encodeBinaryRequest', () {
+    test('writes the method and typed arguments in order', () {
+      final request = encodeBinaryRequest('discoverPrinters', {
+        'timeoutMs': 5000,
+        'subnet': 'é',
+        'enabled': true,
+        'filter': null,
+      });
+      expect(
+        _hex(request),
+        '10000000' '646973636f7665725072696e74657273' '04000000'
+        '09000000' '74696d656f75744d73' '01' '8813000000000000'
+        '06000000' '7375626e6574' '02' '02000000' 'c3a9'
+        '07000000' '656e61626c6564' '03' '01'
+        '06000000' '66696c746572' '00',
+      );
+    });
+
+    test('rejects argument types the channel cannot carry', () {
+      expect(() => encodeBinaryRequest('getStatus', {'ratio': 1.5}), throwsArgumentError);
+    });
+  });
+
+  group('decodePrinterRecords', () {
+    test('decodes the records the Java encoder wrote', () {
+      final printers = decodePrinterRecords(_bytes(_printers));
+      expect(printers, hasLength(2));
+
+      final tcp = printers[0];
+      expect(tcp.address, '192.168.1.20');
+      expect(tcp.port, 9100);
+      expect(tcp.friendlyName, 'ZD421');
+      expect(tcp.serialNumber, isNull);
+      expect(tcp.interfaceType, 'TCP');
+      expect(tcp.additionalInfo, isNull);
+
+      final ble = printers[1];
+      expect(ble.address, 'AC:3F:A4:00:00:01');
+      expect(ble.port, 0);
+      expect(ble.friendlyName, isNull);
+      expect(ble.interfaceType, 'BLUETOOTH_LE');
+      expect(ble.additionalInfo, {'rssi': '-60'});
+    });
+
+    test('decodes records out of order and keeps assigned ones', () {
+      final printers = decodePrinterRecords(_bytes(_printers));
+      expect(printers[1].address, 'AC:3F:A4:00:00:01');
+      printers[0] = printers[1];
+      expect(printers.map((p) => p.address).toList(), ['AC:3F:A4:00:00:01', 'AC:3F:A4:00:00:01']);
+    });
+
+    test('throws the error record as a PlatformException', () {
+      expect(
+        () => decodePrinterRecords(_bytes(_error)),
+        throwsA(isA<PlatformException>()
+            .having((e) => e.code, 'code', 'NOT_IMPLEMENTED')
+            .having((e) => e.message, 'message', 'ü')),
+      );
+    });
+
+    test('rejects another record kind', () {
+      expect(
+        () => decodePrinterRecords(_bytes(_status)),
+        throwsA(isA<PlatformException>().having((e) => e.code, 'code', 'UNEXPECTED_RESULT')),
+      );
+    });
+  });
+
+  test('decodeStatusRecord reads flags and strings', () {
+    final status = decodeStatusRecord(_bytes(_status));
+    expect(status.isOnline, isTrue);
+    expect(status.status, 'paperOut');
+    expect(status.errorMessage, isNull);
+    expect(status.paperPresent, isFalse);
+  });
+
+  test('isBinaryNotImplemented matches only that error', () {
+    expect(isBinaryNotImplemented(_bytes(_error)), isTrue);
+    expect(isBinaryNotImplemented(_bytes(_status)), isFalse);
+  });
+
+  test('decodeMetricsRecord reads latencies, counters and transports', () {
+    final data = ByteData(256);
+    var offset = 0;
+    void int32(int value) {
+      data.setInt32(offset, value, Endian.little);
+      offset += 4;
+    }
+
+    void int64(int value) {
+      data.setInt64(offset, value, Endian.little);
+      offset += 8;
+    }
+
+    void string(String value) {
+      int32(value.length);
+      for (final unit in value.codeUnits) {
+        data.setUint8(offset++, unit);
+      }
+    }
+
+    void latency(int count, double value) {
+      int64(count);
+      for (var i = 0; i < 5; i++) {
+        data.setFloat64(offset, value, Endian.little);
+        offset += 8;
+      }
+    }
+
+    int32(0x00000103);
+    int64(1500);
+    int32(1);
+    string('print');
+    latency(3, 2.5);
+    int32(1);
+    string('jobs');
+    int64(7);
+    int32(1);
+    string('tcp');
+    int64(4096);
+    int64(1024);
+    latency(1, 0.5);
+
+    final metrics = decodeMetricsRecord(ByteData.sublistView(data, 0, offset));
+    expect(metrics['uptimeMs'], 1500);
+    expect(metrics['latencies']['print']['count'], 3);
+    expect(metrics['latencies']['print']['p99Ms'], 2.5);
+    expect(metrics['counters'], {'jobs': 7});
+    expect(metrics['transports']['tcp']['bytesWritten'], 4096);
+    expect(metrics['transports']['tcp']['bytesPerSecond'], 1024);
+    expect(metrics['transports']['tcp']['write']['maxMs'], 0.5);
+  });
+}
@@ -0,0 +1,71 @@
+import 'package:flutter/services.dart';
+import 'package:flutter_test/flutter_test.dart';
+import 'package:zebra_printer_platform_interface/zebra_printer_platform_interface.dart';
+
+void main() {
+  TestWidgetsFlutterBinding.ensureInitialized();
+
+  final platform = MethodChannelZebraPrinter();
+  final messenger = TestDefaultBinaryMessengerBinding.instance.defaultBinaryMessenger;
+  final calls = <MethodCall>[];
+  var binaryMessages = 0;
+
+  setUp(() {
+    calls.clear();
+    binaryMessages = 0;
+    messenger.setMockMessageHandler(platform.binaryChannel.name, (message) async {
+      binaryMessages++;
+      return null;
+    });
+    messenger.setMockMethodCallHandler(platform.methodChannel, (call) async {
+      calls.add(call);
+      return [
+        {
+          'address': 'AC:3F:A4:00:00:01',
+          'port': 0,
+          'friendlyName': 'ZD421 (Direct BLE)',
+          'serialNumber': 'Unknown',
+          'interfaceType': 'bluetooth',
+          'status': 'Ready',
+          'additionalInfo': {
+            'language': 'ZPL',
+            'adopted': true,
+            'printerStatus': {
+              'isOnline': true,
+              'status': 'ready',
+              'errorMessage': null,
+              'paperPresent': true,
+              'flags': 3,
+              'labelsRemainingInBatch': 0,
+            },
+          },
+        },
+      ];
+    });
+  });
+
+  tearDown(() {
+    messenger.setMockMessageHandler(platform.binaryChannel.name, null);
+    messenger.setMockMethodCallHandler(platform.methodChannel, null);
+  });
+
+  test('testDirectBleConnection keeps the probe result typed', () async {
+    final printers = await platform.testDirectBleConnection(macAddress: 'AC:3F:A4:00:00:01', adopt: true);
+
+    expect(binaryMessages, 0);
+    expect(calls.single.method, 'testDirectBleConnection');
+    expect(calls.single.arguments, {'macAddress': 'AC:3F:A4:00:00:01', 'adopt': true, 'operationId': null});
+
+    final probe = printers.single;
+    expect(probe.address, 'AC:3F:A4:00:00:01');
+    expect(probe.port, 0);
+    expect(probe.interfaceType, 'bluetooth');
+    final info = probe.additionalInfo!;
+    expect(info['language'], 'ZPL');
+    expect(info['adopted'], isTrue);
+    final status = info['printerStatus'] as Map;
+    expect(status['isOnline'], isTrue);
+    expect(status['flags'], 3);
+    expect(status['paperPresent'], isTrue);
+  });
+}